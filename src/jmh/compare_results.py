@@ -0,0 +1,131 @@
+#!/usr/bin/env python3
+"""
+Compare a JMH JSON result file against the recorded baseline.
+
+Fails (exit code 1) when any benchmark present in both files loses more than the allowed
+fraction of throughput, or allocates more than the allowed fraction of bytes per operation
+(needs the run to use `-prof gc`, which the benchmarks profile does by default). Once a baseline
+is recorded, a benchmark with no entry in it also fails, since nothing would guard it. While the
+baseline is still empty every benchmark is reported as NEW and the check only warns.
+
+Usage:
+  python3 src/jmh/compare_results.py BASELINE CURRENT [--max-score-regression 0.10]
+                                     [--max-alloc-regression 0.10] [--update]
+
+--update overwrites BASELINE with CURRENT after printing the comparison; use it only for runs
+made on the reference machine.
+"""
+
+import argparse
+import json
+import shutil
+import sys
+
+# Lower-is-better modes report time per operation; everything else is ops per time
+TIME_MODES = {"avgt", "sample", "ss"}
+ALLOC_METRICS = ("gc.alloc.rate.norm", "·gc.alloc.rate.norm")
+
+
+def load(path):
+    with open(path, encoding="utf-8") as handle:
+        results = json.load(handle)
+    indexed = {}
+    for result in results:
+        params = result.get("params") or {}
+        key = result["benchmark"]
+        if params:
+            key += "[" + ",".join("%s=%s" % (k, params[k]) for k in sorted(params)) + "]"
+        key += " (%s)" % result["mode"]
+        indexed[key] = result
+    return indexed
+
+
+def alloc_per_op(result):
+    secondary = result.get("secondaryMetrics") or {}
+    for name in ALLOC_METRICS:
+        if name in secondary:
+            return secondary[name]["score"]
+    return None
+
+
+def relative_change(before, after):
+    if before == 0:
+        return 0.0 if after == 0 else float("inf")
+    return (after - before) / before
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__,
+                                     formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--max-score-regression", type=float, default=0.10,
+                        help="allowed fractional loss of throughput (or gain of time/op)")
+    parser.add_argument("--max-alloc-regression", type=float, default=0.10,
+                        help="allowed fractional growth of bytes allocated per operation")
+    parser.add_argument("--update", action="store_true",
+                        help="replace the baseline with the current results")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    failures = []
+    # Nothing has been recorded on the reference machine yet, so there is nothing to hold to
+    recorded = bool(baseline)
+
+    for key in sorted(current):
+        now = current[key]
+        unit = now["primaryMetric"]["scoreUnit"]
+        score = now["primaryMetric"]["score"]
+        if key not in baseline:
+            print("NEW   %-90s %14.3f %s" % (key, score, unit))
+            if recorded:
+                failures.append("%s: no baseline entry" % key)
+            continue
+
+        before = baseline[key]
+        before_score = before["primaryMetric"]["score"]
+        change = relative_change(before_score, score)
+        # Express every change so that a positive number is a regression
+        regression = change if now["mode"] in TIME_MODES else -change
+        status = "OK"
+        if regression > args.max_score_regression:
+            status = "SLOW"
+            failures.append("%s: score %.3f -> %.3f %s (%+.1f%%)"
+                            % (key, before_score, score, unit, change * 100))
+
+        alloc_before = alloc_per_op(before)
+        alloc_now = alloc_per_op(now)
+        alloc_note = ""
+        if alloc_before is not None and alloc_now is not None:
+            alloc_change = relative_change(alloc_before, alloc_now)
+            alloc_note = "  alloc %.0f -> %.0f B/op (%+.1f%%)" % (alloc_before, alloc_now,
+                                                                  alloc_change * 100)
+            if alloc_change > args.max_alloc_regression:
+                status = "ALLOC" if status == "OK" else status + "+ALLOC"
+                failures.append("%s: allocation %.0f -> %.0f B/op (%+.1f%%)"
+                                % (key, alloc_before, alloc_now, alloc_change * 100))
+
+        print("%-5s %-90s %14.3f %s (%+.1f%%)%s"
+              % (status, key, score, unit, change * 100, alloc_note))
+
+    for key in sorted(set(baseline) - set(current)):
+        print("GONE  %s" % key)
+
+    if args.update:
+        shutil.copyfile(args.current, args.baseline)
+        print("\nBaseline updated from %s" % args.current)
+    elif not recorded:
+        print("\nWARNING: %s is empty, nothing was checked. Record it on the reference machine "
+              "with --update." % args.baseline)
+
+    if failures:
+        print("\n%d check(s) failed:" % len(failures))
+        for failure in failures:
+            print("  " + failure)
+        return 0 if args.update else 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
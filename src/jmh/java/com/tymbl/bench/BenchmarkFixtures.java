@@ -0,0 +1,368 @@
+package com.tymbl.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tymbl.common.entity.City;
+import com.tymbl.common.entity.Country;
+import com.tymbl.common.entity.Currency;
+import com.tymbl.common.entity.Department;
+import com.tymbl.common.entity.Designation;
+import com.tymbl.common.entity.Industry;
+import com.tymbl.common.entity.Job.JobType;
+import com.tymbl.common.entity.Location;
+import com.tymbl.common.repository.CityRepository;
+import com.tymbl.common.repository.CountryRepository;
+import com.tymbl.common.repository.CurrencyRepository;
+import com.tymbl.common.repository.DepartmentRepository;
+import com.tymbl.common.repository.DesignationRepository;
+import com.tymbl.common.repository.IndustryRepository;
+import com.tymbl.common.repository.LocationRepository;
+import com.tymbl.common.service.CacheInvalidationBus;
+import com.tymbl.common.service.CacheWarmup;
+import com.tymbl.common.service.DropdownService;
+import com.tymbl.common.service.ReferenceDataCache;
+import com.tymbl.common.service.ReferenceSnapshotStore;
+import com.tymbl.jobs.constants.ElasticsearchConstants;
+import com.tymbl.jobs.entity.Company;
+import com.tymbl.jobs.repository.CompanyRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic datasets shaped like production reference data, job documents and Gemini
+ * responses. Every generator is seeded, so two runs of the same benchmark see identical input.
+ */
+public final class BenchmarkFixtures {
+
+  public static final long SEED = 42L;
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final String[] COMPANY_STEMS = {"Acme", "Globex", "Initech", "Umbrella",
+      "Hooli", "Vandelay", "Stark", "Wayne", "Wonka", "Cyberdyne", "Soylent", "Tyrell",
+      "Aperture", "Massive", "Nakatomi", "Oscorp", "Pied Piper", "Sterling", "Zephyr", "Infosys",
+      "Tata", "Mahindra", "Reliance", "Zoho", "Freshworks", "Razorpay", "Swiggy", "Zomato",
+      "Flipkart", "Meesho"};
+  private static final String[] COMPANY_SUFFIXES = {"Technologies", "Labs", "Systems",
+      "Solutions", "Software", "Analytics", "Pvt Ltd", "Inc", "Consulting", "Digital",
+      "Networks", "& Co"};
+  private static final String[] SENIORITY = {"", "Junior", "Senior", "Lead", "Principal",
+      "Staff", "Associate"};
+  private static final String[] DOMAINS = {"Software", "Data", "Backend", "Frontend", "Cloud",
+      "QA", "DevOps", "Product", "Marketing", "Sales", "Business", "Security", "Mobile",
+      "Machine Learning"};
+  private static final String[] ROLES = {"Engineer", "Developer", "Analyst", "Manager",
+      "Architect", "Consultant", "Administrator", "Specialist"};
+  private static final String[] CITIES = {"Bengaluru", "Hyderabad", "Pune", "Chennai", "Mumbai",
+      "Gurugram", "Noida", "New Delhi", "Kolkata", "Ahmedabad", "Jaipur", "Kochi", "Indore",
+      "Coimbatore", "Chandigarh", "Mysuru", "Thiruvananthapuram", "Nagpur", "Lucknow",
+      "Bhubaneswar", "Singapore", "London", "Berlin", "Amsterdam", "Dublin", "Toronto",
+      "San Francisco", "Seattle", "New York", "Austin", "Dubai", "Sydney"};
+  private static final String[] COUNTRIES = {"India", "Singapore", "United Kingdom", "Germany",
+      "Netherlands", "Ireland", "Canada", "United States", "United Arab Emirates", "Australia"};
+  private static final String[] DEPARTMENTS = {"Engineering", "Data Science", "Product",
+      "Design", "Quality Assurance", "Operations", "Marketing", "Sales", "Finance",
+      "Human Resources", "Customer Success", "Legal", "Security", "IT Support"};
+  private static final String[] INDUSTRIES = {"Information Technology", "Financial Services",
+      "E-commerce", "Healthcare", "Education", "Telecommunications", "Manufacturing",
+      "Automotive", "Media & Entertainment", "Logistics", "Retail", "Energy", "Gaming",
+      "Travel & Hospitality", "Real Estate", "Consulting", "Others"};
+  private static final String[] SKILLS = {"Java", "Spring Boot", "Kafka", "MySQL",
+      "Elasticsearch", "Kubernetes", "AWS", "Python", "React", "TypeScript", "Go", "Redis",
+      "Microservices", "System Design", "SQL", "Docker", "GraphQL", "Spark"};
+  private static final String[] WORDS = ("we are looking for an engineer to design build and "
+      + "operate scalable services you will work with product and data teams own features end to "
+      + "end review code mentor peers improve reliability observability and performance of "
+      + "distributed systems experience with cloud platforms messaging and relational databases "
+      + "is expected strong fundamentals in algorithms and clear written communication").split(" ");
+
+  private BenchmarkFixtures() {
+  }
+
+  public static List<Company> companies(int count) {
+    Random random = new Random(SEED);
+    List<Company> companies = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Company company = new Company();
+      company.setId((long) i + 1);
+      String name = COMPANY_STEMS[i % COMPANY_STEMS.length] + " "
+          + COMPANY_SUFFIXES[(i / COMPANY_STEMS.length) % COMPANY_SUFFIXES.length];
+      int round = i / (COMPANY_STEMS.length * COMPANY_SUFFIXES.length);
+      company.setName(round == 0 ? name : name + " " + (round + 1));
+      company.setWebsite("https://www." + slug(company.getName()) + ".com");
+      company.setHeadquarters(CITIES[random.nextInt(CITIES.length)]);
+      company.setPrimaryIndustryId((long) random.nextInt(INDUSTRIES.length) + 1);
+      company.setDescription(sentence(random, 40));
+      companies.add(company);
+    }
+    return companies;
+  }
+
+  public static List<Designation> designations() {
+    List<Designation> designations = new ArrayList<>();
+    long id = 1;
+    for (String seniority : SENIORITY) {
+      for (String domain : DOMAINS) {
+        for (String role : ROLES) {
+          Designation designation = new Designation();
+          designation.setId(id++);
+          designation.setName((seniority.isEmpty() ? "" : seniority + " ") + domain + " " + role);
+          designations.add(designation);
+        }
+      }
+    }
+    return designations;
+  }
+
+  public static List<City> cities() {
+    List<City> cities = new ArrayList<>();
+    for (int i = 0; i < CITIES.length; i++) {
+      City city = new City();
+      city.setId((long) i + 1);
+      city.setName(CITIES[i]);
+      city.setCountryId(i < 20 ? 1L : (long) (i % COUNTRIES.length) + 1);
+      cities.add(city);
+    }
+    return cities;
+  }
+
+  public static List<Country> countries() {
+    List<Country> countries = new ArrayList<>();
+    for (int i = 0; i < COUNTRIES.length; i++) {
+      Country country = new Country();
+      country.setId((long) i + 1);
+      country.setName(COUNTRIES[i]);
+      countries.add(country);
+    }
+    return countries;
+  }
+
+  public static List<Department> departments() {
+    List<Department> departments = new ArrayList<>();
+    for (int i = 0; i < DEPARTMENTS.length; i++) {
+      Department department = new Department();
+      department.setId((long) i + 1);
+      department.setName(DEPARTMENTS[i]);
+      departments.add(department);
+    }
+    return departments;
+  }
+
+  public static List<Industry> industries() {
+    List<Industry> industries = new ArrayList<>();
+    for (int i = 0; i < INDUSTRIES.length; i++) {
+      Industry industry = new Industry();
+      industry.setId((long) i + 1);
+      industry.setName(INDUSTRIES[i]);
+      industry.setRank(i + 1);
+      industries.add(industry);
+    }
+    return industries;
+  }
+
+  public static List<Currency> currencies() {
+    String[][] rows = {{"INR", "Indian Rupee", "₹"}, {"USD", "US Dollar", "$"},
+        {"EUR", "Euro", "€"}, {"GBP", "British Pound", "£"}, {"SGD", "Singapore Dollar", "S$"}};
+    List<Currency> currencies = new ArrayList<>();
+    for (int i = 0; i < rows.length; i++) {
+      Currency currency = new Currency();
+      currency.setId((long) i + 1);
+      currency.setCode(rows[i][0]);
+      currency.setName(rows[i][1]);
+      currency.setSymbol(rows[i][2]);
+      currencies.add(currency);
+    }
+    return currencies;
+  }
+
+  /**
+   * Job documents as they come back in {@code _source} from the jobs index
+   */
+  public static List<Map<String, Object>> jobDocuments(int count, List<Company> companies) {
+    Random random = new Random(SEED);
+    List<Designation> designations = designations();
+    JobType[] jobTypes = JobType.values();
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    List<Map<String, Object>> documents = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Company company = companies.get(random.nextInt(companies.size()));
+      Designation designation = designations.get(random.nextInt(designations.size()));
+      int cityIndex = random.nextInt(CITIES.length);
+      int minExperience = random.nextInt(8);
+
+      Map<String, Object> doc = new HashMap<>();
+      doc.put(ElasticsearchConstants.FIELD_ID, 100_000 + i);
+      doc.put("title", designation.getName());
+      doc.put("description", sentence(random, 180 + random.nextInt(220)));
+      doc.put(ElasticsearchConstants.FIELD_CITY_ID, cityIndex + 1);
+      doc.put("cityName", CITIES[cityIndex]);
+      doc.put(ElasticsearchConstants.FIELD_COUNTRY_ID, cityIndex < 20 ? 1 : 2);
+      doc.put(ElasticsearchConstants.FIELD_DESIGNATION_ID, designation.getId());
+      doc.put(ElasticsearchConstants.FIELD_DESIGNATION_NAME, designation.getName());
+      doc.put("minSalary", 600_000 + random.nextInt(20) * 100_000);
+      doc.put("maxSalary", 2_600_000 + random.nextInt(40) * 100_000);
+      doc.put("minExperience", minExperience);
+      doc.put("maxExperience", minExperience + 2 + random.nextInt(6));
+      doc.put("jobType", jobTypes[random.nextInt(jobTypes.length)].name());
+      doc.put("currencyId", 1);
+      doc.put(ElasticsearchConstants.FIELD_COMPANY_ID, company.getId());
+      doc.put(ElasticsearchConstants.FIELD_COMPANY_NAME, company.getName());
+      doc.put("postedById", 1 + random.nextInt(5000));
+      doc.put(ElasticsearchConstants.FIELD_ACTIVE, true);
+      // Mix of epoch millis and ISO strings, as older and newer documents differ
+      LocalDateTime createdAt = base.plusMinutes(random.nextInt(500_000));
+      doc.put(ElasticsearchConstants.FIELD_CREATED_AT,
+          i % 2 == 0 ? java.sql.Timestamp.valueOf(createdAt).getTime() : createdAt.toString());
+      doc.put(ElasticsearchConstants.FIELD_UPDATED_AT, createdAt.plusDays(1).toString());
+      doc.put("tags", pick(random, SKILLS, 3 + random.nextInt(5)));
+      doc.put("openingCount", 1 + random.nextInt(4));
+      doc.put("uniqueUrl", "https://careers.example.com/jobs/" + (100_000 + i));
+      doc.put("platform", i % 3 == 0 ? "LINKEDIN" : "CAREER_PAGE");
+      documents.add(doc);
+    }
+    return documents;
+  }
+
+  /**
+   * Generated text of a topic-list answer: a JSON array, optionally wrapped in model chatter
+   */
+  public static String topicsText(int topicCount, boolean withProse) {
+    Random random = new Random(SEED);
+    ArrayNode topics = OBJECT_MAPPER.createArrayNode();
+    for (int i = 0; i < topicCount; i++) {
+      ObjectNode topic = topics.addObject();
+      topic.put("topic", SKILLS[i % SKILLS.length] + " " + ROLES[i % ROLES.length] + " " + i);
+      topic.put("description", sentence(random, 25));
+    }
+    String json = topics.toPrettyString();
+    return withProse
+        ? "Sure! Here are the most important topics you asked for:\n\n" + json
+            + "\n\nLet me know if you need questions for any of these topics."
+        : json;
+  }
+
+  /**
+   * Wraps generated text in the Gemini {@code generateContent} response envelope
+   */
+  public static String geminiEnvelope(String generatedText) {
+    ObjectNode root = OBJECT_MAPPER.createObjectNode();
+    ObjectNode candidate = root.putArray("candidates").addObject();
+    candidate.putObject("content").putArray("parts").addObject().put("text", generatedText);
+    candidate.put("finishReason", "STOP");
+    root.putObject("usageMetadata").put("totalTokenCount", 1024);
+    try {
+      return OBJECT_MAPPER.writeValueAsString(root);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * DropdownService over in-memory repositories with every cache already warm
+   */
+  public static DropdownService warmDropdownService(List<Company> companies) {
+    CompanyRepository companyRepository = companyRepository(companies);
+    // Local only: no change log, no snapshots on disk, warm-up never started
+    CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null, null, false, 2000, 500,
+        60, 24);
+    DropdownService dropdownService = new DropdownService(
+        InMemoryRepository.of(DepartmentRepository.class, departments(), Department::getId)
+            .build(),
+        InMemoryRepository.of(LocationRepository.class, new ArrayList<Location>(),
+            Location::getId).build(),
+        designationRepository(designations()),
+        InMemoryRepository.of(CountryRepository.class, countries(), Country::getId).build(),
+        InMemoryRepository.of(CityRepository.class, cities(), City::getId)
+            .on("findMaxUpdatedAt", args -> null)
+            .build(),
+        InMemoryRepository.of(IndustryRepository.class, industries(), Industry::getId).build(),
+        companyRepository,
+        InMemoryRepository.of(CurrencyRepository.class, currencies(), Currency::getId).build(),
+        null,
+        null,
+        new ReferenceDataCache(new ObjectMapper(), invalidationBus, 600, 300),
+        new CacheWarmup(null, 120, 3),
+        new ReferenceSnapshotStore(false, System.getProperty("java.io.tmpdir")),
+        invalidationBus);
+    dropdownService.initializeCaches();
+    dropdownService.refreshAllCaches();
+    dropdownService.initializeCompanyList();
+    return dropdownService;
+  }
+
+  public static CompanyRepository companyRepository(List<Company> companies) {
+    Map<String, Company> byLowerName = companies.stream()
+        .collect(Collectors.toMap(c -> c.getName().toLowerCase(Locale.ROOT), c -> c));
+    return InMemoryRepository.of(CompanyRepository.class, companies, Company::getId)
+        .on("findAllSummaries", args -> new ArrayList<>(companies))
+        .on("findMaxUpdatedAt", args -> null)
+        .on("findNameById", args -> companies.stream()
+            .filter(c -> c.getId().equals(args[0])).map(Company::getName).findFirst())
+        .on("findByNameIgnoreCase", args -> Optional.ofNullable(
+            byLowerName.get(((String) args[0]).toLowerCase(Locale.ROOT))))
+        .on("findByNameContainingIgnoreCase", args -> {
+          String needle = ((String) args[0]).toLowerCase(Locale.ROOT);
+          return companies.stream()
+              .filter(c -> c.getName().toLowerCase(Locale.ROOT).contains(needle))
+              .collect(Collectors.toList());
+        })
+        .on("findByNameIn", args -> {
+          Set<Object> names = new LinkedHashSet<>((Collection<?>) args[0]);
+          return companies.stream().filter(c -> names.contains(c.getName()))
+              .collect(Collectors.toList());
+        })
+        .build();
+  }
+
+  public static DesignationRepository designationRepository(List<Designation> designations) {
+    Map<String, Designation> byName = designations.stream()
+        .collect(Collectors.toMap(Designation::getName, d -> d));
+    return InMemoryRepository.of(DesignationRepository.class, designations, Designation::getId)
+        .on("findByName", args -> Optional.ofNullable(byName.get((String) args[0])))
+        .on("findMaxUpdatedAt", args -> null)
+        .on("findByNameContainingIgnoreCase", args -> {
+          String needle = ((String) args[0]).toLowerCase(Locale.ROOT);
+          return designations.stream()
+              .filter(d -> d.getName().toLowerCase(Locale.ROOT).contains(needle))
+              .collect(Collectors.toList());
+        })
+        .build();
+  }
+
+  private static List<String> pick(Random random, String[] values, int count) {
+    List<String> pool = new ArrayList<>(Arrays.asList(values));
+    List<String> picked = new ArrayList<>(count);
+    for (int i = 0; i < count && !pool.isEmpty(); i++) {
+      picked.add(pool.remove(random.nextInt(pool.size())));
+    }
+    return picked;
+  }
+
+  private static String sentence(Random random, int words) {
+    StringBuilder text = new StringBuilder(words * 8);
+    for (int i = 0; i < words; i++) {
+      if (i > 0) {
+        text.append(i % 17 == 0 ? ". " : " ");
+      }
+      text.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return text.append('.').toString();
+  }
+
+  private static String slug(String name) {
+    return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "");
+  }
+}
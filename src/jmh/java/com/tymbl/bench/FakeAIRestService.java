@@ -0,0 +1,29 @@
+package com.tymbl.bench;
+
+import com.tymbl.common.service.AIRestService;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Answers Gemini calls with canned response envelopes instead of going over the network
+ */
+public class FakeAIRestService extends AIRestService {
+
+  private final Function<String, String> responseByOperation;
+
+  /**
+   * @param responseByOperation maps the caller's operation name to the generated text to return
+   */
+  public FakeAIRestService(Function<String, String> responseByOperation) {
+    super(null, null);
+    this.responseByOperation = responseByOperation;
+  }
+
+  @Override
+  public ResponseEntity<String> callGeminiAPI(Map<String, Object> requestBody,
+      String operationName) {
+    return ResponseEntity.ok(BenchmarkFixtures.geminiEnvelope(
+        responseByOperation.apply(operationName)));
+  }
+}
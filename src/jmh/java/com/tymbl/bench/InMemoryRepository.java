@@ -0,0 +1,91 @@
+package com.tymbl.bench;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Builds an in-memory implementation of a Spring Data repository interface over a fixed list of
+ * rows, so services can be benchmarked without a database.
+ *
+ * <p>{@code findAll}, {@code findById}, {@code existsById}, {@code count}, {@code save} and
+ * {@code saveAll} work out of the box; derived or {@code @Query} methods are registered with
+ * {@link #on}. Any other call fails loudly so a benchmark never silently measures a stub.
+ */
+public final class InMemoryRepository<R, T> {
+
+  private final Class<R> repositoryType;
+  private final List<T> rows;
+  private final Map<Long, T> rowsById = new LinkedHashMap<>();
+  private final Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+
+  private InMemoryRepository(Class<R> repositoryType, List<T> rows, Function<T, Long> idOf) {
+    this.repositoryType = repositoryType;
+    this.rows = new ArrayList<>(rows);
+    for (T row : rows) {
+      rowsById.put(idOf.apply(row), row);
+    }
+  }
+
+  public static <R, T> InMemoryRepository<R, T> of(Class<R> repositoryType, List<T> rows,
+      Function<T, Long> idOf) {
+    return new InMemoryRepository<>(repositoryType, rows, idOf);
+  }
+
+  /**
+   * Handles every overload of {@code methodName}
+   */
+  public InMemoryRepository<R, T> on(String methodName, Function<Object[], Object> handler) {
+    handlers.put(methodName, handler);
+    return this;
+  }
+
+  public R build() {
+    Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(),
+        new Class<?>[]{repositoryType}, (self, method, args) -> {
+          String name = method.getName();
+          Object[] arguments = args != null ? args : new Object[0];
+
+          Function<Object[], Object> handler = handlers.get(name);
+          if (handler != null) {
+            return handler.apply(arguments);
+          }
+
+          switch (name) {
+            case "findAll":
+              if (arguments.length == 0) {
+                return new ArrayList<>(rows);
+              }
+              break;
+            case "findById":
+              return Optional.ofNullable(rowsById.get(arguments[0]));
+            case "existsById":
+              return rowsById.containsKey(arguments[0]);
+            case "count":
+              return (long) rows.size();
+            case "save":
+            case "saveAndFlush":
+              return arguments[0];
+            case "saveAll":
+              return new ArrayList<>((Collection<?>) arguments[0]);
+            case "toString":
+              return "InMemory" + repositoryType.getSimpleName();
+            case "hashCode":
+              return System.identityHashCode(self);
+            case "equals":
+              return self == arguments[0];
+            default:
+              break;
+          }
+          throw new UnsupportedOperationException(
+              repositoryType.getSimpleName() + "." + name + " is not faked for benchmarks");
+        });
+    return repositoryType.cast(proxy);
+  }
+}
@@ -0,0 +1,63 @@
+package com.tymbl.common.service;
+
+import com.tymbl.bench.BenchmarkFixtures;
+import com.tymbl.jobs.entity.Company;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Warm-cache reference-data lookups done per search hit and per request
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DropdownLookupBenchmark {
+
+  private DropdownService dropdownService;
+  private int cursor;
+
+  @Setup
+  public void setUp() {
+    List<Company> companies = BenchmarkFixtures.companies(5000);
+    dropdownService = BenchmarkFixtures.warmDropdownService(companies);
+  }
+
+  @Benchmark
+  public void lookupNamesById(Blackhole blackhole) {
+    long id = (cursor++ % 30) + 1;
+    blackhole.consume(dropdownService.getCityNameById(id));
+    blackhole.consume(dropdownService.getCountryNameById(id % 10 + 1));
+    blackhole.consume(dropdownService.getDesignationNameById(id * 7));
+    blackhole.consume(dropdownService.getCompanyNameById(id * 131));
+    blackhole.consume(dropdownService.getIndustryNameById(id % 17 + 1));
+  }
+
+  @Benchmark
+  public Long lookupCityIdByName() {
+    return dropdownService.getCityIdByName((cursor++ & 1) == 0 ? "Bengaluru" : "Sydney");
+  }
+
+  @Benchmark
+  public Object listAllDesignations() {
+    return dropdownService.getAllDesignations();
+  }
+
+  @Benchmark
+  public Object listAllCompanies() {
+    return dropdownService.getAllCompanies();
+  }
+}
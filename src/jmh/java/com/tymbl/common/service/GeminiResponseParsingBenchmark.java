@@ -0,0 +1,55 @@
+package com.tymbl.common.service;
+
+import com.tymbl.bench.BenchmarkFixtures;
+import com.tymbl.bench.FakeAIRestService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Extracting and mapping the JSON payload of Gemini topic answers; the HTTP call is replaced by
+ * a canned response so only prompt building and response parsing are measured
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeminiResponseParsingBenchmark {
+
+  @Param({"12", "120"})
+  public int topicCount;
+
+  @Param({"false", "true"})
+  public boolean withProse;
+
+  private GeminiInterviewService geminiInterviewService;
+
+  @Setup
+  public void setUp() {
+    String text = BenchmarkFixtures.topicsText(topicCount, withProse);
+    geminiInterviewService = new GeminiInterviewService(new FakeAIRestService(operation -> text));
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> topicsForDesignation() {
+    return geminiInterviewService.generateTopicsForDesignation("Senior Software Engineer");
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> topicsForSkill() {
+    return geminiInterviewService.generateTopicsForSkill("Java");
+  }
+}
@@ -0,0 +1,57 @@
+package com.tymbl.jobs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tymbl.bench.BenchmarkFixtures;
+import com.tymbl.jobs.entity.Company;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Turning one page of job search hits into {@code JobResponse}s, including dropdown enrichment
+ * against warm caches
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobResponseConversionBenchmark {
+
+  @Param({"20", "200"})
+  public int pageSize;
+
+  private ElasticsearchJobQueryService queryService;
+  private List<Map<String, Object>> hits;
+
+  @Setup
+  public void setUp() {
+    List<Company> companies = BenchmarkFixtures.companies(5000);
+    queryService = new ElasticsearchJobQueryService(null,
+        BenchmarkFixtures.warmDropdownService(companies), null, new ObjectMapper(), null, null,
+        null, null);
+    hits = BenchmarkFixtures.jobDocuments(pageSize, companies);
+  }
+
+  @Benchmark
+  public void convertSearchPage(Blackhole blackhole) {
+    for (Map<String, Object> source : hits) {
+      // parseSearchResponse copies each _source before converting it
+      blackhole.consume(queryService.convertMapToJobResponse(new HashMap<>(source)));
+    }
+  }
+}
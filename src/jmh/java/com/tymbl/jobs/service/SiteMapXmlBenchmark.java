@@ -0,0 +1,64 @@
+package com.tymbl.jobs.service;
+
+import com.tymbl.bench.BenchmarkFixtures;
+import com.tymbl.jobs.entity.Company;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Building one sitemap page (the default 1000 URLs) for companies and for job descriptions
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SiteMapXmlBenchmark {
+
+  private static final int URLS_PER_PAGE = 1000;
+
+  private SiteMapService siteMapService;
+  private List<Map<String, Object>> companies;
+  private List<Map<String, Object>> jobs;
+
+  @Setup
+  public void setUp() {
+    siteMapService = new SiteMapService();
+    ReflectionTestUtils.setField(siteMapService, "baseUrl", "https://www.tymblhub.com");
+
+    List<Company> companyEntities = BenchmarkFixtures.companies(URLS_PER_PAGE);
+    companies = new ArrayList<>(URLS_PER_PAGE);
+    for (Company company : companyEntities) {
+      Map<String, Object> companyMap = new HashMap<>();
+      companyMap.put("id", company.getId());
+      companyMap.put("name", company.getName());
+      companies.add(companyMap);
+    }
+    jobs = BenchmarkFixtures.jobDocuments(URLS_PER_PAGE, companyEntities);
+  }
+
+  @Benchmark
+  public String companySitemapPage() {
+    return siteMapService.generateCompanySitemapXml(companies);
+  }
+
+  @Benchmark
+  public String jobDescriptionSitemapPage() {
+    return siteMapService.generateJobDescriptionSitemapXml(jobs);
+  }
+}
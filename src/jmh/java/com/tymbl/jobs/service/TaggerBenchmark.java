@@ -0,0 +1,125 @@
+package com.tymbl.jobs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tymbl.bench.BenchmarkFixtures;
+import com.tymbl.bench.FakeAIRestService;
+import com.tymbl.bench.InMemoryRepository;
+import com.tymbl.common.entity.Designation;
+import com.tymbl.common.entity.PendingContent;
+import com.tymbl.common.entity.SimilarContent;
+import com.tymbl.common.entity.SimilarContent.ContentType;
+import com.tymbl.common.repository.PendingContentRepository;
+import com.tymbl.common.repository.SimilarContentRepository;
+import com.tymbl.common.service.DropdownService;
+import com.tymbl.jobs.entity.Company;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Company and designation tagging of crawled job titles. Inputs cycle through exact names,
+ * near-misses, synonym hits and unknown values so every matching strategy is exercised; the AI
+ * fallback answers {@code NO_MATCH} instantly, so only local work is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TaggerBenchmark {
+
+  private CompanyTaggerService companyTaggerService;
+  private DesignationTaggerService designationTaggerService;
+  private String[] companyInputs;
+  private String[] designationInputs;
+  private int companyCursor;
+  private int designationCursor;
+
+  @Setup
+  public void setUp() {
+    List<Company> companies = BenchmarkFixtures.companies(5000);
+    List<Designation> designations = BenchmarkFixtures.designations();
+    DropdownService dropdownService = BenchmarkFixtures.warmDropdownService(companies);
+    FakeAIRestService aiRestService = new FakeAIRestService(operation -> "NO_MATCH");
+
+    List<SimilarContent> synonyms = new ArrayList<>();
+    synonyms.add(synonym(1L, ContentType.COMPANY, companies.get(1).getName(), "Globex Corp"));
+    synonyms.add(synonym(2L, ContentType.DESIGNATION, "Senior Software Engineer", "SDE 2"));
+    synonyms.add(synonym(3L, ContentType.DESIGNATION, "Lead Software Engineer", "Tech Lead"));
+
+    SimilarContentRepository similarContentRepository = InMemoryRepository
+        .of(SimilarContentRepository.class, synonyms, SimilarContent::getId)
+        .on("findByTypeAndSearchTerm", args -> {
+          String term = ((String) args[1]).toLowerCase(Locale.ROOT);
+          return synonyms.stream()
+              .filter(s -> s.getType() == args[0])
+              .filter(s -> s.getSimilarName().toLowerCase(Locale.ROOT).contains(term)
+                  || s.getParentName().toLowerCase(Locale.ROOT).contains(term))
+              .collect(Collectors.toList());
+        })
+        // Pretend every mapping is already stored so the benchmark does no writes
+        .on("existsByParentNameAndSimilarNameAndType", args -> true)
+        .build();
+    PendingContentRepository pendingContentRepository = InMemoryRepository
+        .of(PendingContentRepository.class, new ArrayList<PendingContent>(), PendingContent::getId)
+        .on("existsByEntityNameAndEntityType", args -> true)
+        .build();
+
+    companyTaggerService = new CompanyTaggerService(
+        BenchmarkFixtures.companyRepository(companies), similarContentRepository,
+        pendingContentRepository, aiRestService);
+    designationTaggerService = new DesignationTaggerService(
+        BenchmarkFixtures.designationRepository(designations), similarContentRepository,
+        pendingContentRepository, aiRestService, new ObjectMapper(), dropdownService);
+
+    companyInputs = new String[]{
+        companies.get(0).getName(),
+        companies.get(42).getName().toUpperCase(Locale.ROOT),
+        "Globex Corp",
+        "Initech",
+        "Unknown Startup Private Limited"};
+    designationInputs = new String[]{
+        "Senior Software Engineer",
+        "SDE 2",
+        "Backend Developer",
+        "Sr. Java Backend Developer - Payments",
+        "Chief Happiness Officer"};
+  }
+
+  @Benchmark
+  public CompanyTaggerService.CompanyTaggingResult tagCompany() {
+    String input = companyInputs[companyCursor++ % companyInputs.length];
+    return companyTaggerService.tagCompany(input, 1L, "BENCHMARK");
+  }
+
+  @Benchmark
+  public DesignationTaggerService.DesignationTaggingResult tagDesignation() {
+    String input = designationInputs[designationCursor++ % designationInputs.length];
+    return designationTaggerService.tagDesignation(input, 1L, "BENCHMARK");
+  }
+
+  private static SimilarContent synonym(long id, ContentType type, String parentName,
+      String similarName) {
+    SimilarContent similarContent = new SimilarContent();
+    similarContent.setId(id);
+    similarContent.setType(type);
+    similarContent.setParentName(parentName);
+    similarContent.setSimilarName(similarName);
+    similarContent.setConfidenceScore(new BigDecimal("0.90"));
+    return similarContent;
+  }
+}
@@ -8,7 +8,6 @@ import com.tymbl.common.repository.UserRepository;
 import com.tymbl.common.service.EmailService;
 import com.tymbl.common.service.LinkedInService;
 import java.util.UUID;
-import javax.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -75,7 +74,7 @@ public class AuthenticationService {
 
 
   @Transactional
-  public void initiatePasswordReset(String email) throws javax.mail.MessagingException {
+  public void initiatePasswordReset(String email) {
     User user = userRepository.findByEmail(email)
         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
@@ -105,7 +104,7 @@ public class AuthenticationService {
 
 
   @Transactional
-  public void resendVerificationEmail(String email) throws MessagingException {
+  public void resendVerificationEmail(String email) {
     User user = userRepository.findByEmail(email)
         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
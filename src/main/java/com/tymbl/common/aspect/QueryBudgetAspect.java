@@ -0,0 +1,45 @@
+package com.tymbl.common.aspect;
+
+import com.tymbl.common.jdbc.QueryBudget;
+import com.tymbl.common.jdbc.QueryBudget.Kind;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+/**
+ * Names the statement scopes of {@link QueryBudget}: a request after the controller method that
+ * handles it, and each run of a {@code @Scheduled} method as a scope of its own. Names are
+ * {@code SimpleClassName.method}, the form used for per-scope budget properties.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetAspect {
+
+  private final QueryBudget queryBudget;
+
+  @Around("execution(* com.tymbl..controller..*(..))")
+  public Object nameRequest(ProceedingJoinPoint joinPoint) throws Throwable {
+    queryBudget.name(nameOf(joinPoint));
+    return joinPoint.proceed();
+  }
+
+  @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)")
+  public Object countScheduledRun(ProceedingJoinPoint joinPoint) throws Throwable {
+    String name = nameOf(joinPoint);
+    QueryBudget.Scope scope = queryBudget.open(Kind.JOB, name);
+    try {
+      return joinPoint.proceed();
+    } finally {
+      queryBudget.close(scope, name);
+    }
+  }
+
+  private static String nameOf(ProceedingJoinPoint joinPoint) {
+    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+    return signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+  }
+}
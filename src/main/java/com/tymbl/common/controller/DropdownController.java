@@ -10,6 +10,8 @@ import com.tymbl.common.enums.Degree;
 import com.tymbl.common.service.CurrencyService;
 import com.tymbl.common.service.DropdownService;
 import com.tymbl.common.service.GeminiService;
+import com.tymbl.common.service.ReferenceDataCache;
+import com.tymbl.common.service.ReferenceDataCache.Dataset;
 import com.tymbl.jobs.service.CompanyService;
 import com.tymbl.jobs.service.ElasticsearchIndexingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,6 +40,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @CrossOrigin(
@@ -62,6 +65,7 @@ public class DropdownController {
   private final GeminiService geminiService;
   private final CompanyService companyService;
   private final ElasticsearchIndexingService elasticsearchIndexingService;
+  private final ReferenceDataCache referenceDataCache;
 
   // DTOs for lightweight responses
   public static class DepartmentDTO {
@@ -243,12 +247,13 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<DepartmentDTO>> getAllDepartments() {
-    List<Department> departments = dropdownService.getAllDepartments();
-    List<DepartmentDTO> departmentDTOs = departments.stream()
-        .map(dept -> new DepartmentDTO(dept.getId(), dept.getName()))
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(departmentDTOs);
+  public ResponseEntity<byte[]> getAllDepartments(WebRequest request) {
+    return referenceDataCache.respond(Dataset.DEPARTMENTS, "list", () -> {
+      List<Department> departments = dropdownService.getAllDepartments();
+      return departments.stream()
+          .map(dept -> new DepartmentDTO(dept.getId(), dept.getName()))
+          .collect(Collectors.toList());
+    }, request);
   }
 
   @PostMapping("/departments")
@@ -305,8 +310,9 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<Location>> getAllLocations() {
-    return ResponseEntity.ok(dropdownService.getAllLocations());
+  public ResponseEntity<byte[]> getAllLocations(WebRequest request) {
+    return referenceDataCache.respond(Dataset.LOCATIONS, "list",
+        dropdownService::getAllLocations, request);
   }
 
   @PostMapping("/locations")
@@ -360,12 +366,13 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<DesignationDTO>> getAllDesignations() {
-    List<Designation> designations = dropdownService.getAllDesignations();
-    List<DesignationDTO> designationDTOs = designations.stream()
-        .map(desig -> new DesignationDTO(desig.getId(), desig.getName()))
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(designationDTOs);
+  public ResponseEntity<byte[]> getAllDesignations(WebRequest request) {
+    return referenceDataCache.respond(Dataset.DESIGNATIONS, "list", () -> {
+      List<Designation> designations = dropdownService.getAllDesignations();
+      return designations.stream()
+          .map(desig -> new DesignationDTO(desig.getId(), desig.getName()))
+          .collect(Collectors.toList());
+    }, request);
   }
 
   @PostMapping("/designations")
@@ -420,12 +427,13 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<IndustryDTO>> getAllIndustries() {
-    List<Industry> industries = dropdownService.getAllIndustries();
-    List<IndustryDTO> industryDTOs = industries.stream()
-        .map(industry -> new IndustryDTO(industry.getId(), industry.getName()))
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(industryDTOs);
+  public ResponseEntity<byte[]> getAllIndustries(WebRequest request) {
+    return referenceDataCache.respond(Dataset.INDUSTRIES, "list", () -> {
+      List<Industry> industries = dropdownService.getAllIndustries();
+      return industries.stream()
+          .map(industry -> new IndustryDTO(industry.getId(), industry.getName()))
+          .collect(Collectors.toList());
+    }, request);
   }
 
   @PostMapping("/industries")
@@ -477,16 +485,16 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<Map<String, String>>> getIndustriesAsMap() {
-    List<Map<String, String>> industryMaps = dropdownService.getAllIndustries().stream()
-        .map(industry -> {
-          Map<String, String> map = new HashMap<>();
-          map.put("value", industry.getId().toString());
-          map.put("label", industry.getName());
-          return map;
-        })
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(industryMaps);
+  public ResponseEntity<byte[]> getIndustriesAsMap(WebRequest request) {
+    return referenceDataCache.respond(Dataset.INDUSTRIES, "map", () ->
+        dropdownService.getAllIndustries().stream()
+            .map(industry -> {
+              Map<String, String> map = new HashMap<>();
+              map.put("value", industry.getId().toString());
+              map.put("label", industry.getName());
+              return map;
+            })
+            .collect(Collectors.toList()), request);
   }
 
   @GetMapping("/designations-map")
@@ -523,16 +531,16 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<Map<String, String>>> getDesignationsAsMap() {
-    List<Map<String, String>> designationMaps = dropdownService.getAllDesignations().stream()
-        .map(designation -> {
-          Map<String, String> map = new HashMap<>();
-          map.put("value", designation.getId().toString());
-          map.put("label", designation.getName());
-          return map;
-        })
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(designationMaps);
+  public ResponseEntity<byte[]> getDesignationsAsMap(WebRequest request) {
+    return referenceDataCache.respond(Dataset.DESIGNATIONS, "map", () ->
+        dropdownService.getAllDesignations().stream()
+            .map(designation -> {
+              Map<String, String> map = new HashMap<>();
+              map.put("value", designation.getId().toString());
+              map.put("label", designation.getName());
+              return map;
+            })
+            .collect(Collectors.toList()), request);
   }
 
   @GetMapping("/degrees")
@@ -555,14 +563,14 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<Map<String, String>> getAllDegrees() {
-    Map<String, String> degreeMap = Arrays.stream(Degree.values())
-        .collect(Collectors.toMap(
-            Degree::name,
-            degree -> degree.name().charAt(0) + degree.name().substring(1).toLowerCase()
-                .replace("_", " ")
-        ));
-    return ResponseEntity.ok(degreeMap);
+  public ResponseEntity<byte[]> getAllDegrees(WebRequest request) {
+    return referenceDataCache.respond(Dataset.DEGREES, "map", () ->
+        Arrays.stream(Degree.values())
+            .collect(Collectors.toMap(
+                Degree::name,
+                degree -> degree.name().charAt(0) + degree.name().substring(1).toLowerCase()
+                    .replace("_", " ")
+            )), request);
   }
 
   // Currency endpoints
@@ -595,8 +603,9 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<Currency>> getAllCurrencies() {
-    return ResponseEntity.ok(currencyService.getAllCurrencies());
+  public ResponseEntity<byte[]> getAllCurrencies(WebRequest request) {
+    return referenceDataCache.respond(Dataset.CURRENCIES, "list",
+        currencyService::getAllCurrencies, request);
   }
 
   @GetMapping("/currencies/{id}")
@@ -680,8 +689,9 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<com.tymbl.common.dto.CompanyDropdownDTO>> getAllCompanies() {
-    return ResponseEntity.ok(companyService.getAllCompaniesForDropdownDTO());
+  public ResponseEntity<byte[]> getAllCompanies(WebRequest request) {
+    return referenceDataCache.respond(Dataset.COMPANIES, "list",
+        companyService::getAllCompaniesForDropdownDTO, request);
   }
 
   @GetMapping("/companies-map")
@@ -710,16 +720,16 @@ public class DropdownController {
           )
       )
   })
-  public ResponseEntity<List<Map<String, String>>> getCompaniesAsMap() {
-    List<Map<String, String>> companyMaps = companyService.getAllCompaniesForDropdown().stream()
-        .map(company -> {
-          Map<String, String> map = new HashMap<>();
-          map.put("value", company.getId().toString());
-          map.put("label", company.getName());
-          return map;
-        })
-        .collect(Collectors.toList());
-    return ResponseEntity.ok(companyMaps);
+  public ResponseEntity<byte[]> getCompaniesAsMap(WebRequest request) {
+    return referenceDataCache.respond(Dataset.COMPANIES, "map", () ->
+        companyService.getAllCompaniesForDropdown().stream()
+            .map(company -> {
+              Map<String, String> map = new HashMap<>();
+              map.put("value", company.getId().toString());
+              map.put("label", company.getName());
+              return map;
+            })
+            .collect(Collectors.toList()), request);
   }
 
   @GetMapping("/companies/by-industry/{industryId}")
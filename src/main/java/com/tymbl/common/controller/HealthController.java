@@ -1,5 +1,15 @@
 package com.tymbl.common.controller;
 
+import com.tymbl.common.jdbc.QueryBudget;
+import com.tymbl.common.service.CacheInvalidationBus;
+import com.tymbl.common.service.CacheWarmup;
+import com.tymbl.common.service.DependencyGuard;
+import com.tymbl.common.service.ExecutorRegistry;
+import com.tymbl.common.service.NotificationDispatcher;
+import com.tymbl.common.service.ReferenceDataCache;
+import com.tymbl.common.service.ReferenceSnapshotStore;
+import com.tymbl.config.ElasticsearchNodeHealth;
+import com.tymbl.jobs.service.JobDetailCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -11,8 +21,10 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
 import org.springframework.boot.availability.LivenessState;
 import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -40,6 +52,18 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Health", description = "Application health check endpoints")
 public class HealthController {
 
+  private final ExecutorRegistry executorRegistry;
+  private final NotificationDispatcher notificationDispatcher;
+  private final JobDetailCache jobDetailCache;
+  private final ElasticsearchNodeHealth elasticsearchNodeHealth;
+  private final DependencyGuard dependencyGuard;
+  private final ReferenceDataCache referenceDataCache;
+  private final CacheWarmup cacheWarmup;
+  private final ReferenceSnapshotStore referenceSnapshotStore;
+  private final CacheInvalidationBus cacheInvalidationBus;
+  private final QueryBudget queryBudget;
+  private final ApplicationAvailability applicationAvailability;
+
   @GetMapping
   @Operation(
       summary = "Basic health check",
@@ -97,7 +121,8 @@ public class HealthController {
   @GetMapping("/readiness")
   @Operation(
       summary = "Readiness probe",
-      description = "Returns the readiness state of the application"
+      description = "Returns the readiness state of the application and the warm-up state of "
+          + "each in-memory cache. Answers 503 until the startup warm-up has finished."
   )
   @ApiResponses(value = {
       @ApiResponse(
@@ -108,15 +133,104 @@ public class HealthController {
               examples = @ExampleObject(
                   value = "{\n" +
                       "  \"status\": \"ACCEPTING_TRAFFIC\",\n" +
+                      "  \"warmup\": {\n" +
+                      "    \"warm\": true,\n" +
+                      "    \"completedInMs\": 4210,\n" +
+                      "    \"caches\": {\n" +
+                      "      \"designations\": {\"state\": \"READY\", \"priority\": 0, " +
+                      "\"attempts\": 1, \"durationMs\": 380, \"error\": null},\n" +
+                      "      \"companies\": {\"state\": \"READY\", \"priority\": 10, " +
+                      "\"attempts\": 1, \"durationMs\": 3650, \"error\": null}\n" +
+                      "    }\n" +
+                      "  },\n" +
                       "  \"timestamp\": \"2024-03-20T10:30:00\"\n" +
                       "}"
               )
           )
-      )
+      ),
+      @ApiResponse(responseCode = "503", description = "Instance is still warming up")
   })
   public ResponseEntity<Map<String, Object>> readiness() {
+    ReadinessState state = applicationAvailability.getReadinessState();
+    Map<String, Object> response = new HashMap<>();
+    response.put("status", state);
+    response.put("warmup", cacheWarmup.getStats());
+    response.put("timestamp", LocalDateTime.now());
+    return ResponseEntity.status(state == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK
+        : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+  }
+
+  @GetMapping("/executors")
+  @Operation(
+      summary = "Executor pool statistics",
+      description = "Returns size, queue depth and task counters for each shared executor pool"
+  )
+  public ResponseEntity<Map<String, Object>> executors() {
+    Map<String, Object> response = new HashMap<>();
+    response.put("pools", executorRegistry.getStats());
+    response.put("timestamp", LocalDateTime.now());
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/caches")
+  @Operation(
+      summary = "Cache statistics",
+      description = "Returns size and hit/miss counters of the in-memory response caches"
+  )
+  public ResponseEntity<Map<String, Object>> caches() {
+    Map<String, Object> response = new HashMap<>();
+    response.put("jobDetails", jobDetailCache.getStats());
+    response.put("referenceData", referenceDataCache.getStats());
+    response.put("snapshots", referenceSnapshotStore.getStats());
+    response.put("invalidationBus", cacheInvalidationBus.getStats());
+    response.put("timestamp", LocalDateTime.now());
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/dependencies")
+  @Operation(
+      summary = "Outbound dependency guards",
+      description = "Returns circuit state, in-flight calls and failure/rejection counters per outbound dependency"
+  )
+  public ResponseEntity<Map<String, Object>> dependencies() {
+    Map<String, Object> response = new HashMap<>();
+    response.put("dependencies", dependencyGuard.getStats());
+    response.put("timestamp", LocalDateTime.now());
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/queries")
+  @Operation(
+      summary = "SQL statement budgets",
+      description = "Returns statement counts, database time and over-budget runs per endpoint and scheduled job"
+  )
+  public ResponseEntity<Map<String, Object>> queries() {
+    Map<String, Object> response = new HashMap<>();
+    response.put("queries", queryBudget.getStats());
+    response.put("timestamp", LocalDateTime.now());
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/elasticsearch")
+  @Operation(
+      summary = "Elasticsearch node statistics",
+      description = "Returns the configured nodes of the search and bulk clients with their failure counters"
+  )
+  public ResponseEntity<Map<String, Object>> elasticsearch() {
+    Map<String, Object> response = new HashMap<>();
+    response.put("clients", elasticsearchNodeHealth.getStats());
+    response.put("timestamp", LocalDateTime.now());
+    return ResponseEntity.ok(response);
+  }
+
+  @GetMapping("/notification-outbox")
+  @Operation(
+      summary = "Notification outbox statistics",
+      description = "Returns outbox row counts per channel and status plus dispatcher counters"
+  )
+  public ResponseEntity<Map<String, Object>> notificationOutbox() {
     Map<String, Object> response = new HashMap<>();
-    response.put("status", ReadinessState.ACCEPTING_TRAFFIC);
+    response.put("dispatcher", notificationDispatcher.getStatus());
     response.put("timestamp", LocalDateTime.now());
     return ResponseEntity.ok(response);
   }
@@ -4,6 +4,7 @@ import com.tymbl.auth.service.JwtService;
 import com.tymbl.common.dto.NotificationCountWithTypeResponse;
 import com.tymbl.common.dto.NotificationListResponse;
 import com.tymbl.common.entity.User;
+import com.tymbl.common.service.NotificationOutboxService;
 import com.tymbl.common.service.NotificationService;
 import com.tymbl.registration.service.RegistrationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,7 +22,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -37,6 +40,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class NotificationController {
 
   private final NotificationService notificationService;
+  private final NotificationOutboxService notificationOutboxService;
   private final JwtService jwtService;
   private final RegistrationService registrationService;
 
@@ -265,4 +269,63 @@ public class NotificationController {
     response.put("message", String.format("Marked %d out of %d notifications as clicked", updatedCount, notificationIds.size()));
     return ResponseEntity.ok(response);
   }
+
+  /**
+   * Register a device for push notifications
+   */
+  @PostMapping("/device-tokens")
+  @Operation(
+      summary = "Register device token",
+      description = "Registers (or re-activates) the FCM registration token of the caller's device for push notifications"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Device token registered"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized")
+  })
+  public ResponseEntity<Map<String, Object>> registerDeviceToken(
+      @RequestHeader("Authorization") String token,
+      @Parameter(description = "FCM registration token", required = true)
+      @RequestParam String deviceToken,
+      @Parameter(description = "Device platform, e.g. android, ios, web")
+      @RequestParam(required = false) String platform) {
+
+    String email = jwtService.extractUsername(token.substring(7));
+    User currentUser = registrationService.getUserByEmail(email);
+
+    notificationOutboxService.registerDeviceToken(currentUser.getId(), deviceToken, platform);
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("message", "Device token registered");
+    return ResponseEntity.ok(response);
+  }
+
+  /**
+   * Stop push notifications to a device, e.g. on logout
+   */
+  @DeleteMapping("/device-tokens")
+  @Operation(
+      summary = "Unregister device token",
+      description = "Removes the caller's FCM registration token so the device no longer receives pushes"
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Device token removed"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized")
+  })
+  public ResponseEntity<Map<String, Object>> unregisterDeviceToken(
+      @RequestHeader("Authorization") String token,
+      @Parameter(description = "FCM registration token", required = true)
+      @RequestParam String deviceToken) {
+
+    String email = jwtService.extractUsername(token.substring(7));
+    User currentUser = registrationService.getUserByEmail(email);
+
+    boolean removed = notificationOutboxService.unregisterDeviceToken(currentUser.getId(),
+        deviceToken);
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("removed", removed);
+    return ResponseEntity.ok(response);
+  }
 }
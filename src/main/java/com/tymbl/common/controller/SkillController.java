@@ -2,6 +2,8 @@ package com.tymbl.common.controller;
 
 import com.tymbl.common.entity.Skill;
 import com.tymbl.common.repository.SkillRepository;
+import com.tymbl.common.service.ReferenceDataCache;
+import com.tymbl.common.service.ReferenceDataCache.Dataset;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -10,8 +12,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @CrossOrigin(
@@ -42,21 +43,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class SkillController {
 
   private final SkillRepository skillRepository;
-
-  // JVM cache for skills
-  private final ConcurrentMap<String, List<Skill>> skillsCache = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, Long> skillsCacheTimestamp = new ConcurrentHashMap<>();
-
-  // Cache TTL in milliseconds (30 minutes)
-  private static final long CACHE_TTL = 30 * 60 * 1000L;
-
-  /**
-   * Check if cache entry is expired
-   */
-  private boolean isCacheExpired(String cacheKey) {
-    Long timestamp = skillsCacheTimestamp.get(cacheKey);
-    return timestamp == null || (System.currentTimeMillis() - timestamp) > CACHE_TTL;
-  }
+  private final ReferenceDataCache referenceDataCache;
 
   /**
    * DTO for skills with only id and name
@@ -93,7 +80,7 @@ public class SkillController {
   @GetMapping
   @Operation(
       summary = "Get all skills",
-      description = "Returns a list of all available skills with only id and name fields, sorted by usage count (descending) and name (ascending). Results are cached for better performance."
+      description = "Returns a list of all available skills with only id and name fields, sorted by usage count (descending) and name (ascending). Results are served from a pre-serialized snapshot with an ETag; send If-None-Match to get 304 Not Modified when unchanged."
   )
   @ApiResponses(value = {
       @ApiResponse(
@@ -120,35 +107,14 @@ public class SkillController {
           )
       )
   })
-  public ResponseEntity<List<SkillDTO>> getAllSkills() {
-    String cacheKey = "all_skills";
-
-    // Check cache first
-    if (!isCacheExpired(cacheKey)) {
-      List<Skill> cachedSkills = skillsCache.get(cacheKey);
-      if (cachedSkills != null) {
-        log.debug("Returning skills from cache");
-        List<SkillDTO> skillDTOs = cachedSkills.stream()
-            .map(skill -> new SkillDTO(skill.getId(), skill.getName()))
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(skillDTOs);
-      }
-    }
-
-    // Cache miss or expired, fetch from database
-    log.debug("Cache miss for skills, fetching from database");
-    List<Skill> skills = skillRepository.findByEnabledTrueOrderByUsageCountDescNameAsc();
-
-    // Update cache
-    skillsCache.put(cacheKey, skills);
-    skillsCacheTimestamp.put(cacheKey, System.currentTimeMillis());
-
-    // Convert to DTOs
-    List<SkillDTO> skillDTOs = skills.stream()
-        .map(skill -> new SkillDTO(skill.getId(), skill.getName()))
-        .collect(Collectors.toList());
-
-    log.debug("Skills cache updated with {} skills", skills.size());
-    return ResponseEntity.ok(skillDTOs);
+  public ResponseEntity<byte[]> getAllSkills(WebRequest request) {
+    // Usage counts shift as jobs are tagged; the snapshot follows on its rebuild interval
+    return referenceDataCache.respond(Dataset.SKILLS, "list", () -> {
+      List<Skill> skills = skillRepository.findByEnabledTrueOrderByUsageCountDescNameAsc();
+      log.debug("Skills snapshot built from {} skills", skills.size());
+      return skills.stream()
+          .map(skill -> new SkillDTO(skill.getId(), skill.getName()))
+          .collect(Collectors.toList());
+    }, request);
   }
-} 
\ No newline at end of file
+}
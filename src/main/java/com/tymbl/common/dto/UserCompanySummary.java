@@ -0,0 +1,13 @@
+package com.tymbl.common.dto;
+
+/**
+ * User's employer and designation only, for scans over the whole user table
+ */
+public interface UserCompanySummary {
+
+  Long getId();
+
+  Long getCompanyId();
+
+  String getDesignation();
+}
@@ -0,0 +1,66 @@
+package com.tymbl.common.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Progress of a batched AI enrichment run, one row per task. {@code lastId} is the highest entity
+ * id whose batch has been fully resolved, so an interrupted run resumes right after it.
+ */
+@Entity
+@Table(name = "ai_enrichment_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiEnrichmentCheckpoint {
+
+  public enum Status {
+    RUNNING, COMPLETED, INTERRUPTED
+  }
+
+  @Id
+  @Column(name = "task_name", length = 64)
+  private String taskName;
+
+  @Column(name = "last_id", nullable = false)
+  @Builder.Default
+  private Long lastId = 0L;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 16)
+  private Status status;
+
+  @Column(name = "enriched", nullable = false)
+  @Builder.Default
+  private Long enriched = 0L;
+
+  @Column(name = "failed", nullable = false)
+  @Builder.Default
+  private Long failed = 0L;
+
+  @Column(name = "ai_calls", nullable = false)
+  @Builder.Default
+  private Long aiCalls = 0L;
+
+  @Column(name = "tokens_used", nullable = false)
+  @Builder.Default
+  private Long tokensUsed = 0L;
+
+  @Column(name = "started_at")
+  private LocalDateTime startedAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+}
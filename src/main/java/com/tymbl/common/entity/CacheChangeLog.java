@@ -0,0 +1,64 @@
+package com.tymbl.common.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * A change to cached reference data, written in the transaction of the change and tailed by
+ * {@link com.tymbl.common.service.CacheInvalidationBus} on every instance.
+ */
+@Entity
+@Table(name = "cache_change_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheChangeLog {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "entity_type", nullable = false, length = 32)
+  private EntityType entityType;
+
+  // Null when every cached row of the type is affected
+  @Column(name = "entity_id")
+  private Long entityId;
+
+  // Publisher's clock at the time of the change (epoch millis)
+  @Column(name = "version", nullable = false)
+  private Long version;
+
+  // Instance that wrote the row; it has already applied the change itself
+  @Column(name = "origin", nullable = false, length = 64)
+  private String origin;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  public enum EntityType {
+    DEPARTMENT,
+    LOCATION,
+    DESIGNATION,
+    INDUSTRY,
+    COUNTRY,
+    CITY,
+    COMPANY,
+    SKILL
+  }
+}
@@ -1,5 +1,7 @@
 package com.tymbl.common.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -36,6 +38,12 @@ public class City {
   @Column(name = "processed_name_generated", nullable = false)
   private boolean processedNameGenerated = false;
 
+  // Maintained by MySQL (ON UPDATE), so bulk updates move it too; drives snapshot reconciliation
+  @JsonIgnore
+  @Column(name = "updated_at", insertable = false, updatable = false,
+      columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+  private LocalDateTime updatedAt;
+
   public City(String name, Country country) {
     this.name = name;
     this.countryId = country.getId();
@@ -1,5 +1,7 @@
 package com.tymbl.common.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -55,6 +57,12 @@ public class Designation {
   @Column(name = "department_assigned", nullable = false)
   private boolean departmentAssigned = false;
 
+  // Maintained by MySQL (ON UPDATE), so bulk updates move it too; drives snapshot reconciliation
+  @JsonIgnore
+  @Column(name = "updated_at", insertable = false, updatable = false,
+      columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+  private LocalDateTime updatedAt;
+
   public Designation(String title) {
     this.name = title;
   }
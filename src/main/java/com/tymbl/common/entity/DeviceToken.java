@@ -0,0 +1,59 @@
+package com.tymbl.common.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * FCM registration token of a user's device. Tokens FCM reports as unregistered or invalid are
+ * deactivated instead of deleted, so they are never retried but stay visible for support.
+ */
+@Entity
+@Table(name = "device_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceToken {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Column(name = "token", nullable = false, unique = true, length = 512)
+  private String token;
+
+  @Column(name = "platform", length = 32)
+  private String platform; // e.g., "android", "ios", "web"
+
+  @Column(name = "active", nullable = false)
+  @Builder.Default
+  private boolean active = true;
+
+  @Column(name = "deactivated_reason", length = 128)
+  private String deactivatedReason;
+
+  @Column(name = "deactivated_at")
+  private LocalDateTime deactivatedAt;
+
+  @CreationTimestamp
+  @Column(name = "created_at", updatable = false)
+  private LocalDateTime createdAt;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.tymbl.common.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized per-company active job count, keyed by company and tagged with the company's
+ * primary industry. Per-industry company counts and top companies are read from this table
+ * instead of joining companies to jobs. Maintained by {@code IndustryStatsService}.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "industry_company_stats")
+public class IndustryCompanyStats {
+
+  @Id
+  @Column(name = "company_id")
+  private Long companyId;
+
+  @Column(name = "industry_id")
+  private Long industryId;
+
+  @Column(name = "active_job_count", nullable = false)
+  private Integer activeJobCount;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+}
@@ -0,0 +1,101 @@
+package com.tymbl.common.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * A push or email waiting for delivery. Rows are written in the transaction of the change that
+ * caused them and drained by {@link com.tymbl.common.service.NotificationDispatcher}.
+ */
+@Entity
+@Table(name = "notification_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "channel", nullable = false, length = 16)
+  private Channel channel;
+
+  @Column(name = "user_id")
+  private Long userId;
+
+  @Column(name = "notification_id")
+  private Long notificationId;
+
+  // Email address; pushes go to the user's active device tokens resolved at send time
+  @Column(name = "recipient", length = 320)
+  private String recipient;
+
+  @Column(name = "subject", length = 512)
+  private String subject;
+
+  @Column(name = "body", nullable = false, columnDefinition = "MEDIUMTEXT")
+  private String body;
+
+  @Column(name = "data", columnDefinition = "TEXT")
+  private String data; // JSON push data payload
+
+  // JSON array of the device tokens a push already reached; a retry only goes to the others
+  @Column(name = "delivered_tokens", columnDefinition = "TEXT")
+  private String deliveredTokens;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 16)
+  private Status status;
+
+  @Column(name = "attempts")
+  private Integer attempts;
+
+  @Column(name = "next_attempt_at")
+  private LocalDateTime nextAttemptAt;
+
+  // Dispatcher holding the row; the lease expiring makes it claimable again after a crash/restart
+  @Column(name = "lease_owner", length = 64)
+  private String leaseOwner;
+
+  @Column(name = "lease_expires_at")
+  private LocalDateTime leaseExpiresAt;
+
+  @Column(name = "error_message", columnDefinition = "TEXT")
+  private String errorMessage;
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "sent_at")
+  private LocalDateTime sentAt;
+
+  public enum Channel {
+    PUSH,
+    EMAIL
+  }
+
+  public enum Status {
+    PENDING,
+    IN_PROGRESS,
+    SENT,
+    // Nothing to deliver to, e.g. a push for a user without registered devices
+    SKIPPED,
+    FAILED
+  }
+}
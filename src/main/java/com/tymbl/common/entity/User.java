@@ -27,6 +27,7 @@ import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -36,6 +37,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 @NoArgsConstructor
 @Entity
 @Table(name = "users")
+@BatchSize(size = 100) // Lazy references to users (e.g. JobReferrer.user) load 100 at a time
 public class User implements UserDetails {
 
   @Id
@@ -166,16 +168,19 @@ public class User implements UserDetails {
   @ElementCollection
   @CollectionTable(name = "user_skills", joinColumns = @JoinColumn(name = "user_id"))
   @Column(name = "skill_id")
+  @BatchSize(size = 100)
   private Set<Long> skillIds = new HashSet<>();
 
   @ElementCollection
   @CollectionTable(name = "user_skills", joinColumns = @JoinColumn(name = "user_id"))
   @Column(name = "skill_name")
+  @BatchSize(size = 100)
   private Set<String> skillNames = new HashSet<>();
 
 
   @ElementCollection
   @CollectionTable(name = "user_education", joinColumns = @JoinColumn(name = "user_id"))
+  @BatchSize(size = 100)
   private Set<Education> education = new HashSet<>();
 
   @UpdateTimestamp
@@ -7,7 +7,6 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.Lob;
 import javax.persistence.Table;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -40,9 +39,9 @@ public class UserResume {
   @Column(name = "uuid", nullable = false, unique = true)
   private String uuid;
 
-  @Column(name = "resume_data", nullable = false)
-  @Lob
-  private byte[] resumeData;
+  // SHA-256 of the file contents; the bytes live in the ResumeContentStore, not in this table
+  @Column(name = "content_sha256", length = 64)
+  private String contentSha256;
 
   @CreationTimestamp
   @Column(name = "created_at", updatable = false)
@@ -0,0 +1,45 @@
+package com.tymbl.common.filter;
+
+import com.tymbl.common.jdbc.QueryBudget;
+import com.tymbl.common.jdbc.QueryBudget.Kind;
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements of each request (see {@link QueryBudget}). Runs ahead of Spring
+ * Security so user lookups during authentication are included; the controller aspect names the
+ * scope after its handler method.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+  private final QueryBudget queryBudget;
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    QueryBudget.Scope scope = queryBudget.open(Kind.ENDPOINT, null);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      queryBudget.close(scope, fallbackName(request));
+    }
+  }
+
+  // Never the raw URI, which would make one scope per id
+  private static String fallbackName(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+  }
+}
@@ -0,0 +1,113 @@
+package com.tymbl.common.jdbc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps the application's data source so every statement executed through it, from Hibernate
+ * and JdbcTemplate alike, is reported to {@link QueryBudget} with its SQL and execution time.
+ * Connections and statements are JDK proxies over the pool's own; only the {@code execute*}
+ * methods do extra work.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource implements Closeable {
+
+  private static final ClassLoader CLASS_LOADER = InstrumentedDataSource.class.getClassLoader();
+
+  private final QueryBudget queryBudget;
+
+  public InstrumentedDataSource(DataSource target, QueryBudget queryBudget) {
+    super(target);
+    this.queryBudget = queryBudget;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return connection(super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return connection(super.getConnection(username, password));
+  }
+
+  /**
+   * Closes the pool on shutdown, as the unwrapped bean would have been
+   */
+  @Override
+  public void close() throws IOException {
+    DataSource target = getTargetDataSource();
+    if (target instanceof Closeable) {
+      ((Closeable) target).close();
+    }
+  }
+
+  private Connection connection(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{Connection.class},
+        (proxy, method, args) -> {
+          Object identity = identity(proxy, method, args);
+          if (identity != null) {
+            return identity;
+          }
+          Object result = invoke(connection, method, args);
+          if (result instanceof Statement) {
+            // prepareStatement/prepareCall carry their SQL; createStatement gets it per execute
+            String sql = args != null && args.length > 0 && args[0] instanceof String
+                ? (String) args[0] : null;
+            return statement((Statement) result, method.getReturnType(), sql);
+          }
+          return result;
+        });
+  }
+
+  private Object statement(Statement statement, Class<?> type, String preparedSql) {
+    return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{type},
+        (proxy, method, args) -> {
+          Object identity = identity(proxy, method, args);
+          if (identity != null) {
+            return identity;
+          }
+          if (!method.getName().startsWith("execute")) {
+            return invoke(statement, method, args);
+          }
+          String sql = args != null && args.length > 0 && args[0] instanceof String
+              ? (String) args[0] : preparedSql;
+          queryBudget.beforeStatement(sql);
+          long start = System.nanoTime();
+          try {
+            return invoke(statement, method, args);
+          } finally {
+            queryBudget.afterStatement(System.nanoTime() - start);
+          }
+        });
+  }
+
+  /**
+   * Proxies are equal only to themselves, so JDBC objects used as map keys keep working
+   */
+  private static Object identity(Object proxy, Method method, Object[] args) {
+    switch (method.getName()) {
+      case "equals":
+        return args.length == 1 ? proxy == args[0] : null;
+      case "hashCode":
+        return method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+      default:
+        return null;
+    }
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
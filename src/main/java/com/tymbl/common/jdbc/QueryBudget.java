@@ -0,0 +1,316 @@
+package com.tymbl.common.jdbc;
+
+import com.tymbl.exception.QueryBudgetExceededException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements and database time of each HTTP request and scheduled job (a
+ * "scope"), fed by {@link InstrumentedDataSource}. Statements are grouped by shape, the SQL with
+ * literals and IN lists collapsed, so the same query issued once per row of a result shows up as
+ * one shape repeated many times.
+ *
+ * <p>A scope exceeding its budget, {@code max-statements} statements in total or
+ * {@code max-repeats} executions of one shape, is logged as a warning naming the repeated shapes.
+ * With {@code app.query-budget.mode=FAIL} (meant for tests) the offending statement throws
+ * {@link QueryBudgetExceededException} instead of running; {@code OFF} leaves the data source
+ * unwrapped. Budgets default to {@code app.query-budget.endpoints.*} and
+ * {@code app.query-budget.jobs.*} and can be set per scope, e.g.
+ * {@code app.query-budget.endpoints.JobSearchController.getReferrersForJob.max-statements}.
+ *
+ * <p>Statements run on other threads (executor pools, async work) are counted as unscoped. This
+ * lives outside the service packages so ExecutionTimeLoggerAspect does not wrap every statement.
+ */
+@Slf4j
+@Component
+public class QueryBudget {
+
+  public enum Mode {
+    OFF,
+    LOG,
+    FAIL
+  }
+
+  public enum Kind {
+    ENDPOINT("endpoints", 50, 10),
+    JOB("jobs", 10000, 2000);
+
+    private final String propertyName;
+    private final int defaultMaxStatements;
+    private final int defaultMaxRepeats;
+
+    Kind(String propertyName, int defaultMaxStatements, int defaultMaxRepeats) {
+      this.propertyName = propertyName;
+      this.defaultMaxStatements = defaultMaxStatements;
+      this.defaultMaxRepeats = defaultMaxRepeats;
+    }
+  }
+
+  private static final int MAX_TRACKED_SCOPES = 500;
+  private static final int MAX_SHAPES_PER_SCOPE = 1000;
+  private static final int MAX_CACHED_SHAPES = 10_000;
+  private static final int MAX_SHAPE_LENGTH = 2000;
+  private static final int REPORTED_SHAPES = 3;
+  private static final String OTHER_SCOPES = "(other)";
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+  private static final Pattern IN_LIST = Pattern.compile(
+      "(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private final Environment environment;
+  private final Mode mode;
+
+  private final ThreadLocal<Scope> current = new ThreadLocal<>();
+  // Prepared SQL strings repeat endlessly; normalise each once
+  private final ConcurrentMap<String, String> shapes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ScopeStats> scopeStats = new ConcurrentHashMap<>();
+
+  private final AtomicLong unscopedStatements = new AtomicLong();
+  private final AtomicLong unscopedNanos = new AtomicLong();
+
+  public QueryBudget(Environment environment) {
+    this.environment = environment;
+    this.mode = Mode.valueOf(
+        environment.getProperty("app.query-budget.mode", Mode.LOG.name()).toUpperCase());
+  }
+
+  public boolean isEnabled() {
+    return mode != Mode.OFF;
+  }
+
+  /**
+   * Starts counting the statements of this thread under {@code name}, which may be left
+   * {@code null} and set later with {@link #name}. Returns {@code null} when a scope is already
+   * open, so nested work is counted in the outer scope; pass the result to {@link #close}.
+   */
+  public Scope open(Kind kind, String name) {
+    if (!isEnabled() || current.get() != null) {
+      return null;
+    }
+    Scope scope = new Scope(kind);
+    if (name != null) {
+      applyName(scope, name);
+    }
+    current.set(scope);
+    return scope;
+  }
+
+  /**
+   * Names the open scope, and applies that name's budget, unless it already has a name
+   */
+  public void name(String name) {
+    Scope scope = current.get();
+    if (scope != null && scope.name == null) {
+      applyName(scope, name);
+    }
+  }
+
+  /**
+   * Ends a scope from {@link #open}, reporting it if it went over budget
+   *
+   * @param fallbackName used when the scope was never named
+   */
+  public void close(Scope scope, String fallbackName) {
+    if (scope == null) {
+      return;
+    }
+    current.remove();
+    if (scope.name == null) {
+      applyName(scope, fallbackName);
+    }
+
+    int maxRepeats = scope.shapeCounts.values().stream().mapToInt(Integer::intValue).max()
+        .orElse(0);
+    boolean exceeded = scope.statements > scope.maxStatements || maxRepeats > scope.maxRepeats;
+    stats(scope.name).record(scope, exceeded);
+    if (exceeded && !scope.failed) {
+      log.warn("Query budget exceeded: kind={} scope={} statements={}/{} maxRepeats={}/{} "
+              + "dbMs={} elapsedMs={} repeated={}", scope.kind, scope.name, scope.statements,
+          scope.maxStatements, maxRepeats, scope.maxRepeats,
+          TimeUnit.NANOSECONDS.toMillis(scope.nanos),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scope.startedAt),
+          topShapes(scope));
+    }
+  }
+
+  /**
+   * Called by the data source before each statement runs
+   *
+   * @throws QueryBudgetExceededException in FAIL mode when this statement is over budget
+   */
+  void beforeStatement(String sql) {
+    Scope scope = current.get();
+    if (scope == null) {
+      unscopedStatements.incrementAndGet();
+      return;
+    }
+    scope.statements++;
+    String shape = shape(sql);
+    Integer repeats = scope.shapeCounts.get(shape);
+    if (repeats != null || scope.shapeCounts.size() < MAX_SHAPES_PER_SCOPE) {
+      repeats = repeats == null ? 1 : repeats + 1;
+      scope.shapeCounts.put(shape, repeats);
+    } else {
+      repeats = 1;
+    }
+
+    if (mode == Mode.FAIL && !scope.failed
+        && (scope.statements > scope.maxStatements || repeats > scope.maxRepeats)) {
+      scope.failed = true;
+      throw new QueryBudgetExceededException(String.format(
+          "Query budget exceeded in %s %s: statement %d of %d allowed, %d executions of [%s] "
+              + "(%d allowed)", scope.kind, scope.name, scope.statements, scope.maxStatements,
+          repeats, shape, scope.maxRepeats));
+    }
+  }
+
+  /**
+   * Called by the data source after each statement with its execution time
+   */
+  void afterStatement(long nanos) {
+    Scope scope = current.get();
+    if (scope == null) {
+      unscopedNanos.addAndGet(nanos);
+    } else {
+      scope.nanos += nanos;
+    }
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("mode", mode);
+    stats.put("unscopedStatements", unscopedStatements.get());
+    stats.put("unscopedDbMs", TimeUnit.NANOSECONDS.toMillis(unscopedNanos.get()));
+    // Worst offenders first
+    stats.put("scopes", scopeStats.entrySet().stream()
+        .sorted(Comparator.comparingLong((Map.Entry<String, ScopeStats> entry) ->
+                entry.getValue().exceeded.get())
+            .thenComparingLong(entry -> entry.getValue().maxStatements.get())
+            .reversed())
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toMap(),
+            (a, b) -> a, LinkedHashMap::new)));
+    return stats;
+  }
+
+  private void applyName(Scope scope, String name) {
+    scope.name = name;
+    String prefix = "app.query-budget." + scope.kind.propertyName + ".";
+    int defaultMaxStatements = environment.getProperty(prefix + "max-statements",
+        Integer.class, scope.kind.defaultMaxStatements);
+    int defaultMaxRepeats = environment.getProperty(prefix + "max-repeats", Integer.class,
+        scope.kind.defaultMaxRepeats);
+    scope.maxStatements = environment.getProperty(prefix + name + ".max-statements",
+        Integer.class, defaultMaxStatements);
+    scope.maxRepeats = environment.getProperty(prefix + name + ".max-repeats", Integer.class,
+        defaultMaxRepeats);
+  }
+
+  private ScopeStats stats(String name) {
+    ScopeStats stats = scopeStats.get(name);
+    if (stats != null) {
+      return stats;
+    }
+    // Bounded, in case names are built from something unbounded such as a raw URI
+    String key = scopeStats.size() < MAX_TRACKED_SCOPES ? name : OTHER_SCOPES;
+    return scopeStats.computeIfAbsent(key, k -> new ScopeStats());
+  }
+
+  private String shape(String sql) {
+    if (sql == null) {
+      return "(batch)";
+    }
+    String shape = shapes.get(sql);
+    if (shape == null) {
+      shape = normalize(sql);
+      if (shapes.size() < MAX_CACHED_SHAPES) {
+        shapes.put(sql, shape);
+      }
+    }
+    return shape;
+  }
+
+  static String normalize(String sql) {
+    String shape = sql.length() > MAX_SHAPE_LENGTH ? sql.substring(0, MAX_SHAPE_LENGTH) : sql;
+    shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+    shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+    shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+    return WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+  }
+
+  private static List<String> topShapes(Scope scope) {
+    List<String> top = new ArrayList<>();
+    scope.shapeCounts.entrySet().stream()
+        .filter(entry -> entry.getValue() > 1)
+        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+        .limit(REPORTED_SHAPES)
+        .forEach(entry -> top.add(entry.getValue() + "x " + entry.getKey()));
+    return top;
+  }
+
+  /**
+   * Statement counters of one request or job; only touched by the thread that opened it
+   */
+  public static final class Scope {
+
+    private final Kind kind;
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Integer> shapeCounts = new HashMap<>();
+    private String name;
+    private int maxStatements;
+    private int maxRepeats;
+    private int statements;
+    private long nanos;
+    private boolean failed;
+
+    private Scope(Kind kind) {
+      this.kind = kind;
+      this.maxStatements = kind.defaultMaxStatements;
+      this.maxRepeats = kind.defaultMaxRepeats;
+    }
+  }
+
+  private static final class ScopeStats {
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong exceeded = new AtomicLong();
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong maxStatements = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+
+    void record(Scope scope, boolean overBudget) {
+      executions.incrementAndGet();
+      if (overBudget) {
+        exceeded.incrementAndGet();
+      }
+      statements.addAndGet(scope.statements);
+      maxStatements.accumulateAndGet(scope.statements, Math::max);
+      nanos.addAndGet(scope.nanos);
+    }
+
+    Map<String, Object> toMap() {
+      long count = executions.get();
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("executions", count);
+      stats.put("overBudget", exceeded.get());
+      stats.put("avgStatements", count > 0 ? statements.get() / count : 0);
+      stats.put("maxStatements", maxStatements.get());
+      stats.put("avgDbMs", count > 0 ? TimeUnit.NANOSECONDS.toMillis(nanos.get() / count) : 0);
+      return stats;
+    }
+  }
+}
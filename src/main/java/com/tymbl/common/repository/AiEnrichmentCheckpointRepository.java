@@ -0,0 +1,11 @@
+package com.tymbl.common.repository;
+
+import com.tymbl.common.entity.AiEnrichmentCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AiEnrichmentCheckpointRepository extends
+    JpaRepository<AiEnrichmentCheckpoint, String> {
+
+}
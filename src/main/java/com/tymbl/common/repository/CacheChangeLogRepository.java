@@ -0,0 +1,27 @@
+package com.tymbl.common.repository;
+
+import com.tymbl.common.entity.CacheChangeLog;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CacheChangeLogRepository extends JpaRepository<CacheChangeLog, Long> {
+
+  List<CacheChangeLog> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+  List<CacheChangeLog> findByIdIn(Collection<Long> ids);
+
+  @Query("SELECT MAX(c.id) FROM CacheChangeLog c")
+  Long findMaxId();
+
+  @Modifying
+  @Query("DELETE FROM CacheChangeLog c WHERE c.createdAt < :cutoff")
+  int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
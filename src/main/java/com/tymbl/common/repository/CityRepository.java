@@ -1,6 +1,7 @@
 package com.tymbl.common.repository;
 
 import com.tymbl.common.entity.City;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -30,4 +31,13 @@ public interface CityRepository extends JpaRepository<City, Long> {
   // Reset processed name generated flag for all cities
   @Query("UPDATE City c SET c.processedNameGenerated = false")
   void resetProcessedNameGeneratedFlag();
+
+  // Snapshot reconciliation: changed rows since the high-water mark, and the live id set
+  List<City> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+  @Query("SELECT MAX(c.updatedAt) FROM City c")
+  LocalDateTime findMaxUpdatedAt();
+
+  @Query("SELECT c.id FROM City c")
+  List<Long> findAllIds();
 } 
\ No newline at end of file
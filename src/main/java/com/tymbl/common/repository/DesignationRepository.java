@@ -1,6 +1,7 @@
 package com.tymbl.common.repository;
 
 import com.tymbl.common.entity.Designation;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -50,4 +51,13 @@ public interface DesignationRepository extends JpaRepository<Designation, Long>
 
   // Find designations by name containing (for fuzzy matching)
   List<Designation> findByNameContainingIgnoreCase(String name);
+
+  // Snapshot reconciliation: changed rows since the high-water mark, and the live id set
+  List<Designation> findByUpdatedAtGreaterThanEqual(LocalDateTime since);
+
+  @Query("SELECT MAX(d.updatedAt) FROM Designation d")
+  LocalDateTime findMaxUpdatedAt();
+
+  @Query("SELECT d.id FROM Designation d")
+  List<Long> findAllIds();
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.tymbl.common.repository;
+
+import com.tymbl.common.entity.DeviceToken;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeviceTokenRepository extends JpaRepository<DeviceToken, Long> {
+
+  Optional<DeviceToken> findByToken(String token);
+
+  List<DeviceToken> findByUserIdInAndActiveTrue(Collection<Long> userIds);
+
+  @Modifying
+  @Query("UPDATE DeviceToken d SET d.active = false, d.deactivatedReason = :reason, "
+      + "d.deactivatedAt = :now, d.updatedAt = :now WHERE d.token IN :tokens AND d.active = true")
+  int deactivate(@Param("tokens") Collection<String> tokens, @Param("reason") String reason,
+      @Param("now") LocalDateTime now);
+
+  @Modifying
+  @Query("DELETE FROM DeviceToken d WHERE d.userId = :userId AND d.token = :token")
+  int deleteByUserIdAndToken(@Param("userId") Long userId, @Param("token") String token);
+}
@@ -0,0 +1,65 @@
+package com.tymbl.common.repository;
+
+import com.tymbl.common.entity.IndustryCompanyStats;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IndustryCompanyStatsRepository extends
+    JpaRepository<IndustryCompanyStats, Long> {
+
+  // Recount active jobs for the given companies (uses the jobs(company_id, active) index)
+  @Modifying
+  @Query(value = "INSERT INTO industry_company_stats (company_id, industry_id, active_job_count, updated_at) "
+      + "SELECT c.id, c.primary_industry_id, "
+      + "(SELECT COUNT(*) FROM jobs j WHERE j.company_id = c.id AND j.active = true), NOW() "
+      + "FROM companies c WHERE c.id IN (:companyIds) "
+      + "ON DUPLICATE KEY UPDATE industry_id = VALUES(industry_id), "
+      + "active_job_count = VALUES(active_job_count), updated_at = VALUES(updated_at)",
+      nativeQuery = true)
+  int refreshCompanies(@Param("companyIds") Collection<Long> companyIds);
+
+  // Full recomputation used by the reconciliation pass
+  @Modifying
+  @Query(value = "INSERT INTO industry_company_stats (company_id, industry_id, active_job_count, updated_at) "
+      + "SELECT c.id, c.primary_industry_id, COUNT(j.id), NOW() "
+      + "FROM companies c LEFT JOIN jobs j ON j.company_id = c.id AND j.active = true "
+      + "GROUP BY c.id, c.primary_industry_id "
+      + "ON DUPLICATE KEY UPDATE industry_id = VALUES(industry_id), "
+      + "active_job_count = VALUES(active_job_count), updated_at = VALUES(updated_at)",
+      nativeQuery = true)
+  int refreshAllCompanies();
+
+  @Modifying
+  @Query(value = "DELETE s FROM industry_company_stats s "
+      + "LEFT JOIN companies c ON c.id = s.company_id WHERE c.id IS NULL", nativeQuery = true)
+  int deleteOrphans();
+
+  @Query("SELECT DISTINCT s.industryId FROM IndustryCompanyStats s "
+      + "WHERE s.companyId IN :companyIds AND s.industryId IS NOT NULL")
+  List<Long> findIndustryIdsByCompanyIds(@Param("companyIds") Collection<Long> companyIds);
+
+  // industry_id, company count, active job count
+  @Query(value = "SELECT s.industry_id, COUNT(*), COALESCE(SUM(s.active_job_count), 0) "
+      + "FROM industry_company_stats s WHERE s.industry_id IS NOT NULL "
+      + "GROUP BY s.industry_id", nativeQuery = true)
+  List<Object[]> getIndustryTotals();
+
+  @Query(value = "SELECT s.industry_id, COUNT(*), COALESCE(SUM(s.active_job_count), 0) "
+      + "FROM industry_company_stats s WHERE s.industry_id = :industryId "
+      + "GROUP BY s.industry_id", nativeQuery = true)
+  List<Object[]> getIndustryTotals(@Param("industryId") Long industryId);
+
+  // Same columns as IndustryRepository.getTopCompaniesByIndustry, bounded by LIMIT
+  @Query(value = "SELECT c.id, c.name, c.logo_url, c.website, c.headquarters, s.active_job_count "
+      + "FROM industry_company_stats s JOIN companies c ON c.id = s.company_id "
+      + "WHERE s.industry_id = :industryId AND s.active_job_count > 0 "
+      + "ORDER BY s.active_job_count DESC, c.id ASC LIMIT :limit", nativeQuery = true)
+  List<Object[]> findTopCompaniesByIndustry(@Param("industryId") Long industryId,
+      @Param("limit") int limit);
+}
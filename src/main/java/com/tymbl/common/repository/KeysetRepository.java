@@ -0,0 +1,15 @@
+package com.tymbl.common.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Mixin for repositories of entities with a monotonic {@code Long id}, for full-table scans with
+ * {@link com.tymbl.common.util.KeysetIterator} instead of OFFSET paging
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T> {
+
+  List<T> findByIdGreaterThan(Long id, Pageable pageable);
+}
@@ -1,6 +1,8 @@
 package com.tymbl.common.repository;
 
 import com.tymbl.common.entity.NotificationJobApplicationCount;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +14,8 @@ public interface NotificationJobApplicationCountRepository extends JpaRepository
 
   Optional<NotificationJobApplicationCount> findByJobIdAndPostedByUserId(Long jobId, Long postedByUserId);
 
+  List<NotificationJobApplicationCount> findByJobIdIn(Collection<Long> jobIds);
+
   @Query("SELECT COUNT(jac) FROM NotificationJobApplicationCount jac WHERE jac.jobId = :jobId")
   int countByJobId(@Param("jobId") Long jobId);
 }
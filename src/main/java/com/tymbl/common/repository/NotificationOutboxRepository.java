@@ -0,0 +1,62 @@
+package com.tymbl.common.repository;
+
+import com.tymbl.common.entity.NotificationOutbox;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+  // Rows ready to send: pending and due, or in progress with an expired lease
+  @Query("SELECT o.id FROM NotificationOutbox o WHERE o.channel = :channel AND ("
+      + "(o.status = 'PENDING' AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now)) "
+      + "OR (o.status = 'IN_PROGRESS' AND o.leaseExpiresAt < :now)) "
+      + "ORDER BY o.id ASC")
+  List<Long> findClaimableIds(@Param("channel") NotificationOutbox.Channel channel,
+      @Param("now") LocalDateTime now, Pageable pageable);
+
+  // Compare-and-set claim of a batch; rows taken by another dispatcher in between are skipped
+  @Modifying
+  @Query("UPDATE NotificationOutbox o SET o.status = 'IN_PROGRESS', o.leaseOwner = :owner, "
+      + "o.leaseExpiresAt = :leaseExpiresAt, o.attempts = COALESCE(o.attempts, 0) + 1 "
+      + "WHERE o.id IN :ids AND ((o.status = 'PENDING' AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now)) "
+      + "OR (o.status = 'IN_PROGRESS' AND o.leaseExpiresAt < :now))")
+  int claim(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+      @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt, @Param("now") LocalDateTime now);
+
+  List<NotificationOutbox> findByLeaseOwnerAndIdIn(String leaseOwner, Collection<Long> ids);
+
+  // Terminal or retry state for rows still leased by owner
+  @Modifying
+  @Query("UPDATE NotificationOutbox o SET o.status = :status, o.errorMessage = :errorMessage, "
+      + "o.nextAttemptAt = :nextAttemptAt, o.sentAt = :sentAt, o.leaseOwner = NULL, "
+      + "o.leaseExpiresAt = NULL WHERE o.id IN :ids AND o.leaseOwner = :owner")
+  int release(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+      @Param("status") NotificationOutbox.Status status,
+      @Param("errorMessage") String errorMessage,
+      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+      @Param("sentAt") LocalDateTime sentAt);
+
+  @Modifying
+  @Query("UPDATE NotificationOutbox o SET o.status = 'PENDING', o.errorMessage = :errorMessage, "
+      + "o.nextAttemptAt = :nextAttemptAt, o.deliveredTokens = :deliveredTokens, "
+      + "o.leaseOwner = NULL, o.leaseExpiresAt = NULL WHERE o.id = :id AND o.leaseOwner = :owner")
+  int releaseForRetry(@Param("id") Long id, @Param("owner") String owner,
+      @Param("errorMessage") String errorMessage,
+      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+      @Param("deliveredTokens") String deliveredTokens);
+
+  @Query("SELECT o.channel, o.status, COUNT(o) FROM NotificationOutbox o GROUP BY o.channel, o.status")
+  List<Object[]> countGroupedByChannelAndStatus();
+
+  @Modifying
+  @Query("DELETE FROM NotificationOutbox o WHERE o.status IN ('SENT', 'SKIPPED') AND o.createdAt < :cutoff")
+  int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -40,6 +40,21 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
   @Query("SELECT COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.type = :type AND n.clicked = true AND n.createdAt >= :since")
   Long countClickedByUserIdAndTypeAndCreatedAtAfter(@Param("userId") Long userId, @Param("type") Notification.NotificationType type, @Param("since") LocalDateTime since);
 
+  // Single-pass grouped counts backing the per-user counter cache
+  @Query("SELECT n.type, n.seen, n.clicked, COUNT(n) FROM Notification n WHERE n.userId = :userId AND n.createdAt >= :since " +
+         "GROUP BY n.type, n.seen, n.clicked")
+  List<Object[]> countGroupedByTypeAndState(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+  @Query("SELECT n.type, COUNT(n) FROM Notification n WHERE n.id IN :notificationIds AND n.userId = :userId AND n.seen = false " +
+         "AND n.createdAt >= :since GROUP BY n.type")
+  List<Object[]> countUnseenByIdsGroupedByType(@Param("notificationIds") List<Long> notificationIds,
+      @Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+  @Query("SELECT n.type, COUNT(n) FROM Notification n WHERE n.id IN :notificationIds AND n.userId = :userId AND n.clicked = false " +
+         "AND n.createdAt >= :since GROUP BY n.type")
+  List<Object[]> countUnclickedByIdsGroupedByType(@Param("notificationIds") List<Long> notificationIds,
+      @Param("userId") Long userId, @Param("since") LocalDateTime since);
+
   // List queries with pagination
   @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.createdAt >= :since ORDER BY n.clicked ASC, n.seen ASC, n.createdAt DESC")
   Page<Notification> findByUserIdAndCreatedAtAfterOrderByCreatedAtDesc(
@@ -61,6 +76,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
   @Query("UPDATE Notification n SET n.seen = true, n.seenAt = :seenAt WHERE n.id = :notificationId AND n.userId = :userId")
   int markAsSeen(@Param("notificationId") Long notificationId, @Param("userId") Long userId, @Param("seenAt") LocalDateTime seenAt);
 
+  @Modifying
+  @Query("UPDATE Notification n SET n.seen = true, n.seenAt = :seenAt WHERE n.id IN :notificationIds AND n.userId = :userId")
+  int markAllAsSeenByIds(@Param("notificationIds") List<Long> notificationIds, @Param("userId") Long userId, @Param("seenAt") LocalDateTime seenAt);
+
   @Modifying
   @Query("UPDATE Notification n SET n.seen = true, n.seenAt = :seenAt WHERE n.userId = :userId AND n.seen = false")
   int markAllAsSeen(@Param("userId") Long userId, @Param("seenAt") LocalDateTime seenAt);
@@ -69,6 +88,10 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
   @Query("UPDATE Notification n SET n.clicked = true, n.clickedAt = :clickedAt WHERE n.id = :notificationId AND n.userId = :userId")
   int markAsClicked(@Param("notificationId") Long notificationId, @Param("userId") Long userId, @Param("clickedAt") LocalDateTime clickedAt);
 
+  @Modifying
+  @Query("UPDATE Notification n SET n.clicked = true, n.clickedAt = :clickedAt WHERE n.id IN :notificationIds AND n.userId = :userId")
+  int markAllAsClickedByIds(@Param("notificationIds") List<Long> notificationIds, @Param("userId") Long userId, @Param("clickedAt") LocalDateTime clickedAt);
+
   // Check for existing notifications to avoid duplicates
   @Query("SELECT COUNT(n) > 0 FROM Notification n WHERE n.userId = :userId AND n.type = :type AND " +
          "(:relatedEntityId IS NULL AND n.relatedEntityId IS NULL OR n.relatedEntityId = :relatedEntityId) AND n.createdAt >= :since")
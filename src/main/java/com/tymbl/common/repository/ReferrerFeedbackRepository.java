@@ -1,6 +1,7 @@
 package com.tymbl.common.repository;
 
 import com.tymbl.common.entity.ReferrerFeedback;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -8,6 +9,8 @@ public interface ReferrerFeedbackRepository extends JpaRepository<ReferrerFeedba
 
   List<ReferrerFeedback> findByJobReferrerId(Long jobReferrerId);
 
+  List<ReferrerFeedback> findByJobReferrerIdIn(Collection<Long> jobReferrerIds);
+
   List<ReferrerFeedback> findByApplicantId(Long applicantId);
 
   ReferrerFeedback findByJobReferrerIdAndApplicantId(Long jobReferrerId, Long applicantId);
@@ -4,6 +4,7 @@ import com.tymbl.common.entity.Skill;
 import java.util.List;
 import java.util.Optional;
 import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
@@ -25,6 +26,8 @@ public interface SkillRepository extends JpaRepository<Skill, Long> {
 
   List<Skill> findByNameIn(List<String> names);
 
+  List<Skill> findBySimilarSkillsProcessedFalseAndIdGreaterThan(Long id, Pageable pageable);
+
   // Find top skills by usage count for AI matching
   List<Skill> findTop20ByOrderByUsageCountDesc();
 } 
\ No newline at end of file
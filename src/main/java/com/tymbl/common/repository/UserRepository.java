@@ -1,8 +1,11 @@
 package com.tymbl.common.repository;
 
+import com.tymbl.common.dto.UserCompanySummary;
 import com.tymbl.common.entity.User;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,4 +18,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByPasswordResetToken(String token);
 
   boolean existsByEmail(String email);
-} 
\ No newline at end of file
+
+  @Query("SELECT u.id AS id, u.companyId AS companyId, u.designation AS designation "
+      + "FROM User u WHERE u.companyId IS NOT NULL")
+  List<UserCompanySummary> findUsersWithCompany();
+}
@@ -16,4 +16,6 @@ public interface UserResumeRepository extends JpaRepository<UserResume, Long> {
   Optional<UserResume> findByUuid(String uuid);
 
   UserResume findFirstByUserIdAndUuidIsNotNullOrderByCreatedAtDesc(Long userId);
+
+  long countByContentSha256(String contentSha256);
 } 
\ No newline at end of file
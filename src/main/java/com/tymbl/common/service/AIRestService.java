@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tymbl.common.entity.AiDumper;
 import com.tymbl.common.repository.AiDumperRepository;
+import com.tymbl.common.service.DependencyGuard.Dependency;
+import com.tymbl.exception.DependencyUnavailableException;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
@@ -42,9 +44,11 @@ public class AIRestService {
   private final ObjectMapper objectMapper = new ObjectMapper();
   private final RestTemplate restTemplate;
   private final AiDumperRepository aiDumperRepository;
+  private final DependencyGuard dependencyGuard;
 
-  public AIRestService(AiDumperRepository aiDumperRepository) {
+  public AIRestService(AiDumperRepository aiDumperRepository, DependencyGuard dependencyGuard) {
     this.aiDumperRepository = aiDumperRepository;
+    this.dependencyGuard = dependencyGuard;
     this.restTemplate = createRestTemplate();
   }
 
@@ -103,12 +107,14 @@ public class AIRestService {
     long startTime = System.currentTimeMillis();
 
     try {
-      ResponseEntity<String> response = restTemplate.exchange(
-          url,
-          HttpMethod.POST,
-          request,
-          String.class
-      );
+      // Bounded concurrency and a circuit breaker, so a slow Gemini cannot hold every worker
+      ResponseEntity<String> response = dependencyGuard.call(Dependency.GEMINI,
+          () -> restTemplate.exchange(
+              url,
+              HttpMethod.POST,
+              request,
+              String.class
+          ));
 
       long duration = System.currentTimeMillis() - startTime;
       log.info("Gemini API call completed for operation: {} - Status: {} - Duration: {}ms",
@@ -131,6 +137,10 @@ public class AIRestService {
         return response;
       }
 
+    } catch (DependencyUnavailableException e) {
+      log.warn("Gemini API call skipped for operation: {} - {}", operationName, e.getMessage());
+      throw e;
+
     } catch (HttpClientErrorException e) {
       long duration = System.currentTimeMillis() - startTime;
       log.error(
@@ -201,6 +211,26 @@ public class AIRestService {
     return requestBody;
   }
 
+  /**
+   * Builds a request body that makes Gemini answer with JSON matching a schema
+   *
+   * @param prompt The prompt to send to Gemini
+   * @param responseSchema Schema of the expected JSON (Gemini's OpenAPI subset)
+   * @return Map<String, Object> containing the formatted request body
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, Object> buildStructuredRequestBody(String prompt,
+      Map<String, Object> responseSchema) {
+    Map<String, Object> requestBody = buildRequestBody(prompt);
+    Map<String, Object> generationConfig = (Map<String, Object>) requestBody.get(
+        "generationConfig");
+    // Classification and lookup tasks: keep answers stable between retries
+    generationConfig.put("temperature", 0.2);
+    generationConfig.put("responseMimeType", "application/json");
+    generationConfig.put("responseSchema", responseSchema);
+    return requestBody;
+  }
+
   /**
    * Get the configured Gemini API key (for backward compatibility)
    *
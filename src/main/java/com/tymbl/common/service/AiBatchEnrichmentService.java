@@ -0,0 +1,313 @@
+package com.tymbl.common.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tymbl.common.entity.AiEnrichmentCheckpoint;
+import com.tymbl.common.repository.AiEnrichmentCheckpointRepository;
+import com.tymbl.common.util.KeysetIterator;
+import com.tymbl.common.util.RateLimiter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs {@link AiEnrichmentTask}s in batches: each Gemini call carries up to {@code batch-size}
+ * entities as a JSON array and asks for a JSON array back through {@code responseSchema}, so
+ * replies are read as data instead of scraped from free text.
+ *
+ * <p>Results are matched to entities by echoed id and validated one by one; only entities whose
+ * result is missing or rejected are sent again, in a later call, up to {@code max-attempts}.
+ * Several batches of a task run at once on the {@code AI_FANOUT} pool, and every call, whatever
+ * the task, draws from one request-per-minute and one token-per-minute budget. Progress is
+ * checkpointed per task after each fully resolved page, so a restarted run resumes where the last
+ * one stopped.
+ */
+@Slf4j
+@Service
+public class AiBatchEnrichmentService {
+
+  private final AIRestService aiRestService;
+  private final ExecutorRegistry executorRegistry;
+  private final AiEnrichmentCheckpointRepository checkpointRepository;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final RateLimiter requestBudget;
+  private final RateLimiter tokenBudget;
+  private final int batchSize;
+  private final int concurrency;
+  private final int maxAttempts;
+
+  private final Set<String> runningTasks = ConcurrentHashMap.newKeySet();
+
+  public AiBatchEnrichmentService(AIRestService aiRestService, ExecutorRegistry executorRegistry,
+      AiEnrichmentCheckpointRepository checkpointRepository,
+      @Value("${ai.enrichment.requests-per-minute:60}") int requestsPerMinute,
+      @Value("${ai.enrichment.tokens-per-minute:1000000}") int tokensPerMinute,
+      @Value("${ai.enrichment.batch-size:25}") int batchSize,
+      @Value("${ai.enrichment.concurrency:4}") int concurrency,
+      @Value("${ai.enrichment.max-attempts:3}") int maxAttempts) {
+    this.aiRestService = aiRestService;
+    this.executorRegistry = executorRegistry;
+    this.checkpointRepository = checkpointRepository;
+    this.requestBudget = new RateLimiter(Math.max(1, requestsPerMinute) / 60.0);
+    this.tokenBudget = new RateLimiter(Math.max(60, tokensPerMinute) / 60.0);
+    this.batchSize = Math.max(1, batchSize);
+    this.concurrency = Math.max(1, concurrency);
+    this.maxAttempts = Math.max(1, maxAttempts);
+  }
+
+  /**
+   * Enriches everything the task still has to do, resuming from its checkpoint. Blocks until the
+   * run finishes; a second run of the same task while one is active is refused.
+   */
+  public <T> Map<String, Object> run(AiEnrichmentTask<T> task) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("task", task.getName());
+    if (!runningTasks.add(task.getName())) {
+      result.put("success", false);
+      result.put("error", "Enrichment task " + task.getName() + " is already running");
+      return result;
+    }
+
+    AiEnrichmentCheckpoint checkpoint = checkpointRepository.findById(task.getName())
+        .filter(existing -> existing.getStatus() != AiEnrichmentCheckpoint.Status.COMPLETED)
+        .orElseGet(() -> AiEnrichmentCheckpoint.builder()
+            .taskName(task.getName())
+            .startedAt(LocalDateTime.now())
+            .build());
+    long resumedAfterId = checkpoint.getLastId();
+    checkpoint.setStatus(AiEnrichmentCheckpoint.Status.RUNNING);
+    checkpoint = checkpointRepository.save(checkpoint);
+
+    RunStats stats = new RunStats(checkpoint);
+    long start = System.currentTimeMillis();
+    log.info("Starting AI enrichment {} after id {} (batch size {}, concurrency {})",
+        task.getName(), resumedAfterId, batchSize, concurrency);
+
+    try {
+      // The pool is shared with request-time fan-out; cap this run's share of it
+      Executor executor = executorRegistry.limited(ExecutorRegistry.Workload.AI_FANOUT,
+          concurrency);
+      for (List<T> page : KeysetIterator.batchesAfter(task::fetchAfter, task::idOf,
+          batchSize * concurrency, resumedAfterId)) {
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        for (int from = 0; from < page.size(); from += batchSize) {
+          List<T> batch = page.subList(from, Math.min(from + batchSize, page.size()));
+          calls.add(CompletableFuture.runAsync(() -> enrichBatch(task, batch, stats), executor));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+
+        // Every entity of the page is now stored or given up on; never resume before it
+        stats.copyTo(checkpoint);
+        checkpoint.setLastId(task.idOf(page.get(page.size() - 1)));
+        checkpoint = checkpointRepository.save(checkpoint);
+      }
+
+      checkpoint.setStatus(AiEnrichmentCheckpoint.Status.COMPLETED);
+      result.put("success", true);
+    } catch (Exception e) {
+      log.error("AI enrichment {} stopped after id {}", task.getName(), checkpoint.getLastId(), e);
+      checkpoint.setStatus(AiEnrichmentCheckpoint.Status.INTERRUPTED);
+      result.put("success", false);
+      result.put("error", "Enrichment stopped: " + e.getMessage());
+    } finally {
+      stats.copyTo(checkpoint);
+      checkpointRepository.save(checkpoint);
+      runningTasks.remove(task.getName());
+    }
+
+    result.put("resumedAfterId", resumedAfterId);
+    result.put("lastId", checkpoint.getLastId());
+    result.put("enriched", stats.enriched.get());
+    result.put("failed", stats.failed.get());
+    result.put("aiCalls", stats.calls.get());
+    result.put("tokensUsed", stats.tokens.get());
+    result.put("durationMs", System.currentTimeMillis() - start);
+    log.info("AI enrichment {} finished: {}", task.getName(), result);
+    return result;
+  }
+
+  public List<AiEnrichmentCheckpoint> getCheckpoints() {
+    return checkpointRepository.findAll();
+  }
+
+  /**
+   * Forget a task's progress so its next run starts from the first entity
+   */
+  public boolean resetCheckpoint(String taskName) {
+    if (runningTasks.contains(taskName) || !checkpointRepository.existsById(taskName)) {
+      return false;
+    }
+    checkpointRepository.deleteById(taskName);
+    return true;
+  }
+
+  // Schema helpers for AiEnrichmentTask#resultProperties (Gemini's OpenAPI schema subset)
+
+  public static Map<String, Object> stringSchema(String description) {
+    Map<String, Object> schema = new LinkedHashMap<>();
+    schema.put("type", "STRING");
+    schema.put("description", description);
+    return schema;
+  }
+
+  public static Map<String, Object> stringArraySchema(String description) {
+    Map<String, Object> schema = new LinkedHashMap<>();
+    schema.put("type", "ARRAY");
+    schema.put("description", description);
+    schema.put("items", Collections.singletonMap("type", "STRING"));
+    return schema;
+  }
+
+  private <T> void enrichBatch(AiEnrichmentTask<T> task, List<T> batch, RunStats stats) {
+    List<T> pending = batch;
+    for (int attempt = 1; attempt <= maxAttempts && !pending.isEmpty(); attempt++) {
+      if (attempt > 1) {
+        backoff(attempt);
+      }
+      pending = callOnce(task, pending, stats);
+    }
+    for (T entity : pending) {
+      stats.failed.incrementAndGet();
+      try {
+        task.onFailure(entity);
+      } catch (Exception e) {
+        log.warn("Could not record enrichment failure for {} id {}", task.getName(),
+            task.idOf(entity), e);
+      }
+    }
+  }
+
+  /**
+   * One Gemini call for {@code batch}; returns the entities that still need a result
+   */
+  private <T> List<T> callOnce(AiEnrichmentTask<T> task, List<T> batch, RunStats stats) {
+    Map<Long, T> byId = new LinkedHashMap<>();
+    ArrayNode input = objectMapper.createArrayNode();
+    for (T entity : batch) {
+      Long id = task.idOf(entity);
+      byId.put(id, entity);
+      ObjectNode item = input.addObject();
+      item.put("id", id);
+      task.describe(entity).forEach((field, value) -> item.set(field,
+          objectMapper.valueToTree(value)));
+    }
+
+    String prompt = task.instructions()
+        + "\n\nINPUT: a JSON array of " + batch.size() + " items.\n" + input
+        + "\n\nReturn a JSON array with exactly one result object per input item, in any order, "
+        + "each carrying the item's id unchanged.";
+    Map<String, Object> requestBody = aiRestService.buildStructuredRequestBody(prompt,
+        resultSchema(task));
+
+    try {
+      // Rough estimate (4 characters per token); the budget only has to be right on average
+      requestBudget.acquire(1);
+      tokenBudget.acquire(prompt.length() / 4 + batch.size() * task.outputTokensPerItem());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return batch;
+    }
+
+    JsonNode results;
+    try {
+      stats.calls.incrementAndGet();
+      ResponseEntity<String> response = aiRestService.callGeminiAPI(requestBody,
+          task.getName() + " batch of " + batch.size());
+      JsonNode responseNode = objectMapper.readTree(response.getBody());
+      stats.tokens.addAndGet(responseNode.path("usageMetadata").path("totalTokenCount").asLong());
+      String text = responseNode.path("candidates").path(0).path("content").path("parts")
+          .path(0).path("text").asText("");
+      results = objectMapper.readTree(text);
+    } catch (Exception e) {
+      log.warn("AI enrichment {} call for {} items failed: {}", task.getName(), batch.size(),
+          e.getMessage());
+      return batch;
+    }
+    if (results == null || !results.isArray()) {
+      log.warn("AI enrichment {} returned no result array for {} items", task.getName(),
+          batch.size());
+      return batch;
+    }
+
+    for (JsonNode result : results) {
+      T entity = byId.get(result.path("id").asLong(-1));
+      if (entity == null) {
+        continue;
+      }
+      try {
+        if (task.apply(entity, result)) {
+          byId.remove(task.idOf(entity));
+          stats.enriched.incrementAndGet();
+        }
+      } catch (Exception e) {
+        log.warn("AI enrichment {} could not store result for id {}: {}", task.getName(),
+            task.idOf(entity), e.getMessage());
+      }
+    }
+    return new ArrayList<>(byId.values());
+  }
+
+  private Map<String, Object> resultSchema(AiEnrichmentTask<?> task) {
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("id", Collections.singletonMap("type", "INTEGER"));
+    properties.putAll(task.resultProperties());
+
+    Map<String, Object> item = new LinkedHashMap<>();
+    item.put("type", "OBJECT");
+    item.put("properties", properties);
+    item.put("required", new ArrayList<>(properties.keySet()));
+
+    Map<String, Object> schema = new LinkedHashMap<>();
+    schema.put("type", "ARRAY");
+    schema.put("items", item);
+    return schema;
+  }
+
+  private static void backoff(int attempt) {
+    long delay = Math.min(30_000L, 1000L << (attempt - 1));
+    try {
+      Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final class RunStats {
+
+    private final AtomicLong enriched = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong tokens = new AtomicLong();
+
+    // Counters accumulate across resumed runs of the same checkpoint
+    private final long[] base;
+
+    RunStats(AiEnrichmentCheckpoint checkpoint) {
+      base = new long[]{checkpoint.getEnriched(), checkpoint.getFailed(), checkpoint.getAiCalls(),
+          checkpoint.getTokensUsed()};
+    }
+
+    void copyTo(AiEnrichmentCheckpoint checkpoint) {
+      checkpoint.setEnriched(base[0] + enriched.get());
+      checkpoint.setFailed(base[1] + failed.get());
+      checkpoint.setAiCalls(base[2] + calls.get());
+      checkpoint.setTokensUsed(base[3] + tokens.get());
+    }
+  }
+}
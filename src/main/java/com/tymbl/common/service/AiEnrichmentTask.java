@@ -0,0 +1,62 @@
+package com.tymbl.common.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * One kind of catalogue backfill run by {@link AiBatchEnrichmentService}: which entities still
+ * need enriching, how each is described to the model, the JSON shape of one result, and how a
+ * result is validated and stored.
+ */
+public interface AiEnrichmentTask<T> {
+
+  /**
+   * Checkpoint key and AI call log label; stable across releases
+   */
+  String getName();
+
+  /**
+   * Entities still to enrich with {@code id > afterId}, using the first-page, id-sorted
+   * {@code pageable} (same contract as {@link com.tymbl.common.util.KeysetIterator})
+   */
+  List<T> fetchAfter(Long afterId, Pageable pageable);
+
+  Long idOf(T entity);
+
+  /**
+   * Instructions shared by every entity of a batch; sent once per call ahead of the input array
+   */
+  String instructions();
+
+  /**
+   * Input fields of one entity; the engine adds its {@code id}
+   */
+  Map<String, Object> describe(T entity);
+
+  /**
+   * Schema properties of one result object besides {@code id}, all required (see the schema
+   * helpers on {@link AiBatchEnrichmentService})
+   */
+  Map<String, Object> resultProperties();
+
+  /**
+   * Validates and stores the result for one entity; {@code false} (or an exception) rejects it and
+   * the entity is sent again in a later, smaller call
+   */
+  boolean apply(T entity, JsonNode result);
+
+  /**
+   * Called once an entity has used up its attempts, e.g. to flag it as failed
+   */
+  default void onFailure(T entity) {
+  }
+
+  /**
+   * Rough output size of one result, counted against the token budget
+   */
+  default int outputTokensPerItem() {
+    return 100;
+  }
+}
@@ -0,0 +1,183 @@
+package com.tymbl.common.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk writes without one round-trip per row.
+ *
+ * <p>{@link #saveAll} goes through Hibernate with JDBC batching, flushing and clearing the
+ * session every batch so memory stays flat. Hibernate cannot batch INSERTs of IDENTITY entities,
+ * so it suits updates of loaded rows best. {@link #upsert} sends plain
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} batches through JDBC, which the driver rewrites into
+ * multi-row statements ({@code rewriteBatchedStatements=true}); MySQL still assigns
+ * AUTO_INCREMENT ids, so it is the path for bulk inserts.
+ */
+@Slf4j
+@Service
+public class BatchWriter {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManagerFactory entityManagerFactory;
+  private final int batchSize;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  public BatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+      EntityManagerFactory entityManagerFactory,
+      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.entityManagerFactory = entityManagerFactory;
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Persists new and merges detached entities in one transaction (joining the caller's, if any),
+   * flushing and clearing every {@code batchSize} rows. Entities of the caller's persistence
+   * context are detached afterwards.
+   */
+  public <T> int saveAll(Collection<T> entities) {
+    if (entities == null || entities.isEmpty()) {
+      return 0;
+    }
+    Integer written = transactionTemplate.execute(status -> {
+      int count = 0;
+      for (T entity : entities) {
+        if (entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity) == null) {
+          entityManager.persist(entity);
+        } else {
+          entityManager.merge(entity);
+        }
+        if (++count % batchSize == 0) {
+          entityManager.flush();
+          entityManager.clear();
+        }
+      }
+      entityManager.flush();
+      entityManager.clear();
+      return count;
+    });
+    return written != null ? written : 0;
+  }
+
+  /**
+   * Upserts rows in chunks of {@code rowsPerStatement}, each chunk in its own transaction.
+   *
+   * @param onFailedChunk receives the rows of a chunk MySQL rejected; when null the error is
+   * rethrown and later chunks are not written
+   * @return number of rows in chunks that were written
+   */
+  public int upsert(Upsert upsert, List<Object[]> rows, Consumer<List<Object[]>> onFailedChunk) {
+    if (rows == null || rows.isEmpty()) {
+      return 0;
+    }
+    String sql = upsert.toSql();
+    int written = 0;
+    for (int from = 0; from < rows.size(); from += upsert.rowsPerStatement) {
+      List<Object[]> chunk = rows.subList(from, Math.min(from + upsert.rowsPerStatement,
+          rows.size()));
+      try {
+        transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(sql, chunk));
+        written += chunk.size();
+      } catch (RuntimeException e) {
+        if (onFailedChunk == null) {
+          throw e;
+        }
+        log.warn("Upsert into {} failed for a chunk of {} rows: {}", upsert.table, chunk.size(),
+            e.getMessage());
+        onFailedChunk.accept(new ArrayList<>(chunk));
+      }
+    }
+    return written;
+  }
+
+  /**
+   * Statement shape for {@link #upsert}. Table and column names are written into the SQL as
+   * given, so they must come from code, never from input.
+   */
+  public static final class Upsert {
+
+    private final String table;
+    private List<String> columns = Collections.emptyList();
+    private List<String> updateColumns = Collections.emptyList();
+    private List<String> fillColumns = Collections.emptyList();
+    private int rowsPerStatement = 500;
+
+    private Upsert(String table) {
+      this.table = table;
+    }
+
+    public static Upsert into(String table) {
+      return new Upsert(table);
+    }
+
+    public Upsert columns(String... columns) {
+      this.columns = Arrays.asList(columns);
+      return this;
+    }
+
+    /**
+     * Columns overwritten from the incoming row when a primary or unique key already exists;
+     * with neither these nor fill columns, duplicates are left untouched
+     */
+    public Upsert updateOnDuplicate(String... updateColumns) {
+      this.updateColumns = Arrays.asList(updateColumns);
+      return this;
+    }
+
+    /**
+     * Columns taken from the incoming row on a duplicate only where the stored value is null or
+     * blank, so loaders can fill gaps without clobbering curated data
+     */
+    public Upsert fillOnDuplicate(String... fillColumns) {
+      this.fillColumns = Arrays.asList(fillColumns);
+      return this;
+    }
+
+    public Upsert rowsPerStatement(int rowsPerStatement) {
+      this.rowsPerStatement = Math.max(1, rowsPerStatement);
+      return this;
+    }
+
+    String toSql() {
+      if (columns.isEmpty()) {
+        throw new IllegalStateException("No columns given for upsert into " + table);
+      }
+      StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+          .append(" (").append(String.join(", ", columns)).append(") VALUES (")
+          .append(columns.stream().map(c -> "?").collect(Collectors.joining(", ")))
+          .append(")");
+      List<String> assignments = new ArrayList<>();
+      fillColumns.forEach(c -> assignments.add(
+          c + " = IF(" + c + " IS NULL OR TRIM(" + c + ") = '', VALUES(" + c + "), " + c + ")"));
+      updateColumns.forEach(c -> assignments.add(c + " = VALUES(" + c + ")"));
+      if (assignments.isEmpty()) {
+        // A no-op assignment turns duplicates into skips instead of errors
+        assignments.add(columns.get(0) + " = " + columns.get(0));
+      }
+      return sql.append(" ON DUPLICATE KEY UPDATE ").append(String.join(", ", assignments))
+          .toString();
+    }
+  }
+}
@@ -0,0 +1,300 @@
+package com.tymbl.common.service;
+
+import com.tymbl.common.entity.CacheChangeLog;
+import com.tymbl.common.entity.CacheChangeLog.EntityType;
+import com.tymbl.common.repository.CacheChangeLogRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the in-memory reference caches of all instances consistent through
+ * {@code cache_change_log}, without a broker. A writer publishes {@code (entity type, id)} in
+ * the transaction of its change, so the row exists exactly when the change does; the writing
+ * instance applies it after commit and every other instance picks it up by tailing the table
+ * past an id watermark every {@code app.cache-bus.poll-ms}. Caches can therefore keep long TTLs
+ * and still see writes made elsewhere within a poll interval.
+ *
+ * <p>Caches subscribe per entity type. A handler receives the changed id, or {@code null} when
+ * the whole type changed, and must reload from MySQL without publishing again. Auto-increment ids
+ * become visible in commit order, not id order, so ids skipped by the watermark are re-read for
+ * {@code app.cache-bus.gap-seconds} in case their transaction was still open.
+ *
+ * <p>The poll runs on its own thread rather than the shared {@code @Scheduled} pool, where a long
+ * job such as the interlink rebuild would otherwise hold it back by minutes.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationBus {
+
+  private static final int MAX_TRACKED_GAPS = 10_000;
+  private static final long FIRST_POLL_DELAY_MS = 10_000;
+
+  private final CacheChangeLogRepository changeLogRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final long pollMillis;
+  private final int batchSize;
+  private final long gapMillis;
+  private final int retentionHours;
+
+  // Unique per process so a restarted instance applies changes made by its previous run
+  private final String instanceId = "cache-" + UUID.randomUUID().toString().substring(0, 8);
+  private final Map<EntityType, List<Consumer<Long>>> handlers = new EnumMap<>(EntityType.class);
+
+  private volatile long watermark = -1;
+  // Skipped ids still worth re-reading, with the time they stop being so
+  private final Map<Long, Long> gaps = new ConcurrentSkipListMap<>();
+
+  private final AtomicLong published = new AtomicLong();
+  private final AtomicLong received = new AtomicLong();
+  private final AtomicLong applied = new AtomicLong();
+  private final AtomicLong lateArrivals = new AtomicLong();
+  private final AtomicLong handlerFailures = new AtomicLong();
+
+  private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(
+      r -> {
+        Thread thread = new Thread(r, "CacheBus-poll");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  public CacheInvalidationBus(CacheChangeLogRepository changeLogRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.cache-bus.enabled:true}") boolean enabled,
+      @Value("${app.cache-bus.poll-ms:2000}") long pollMillis,
+      @Value("${app.cache-bus.batch-size:500}") int batchSize,
+      @Value("${app.cache-bus.gap-seconds:60}") long gapSeconds,
+      @Value("${app.cache-bus.retention-hours:24}") int retentionHours) {
+    this.changeLogRepository = changeLogRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.pollMillis = Math.max(100, pollMillis);
+    this.batchSize = Math.max(1, batchSize);
+    this.gapMillis = TimeUnit.SECONDS.toMillis(Math.max(1, gapSeconds));
+    this.retentionHours = Math.max(1, retentionHours);
+    for (EntityType type : EntityType.values()) {
+      handlers.put(type, new CopyOnWriteArrayList<>());
+    }
+  }
+
+  /**
+   * Starts tailing at the current end of the log. This runs before the startup warm-up, so the
+   * caches it loads miss nothing written after this point.
+   */
+  @PostConstruct
+  public void initializeWatermark() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      watermark = currentMaxId();
+      log.info("Cache invalidation bus {} tailing cache_change_log after id {}", instanceId,
+          watermark);
+    } catch (RuntimeException e) {
+      log.warn("Could not read the cache change log, will start at the first poll: {}",
+          e.getMessage());
+    }
+    poller.scheduleWithFixedDelay(this::poll, FIRST_POLL_DELAY_MS, pollMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    poller.shutdownNow();
+  }
+
+  /**
+   * Calls {@code handler} with the changed id, or {@code null} for a change to the whole type
+   */
+  public void subscribe(EntityType type, Consumer<Long> handler) {
+    handlers.get(type).add(handler);
+  }
+
+  /**
+   * Records a change for the other instances in the surrounding transaction (its own one outside
+   * a transaction) and applies it to this instance's caches once that commits
+   *
+   * @param entityId the changed row, or {@code null} when any row of the type may have changed
+   */
+  public void publish(EntityType type, Long entityId) {
+    if (enabled) {
+      changeLogRepository.save(CacheChangeLog.builder()
+          .entityType(type)
+          .entityId(entityId)
+          .version(System.currentTimeMillis())
+          .origin(instanceId)
+          .build());
+      published.incrementAndGet();
+    }
+    afterCommit(() -> apply(type, entityId));
+  }
+
+  public void poll() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      if (watermark < 0) {
+        watermark = currentMaxId();
+        return;
+      }
+      recheckGaps();
+      List<CacheChangeLog> changes;
+      do {
+        changes = changeLogRepository.findByIdGreaterThanOrderByIdAsc(watermark,
+            PageRequest.of(0, batchSize));
+        long expected = watermark + 1;
+        for (CacheChangeLog change : changes) {
+          trackGaps(expected, change.getId());
+          expected = change.getId() + 1;
+        }
+        if (!changes.isEmpty()) {
+          watermark = changes.get(changes.size() - 1).getId();
+          applyRemote(changes);
+        }
+      } while (changes.size() == batchSize);
+    } catch (RuntimeException e) {
+      log.warn("Cache change log poll failed: {}", e.getMessage());
+    }
+  }
+
+  @Scheduled(cron = "0 40 3 * * *")
+  public void purge() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      Integer deleted = transactionTemplate.execute(status -> changeLogRepository
+          .deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours)));
+      log.info("Purged {} cache change log rows", deleted);
+    } catch (Exception e) {
+      log.error("Failed to purge the cache change log: {}", e.getMessage(), e);
+    }
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("enabled", enabled);
+    stats.put("instanceId", instanceId);
+    stats.put("watermark", watermark);
+    stats.put("openGaps", gaps.size());
+    stats.put("published", published.get());
+    stats.put("received", received.get());
+    stats.put("applied", applied.get());
+    stats.put("lateArrivals", lateArrivals.get());
+    stats.put("handlerFailures", handlerFailures.get());
+    return stats;
+  }
+
+  private long currentMaxId() {
+    Long maxId = changeLogRepository.findMaxId();
+    return maxId != null ? maxId : 0L;
+  }
+
+  private void trackGaps(long from, long to) {
+    long expiresAt = System.currentTimeMillis() + gapMillis;
+    for (long id = from; id < to && gaps.size() < MAX_TRACKED_GAPS; id++) {
+      gaps.put(id, expiresAt);
+    }
+  }
+
+  private void recheckGaps() {
+    if (gaps.isEmpty()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    gaps.values().removeIf(expiresAt -> expiresAt < now);
+    if (gaps.isEmpty()) {
+      return;
+    }
+    List<CacheChangeLog> late = changeLogRepository.findByIdIn(new ArrayList<>(gaps.keySet()));
+    if (!late.isEmpty()) {
+      for (CacheChangeLog change : late) {
+        gaps.remove(change.getId());
+      }
+      lateArrivals.addAndGet(late.size());
+      applyRemote(late);
+    }
+  }
+
+  /**
+   * Applies other instances' changes once each; a whole-type change covers any single-row change
+   * of the same type in the batch
+   */
+  private void applyRemote(List<CacheChangeLog> changes) {
+    Set<EntityType> wholeTypes = new LinkedHashSet<>();
+    Map<EntityType, Set<Long>> rows = new EnumMap<>(EntityType.class);
+    for (CacheChangeLog change : changes) {
+      if (instanceId.equals(change.getOrigin())) {
+        continue;
+      }
+      received.incrementAndGet();
+      if (change.getEntityId() == null) {
+        wholeTypes.add(change.getEntityType());
+      } else {
+        rows.computeIfAbsent(change.getEntityType(), type -> new LinkedHashSet<>())
+            .add(change.getEntityId());
+      }
+    }
+    for (EntityType type : wholeTypes) {
+      apply(type, null);
+    }
+    rows.forEach((type, ids) -> {
+      if (!wholeTypes.contains(type)) {
+        ids.forEach(id -> apply(type, id));
+      }
+    });
+  }
+
+  private void apply(EntityType type, Long entityId) {
+    for (Consumer<Long> handler : handlers.get(type)) {
+      try {
+        handler.accept(entityId);
+        applied.incrementAndGet();
+      } catch (RuntimeException e) {
+        // The cache keeps the old value until its TTL or the next change
+        handlerFailures.incrementAndGet();
+        log.warn("Cache invalidation for {} {} failed: {}", type,
+            entityId != null ? entityId : "(all)", e.getMessage());
+      }
+    }
+  }
+
+  private void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+}
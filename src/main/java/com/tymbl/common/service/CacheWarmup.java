@@ -0,0 +1,240 @@
+package com.tymbl.common.service;
+
+import com.tymbl.common.service.ExecutorRegistry.Workload;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loads the in-memory caches before the instance reports ready. Services register their loaders
+ * from {@code @PostConstruct}; once the context is up, loaders run on the {@code startup} pool in
+ * priority order (lower first, equal priorities in parallel), each retried up to
+ * {@code app.warmup.attempts} times.
+ *
+ * <p>As an {@link ApplicationRunner} this holds back Spring Boot's readiness state, which only
+ * switches to {@code ACCEPTING_TRAFFIC} after all runners return, so a cold instance is kept out
+ * of rotation while it loads. After {@code app.warmup.timeout-seconds} the instance reports
+ * ready anyway and the remaining loaders finish in the background; services keep their database
+ * fallbacks for that case.
+ *
+ * <p>Background loaders (e.g. reconciling a cache restored from a snapshot) start once the
+ * readiness-gating ones are done and do not hold back readiness.
+ */
+@Slf4j
+@Service
+public class CacheWarmup implements ApplicationRunner {
+
+  public enum State {
+    PENDING,
+    LOADING,
+    READY,
+    FAILED
+  }
+
+  private final ExecutorRegistry executorRegistry;
+  private final long timeoutMillis;
+  private final int attempts;
+
+  private final List<Loader> loaders = new CopyOnWriteArrayList<>();
+  private volatile boolean started;
+  private volatile long startedAt;
+  private volatile Long completedInMs;
+
+  public CacheWarmup(ExecutorRegistry executorRegistry,
+      @Value("${app.warmup.timeout-seconds:120}") long timeoutSeconds,
+      @Value("${app.warmup.attempts:3}") int attempts) {
+    this.executorRegistry = executorRegistry;
+    this.timeoutMillis = TimeUnit.SECONDS.toMillis(Math.max(1, timeoutSeconds));
+    this.attempts = Math.max(1, attempts);
+  }
+
+  /**
+   * Registers a cache loader. {@code loader} must throw when the load fails so the cache is not
+   * reported ready; loaders registered after warm-up started run at once.
+   */
+  public void register(String name, int priority, Runnable loader) {
+    add(new Loader(name, priority, loader, false));
+  }
+
+  /**
+   * Registers a loader that runs after the readiness-gating ones and does not delay readiness
+   */
+  public void registerBackground(String name, int priority, Runnable loader) {
+    add(new Loader(name, priority, loader, true));
+  }
+
+  private void add(Loader entry) {
+    loaders.add(entry);
+    if (started) {
+      log.warn("Cache {} registered after warm-up started, loading it now", entry.name);
+      load(entry);
+    }
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    started = true;
+    startedAt = System.currentTimeMillis();
+    long deadline = startedAt + timeoutMillis;
+
+    List<Loader> gating = new ArrayList<>();
+    List<Loader> background = new ArrayList<>();
+    for (Loader loader : loaders) {
+      (loader.background ? background : gating).add(loader);
+    }
+    log.info("Cache warm-up started: {} caches, {} background loaders", gating.size(),
+        background.size());
+
+    CompletableFuture<Void> warmup = inPriorityOrder(gating).whenComplete((ignored, error) -> {
+      completedInMs = System.currentTimeMillis() - startedAt;
+      log.info("Cache warm-up finished in {} ms", completedInMs);
+    });
+    warmup.whenComplete((ignored, error) -> inPriorityOrder(background));
+
+    try {
+      warmup.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      log.warn("Cache warm-up exceeded {} ms, reporting ready with cold caches: {}",
+          timeoutMillis, coldCaches());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      log.error("Cache warm-up failed: {}", e.getMessage(), e);
+    }
+
+    List<String> cold = coldCaches();
+    if (!cold.isEmpty()) {
+      log.warn("Instance ready with caches not loaded: {}", cold);
+    }
+  }
+
+  /**
+   * Whether every readiness-gating cache has loaded
+   */
+  public boolean isWarm() {
+    return started && coldCaches().isEmpty();
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("warm", isWarm());
+    stats.put("completedInMs", completedInMs);
+    Map<String, Object> caches = new LinkedHashMap<>();
+    loaders.stream()
+        .sorted(Comparator.comparing((Loader loader) -> loader.background)
+            .thenComparingInt(loader -> loader.priority))
+        .forEach(loader -> caches.put(loader.name, loader.getStats()));
+    stats.put("caches", caches);
+    return stats;
+  }
+
+  /**
+   * Each priority group starts once the previous one is done, without holding a pool thread to
+   * wait
+   */
+  private CompletableFuture<Void> inPriorityOrder(List<Loader> group) {
+    Map<Integer, List<Loader>> byPriority = new TreeMap<>();
+    for (Loader loader : group) {
+      byPriority.computeIfAbsent(loader.priority, p -> new ArrayList<>()).add(loader);
+    }
+    CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+    for (List<Loader> samePriority : byPriority.values()) {
+      chain = chain.thenCompose(ignored -> CompletableFuture.allOf(samePriority.stream()
+          .map(this::load)
+          .toArray(CompletableFuture[]::new)));
+    }
+    return chain;
+  }
+
+  private CompletableFuture<Void> load(Loader loader) {
+    return CompletableFuture.runAsync(() -> {
+      loader.state = State.LOADING;
+      long start = System.currentTimeMillis();
+      for (int attempt = 1; attempt <= attempts; attempt++) {
+        loader.attempts = attempt;
+        try {
+          loader.action.run();
+          loader.durationMs = System.currentTimeMillis() - start;
+          loader.error = null;
+          loader.state = State.READY;
+          log.info("Cache {} warmed in {} ms", loader.name, loader.durationMs);
+          return;
+        } catch (RuntimeException e) {
+          loader.error = e.getMessage();
+          log.warn("Cache {} failed to load (attempt {}/{}): {}", loader.name, attempt, attempts,
+              e.getMessage());
+          if (attempt < attempts && !sleep(TimeUnit.SECONDS.toMillis(attempt))) {
+            break;
+          }
+        }
+      }
+      loader.durationMs = System.currentTimeMillis() - start;
+      loader.state = State.FAILED;
+      log.error("Cache {} not loaded after {} attempts, requests will use the database",
+          loader.name, loader.attempts);
+    }, executorRegistry.get(Workload.STARTUP));
+  }
+
+  private List<String> coldCaches() {
+    List<String> cold = new ArrayList<>();
+    for (Loader loader : loaders) {
+      if (!loader.background && loader.state != State.READY) {
+        cold.add(loader.name + "=" + loader.state);
+      }
+    }
+    return cold;
+  }
+
+  private static boolean sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static final class Loader {
+
+    private final String name;
+    private final int priority;
+    private final Runnable action;
+    private final boolean background;
+    private volatile State state = State.PENDING;
+    private volatile int attempts;
+    private volatile Long durationMs;
+    private volatile String error;
+
+    Loader(String name, int priority, Runnable action, boolean background) {
+      this.name = name;
+      this.priority = priority;
+      this.action = action;
+      this.background = background;
+    }
+
+    Map<String, Object> getStats() {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("state", state);
+      stats.put("priority", priority);
+      stats.put("background", background);
+      stats.put("attempts", attempts);
+      stats.put("durationMs", durationMs);
+      stats.put("error", error);
+      return stats;
+    }
+  }
+}
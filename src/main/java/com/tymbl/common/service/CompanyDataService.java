@@ -1,5 +1,7 @@
 package com.tymbl.common.service;
 
+import com.tymbl.common.service.BatchWriter.Upsert;
+import com.tymbl.common.util.ChunkedLineReader;
 import com.tymbl.common.util.CompanyNameCleaner;
 import com.tymbl.jobs.entity.Company;
 import com.tymbl.jobs.entity.CompanyContent;
@@ -9,12 +11,17 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,185 +29,71 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class CompanyDataService {
 
+  private static final int IMPORT_CHUNK_SIZE = 1000;
+
+  // Problem lines kept in the import result; the rest are only counted
+  private static final int MAX_REPORTED_PROBLEMS = 1000;
+
+  private static final Upsert BASIC_COMPANY_UPSERT = Upsert.into("companies")
+      .columns("id", "name", "description", "website", "logo_url", "headquarters",
+          "company_size", "specialties", "linkedin_url", "career_page_url", "is_crawled",
+          "similar_companies_processed", "industry_processed", "junk_identified",
+          "website_fetched", "created_at", "updated_at", "normalized_name")
+      .fillOnDuplicate("description", "website", "logo_url", "headquarters", "company_size",
+          "specialties", "linkedin_url", "career_page_url", "normalized_name")
+      .updateOnDuplicate("updated_at");
+
   @Autowired
   private CompanyRepository companyRepository;
 
   @Autowired
   private CompanyContentRepository companyContentRepository;
 
+  @Autowired
+  private BatchWriter batchWriter;
+
+  @Autowired
+  private CompanyDeduplicationService companyDeduplicationService;
+
   public CompanyDataService() {
     // Simple constructor to ensure the service can be instantiated
     System.out.println("CompanyDataService constructor called");
   }
 
   /**
-   * Clean up duplicate companies by name before loading new data
+   * Merge companies that share a normalized name; see
+   * {@link CompanyDeduplicationService#mergeDuplicates()}
    */
-  @Transactional
   public List<String> cleanupDuplicateCompanies() {
-    List<String> results = new ArrayList<>();
-
-    try {
-      // Get all companies
-      List<Company> allCompanies = companyRepository.findAll();
-      Map<String, List<Company>> companiesByName = allCompanies.stream()
-          .collect(Collectors.groupingBy(Company::getName));
-
-      int duplicatesRemoved = 0;
-
-      for (Map.Entry<String, List<Company>> entry : companiesByName.entrySet()) {
-        String name = entry.getKey();
-        List<Company> companies = entry.getValue();
-
-        if (companies.size() > 1) {
-          // Keep the first one, remove the rest
-          Company toKeep = companies.get(0);
-          List<Company> toRemove = companies.subList(1, companies.size());
-
-          for (Company company : toRemove) {
-            companyRepository.delete(company);
-            duplicatesRemoved++;
-          }
-
-          results.add("Removed " + toRemove.size() + " duplicate(s) for company: " + name);
-        }
-      }
-
-      if (duplicatesRemoved == 0) {
-        results.add("No duplicate companies found");
-      } else {
-        results.add("Total duplicates removed: " + duplicatesRemoved);
-      }
-
-    } catch (Exception e) {
-      results.add("Error cleaning up duplicates: " + e.getMessage());
-    }
-
-    return results;
+    return companyDeduplicationService.mergeDuplicates();
   }
 
   /**
-   * Clean up duplicate companies using the same logic as the SQL query: DELETE FROM companies WHERE
-   * id NOT IN (SELECT id FROM (SELECT MIN(id) AS id FROM companies GROUP BY CASE WHEN RIGHT(name,
-   * 2) = '"]' THEN LEFT(name, LENGTH(name) - 2) ELSE name END) AS t);
+   * Same as {@link #cleanupDuplicateCompanies()}: the normalized key already strips the trailing
+   * {@code "]} and suffix noise the old SQL grouped on
    */
-  @Transactional
   public List<String> cleanupDuplicateCompaniesWithNormalization() {
-    List<String> results = new ArrayList<>();
-
-    try {
-      // Get all companies
-      List<Company> allCompanies = companyRepository.findAll();
-
-      // Group companies by normalized name (same logic as SQL query)
-      Map<String, List<Company>> companiesByNormalizedName = allCompanies.stream()
-          .collect(Collectors.groupingBy(company ->
-              CompanyNameCleaner.getNormalizedNameForDuplicateDetection(company.getName())));
-
-      int duplicatesRemoved = 0;
-
-      for (Map.Entry<String, List<Company>> entry : companiesByNormalizedName.entrySet()) {
-        String normalizedName = entry.getKey();
-        List<Company> companies = entry.getValue();
-
-        if (companies.size() > 1) {
-          // Keep the one with minimum ID, remove the rest
-          Company toKeep = companies.stream()
-              .min((c1, c2) -> Long.compare(c1.getId(), c2.getId()))
-              .orElse(companies.get(0));
-
-          List<Company> toRemove = companies.stream()
-              .filter(company -> !company.getId().equals(toKeep.getId()))
-              .collect(Collectors.toList());
-
-          for (Company company : toRemove) {
-            companyRepository.delete(company);
-            duplicatesRemoved++;
-          }
-
-          results.add("Removed " + toRemove.size() + " duplicate(s) for normalized name: "
-              + normalizedName);
-        }
-      }
-
-      if (duplicatesRemoved == 0) {
-        results.add("No duplicate companies found with normalization");
-      } else {
-        results.add("Total duplicates removed with normalization: " + duplicatesRemoved);
-      }
-
-    } catch (Exception e) {
-      results.add("Error cleaning up duplicates with normalization: " + e.getMessage());
-    }
-
-    return results;
+    return companyDeduplicationService.mergeDuplicates();
   }
 
   /**
-   * Comprehensive cleanup method that applies all the cleaning logic from the SQL queries and then
-   * removes duplicates. This method: 1. Cleans all company names using CompanyNameCleaner 2.
-   * Removes duplicates based on cleaned names 3. Keeps the company with minimum ID for each group
+   * Cleans every company name with CompanyNameCleaner, merges companies whose names now
+   * normalize to the same key (keeping the lowest id), then retries the cleaned names that
+   * collided with a duplicate removed by the merge
    */
-  @Transactional
   public List<String> comprehensiveCompanyCleanup() {
     List<String> results = new ArrayList<>();
 
     try {
-      // Get all companies
-      List<Company> allCompanies = companyRepository.findAll();
-      int totalCompanies = allCompanies.size();
-      int cleanedCount = 0;
-      int duplicatesRemoved = 0;
-
-      // Step 1: Clean all company names
-      for (Company company : allCompanies) {
-        String originalName = company.getName();
-        String cleanedName = CompanyNameCleaner.cleanAndValidateCompanyName(originalName);
-
-        if (cleanedName != null && !cleanedName.equals(originalName)) {
-          company.setName(cleanedName);
-          companyRepository.save(company);
-          cleanedCount++;
-          results.add("Cleaned company name: '" + originalName + "' -> '" + cleanedName + "'");
-        }
-      }
+      long totalCompanies = companyRepository.count();
+      int cleanedCount = companyDeduplicationService.cleanNames();
+      results.addAll(companyDeduplicationService.mergeDuplicates());
+      cleanedCount += companyDeduplicationService.cleanNames();
 
-      // Step 2: Remove duplicates based on cleaned names
-      allCompanies = companyRepository.findAll(); // Refresh list after cleaning
-
-      // Group companies by their cleaned names
-      Map<String, List<Company>> companiesByCleanedName = allCompanies.stream()
-          .collect(Collectors.groupingBy(Company::getName));
-
-      for (Map.Entry<String, List<Company>> entry : companiesByCleanedName.entrySet()) {
-        String cleanedName = entry.getKey();
-        List<Company> companies = entry.getValue();
-
-        if (companies.size() > 1) {
-          // Keep the one with minimum ID, remove the rest
-          Company toKeep = companies.stream()
-              .min((c1, c2) -> Long.compare(c1.getId(), c2.getId()))
-              .orElse(companies.get(0));
-
-          List<Company> toRemove = companies.stream()
-              .filter(company -> !company.getId().equals(toKeep.getId()))
-              .collect(Collectors.toList());
-
-          for (Company company : toRemove) {
-            companyRepository.delete(company);
-            duplicatesRemoved++;
-          }
-
-          results.add("Removed " + toRemove.size() + " duplicate(s) for: " + cleanedName);
-        }
-      }
-
-      // Summary
       results.add("=== SUMMARY ===");
       results.add("Total companies processed: " + totalCompanies);
       results.add("Company names cleaned: " + cleanedCount);
-      results.add("Duplicates removed: " + duplicatesRemoved);
-      results.add("Final company count: " + (totalCompanies - duplicatesRemoved));
+      results.add("Final company count: " + companyRepository.count());
 
     } catch (Exception e) {
       results.add("Error during comprehensive cleanup: " + e.getMessage());
@@ -209,44 +102,96 @@ public class CompanyDataService {
     return results;
   }
 
+  /**
+   * Streams the catalogue in chunks and upserts each chunk in multi-row statements. Rows are
+   * matched to existing companies by normalized name (computed once per row and stored), so a
+   * company already present under a differently formatted name only gets its empty fields filled.
+   * A chunk the database rejects is retried row by row so one bad line cannot sink its
+   * neighbours.
+   */
   public List<String> loadBasicCompanyData() {
-    List<String> results = new ArrayList<>();
+    ImportReport report = new ImportReport();
 
     try (InputStream inputStream = getClass().getClassLoader()
         .getResourceAsStream("db/companies_basic.txt");
         BufferedReader reader = new BufferedReader(
             new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
 
-      String line;
-      boolean isFirstLine = true;
+      for (List<String> lines : ChunkedLineReader.chunks(reader, IMPORT_CHUNK_SIZE, true)) {
+        importBasicChunk(lines, report);
+      }
+    } catch (IOException | UncheckedIOException e) {
+      report.problem("Error reading file: " + e.getMessage());
+    }
 
-      while ((line = reader.readLine()) != null) {
-        if (isFirstLine) {
-          isFirstLine = false;
-          continue; // Skip header line
-        }
+    return report.toResults();
+  }
 
-        String[] fields = line.split("\\|");
-        if (fields.length >= 11) {
-          try {
-            String result = processBasicCompanyData(fields);
-            results.add(result);
-          } catch (Exception e) {
-            String errorMsg =
-                "Error processing line: " + line.substring(0, Math.min(50, line.length()))
-                    + "... Error: " + e.getMessage();
-            results.add(errorMsg);
-          }
+  private void importBasicChunk(List<String> lines, ImportReport report) {
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    // One row per normalized name; later lines for the same company only fill blanks
+    Map<String, Object[]> rowsByKey = new LinkedHashMap<>();
+    Map<Object[], String[]> sourceFields = new IdentityHashMap<>();
+
+    for (String line : lines) {
+      String[] fields = line.split("\\|");
+      if (fields.length < 11) {
+        report.problem("Invalid line format (expected 11 fields): " + line.substring(0,
+            Math.min(50, line.length())) + "...");
+        continue;
+      }
+      try {
+        String cleanedName = CompanyNameCleaner.cleanAndValidateCompanyName(fields[1]);
+        String key = CompanyNameCleaner.normalizedKey(cleanedName);
+        if (key == null) {
+          report.skipped++;
+          report.problem("Skipped invalid company name: " + fields[1]);
+          continue;
+        }
+        Object[] row = {Long.parseLong(fields[0]), cleanedName, fields[2], fields[3],
+            fields[4], fields[5], fields[7], fields[8], fields[9], fields[10],
+            false, false, false, false, 0, now, now, key};
+        Object[] existing = rowsByKey.putIfAbsent(key, row);
+        if (existing == null) {
+          sourceFields.put(row, fields);
         } else {
-          results.add("Invalid line format (expected 11 fields): " + line.substring(0,
-              Math.min(50, line.length())) + "...");
+          report.collapsed++;
+          for (int i = 2; i <= 9; i++) {
+            if (existing[i] == null || ((String) existing[i]).trim().isEmpty()) {
+              existing[i] = row[i];
+            }
+          }
         }
+      } catch (Exception e) {
+        report.problem("Error processing line: " + line.substring(0, Math.min(50, line.length()))
+            + "... Error: " + e.getMessage());
       }
-    } catch (IOException e) {
-      results.add("Error reading file: " + e.getMessage());
+    }
+    if (rowsByKey.isEmpty()) {
+      return;
     }
 
-    return results;
+    // Companies already stored under the same key keep their id; the upsert then only fills them
+    for (Object[] match : companyRepository.findIdsByNormalizedNameIn(rowsByKey.keySet())) {
+      rowsByKey.get((String) match[0])[0] = match[1];
+    }
+
+    List<Object[]> rows = new ArrayList<>(rowsByKey.values());
+    Set<Object[]> fallbackRows = Collections.newSetFromMap(new IdentityHashMap<>());
+    batchWriter.upsert(BASIC_COMPANY_UPSERT, rows, fallbackRows::addAll);
+
+    for (Object[] row : rows) {
+      if (!fallbackRows.contains(row)) {
+        report.upserted++;
+        continue;
+      }
+      String result = processBasicCompanyData(sourceFields.get(row));
+      if (result.startsWith("Error") || result.startsWith("Database")) {
+        report.problem(result);
+      } else {
+        report.upserted++;
+      }
+    }
   }
 
   public List<String> updateDetailedCompanyData() {
@@ -478,4 +423,32 @@ public class CompanyDataService {
       company.setCareerPageUrl(careersUrl);
     }
   }
-} 
\ No newline at end of file
+
+  private static final class ImportReport {
+
+    private final List<String> problems = new ArrayList<>();
+    private int upserted;
+    private int collapsed;
+    private int skipped;
+    private int problemCount;
+
+    void problem(String message) {
+      problemCount++;
+      if (problems.size() < MAX_REPORTED_PROBLEMS) {
+        problems.add(message);
+      }
+    }
+
+    List<String> toResults() {
+      List<String> results = new ArrayList<>(problems);
+      if (problemCount > problems.size()) {
+        results.add("... " + (problemCount - problems.size()) + " more problems not listed");
+      }
+      results.add("Companies upserted: " + upserted);
+      results.add("Duplicate lines merged into one company: " + collapsed);
+      results.add("Invalid company names skipped: " + skipped);
+      results.add("Lines with problems: " + problemCount);
+      return results;
+    }
+  }
+}
@@ -0,0 +1,270 @@
+package com.tymbl.common.service;
+
+import com.tymbl.common.util.CompanyNameCleaner;
+import com.tymbl.jobs.service.ElasticsearchCompanyIndexingService;
+import com.tymbl.jobs.service.JobDetailCache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Set-based company name normalization and duplicate merging.
+ *
+ * <p>Every company carries {@code normalized_name} (see {@link CompanyNameCleaner#normalizedKey}).
+ * A merge groups companies by that key in SQL, keeps the lowest id of each group, and records
+ * every other row in {@code company_merge_map}. It then works through the map in chunks of
+ * losers, each chunk in its own transaction: fill the winner's blank columns from the losers,
+ * re-point foreign keys, and delete the losers with one statement. Memory and transaction size
+ * stay bounded however many companies there are.
+ */
+@Slf4j
+@Service
+public class CompanyDeduplicationService {
+
+  private static final int CHUNK_SIZE = 1000;
+
+  // Columns a winner takes from a loser when its own value is blank
+  private static final String[] MERGED_TEXT_COLUMNS = {"description", "website", "logo_url",
+      "career_page_url", "linkedin_url", "headquarters", "company_size", "specialties", "about_us",
+      "vision", "mission", "culture"};
+
+  // Plain references, re-pointed to the winner. external_job_details keeps the id as text; the
+  // next sync would copy a loser's id into jobs otherwise
+  private static final String[] REFERENCING_TABLES = {"jobs", "users", "notifications",
+      "external_job_details"};
+
+  // References that may be unique per company; a loser's row that would clash is dropped
+  private static final String[] DEPENDENT_TABLES = {"company_content", "company_designation_skills",
+      "company_interview_guides"};
+
+  private static final String CHUNK_FILTER = " WHERE m.loser_id > ? AND m.loser_id <= ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ElasticsearchCompanyIndexingService elasticsearchCompanyIndexingService;
+  private final IndustryStatsService industryStatsService;
+  private final DropdownService dropdownService;
+  private final JobDetailCache jobDetailCache;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public CompanyDeduplicationService(JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ElasticsearchCompanyIndexingService elasticsearchCompanyIndexingService,
+      IndustryStatsService industryStatsService, DropdownService dropdownService,
+      JobDetailCache jobDetailCache) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.elasticsearchCompanyIndexingService = elasticsearchCompanyIndexingService;
+    this.industryStatsService = industryStatsService;
+    this.dropdownService = dropdownService;
+    this.jobDetailCache = jobDetailCache;
+  }
+
+  /**
+   * Fills {@code normalized_name} for rows written before the column existed or outside JPA
+   *
+   * @return rows updated
+   */
+  public int backfillNormalizedNames() {
+    int updated = 0;
+    long lastId = 0;
+    List<Object[]> batch;
+    do {
+      List<Object[]> rows = jdbcTemplate.query(
+          "SELECT id, name FROM companies WHERE normalized_name IS NULL AND id > ? "
+              + "ORDER BY id LIMIT ?",
+          (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2)}, lastId, CHUNK_SIZE);
+      batch = new ArrayList<>();
+      for (Object[] row : rows) {
+        lastId = (Long) row[0];
+        String key = CompanyNameCleaner.normalizedKey((String) row[1]);
+        if (key != null) {
+          batch.add(new Object[]{key, row[0]});
+        }
+      }
+      updated += sum(jdbcTemplate.batchUpdate(
+          "UPDATE companies SET normalized_name = ? WHERE id = ?", batch));
+      if (rows.size() < CHUNK_SIZE) {
+        break;
+      }
+    } while (true);
+
+    if (updated > 0) {
+      log.info("Backfilled normalized_name for {} companies", updated);
+    }
+    return updated;
+  }
+
+  /**
+   * Rewrites names that {@link CompanyNameCleaner} would clean. A cleaned name already taken by
+   * another company is left for the merge to resolve.
+   *
+   * @return names rewritten
+   */
+  public int cleanNames() {
+    int cleaned = 0;
+    long lastId = 0;
+    while (true) {
+      List<Object[]> rows = jdbcTemplate.query(
+          "SELECT id, name FROM companies WHERE id > ? ORDER BY id LIMIT ?",
+          (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2)}, lastId, CHUNK_SIZE);
+      List<Object[]> updates = new ArrayList<>();
+      for (Object[] row : rows) {
+        lastId = (Long) row[0];
+        String name = (String) row[1];
+        String cleanedName = CompanyNameCleaner.cleanAndValidateCompanyName(name);
+        if (cleanedName != null && !cleanedName.equals(name)) {
+          updates.add(new Object[]{cleanedName, CompanyNameCleaner.normalizedKey(cleanedName),
+              row[0]});
+        }
+      }
+      // IGNORE skips rows whose cleaned name collides with the unique name of another company
+      cleaned += sum(jdbcTemplate.batchUpdate(
+          "UPDATE IGNORE companies SET name = ?, normalized_name = ? WHERE id = ?", updates));
+      if (rows.size() < CHUNK_SIZE) {
+        return cleaned;
+      }
+    }
+  }
+
+  /**
+   * Merges companies sharing a normalized name into the one with the lowest id
+   *
+   * @return human-readable summary lines
+   */
+  public List<String> mergeDuplicates() {
+    List<String> results = new ArrayList<>();
+    if (!running.compareAndSet(false, true)) {
+      results.add("A company merge is already running");
+      return results;
+    }
+
+    try {
+      long start = System.currentTimeMillis();
+      backfillNormalizedNames();
+
+      Integer mapped = transactionTemplate.execute(status -> {
+        jdbcTemplate.update("DELETE FROM company_merge_map");
+        return jdbcTemplate.update(
+            "INSERT INTO company_merge_map (loser_id, winner_id) "
+                + "SELECT c.id, g.winner_id FROM companies c "
+                + "JOIN (SELECT normalized_name, MIN(id) AS winner_id FROM companies "
+                + "WHERE normalized_name IS NOT NULL GROUP BY normalized_name "
+                + "HAVING COUNT(*) > 1) g ON g.normalized_name = c.normalized_name "
+                + "WHERE c.id <> g.winner_id");
+      });
+      if (mapped == null || mapped == 0) {
+        results.add("No duplicate companies found");
+        return results;
+      }
+
+      int removed = 0;
+      int repointed = 0;
+      long lastLoserId = 0;
+      while (true) {
+        List<Long> losers = jdbcTemplate.queryForList(
+            "SELECT loser_id FROM company_merge_map WHERE loser_id > ? ORDER BY loser_id LIMIT ?",
+            Long.class, lastLoserId, CHUNK_SIZE);
+        if (losers.isEmpty()) {
+          break;
+        }
+        long from = lastLoserId;
+        long to = losers.get(losers.size() - 1);
+        int[] chunkCounts = transactionTemplate.execute(status -> mergeChunk(from, to));
+        removed += chunkCounts[0];
+        repointed += chunkCounts[1];
+        afterChunk(losers, from, to);
+        lastLoserId = to;
+        if (losers.size() < CHUNK_SIZE) {
+          break;
+        }
+      }
+
+      jdbcTemplate.update("DELETE FROM company_merge_map");
+      dropdownService.refreshCompanyList();
+      jobDetailCache.evictAll();
+
+      results.add("Duplicate companies removed: " + removed);
+      results.add("Job, user, notification and external job references re-pointed: "
+          + repointed);
+      results.add("Reindex jobs to refresh company fields of re-pointed jobs in search");
+      log.info("Merged {} duplicate companies ({} references re-pointed) in {} ms", removed,
+          repointed, System.currentTimeMillis() - start);
+    } catch (Exception e) {
+      log.error("Company duplicate merge failed", e);
+      results.add("Error merging duplicate companies: " + e.getMessage());
+    } finally {
+      running.set(false);
+    }
+    return results;
+  }
+
+  /**
+   * Merge losers with ids in (from, to]; returns {companies deleted, references re-pointed}
+   */
+  private int[] mergeChunk(long from, long to) {
+    StringBuilder fill = new StringBuilder("UPDATE companies w "
+        + "JOIN company_merge_map m ON m.winner_id = w.id "
+        + "JOIN companies l ON l.id = m.loser_id SET ");
+    for (String column : MERGED_TEXT_COLUMNS) {
+      fill.append("w.").append(column).append(" = COALESCE(NULLIF(TRIM(w.").append(column)
+          .append("), ''), l.").append(column).append("), ");
+    }
+    fill.append("w.primary_industry_id = COALESCE(w.primary_industry_id, l.primary_industry_id)");
+    jdbcTemplate.update(fill + CHUNK_FILTER, from, to);
+
+    int repointed = 0;
+    for (String table : REFERENCING_TABLES) {
+      repointed += jdbcTemplate.update("UPDATE " + table + " t "
+          + "JOIN company_merge_map m ON t.company_id = m.loser_id "
+          + "SET t.company_id = m.winner_id" + CHUNK_FILTER, from, to);
+    }
+
+    // A winner keeps its own crawled content; a loser's is only taken when the winner has none
+    jdbcTemplate.update("DELETE l FROM company_content l "
+        + "JOIN company_merge_map m ON l.company_id = m.loser_id "
+        + "JOIN company_content w ON w.company_id = m.winner_id" + CHUNK_FILTER, from, to);
+    for (String table : DEPENDENT_TABLES) {
+      jdbcTemplate.update("UPDATE IGNORE " + table + " t "
+          + "JOIN company_merge_map m ON t.company_id = m.loser_id "
+          + "SET t.company_id = m.winner_id" + CHUNK_FILTER, from, to);
+      jdbcTemplate.update("DELETE t FROM " + table + " t "
+          + "JOIN company_merge_map m ON t.company_id = m.loser_id" + CHUNK_FILTER, from, to);
+    }
+    jdbcTemplate.update("DELETE t FROM industry_company_stats t "
+        + "JOIN company_merge_map m ON t.company_id = m.loser_id" + CHUNK_FILTER, from, to);
+
+    int removed = jdbcTemplate.update("DELETE c FROM companies c "
+        + "JOIN company_merge_map m ON c.id = m.loser_id" + CHUNK_FILTER, from, to);
+    return new int[]{removed, repointed};
+  }
+
+  /**
+   * Propagate a committed chunk to the search index and the read models
+   */
+  private void afterChunk(List<Long> losers, long from, long to) {
+    elasticsearchCompanyIndexingService.deleteCompaniesFromElasticsearch(losers);
+    List<Long> winners = jdbcTemplate.queryForList(
+        "SELECT DISTINCT m.winner_id FROM company_merge_map m" + CHUNK_FILTER, Long.class, from,
+        to);
+    for (Long winnerId : winners) {
+      elasticsearchCompanyIndexingService.updateCompanyJobCount(winnerId);
+      industryStatsService.onJobChanged(winnerId);
+    }
+  }
+
+  private static int sum(int[] counts) {
+    int total = 0;
+    for (int count : counts) {
+      // The driver may report SUCCESS_NO_INFO (-2) for rewritten batches
+      total += Math.max(count, 0);
+    }
+    return total;
+  }
+}
@@ -1,16 +1,19 @@
 package com.tymbl.common.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tymbl.jobs.entity.Company;
 import com.tymbl.jobs.repository.CompanyRepository;
-import java.util.ArrayList;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -19,10 +22,16 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CompanyWebsiteService {
 
+  // Answers that are about the company but not its own site
+  private static final String[] EXCLUDED_WEBSITE_HOSTS = {"linkedin.com", "facebook.com",
+      "twitter.com", "x.com", "instagram.com", "wikipedia.org", "glassdoor.com", "indeed.com",
+      "naukri.com", "crunchbase.com"};
+
   private final ObjectMapper objectMapper = new ObjectMapper();
   private final AIRestService aiRestService;
 
   private final CompanyRepository companyRepository;
+  private final AiBatchEnrichmentService aiBatchEnrichmentService;
 
   /**
    * Fetch website URL for a single company using GenAI
@@ -82,80 +91,98 @@ public class CompanyWebsiteService {
   }
 
   /**
-   * Fetch websites for all companies in batches using database pagination
+   * Fetch websites for all unprocessed companies, many companies per AI call (see
+   * {@link AiBatchEnrichmentService}); resumes from the last checkpoint after an interruption
    */
   public Map<String, Object> fetchWebsitesForAllCompaniesInBatches() {
-    log.info("🚀 Starting website fetching for all companies using database pagination");
-
-    List<Map<String, Object>> companyResults = new ArrayList<>();
-    int totalProcessed = 0;
-    int totalWebsitesFetched = 0;
-    int totalErrors = 0;
-    int batchSize = 10; // Process 10 companies at a time
-    int pageNumber = 0;
-
-    while (true) {
-      // Fetch companies that haven't been processed for website fetching (status = 0 or null)
-      Page<Company> companyPage = companyRepository.findByWebsiteFetched(0,
-          PageRequest.of(pageNumber, batchSize));
-
-      List<Company> companies = companyPage.getContent();
-
-      if (companies.isEmpty()) {
-        log.info("✅ No more companies to process for website fetching. Completed at page: {}",
-            pageNumber);
-        break;
-      }
+    log.info("🚀 Starting batched website fetching for all companies");
+    Map<String, Object> result = aiBatchEnrichmentService.run(new WebsiteEnrichmentTask());
+    result.put("message", "Website fetching completed");
+    return result;
+  }
 
-              log.info("📦 Processing website fetching batch {} with {} companies", pageNumber + 1,
-            companies.size());
-
-      for (Company company : companies) {
-        try {
-          Map<String, Object> result = fetchWebsiteForCompany(company);
-          companyResults.add(result);
-
-          if ((Boolean) result.get("success")) {
-            totalWebsitesFetched++;
-                      log.info("✅ Successfully fetched website for company: {} (ID: {})", company.getName(),
-              company.getId());
-          } else {
-            totalErrors++;
-            log.error("Failed to fetch website for company: {} (ID: {})", company.getName(),
-                company.getId());
-          }
+  /**
+   * Official website per company; companies whose answer never validates are marked failed (2)
+   */
+  private class WebsiteEnrichmentTask implements AiEnrichmentTask<Company> {
 
-          totalProcessed++;
+    @Override
+    public String getName() {
+      return "company-website";
+    }
 
-        } catch (Exception e) {
-          totalErrors++;
-          log.error("Error fetching website for company: {} (ID: {})", company.getName(),
-              company.getId(), e);
+    @Override
+    public List<Company> fetchAfter(Long afterId, Pageable pageable) {
+      return companyRepository.findByWebsiteFetchedAndIdGreaterThan(0, afterId, pageable);
+    }
 
-          Map<String, Object> errorResult = new HashMap<>();
-          errorResult.put("companyId", company.getId());
-          errorResult.put("companyName", company.getName());
-          errorResult.put("success", false);
-          errorResult.put("error", "Error fetching website: " + e.getMessage());
-          companyResults.add(errorResult);
-        }
-      }
+    @Override
+    public Long idOf(Company company) {
+      return company.getId();
+    }
 
-      pageNumber++;
+    @Override
+    public String instructions() {
+      return "You are a business and technology expert finding the official website URL of "
+          + "companies. For each company in the input, give the main corporate website: the full "
+          + "URL with https://, no page path, and never a social media, job board, news or "
+          + "Wikipedia URL. Use an empty string when you do not know the company's website.";
     }
 
-    Map<String, Object> result = new HashMap<>();
-    result.put("totalProcessed", totalProcessed);
-    result.put("totalWebsitesFetched", totalWebsitesFetched);
-    result.put("totalErrors", totalErrors);
-    result.put("companyResults", companyResults);
-    result.put("message", "Website fetching completed using database pagination");
+    @Override
+    public Map<String, Object> describe(Company company) {
+      return Collections.singletonMap("name", company.getName());
+    }
 
-    log.info(
-        "🎉 Completed website fetching using database pagination. Total processed: {}, Websites fetched: {}, Errors: {}",
-        totalProcessed, totalWebsitesFetched, totalErrors);
+    @Override
+    public Map<String, Object> resultProperties() {
+      return Collections.singletonMap("website",
+          AiBatchEnrichmentService.stringSchema("Official website URL, or empty if unknown"));
+    }
 
-    return result;
+    @Override
+    public boolean apply(Company company, JsonNode result) {
+      String website = result.path("website").asText("").trim();
+      if (!isAcceptableWebsite(website)) {
+        return false;
+      }
+      company.setWebsite(website);
+      company.setWebsiteFetched(1);
+      companyRepository.save(company);
+      return true;
+    }
+
+    @Override
+    public void onFailure(Company company) {
+      company.setWebsiteFetched(2);
+      companyRepository.save(company);
+    }
+
+    @Override
+    public int outputTokensPerItem() {
+      return 30;
+    }
+  }
+
+  private static boolean isAcceptableWebsite(String website) {
+    if (!website.startsWith("http://") && !website.startsWith("https://")) {
+      return false;
+    }
+    try {
+      String host = new URI(website).getHost();
+      if (host == null || !host.contains(".")) {
+        return false;
+      }
+      host = host.toLowerCase(Locale.ROOT);
+      for (String excluded : EXCLUDED_WEBSITE_HOSTS) {
+        if (host.equals(excluded) || host.endsWith("." + excluded)) {
+          return false;
+        }
+      }
+      return true;
+    } catch (URISyntaxException e) {
+      return false;
+    }
   }
 
   /**
@@ -0,0 +1,345 @@
+package com.tymbl.common.service;
+
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import com.tymbl.exception.DependencyUnavailableException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.ResponseException;
+import org.springframework.core.env.Environment;
+import org.springframework.mail.MailSendException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Bulkhead and circuit breaker per outbound dependency. A call first needs the circuit to be
+ * closed, then one of the dependency's concurrency permits (waiting at most {@code max-wait-ms});
+ * otherwise it fails at once with {@link DependencyUnavailableException}, so a slow dependency
+ * costs a bounded number of threads instead of every request thread.
+ *
+ * <p>{@code failure-threshold} consecutive failures open the circuit for {@code open-seconds}.
+ * Only errors that say the dependency itself is unhealthy count as failures: timeouts, I/O and
+ * connection errors, and 5xx or 429 answers. A rejected request (an Elasticsearch 400, a Gemini
+ * 4xx) is passed to the caller without counting against the circuit. Calls slower than
+ * {@code slow-call-ms} count as failures even when they return, since the clients' own socket
+ * timeouts are the only way to abort a blocked call. After the open period a single probe call
+ * is let through: success closes the circuit, failure reopens it.
+ *
+ * <p>Each dependency is configured with {@code app.resilience.<dependency>.max-concurrent},
+ * {@code .max-wait-ms}, {@code .failure-threshold}, {@code .slow-call-ms} and
+ * {@code .open-seconds}, where dependency is the lower-case, hyphenated enum name.
+ */
+@Slf4j
+@Service
+public class DependencyGuard {
+
+  public enum Dependency {
+    ELASTICSEARCH(50, 200, 20, 10000, 15),
+    GEMINI(8, 1000, 5, 90000, 60),
+    // The crawler shares one browser session, which must not be driven concurrently
+    WEB_DRIVER(1, 0, 3, 90000, 120),
+    FIREBASE(4, 1000, 5, 15000, 60),
+    SMTP(2, 1000, 5, 30000, 60);
+
+    private final int defaultMaxConcurrent;
+    private final long defaultMaxWaitMs;
+    private final int defaultFailureThreshold;
+    private final long defaultSlowCallMs;
+    private final long defaultOpenSeconds;
+
+    Dependency(int defaultMaxConcurrent, long defaultMaxWaitMs, int defaultFailureThreshold,
+        long defaultSlowCallMs, long defaultOpenSeconds) {
+      this.defaultMaxConcurrent = defaultMaxConcurrent;
+      this.defaultMaxWaitMs = defaultMaxWaitMs;
+      this.defaultFailureThreshold = defaultFailureThreshold;
+      this.defaultSlowCallMs = defaultSlowCallMs;
+      this.defaultOpenSeconds = defaultOpenSeconds;
+    }
+
+    String propertyName() {
+      return name().toLowerCase().replace('_', '-');
+    }
+  }
+
+  private enum State {
+    CLOSED,
+    OPEN,
+    // Open period over, one probe call in flight
+    HALF_OPEN
+  }
+
+  private final Map<Dependency, Guard> guards = new EnumMap<>(Dependency.class);
+
+  public DependencyGuard(Environment environment) {
+    for (Dependency dependency : Dependency.values()) {
+      String prefix = "app.resilience." + dependency.propertyName();
+      int maxConcurrent = environment.getProperty(prefix + ".max-concurrent", Integer.class,
+          dependency.defaultMaxConcurrent);
+      long maxWaitMs = environment.getProperty(prefix + ".max-wait-ms", Long.class,
+          dependency.defaultMaxWaitMs);
+      int failureThreshold = environment.getProperty(prefix + ".failure-threshold",
+          Integer.class, dependency.defaultFailureThreshold);
+      long slowCallMs = environment.getProperty(prefix + ".slow-call-ms", Long.class,
+          dependency.defaultSlowCallMs);
+      long openSeconds = environment.getProperty(prefix + ".open-seconds", Long.class,
+          dependency.defaultOpenSeconds);
+
+      guards.put(dependency, new Guard(dependency, Math.max(1, maxConcurrent),
+          Math.max(0, maxWaitMs), Math.max(1, failureThreshold), slowCallMs,
+          TimeUnit.SECONDS.toMillis(Math.max(1, openSeconds))));
+      log.info("Dependency guard {} initialised: maxConcurrent={}, maxWaitMs={}, "
+              + "failureThreshold={}, slowCallMs={}, openSeconds={}", dependency, maxConcurrent,
+          maxWaitMs, failureThreshold, slowCallMs, openSeconds);
+    }
+  }
+
+  /**
+   * Runs {@code action} under the dependency's bulkhead and circuit breaker
+   *
+   * @throws DependencyUnavailableException if the call was shed without running
+   */
+  public <T> T call(Dependency dependency, Callable<T> action) throws Exception {
+    return guards.get(dependency).call(action);
+  }
+
+  /**
+   * Like {@link #call(Dependency, Callable)}, but answers with {@code fallback} when the call is
+   * shed or fails
+   */
+  public <T> T call(Dependency dependency, Callable<T> action, Supplier<T> fallback) {
+    try {
+      return call(dependency, action);
+    } catch (DependencyUnavailableException e) {
+      log.debug("{}", e.getMessage());
+      return fallback.get();
+    } catch (Exception e) {
+      log.warn("{} call failed, using fallback: {}", dependency, e.getMessage());
+      return fallback.get();
+    }
+  }
+
+  /**
+   * Whether a call would currently be let through the circuit breaker (a due probe counts);
+   * background work checks this to pause instead of failing item by item
+   */
+  public boolean isAvailable(Dependency dependency) {
+    return guards.get(dependency).isAvailable();
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    guards.forEach((dependency, guard) -> stats.put(dependency.name(), guard.getStats()));
+    return stats;
+  }
+
+  /**
+   * Walks the cause chain (and the per-message causes of a mail batch) for a timeout, an I/O
+   * error or a 5xx/429 status; a status found first decides, so a 4xx carried in an IOException
+   * is still a client error
+   */
+  static boolean isDependencyFailure(Throwable error) {
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<Throwable> pending = new ArrayDeque<>();
+    pending.add(error);
+    while (!pending.isEmpty()) {
+      Throwable current = pending.poll();
+      if (!seen.add(current)) {
+        continue;
+      }
+      Integer status = statusOf(current);
+      if (status != null) {
+        return status >= 500 || status == 429;
+      }
+      if (current instanceof IOException || current instanceof TimeoutException
+          || current instanceof org.openqa.selenium.TimeoutException) {
+        return true;
+      }
+      if (current.getCause() != null) {
+        pending.add(current.getCause());
+      }
+      if (current instanceof MailSendException) {
+        pending.addAll(Arrays.asList(((MailSendException) current).getMessageExceptions()));
+      }
+    }
+    return false;
+  }
+
+  private static Integer statusOf(Throwable error) {
+    if (error instanceof ElasticsearchException) {
+      return ((ElasticsearchException) error).status();
+    }
+    if (error instanceof ResponseException) {
+      return ((ResponseException) error).getResponse().getStatusLine().getStatusCode();
+    }
+    if (error instanceof RestClientResponseException) {
+      return ((RestClientResponseException) error).getRawStatusCode();
+    }
+    return null;
+  }
+
+  private static final class Guard {
+
+    private final Dependency dependency;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final int failureThreshold;
+    private final long slowCallMs;
+    private final long openMillis;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private volatile long openedAt;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong slowCalls = new AtomicLong();
+    private final AtomicLong rejectedOpen = new AtomicLong();
+    private final AtomicLong rejectedFull = new AtomicLong();
+
+    Guard(Dependency dependency, int maxConcurrent, long maxWaitMs, int failureThreshold,
+        long slowCallMs, long openMillis) {
+      this.dependency = dependency;
+      this.maxConcurrent = maxConcurrent;
+      this.permits = new Semaphore(maxConcurrent);
+      this.maxWaitMs = maxWaitMs;
+      this.failureThreshold = failureThreshold;
+      this.slowCallMs = slowCallMs;
+      this.openMillis = openMillis;
+    }
+
+    <T> T call(Callable<T> action) throws Exception {
+      boolean probe = admit();
+
+      boolean acquired;
+      try {
+        acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        acquired = false;
+      }
+      if (!acquired) {
+        if (probe) {
+          // Give the probe back; the next caller may try again
+          state.set(State.OPEN);
+        }
+        rejectedFull.incrementAndGet();
+        throw new DependencyUnavailableException(
+            dependency + " is at its limit of " + maxConcurrent + " concurrent calls");
+      }
+
+      calls.incrementAndGet();
+      long start = System.currentTimeMillis();
+      boolean recorded = false;
+      try {
+        T result = action.call();
+        long took = System.currentTimeMillis() - start;
+        if (slowCallMs > 0 && took > slowCallMs) {
+          slowCalls.incrementAndGet();
+          onFailure(probe, "slow call (" + took + " ms)");
+        } else {
+          onSuccess(probe);
+        }
+        recorded = true;
+        return result;
+      } catch (Exception e) {
+        if (isDependencyFailure(e)) {
+          onFailure(probe, e.getMessage());
+        } else if (probe) {
+          // The dependency answered, so the probe has done its job
+          onSuccess(true);
+        }
+        recorded = true;
+        throw e;
+      } finally {
+        permits.release();
+        if (probe && !recorded && state.compareAndSet(State.HALF_OPEN, State.OPEN)) {
+          // The probe died with an Error and says nothing about the dependency; give it back
+          log.warn("{} probe ended without a result, next caller probes again", dependency);
+        }
+      }
+    }
+
+    /**
+     * Returns whether the caller is the half-open probe
+     *
+     * @throws DependencyUnavailableException while the circuit is open
+     */
+    private boolean admit() {
+      State current = state.get();
+      if (current == State.CLOSED) {
+        return false;
+      }
+      if (current == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis
+          && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+        log.info("{} circuit half-open, probing", dependency);
+        return true;
+      }
+      rejectedOpen.incrementAndGet();
+      throw new DependencyUnavailableException(dependency + " circuit is open");
+    }
+
+    private void onSuccess(boolean probe) {
+      consecutiveFailures.set(0);
+      if (probe) {
+        state.set(State.CLOSED);
+        log.info("{} circuit closed after a successful probe", dependency);
+      }
+    }
+
+    private void onFailure(boolean probe, String reason) {
+      failures.incrementAndGet();
+      int count = consecutiveFailures.incrementAndGet();
+      if (probe) {
+        open();
+        log.warn("{} probe failed ({}), circuit open for another {} s", dependency, reason,
+            TimeUnit.MILLISECONDS.toSeconds(openMillis));
+      } else if (count >= failureThreshold && state.get() == State.CLOSED) {
+        open();
+        log.error("{} circuit opened after {} consecutive failures, last: {}", dependency,
+            count, reason);
+      }
+    }
+
+    private void open() {
+      openedAt = System.currentTimeMillis();
+      state.set(State.OPEN);
+    }
+
+    boolean isAvailable() {
+      State current = state.get();
+      return current == State.CLOSED
+          || current == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis;
+    }
+
+    Map<String, Object> getStats() {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("state", state.get());
+      stats.put("inFlight", maxConcurrent - permits.availablePermits());
+      stats.put("maxConcurrent", maxConcurrent);
+      stats.put("consecutiveFailures", consecutiveFailures.get());
+      stats.put("calls", calls.get());
+      stats.put("failures", failures.get());
+      stats.put("slowCalls", slowCalls.get());
+      stats.put("rejectedOpen", rejectedOpen.get());
+      stats.put("rejectedFull", rejectedFull.get());
+      return stats;
+    }
+  }
+}
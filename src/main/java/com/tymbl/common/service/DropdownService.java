@@ -1,6 +1,7 @@
 package com.tymbl.common.service;
 
 import com.tymbl.common.dto.IndustryWiseCompaniesDTO;
+import com.tymbl.common.entity.CacheChangeLog.EntityType;
 import com.tymbl.common.entity.City;
 import com.tymbl.common.entity.Country;
 import com.tymbl.common.entity.Currency;
@@ -15,22 +16,35 @@ import com.tymbl.common.repository.DepartmentRepository;
 import com.tymbl.common.repository.DesignationRepository;
 import com.tymbl.common.repository.IndustryRepository;
 import com.tymbl.common.repository.LocationRepository;
+import com.tymbl.common.service.ReferenceDataCache.Dataset;
+import com.tymbl.common.util.ColumnarSnapshot;
 import com.tymbl.common.util.DesignationNameCleaner;
+import com.tymbl.jobs.dto.CompanySummary;
 import com.tymbl.jobs.repository.CompanyRepository;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,9 +62,11 @@ public class DropdownService {
   private final CompanyRepository companyRepository;
   private final CurrencyRepository currencyRepository;
   private final IndustryCacheService industryCacheService;
-
-  @Qualifier("taskExecutor")
-  private final Executor taskExecutor;
+  private final IndustryStatsService industryStatsService;
+  private final ReferenceDataCache referenceDataCache;
+  private final CacheWarmup cacheWarmup;
+  private final ReferenceSnapshotStore snapshotStore;
+  private final CacheInvalidationBus invalidationBus;
 
 
   @PersistenceContext
@@ -65,7 +81,7 @@ public class DropdownService {
   private final Map<Long, String> companyNameCache = new ConcurrentHashMap<>();
   private final Map<Long, String> currencyNameCache = new ConcurrentHashMap<>();
   private final Map<Long, String> currencySymbolCache = new ConcurrentHashMap<>();
-  private List<com.tymbl.jobs.entity.Company> companyList = new ArrayList<>();
+  private volatile List<CompanySummary> companyList = new ArrayList<>();
 
   // Cache for industry statistics and companies by industry
   private final Map<String, List<IndustryWiseCompaniesDTO>> industryStatisticsCache = new ConcurrentHashMap<>();
@@ -99,43 +115,50 @@ public class DropdownService {
   private final Map<Long, Country> countryEntityCache = new ConcurrentHashMap<>();
   private final Map<Long, City> cityEntityCache = new ConcurrentHashMap<>();
 
-  @PostConstruct
-  public void initializeCaches() {
-    // Start background initialization of all caches
-    CompletableFuture.runAsync(this::initializeAllCachesInBackground, taskExecutor)
-        .exceptionally(throwable -> {
-          log.error("Failed to initialize caches in background: {}", throwable.getMessage(),
-              throwable);
-          return null;
-        });
-  }
+  // On-disk snapshots of the large catalogues; bump a schema when its column list changes
+  private static final String COMPANIES_SNAPSHOT = "companies";
+  private static final String DESIGNATIONS_SNAPSHOT = "designations";
+  private static final String CITIES_SNAPSHOT = "cities";
+  private static final int COMPANIES_SNAPSHOT_SCHEMA = 1;
+  private static final int DESIGNATIONS_SNAPSHOT_SCHEMA = 1;
+  private static final int CITIES_SNAPSHOT_SCHEMA = 1;
+
+  // Reconciliation re-reads rows changed shortly before the mark, covering clock skew between
+  // application-set (companies) and database-set timestamps
+  private static final long RECONCILE_OVERLAP_MINUTES = 5;
+
+  // High-water mark of the snapshot a cache was restored from, until it has been reconciled
+  private final Map<String, LocalDateTime> snapshotMarks = new ConcurrentHashMap<>();
 
   /**
-   * Initialize all caches in background thread
+   * Registers the lookup caches with the startup warm-up, which loads them before the instance
+   * reports ready. The small tables go first; the company list is the largest. Companies,
+   * designations and cities are restored from their on-disk snapshots when present and caught up
+   * with MySQL in the background once the instance is ready.
+   *
+   * <p>Changes published to the {@link CacheInvalidationBus}, by this or any other instance,
+   * re-read the changed row or reload the whole cache.
    */
-  private void initializeAllCachesInBackground() {
-    try {
-      log.info("Starting background cache initialization...");
-
-      // Initialize all caches in parallel
-      CompletableFuture<Void> designationCacheFuture = CompletableFuture.runAsync(
-          this::initializeDesignationCache, taskExecutor);
-      CompletableFuture<Void> departmentCacheFuture = CompletableFuture.runAsync(
-          this::initializeDepartmentCache, taskExecutor);
-      CompletableFuture<Void> locationCacheFuture = CompletableFuture.runAsync(
-          this::initializeLocationCache, taskExecutor);
-      CompletableFuture<Void> countryCacheFuture = CompletableFuture.runAsync(
-          this::initializeCountryCache, taskExecutor);
-      CompletableFuture<Void> cityCacheFuture = CompletableFuture.runAsync(
-          this::initializeCityCache, taskExecutor);
-      CompletableFuture<Void> industryCacheFuture = CompletableFuture.runAsync(
-          this::initializeIndustryCache, taskExecutor);
-      CompletableFuture<Void> companyCacheFuture = CompletableFuture.runAsync(
-          this::initializeCompanyCache, taskExecutor);
-      log.info("All caches initialized successfully in background");
-    } catch (Exception e) {
-      log.error("Error during background cache initialization: {}", e.getMessage(), e);
-    }
+  @PostConstruct
+  public void initializeCaches() {
+    invalidationBus.subscribe(EntityType.DEPARTMENT, this::onDepartmentChange);
+    invalidationBus.subscribe(EntityType.LOCATION, this::onLocationChange);
+    invalidationBus.subscribe(EntityType.DESIGNATION, this::onDesignationChange);
+    invalidationBus.subscribe(EntityType.INDUSTRY, this::onIndustryChange);
+    invalidationBus.subscribe(EntityType.COUNTRY, this::onCountryChange);
+    invalidationBus.subscribe(EntityType.CITY, this::onCityChange);
+    invalidationBus.subscribe(EntityType.COMPANY, this::onCompanyChange);
+
+    cacheWarmup.register("designations", 0, this::restoreDesignationCache);
+    cacheWarmup.register("departments", 0, this::initializeDepartmentCache);
+    cacheWarmup.register("locations", 0, this::initializeLocationCache);
+    cacheWarmup.register("countries", 0, this::initializeCountryCache);
+    cacheWarmup.register("cities", 0, this::restoreCityCache);
+    cacheWarmup.register("industries", 0, this::initializeIndustryCache);
+    cacheWarmup.register("companies", 10, this::restoreCompanyCache);
+    cacheWarmup.registerBackground("designations-reconcile", 0, this::reconcileDesignationCache);
+    cacheWarmup.registerBackground("cities-reconcile", 0, this::reconcileCityCache);
+    cacheWarmup.registerBackground("companies-reconcile", 10, this::reconcileCompanyCache);
   }
 
 
@@ -179,6 +202,7 @@ public class DropdownService {
       departmentCache.put(savedDepartment.getId(), savedDepartment.getName());
       departmentEntityCache.put(savedDepartment.getId(), savedDepartment);
     }
+    invalidationBus.publish(EntityType.DEPARTMENT, savedDepartment.getId());
 
     return savedDepartment;
   }
@@ -242,7 +266,9 @@ public class DropdownService {
       throw new RuntimeException(
           "Location with display name '" + location.getDisplayName() + "' already exists");
     }
-    return locationRepository.save(location);
+    Location savedLocation = locationRepository.save(location);
+    invalidationBus.publish(EntityType.LOCATION, savedLocation.getId());
+    return savedLocation;
   }
 
   @Transactional(readOnly = true)
@@ -312,6 +338,7 @@ public class DropdownService {
       designationCache.put(savedDesignation.getId(), savedDesignation.getName());
       designationEntityCache.put(savedDesignation.getId(), savedDesignation);
     }
+    invalidationBus.publish(EntityType.DESIGNATION, savedDesignation.getId());
 
     return savedDesignation;
   }
@@ -494,7 +521,9 @@ public class DropdownService {
     if (industryRepository.existsByName(industry.getName())) {
       throw new RuntimeException("Industry with name '" + industry.getName() + "' already exists");
     }
-    return industryRepository.save(industry);
+    Industry savedIndustry = industryRepository.save(industry);
+    invalidationBus.publish(EntityType.INDUSTRY, savedIndustry.getId());
+    return savedIndustry;
   }
 
   @Transactional(readOnly = true)
@@ -783,6 +812,82 @@ public class DropdownService {
   }
 
 
+  // Bulk variants of the lookups above: cache hits first, then one IN query for all misses
+
+  public Map<Long, String> getDesignationNamesByIds(Collection<Long> ids) {
+    return getNamesByIds(designationCache, ids,
+        missing -> toNames(designationRepository.findAllById(missing), Designation::getId,
+            Designation::getName));
+  }
+
+  public Map<Long, String> getDepartmentNamesByIds(Collection<Long> ids) {
+    return getNamesByIds(departmentCache, ids,
+        missing -> toNames(departmentRepository.findAllById(missing), Department::getId,
+            Department::getName));
+  }
+
+  public Map<Long, String> getCountryNamesByIds(Collection<Long> ids) {
+    return getNamesByIds(countryCache, ids,
+        missing -> toNames(countryRepository.findAllById(missing), Country::getId,
+            Country::getName));
+  }
+
+  public Map<Long, String> getCityNamesByIds(Collection<Long> ids) {
+    return getNamesByIds(cityCache, ids,
+        missing -> toNames(cityRepository.findAllById(missing), City::getId, City::getName));
+  }
+
+  public Map<Long, String> getCompanyNamesByIds(Collection<Long> ids) {
+    return getNamesByIds(companyNameCache, ids, missing -> {
+      Map<Long, String> names = new HashMap<>();
+      for (Object[] row : companyRepository.findIdAndNameByIdIn(missing)) {
+        if (row[1] != null) {
+          names.put((Long) row[0], (String) row[1]);
+        }
+      }
+      return names;
+    });
+  }
+
+  private Map<Long, String> getNamesByIds(Map<Long, String> cache, Collection<Long> ids,
+      Function<Set<Long>, Map<Long, String>> loader) {
+    Map<Long, String> names = new HashMap<>();
+    Set<Long> missing = new LinkedHashSet<>();
+    for (Long id : ids) {
+      if (id == null) {
+        continue;
+      }
+      String name = cache.get(id);
+      if (name != null) {
+        names.put(id, name);
+      } else {
+        missing.add(id);
+      }
+    }
+    if (!missing.isEmpty()) {
+      try {
+        Map<Long, String> loaded = loader.apply(missing);
+        cache.putAll(loaded);
+        names.putAll(loaded);
+      } catch (Exception e) {
+        log.warn("Failed to load {} names by id: {}", missing.size(), e.getMessage());
+      }
+    }
+    return names;
+  }
+
+  private static <T> Map<Long, String> toNames(Iterable<T> entities, ToLongFunction<T> idOf,
+      Function<T, String> nameOf) {
+    Map<Long, String> names = new HashMap<>();
+    for (T entity : entities) {
+      String name = nameOf.apply(entity);
+      if (name != null) {
+        names.put(idOf.applyAsLong(entity), name);
+      }
+    }
+    return names;
+  }
+
   // Method to clear cache (useful for testing or when data changes)
   public void clearCache() {
     designationCache.clear();
@@ -800,6 +905,7 @@ public class DropdownService {
     companiesByIndustryCache.clear();
     industryStatisticsCacheTimestamp.clear();
     companiesByIndustryCacheTimestamp.clear();
+    referenceDataCache.invalidateAll();
   }
 
   /**
@@ -843,18 +949,24 @@ public class DropdownService {
    */
   @Transactional(readOnly = true)
   private void initializeCompanyCache() {
-    try {
-      log.info("Initializing company cache...");
-      companyList = companyRepository.findAll();
-      // Pre-populate company name cache
-      for (com.tymbl.jobs.entity.Company company : companyList) {
-        if (company != null && company.getId() != null && company.getName() != null) {
-          companyNameCache.put(company.getId(), company.getName());
-        }
+    log.info("Initializing company cache...");
+    // Mark first: rows changed while the list loads are picked up by the next reconciliation
+    LocalDateTime mark = companyRepository.findMaxUpdatedAt();
+    // Summary projection only: the cache never holds crawl text or similar-company lists
+    List<CompanySummary> companies = new ArrayList<>(companyRepository.findAllSummaries());
+    setCompanyList(companies);
+    snapshotMarks.remove(COMPANIES_SNAPSHOT);
+    log.info("Company cache initialized with {} companies", companies.size());
+    saveCompanySnapshot(companies, mark);
+  }
+
+  private void setCompanyList(List<CompanySummary> companies) {
+    companyList = companies;
+    // Pre-populate company name cache
+    for (CompanySummary company : companies) {
+      if (company != null && company.getId() != null && company.getName() != null) {
+        companyNameCache.put(company.getId(), company.getName());
       }
-      log.info("Company cache initialized with {} companies", companyList.size());
-    } catch (Exception e) {
-      log.error("Error initializing company cache: {}", e.getMessage(), e);
     }
   }
 
@@ -863,19 +975,18 @@ public class DropdownService {
    */
   @Transactional(readOnly = true)
   private void initializeDesignationCache() {
-    try {
-      log.info("Initializing designation cache...");
-      List<Designation> designations = designationRepository.findAll();
-      for (Designation designation : designations) {
-        if (designation != null && designation.getId() != null && designation.getName() != null) {
-          designationCache.put(designation.getId(), designation.getName());
-          designationEntityCache.put(designation.getId(), designation);
-        }
+    log.info("Initializing designation cache...");
+    LocalDateTime mark = designationRepository.findMaxUpdatedAt();
+    List<Designation> designations = designationRepository.findAll();
+    for (Designation designation : designations) {
+      if (designation != null && designation.getId() != null && designation.getName() != null) {
+        designationCache.put(designation.getId(), designation.getName());
+        designationEntityCache.put(designation.getId(), designation);
       }
-      log.info("Designation cache initialized with {} designations", designations.size());
-    } catch (Exception e) {
-      log.error("Error initializing designation cache: {}", e.getMessage(), e);
     }
+    snapshotMarks.remove(DESIGNATIONS_SNAPSHOT);
+    log.info("Designation cache initialized with {} designations", designations.size());
+    saveDesignationSnapshot(mark);
   }
 
   /**
@@ -883,19 +994,15 @@ public class DropdownService {
    */
   @Transactional(readOnly = true)
   private void initializeDepartmentCache() {
-    try {
-      log.info("Initializing department cache...");
-      List<Department> departments = departmentRepository.findAll();
-      for (Department department : departments) {
-        if (department != null && department.getId() != null && department.getName() != null) {
-          departmentCache.put(department.getId(), department.getName());
-          departmentEntityCache.put(department.getId(), department);
-        }
+    log.info("Initializing department cache...");
+    List<Department> departments = departmentRepository.findAll();
+    for (Department department : departments) {
+      if (department != null && department.getId() != null && department.getName() != null) {
+        departmentCache.put(department.getId(), department.getName());
+        departmentEntityCache.put(department.getId(), department);
       }
-      log.info("Department cache initialized with {} departments", departments.size());
-    } catch (Exception e) {
-      log.error("Error initializing department cache: {}", e.getMessage(), e);
     }
+    log.info("Department cache initialized with {} departments", departments.size());
   }
 
   /**
@@ -903,19 +1010,15 @@ public class DropdownService {
    */
   @Transactional(readOnly = true)
   private void initializeCountryCache() {
-    try {
-      log.info("Initializing country cache...");
-      List<Country> countries = countryRepository.findAll();
-      for (Country country : countries) {
-        if (country != null && country.getId() != null && country.getName() != null) {
-          countryCache.put(country.getId(), country.getName());
-          countryEntityCache.put(country.getId(), country);
-        }
+    log.info("Initializing country cache...");
+    List<Country> countries = countryRepository.findAll();
+    for (Country country : countries) {
+      if (country != null && country.getId() != null && country.getName() != null) {
+        countryCache.put(country.getId(), country.getName());
+        countryEntityCache.put(country.getId(), country);
       }
-      log.info("Country cache initialized with {} countries", countries.size());
-    } catch (Exception e) {
-      log.error("Error initializing country cache: {}", e.getMessage(), e);
     }
+    log.info("Country cache initialized with {} countries", countries.size());
   }
 
   /**
@@ -923,19 +1026,18 @@ public class DropdownService {
    */
   @Transactional(readOnly = true)
   private void initializeCityCache() {
-    try {
-      log.info("Initializing city cache...");
-      List<City> cities = cityRepository.findAll();
-      for (City city : cities) {
-        if (city != null && city.getId() != null && city.getName() != null) {
-          cityCache.put(city.getId(), city.getName());
-          cityEntityCache.put(city.getId(), city);
-        }
+    log.info("Initializing city cache...");
+    LocalDateTime mark = cityRepository.findMaxUpdatedAt();
+    List<City> cities = cityRepository.findAll();
+    for (City city : cities) {
+      if (city != null && city.getId() != null && city.getName() != null) {
+        cityCache.put(city.getId(), city.getName());
+        cityEntityCache.put(city.getId(), city);
       }
-      log.info("City cache initialized with {} cities", cities.size());
-    } catch (Exception e) {
-      log.error("Error initializing city cache: {}", e.getMessage(), e);
     }
+    snapshotMarks.remove(CITIES_SNAPSHOT);
+    log.info("City cache initialized with {} cities", cities.size());
+    saveCitySnapshot(mark);
   }
 
   /**
@@ -943,18 +1045,14 @@ public class DropdownService {
    */
   @Transactional(readOnly = true)
   private void initializeLocationCache() {
-    try {
-      log.info("Initializing location cache...");
-      List<Location> locations = locationRepository.findAll();
-      for (Location location : locations) {
-        if (location != null && location.getId() != null && location.getDisplayName() != null) {
-          locationEntityCache.put(location.getId(), location);
-        }
+    log.info("Initializing location cache...");
+    List<Location> locations = locationRepository.findAll();
+    for (Location location : locations) {
+      if (location != null && location.getId() != null && location.getDisplayName() != null) {
+        locationEntityCache.put(location.getId(), location);
       }
-      log.info("Location cache initialized with {} locations", locations.size());
-    } catch (Exception e) {
-      log.error("Error initializing location cache: {}", e.getMessage(), e);
     }
+    log.info("Location cache initialized with {} locations", locations.size());
   }
 
   /**
@@ -962,73 +1060,365 @@ public class DropdownService {
    */
   @Transactional(readOnly = true)
   private void initializeIndustryCache() {
+    log.info("Initializing industry cache...");
+    List<Industry> industries = industryRepository.findAll();
+    for (Industry industry : industries) {
+      if (industry != null && industry.getId() != null && industry.getName() != null) {
+        industryCache.put(industry.getId(), industry.getName());
+        industryEntityCache.put(industry.getId(), industry);
+      }
+    }
+    log.info("Industry cache initialized with {} industries", industries.size());
+  }
+
+  // Snapshot restore and reconciliation. A restored cache serves immediately; reconciliation
+  // then applies rows whose updated_at moved past the snapshot's mark and drops deleted ids.
+
+  private void restoreCompanyCache() {
+    List<CompanySummary> companies = restore(COMPANIES_SNAPSHOT, COMPANIES_SNAPSHOT_SCHEMA,
+        DropdownService::decodeCompanies);
+    if (companies == null) {
+      initializeCompanyCache();
+      return;
+    }
+    setCompanyList(companies);
+    log.info("Company cache restored from snapshot with {} companies", companies.size());
+  }
+
+  private void restoreDesignationCache() {
+    List<Designation> designations = restore(DESIGNATIONS_SNAPSHOT,
+        DESIGNATIONS_SNAPSHOT_SCHEMA, DropdownService::decodeDesignations);
+    if (designations == null) {
+      initializeDesignationCache();
+      return;
+    }
+    applyDelta(designationEntityCache, designationCache, designations, null,
+        Designation::getId, Designation::getName);
+    log.info("Designation cache restored from snapshot with {} designations",
+        designations.size());
+  }
+
+  private void restoreCityCache() {
+    List<City> cities = restore(CITIES_SNAPSHOT, CITIES_SNAPSHOT_SCHEMA,
+        DropdownService::decodeCities);
+    if (cities == null) {
+      initializeCityCache();
+      return;
+    }
+    applyDelta(cityEntityCache, cityCache, cities, null, City::getId, City::getName);
+    log.info("City cache restored from snapshot with {} cities", cities.size());
+  }
+
+  private void reconcileCompanyCache() {
+    LocalDateTime mark = snapshotMarks.get(COMPANIES_SNAPSHOT);
+    if (mark == null) {
+      return;
+    }
+    List<CompanySummary> current = companyList;
+    if (current.isEmpty()) {
+      // Refreshed in the meantime; the next read reloads the list in full
+      snapshotMarks.remove(COMPANIES_SNAPSHOT);
+      return;
+    }
+
+    LocalDateTime newMark = companyRepository.findMaxUpdatedAt();
+    List<CompanySummary> changed = companyRepository.findSummariesUpdatedSince(
+        mark.minusMinutes(RECONCILE_OVERLAP_MINUTES));
+    Set<Long> liveIds = new HashSet<>(companyRepository.findAllIds());
+
+    Map<Long, CompanySummary> byId = new TreeMap<>();
+    for (CompanySummary company : current) {
+      if (liveIds.contains(company.getId())) {
+        byId.put(company.getId(), company);
+      }
+    }
+    int removed = current.size() - byId.size();
+    for (CompanySummary company : changed) {
+      byId.put(company.getId(), company);
+    }
+    List<CompanySummary> companies = new ArrayList<>(byId.values());
+    setCompanyList(companies);
+    companyNameCache.keySet().retainAll(liveIds);
+    snapshotMarks.remove(COMPANIES_SNAPSHOT);
+
+    log.info("Company cache reconciled: {} changed, {} removed since {}", changed.size(), removed,
+        mark);
+    if (!changed.isEmpty() || removed > 0) {
+      referenceDataCache.invalidate(Dataset.COMPANIES);
+      saveCompanySnapshot(companies, newMark);
+    }
+  }
+
+  private void reconcileDesignationCache() {
+    LocalDateTime mark = snapshotMarks.get(DESIGNATIONS_SNAPSHOT);
+    if (mark == null) {
+      return;
+    }
+    LocalDateTime newMark = designationRepository.findMaxUpdatedAt();
+    List<Designation> changed = designationRepository.findByUpdatedAtGreaterThanEqual(
+        mark.minusMinutes(RECONCILE_OVERLAP_MINUTES));
+    int removed = applyDelta(designationEntityCache, designationCache, changed,
+        designationRepository.findAllIds(), Designation::getId, Designation::getName);
+    snapshotMarks.remove(DESIGNATIONS_SNAPSHOT);
+
+    log.info("Designation cache reconciled: {} changed, {} removed since {}", changed.size(),
+        removed, mark);
+    if (!changed.isEmpty() || removed > 0) {
+      referenceDataCache.invalidate(Dataset.DESIGNATIONS);
+      saveDesignationSnapshot(newMark);
+    }
+  }
+
+  private void reconcileCityCache() {
+    LocalDateTime mark = snapshotMarks.get(CITIES_SNAPSHOT);
+    if (mark == null) {
+      return;
+    }
+    LocalDateTime newMark = cityRepository.findMaxUpdatedAt();
+    List<City> changed = cityRepository.findByUpdatedAtGreaterThanEqual(
+        mark.minusMinutes(RECONCILE_OVERLAP_MINUTES));
+    int removed = applyDelta(cityEntityCache, cityCache, changed, cityRepository.findAllIds(),
+        City::getId, City::getName);
+    snapshotMarks.remove(CITIES_SNAPSHOT);
+
+    log.info("City cache reconciled: {} changed, {} removed since {}", changed.size(), removed,
+        mark);
+    if (!changed.isEmpty() || removed > 0) {
+      saveCitySnapshot(newMark);
+    }
+  }
+
+  /**
+   * Decodes the named snapshot and records its mark; {@code null} when there is no usable one
+   */
+  private <T> List<T> restore(String name, int schemaVersion,
+      Function<ColumnarSnapshot.Reader, List<T>> decoder) {
+    ColumnarSnapshot.Reader snapshot = snapshotStore.load(name, schemaVersion);
+    if (snapshot == null) {
+      return null;
+    }
     try {
-      log.info("Initializing industry cache...");
-      List<Industry> industries = industryRepository.findAll();
-      for (Industry industry : industries) {
-        if (industry != null && industry.getId() != null && industry.getName() != null) {
-          industryCache.put(industry.getId(), industry.getName());
-          industryEntityCache.put(industry.getId(), industry);
+      List<T> rows = decoder.apply(snapshot);
+      snapshotMarks.put(name, LocalDateTime.ofInstant(
+          Instant.ofEpochMilli(snapshot.highWaterMark()), ZoneId.systemDefault()));
+      return rows;
+    } catch (RuntimeException e) {
+      log.warn("Snapshot {} could not be decoded, loading from the database: {}", name,
+          e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Puts changed rows into an id-keyed entity cache and its name cache and, when
+   * {@code liveIds} is given, drops cached rows that no longer exist. Returns the number dropped.
+   */
+  private static <T> int applyDelta(Map<Long, T> entities, Map<Long, String> names,
+      List<T> changed, Collection<Long> liveIds, Function<T, Long> idOf,
+      Function<T, String> nameOf) {
+    int removed = 0;
+    if (liveIds != null) {
+      Set<Long> live = new HashSet<>(liveIds);
+      for (Long id : new ArrayList<>(entities.keySet())) {
+        if (!live.contains(id)) {
+          entities.remove(id);
+          names.remove(id);
+          removed++;
         }
       }
-      log.info("Industry cache initialized with {} industries", industries.size());
-    } catch (Exception e) {
-      log.error("Error initializing industry cache: {}", e.getMessage(), e);
     }
+    for (T row : changed) {
+      Long id = idOf.apply(row);
+      String name = nameOf.apply(row);
+      if (id != null && name != null) {
+        entities.put(id, row);
+        names.put(id, name);
+      }
+    }
+    return removed;
+  }
+
+  private void saveCompanySnapshot(List<CompanySummary> companies, LocalDateTime mark) {
+    snapshotStore.save(COMPANIES_SNAPSHOT, ColumnarSnapshot
+        .writer(companies, COMPANIES_SNAPSHOT_SCHEMA, toEpochMillis(mark))
+        .longs(CompanySummary::getId)
+        .strings(CompanySummary::getName)
+        .strings(CompanySummary::getLogoUrl)
+        .strings(CompanySummary::getWebsite)
+        .strings(CompanySummary::getHeadquarters)
+        .longs(CompanySummary::getPrimaryIndustryId)
+        .strings(CompanySummary::getSecondaryIndustries)
+        .toBytes());
+  }
+
+  private static List<CompanySummary> decodeCompanies(ColumnarSnapshot.Reader snapshot) {
+    Long[] ids = snapshot.longs();
+    String[] names = snapshot.strings();
+    String[] logoUrls = snapshot.strings();
+    String[] websites = snapshot.strings();
+    String[] headquarters = snapshot.strings();
+    Long[] primaryIndustryIds = snapshot.longs();
+    String[] secondaryIndustries = snapshot.strings();
+    List<CompanySummary> companies = new ArrayList<>(snapshot.rows());
+    for (int i = 0; i < snapshot.rows(); i++) {
+      companies.add(new SnapshotCompany(ids[i], names[i], logoUrls[i], websites[i],
+          headquarters[i], primaryIndustryIds[i], secondaryIndustries[i]));
+    }
+    return companies;
+  }
+
+  private void saveDesignationSnapshot(LocalDateTime mark) {
+    List<Designation> designations = new ArrayList<>(designationEntityCache.values());
+    snapshotStore.save(DESIGNATIONS_SNAPSHOT, ColumnarSnapshot
+        .writer(designations, DESIGNATIONS_SNAPSHOT_SCHEMA, toEpochMillis(mark))
+        .longs(Designation::getId)
+        .strings(Designation::getName)
+        .ints(Designation::getLevel)
+        .booleans(Designation::isEnabled)
+        .strings(Designation::getSimilarDesignationsByName)
+        .strings(Designation::getSimilarDesignationsById)
+        .booleans(Designation::isSimilarDesignationsProcessed)
+        .strings(Designation::getProcessedName)
+        .booleans(Designation::isProcessedNameGenerated)
+        .longs(Designation::getDepartmentId)
+        .strings(Designation::getDepartment)
+        .booleans(Designation::isDepartmentAssigned)
+        .toBytes());
+  }
+
+  private static List<Designation> decodeDesignations(ColumnarSnapshot.Reader snapshot) {
+    Long[] ids = snapshot.longs();
+    String[] names = snapshot.strings();
+    Integer[] levels = snapshot.ints();
+    boolean[] enabled = snapshot.booleans();
+    String[] similarByName = snapshot.strings();
+    String[] similarById = snapshot.strings();
+    boolean[] similarProcessed = snapshot.booleans();
+    String[] processedNames = snapshot.strings();
+    boolean[] processedNameGenerated = snapshot.booleans();
+    Long[] departmentIds = snapshot.longs();
+    String[] departments = snapshot.strings();
+    boolean[] departmentAssigned = snapshot.booleans();
+    List<Designation> designations = new ArrayList<>(snapshot.rows());
+    for (int i = 0; i < snapshot.rows(); i++) {
+      Designation designation = new Designation();
+      designation.setId(ids[i]);
+      designation.setName(names[i]);
+      designation.setLevel(levels[i]);
+      designation.setEnabled(enabled[i]);
+      designation.setSimilarDesignationsByName(similarByName[i]);
+      designation.setSimilarDesignationsById(similarById[i]);
+      designation.setSimilarDesignationsProcessed(similarProcessed[i]);
+      designation.setProcessedName(processedNames[i]);
+      designation.setProcessedNameGenerated(processedNameGenerated[i]);
+      designation.setDepartmentId(departmentIds[i]);
+      designation.setDepartment(departments[i]);
+      designation.setDepartmentAssigned(departmentAssigned[i]);
+      designations.add(designation);
+    }
+    return designations;
+  }
+
+  private void saveCitySnapshot(LocalDateTime mark) {
+    List<City> cities = new ArrayList<>(cityEntityCache.values());
+    snapshotStore.save(CITIES_SNAPSHOT, ColumnarSnapshot
+        .writer(cities, CITIES_SNAPSHOT_SCHEMA, toEpochMillis(mark))
+        .longs(City::getId)
+        .strings(City::getName)
+        .longs(City::getCountryId)
+        .strings(City::getZipCode)
+        .strings(City::getProcessedName)
+        .booleans(City::isProcessedNameGenerated)
+        .toBytes());
+  }
+
+  private static List<City> decodeCities(ColumnarSnapshot.Reader snapshot) {
+    Long[] ids = snapshot.longs();
+    String[] names = snapshot.strings();
+    Long[] countryIds = snapshot.longs();
+    String[] zipCodes = snapshot.strings();
+    String[] processedNames = snapshot.strings();
+    boolean[] processedNameGenerated = snapshot.booleans();
+    List<City> cities = new ArrayList<>(snapshot.rows());
+    for (int i = 0; i < snapshot.rows(); i++) {
+      City city = new City();
+      city.setId(ids[i]);
+      city.setName(names[i]);
+      city.setCountryId(countryIds[i]);
+      city.setZipCode(zipCodes[i]);
+      city.setProcessedName(processedNames[i]);
+      city.setProcessedNameGenerated(processedNameGenerated[i]);
+      cities.add(city);
+    }
+    return cities;
+  }
+
+  // An empty table has no mark; reconciliation then re-reads every row with a timestamp
+  private static long toEpochMillis(LocalDateTime mark) {
+    return mark == null ? 0L : mark.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  /**
+   * Company row restored from a snapshot, standing in for the JPA projection
+   */
+  @Value
+  private static class SnapshotCompany implements CompanySummary {
+
+    Long id;
+    String name;
+    String logoUrl;
+    String website;
+    String headquarters;
+    Long primaryIndustryId;
+    String secondaryIndustries;
   }
 
   /**
-   * Refresh department cache
+   * Refresh department cache on every instance
    */
   public void refreshDepartmentCache() {
     log.info("Refreshing department cache...");
-    departmentEntityCache.clear();
-    initializeDepartmentCache();
+    invalidationBus.publish(EntityType.DEPARTMENT, null);
   }
 
   /**
-   * Refresh location cache
+   * Refresh location cache on every instance
    */
   public void refreshLocationCache() {
     log.info("Refreshing location cache...");
-    locationEntityCache.clear();
-    initializeLocationCache();
+    invalidationBus.publish(EntityType.LOCATION, null);
   }
 
   /**
-   * Refresh designation cache
+   * Refresh designation cache on every instance
    */
   public void refreshDesignationCache() {
     log.info("Refreshing designation cache...");
-    designationEntityCache.clear();
-    initializeDesignationCache();
+    invalidationBus.publish(EntityType.DESIGNATION, null);
   }
 
   /**
-   * Refresh industry cache
+   * Refresh industry cache on every instance
    */
   public void refreshIndustryCache() {
     log.info("Refreshing industry cache...");
-    industryEntityCache.clear();
-    initializeIndustryCache();
+    invalidationBus.publish(EntityType.INDUSTRY, null);
   }
 
   /**
-   * Refresh country cache
+   * Refresh country cache on every instance
    */
   public void refreshCountryCache() {
     log.info("Refreshing country cache...");
-    countryEntityCache.clear();
-    initializeCountryCache();
+    invalidationBus.publish(EntityType.COUNTRY, null);
   }
 
   /**
-   * Refresh city cache
+   * Refresh city cache on every instance
    */
   public void refreshCityCache() {
     log.info("Refreshing city cache...");
-    cityEntityCache.clear();
-    initializeCityCache();
+    invalidationBus.publish(EntityType.CITY, null);
   }
 
   /**
@@ -1070,8 +1460,7 @@ public class DropdownService {
 
     // Fallback to database if cache not initialized
     try {
-      com.tymbl.jobs.entity.Company company = companyRepository.findById(id).orElse(null);
-      name = company != null ? company.getName() : null;
+      name = companyRepository.findNameById(id).orElse(null);
       if (name != null) {
         companyNameCache.put(id, name);
       }
@@ -1084,7 +1473,7 @@ public class DropdownService {
   /**
    * Get all companies from in-memory cache
    */
-  public List<com.tymbl.jobs.entity.Company> getAllCompanies() {
+  public List<CompanySummary> getAllCompanies() {
     // Ensure cache is initialized
     if (companyList.isEmpty()) {
       initializeCompanyCache();
@@ -1093,19 +1482,143 @@ public class DropdownService {
   }
 
   /**
-   * Refresh company list (useful when companies are updated)
+   * Refresh company list on every instance (useful when many companies are updated)
    */
-  @Transactional(readOnly = true)
   public void refreshCompanyList() {
-    companyList.clear();
-    companyNameCache.clear();
+    invalidationBus.publish(EntityType.COMPANY, null);
+  }
 
+  /**
+   * Refresh one company in the company list and name cache on every instance
+   */
+  public void refreshCompany(Long companyId) {
+    invalidationBus.publish(EntityType.COMPANY, companyId);
+  }
+
+  // Handlers for changes published to the CacheInvalidationBus. A null id reloads the whole
+  // cache; they run after the writer's commit and must not publish themselves.
+
+  private void onDepartmentChange(Long id) {
+    if (id == null) {
+      departmentEntityCache.clear();
+      initializeDepartmentCache();
+      return;
+    }
+    reloadRow(departmentEntityCache, departmentCache, id, departmentRepository.findById(id),
+        Department::getName);
+  }
+
+  private void onLocationChange(Long id) {
+    if (id == null) {
+      locationEntityCache.clear();
+      initializeLocationCache();
+      return;
+    }
+    reloadRow(locationEntityCache, null, id, locationRepository.findById(id),
+        Location::getDisplayName);
+  }
+
+  private void onDesignationChange(Long id) {
+    if (id == null) {
+      designationEntityCache.clear();
+      initializeDesignationCache();
+      return;
+    }
+    reloadRow(designationEntityCache, designationCache, id, designationRepository.findById(id),
+        Designation::getName);
+  }
+
+  private void onIndustryChange(Long id) {
+    clearIndustryCaches();
+    if (id == null) {
+      industryEntityCache.clear();
+      initializeIndustryCache();
+      return;
+    }
+    reloadRow(industryEntityCache, industryCache, id, industryRepository.findById(id),
+        Industry::getName);
+  }
+
+  private void onCountryChange(Long id) {
+    if (id == null) {
+      countryEntityCache.clear();
+      initializeCountryCache();
+      return;
+    }
+    reloadRow(countryEntityCache, countryCache, id, countryRepository.findById(id),
+        Country::getName);
+  }
+
+  private void onCityChange(Long id) {
+    if (id == null) {
+      cityEntityCache.clear();
+      initializeCityCache();
+      return;
+    }
+    reloadRow(cityEntityCache, cityCache, id, cityRepository.findById(id), City::getName);
+  }
+
+  /**
+   * Company changes also move the per-industry company counts
+   */
+  private synchronized void onCompanyChange(Long id) {
+    clearIndustryCaches();
+    if (id == null) {
+      // Reloaded in full by the next read
+      companyList = new ArrayList<>();
+      companyNameCache.clear();
+      return;
+    }
+    Optional<CompanySummary> summary = companyRepository.findSummaryById(id);
+    List<CompanySummary> current = companyList;
+    if (!current.isEmpty()) {
+      // Copy on write, keeping the list in id order
+      List<CompanySummary> companies = new ArrayList<>(current.size() + 1);
+      for (CompanySummary company : current) {
+        if (!id.equals(company.getId())) {
+          companies.add(company);
+        }
+      }
+      summary.ifPresent(companies::add);
+      companies.sort(Comparator.comparing(CompanySummary::getId));
+      companyList = companies;
+    }
+    if (summary.isPresent() && summary.get().getName() != null) {
+      companyNameCache.put(id, summary.get().getName());
+    } else {
+      companyNameCache.remove(id);
+    }
+  }
+
+  /**
+   * Re-reads one row into an id-keyed entity cache and its name cache, if it has one; a deleted
+   * row is dropped
+   */
+  private static <T> void reloadRow(Map<Long, T> entities, Map<Long, String> names, Long id,
+      Optional<T> row, Function<T, String> nameOf) {
+    String name = row.map(nameOf).orElse(null);
+    if (name == null) {
+      entities.remove(id);
+      if (names != null) {
+        names.remove(id);
+      }
+      return;
+    }
+    entities.put(id, row.get());
+    if (names != null) {
+      names.put(id, name);
+    }
   }
 
 
   // Industry statistics method
   @Transactional(readOnly = true)
   public List<IndustryWiseCompaniesDTO> getIndustryStatistics() {
+    List<IndustryWiseCompaniesDTO> materialized = industryStatsService.getIndustryStatistics();
+    if (materialized != null) {
+      return materialized;
+    }
+
     // Check cache first
     String cacheKey = "industry_statistics";
     List<IndustryWiseCompaniesDTO> cachedResult = industryStatisticsCache.get(cacheKey);
@@ -1161,28 +1674,7 @@ public class DropdownService {
     }).collect(java.util.stream.Collectors.toList());
 
     // Sort by rank first (lower rank values come first), then by "other" logic
-    result.sort((i1, i2) -> {
-      // First, sort by rank (lower rank values come first)
-      Integer rank1 = i1.getRankOrder() != null ? i1.getRankOrder() : Integer.MAX_VALUE;
-      Integer rank2 = i2.getRankOrder() != null ? i2.getRankOrder() : Integer.MAX_VALUE;
-
-      if (!rank1.equals(rank2)) {
-        return rank1.compareTo(rank2);
-      }
-
-      // If ranks are equal, then sort by "other" logic
-      boolean i1HasOther = i1.getIndustryName().toLowerCase().contains("other");
-      boolean i2HasOther = i2.getIndustryName().toLowerCase().contains("other");
-      if (i1HasOther && !i2HasOther) {
-        return 1;
-      }
-      if (!i1HasOther && i2HasOther) {
-        return -1;
-      }
-
-      // If both have "other" or both don't have "other", sort alphabetically
-      return i1.getIndustryName().compareToIgnoreCase(i2.getIndustryName());
-    });
+    result.sort(IndustryStatsService.INDUSTRY_RANK_ORDER);
 
     // Cache the result
     industryStatisticsCache.put(cacheKey, result);
@@ -1,22 +1,38 @@
 package com.tymbl.common.service;
 
+import com.tymbl.common.entity.NotificationOutbox;
+import com.tymbl.common.service.DependencyGuard.Dependency;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
 import javax.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+/**
+ * Renders account emails and queues them in the notification outbox; the request that triggers
+ * an email never waits on SMTP. {@link #sendBatch} is the delivery side used by
+ * {@link NotificationDispatcher}.
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
   private final JavaMailSender mailSender;
   private final TemplateEngine templateEngine;
+  private final NotificationOutboxService notificationOutboxService;
+  private final DependencyGuard dependencyGuard;
 
   @Value("${spring.mail.username}")
   private String fromEmail;
@@ -24,26 +40,74 @@ public class EmailService {
   @Value("${app.frontend-url}")
   private String frontendUrl;
 
-  public void sendVerificationEmail(String to, String verificationToken) throws MessagingException {
+  public void sendVerificationEmail(String to, String verificationToken) {
     Context context = new Context();
     context.setVariable("verificationToken", verificationToken);
     context.setVariable("verificationUrl",
         frontendUrl + "/verify-email?token=" + verificationToken);
 
     String emailContent = templateEngine.process("verification-email", context);
-    sendEmail(to, "Email Verification", emailContent);
+    notificationOutboxService.enqueueEmail(to, "Email Verification", emailContent);
   }
 
-  public void sendPasswordResetEmail(String to, String resetToken) throws MessagingException {
+  public void sendPasswordResetEmail(String to, String resetToken) {
     Context context = new Context();
     context.setVariable("resetToken", resetToken);
     context.setVariable("resetUrl", frontendUrl + "/reset-password?token=" + resetToken);
 
     String emailContent = templateEngine.process("password-reset-email", context);
-    sendEmail(to, "Password Reset Request", emailContent);
+    notificationOutboxService.enqueueEmail(to, "Password Reset Request", emailContent);
   }
 
-  private void sendEmail(String to, String subject, String content) throws MessagingException {
+  /**
+   * Sends queued emails over one SMTP connection and returns the failures by outbox id. A
+   * failure caused by rejected recipient addresses is wrapped in {@link SendFailedException} and
+   * will not succeed on retry.
+   */
+  public Map<Long, Exception> sendBatch(List<NotificationOutbox> emails) {
+    Map<Long, Exception> failures = new HashMap<>();
+    Map<MimeMessage, Long> outboxIds = new IdentityHashMap<>();
+    List<MimeMessage> messages = new ArrayList<>();
+
+    for (NotificationOutbox email : emails) {
+      try {
+        MimeMessage message = createMessage(email.getRecipient(), email.getSubject(),
+            email.getBody());
+        outboxIds.put(message, email.getId());
+        messages.add(message);
+      } catch (MessagingException e) {
+        failures.put(email.getId(), new SendFailedException(e.getMessage(), e));
+      }
+    }
+    if (messages.isEmpty()) {
+      return failures;
+    }
+
+    try {
+      // JavaMailSenderImpl opens a single transport for the whole array
+      dependencyGuard.call(Dependency.SMTP, () -> {
+        mailSender.send(messages.toArray(new MimeMessage[0]));
+        return null;
+      });
+    } catch (MailSendException e) {
+      e.getFailedMessages().forEach((message, cause) -> {
+        Long id = outboxIds.get(message);
+        if (id != null) {
+          failures.put(id, cause);
+        } else {
+          // Connection-level failure: nothing in the batch went out
+          outboxIds.values().forEach(outboxId -> failures.put(outboxId, cause));
+        }
+      });
+    } catch (Exception e) {
+      // MailException, or the batch was shed by the SMTP guard; all of it is retried later
+      outboxIds.values().forEach(outboxId -> failures.put(outboxId, e));
+    }
+    return failures;
+  }
+
+  private MimeMessage createMessage(String to, String subject, String content)
+      throws MessagingException {
     MimeMessage message = mailSender.createMimeMessage();
     MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
@@ -51,8 +115,7 @@ public class EmailService {
     helper.setTo(to);
     helper.setSubject(subject);
     helper.setText(content, true);
-
-    mailSender.send(message);
+    return message;
   }
 
   public String generateVerificationToken() {
@@ -62,4 +125,4 @@ public class EmailService {
   public String generatePasswordResetToken() {
     return UUID.randomUUID().toString();
   }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,212 @@
+package com.tymbl.common.service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Named, bounded thread pools per workload class. Fan-out code submits here instead of creating
+ * its own pool per call, so the thread count stays flat however many requests run concurrently.
+ *
+ * <p>Each pool is configured with {@code app.executors.<workload>.threads},
+ * {@code .queue-capacity} and {@code .rejection-policy} ({@code CALLER_RUNS} or {@code ABORT}),
+ * where workload is the lower-case, hyphenated enum name (e.g. {@code ai-fanout}).
+ */
+@Slf4j
+@Service
+public class ExecutorRegistry {
+
+  public enum Workload {
+    AI_FANOUT(8, 200, RejectionPolicy.CALLER_RUNS),
+    CRAWLING(4, 100, RejectionPolicy.CALLER_RUNS),
+    INDEXING(4, 500, RejectionPolicy.CALLER_RUNS),
+    NOTIFICATIONS(4, 1000, RejectionPolicy.ABORT),
+    // Cache warm-up (see CacheWarmup); idle threads time out once it is done
+    STARTUP(4, 100, RejectionPolicy.CALLER_RUNS);
+
+    private final int defaultThreads;
+    private final int defaultQueueCapacity;
+    private final RejectionPolicy defaultRejectionPolicy;
+
+    Workload(int defaultThreads, int defaultQueueCapacity, RejectionPolicy defaultRejectionPolicy) {
+      this.defaultThreads = defaultThreads;
+      this.defaultQueueCapacity = defaultQueueCapacity;
+      this.defaultRejectionPolicy = defaultRejectionPolicy;
+    }
+
+    String propertyName() {
+      return name().toLowerCase().replace('_', '-');
+    }
+  }
+
+  public enum RejectionPolicy {
+    // Run on the submitting thread: natural back-pressure, and no deadlock for nested fan-out
+    CALLER_RUNS,
+    // Fail fast with RejectedExecutionException
+    ABORT
+  }
+
+  private final Map<Workload, InstrumentedPool> pools = new EnumMap<>(Workload.class);
+
+  public ExecutorRegistry(Environment environment) {
+    for (Workload workload : Workload.values()) {
+      String prefix = "app.executors." + workload.propertyName();
+      int threads = environment.getProperty(prefix + ".threads", Integer.class,
+          workload.defaultThreads);
+      int queueCapacity = environment.getProperty(prefix + ".queue-capacity", Integer.class,
+          workload.defaultQueueCapacity);
+      RejectionPolicy policy = RejectionPolicy.valueOf(environment.getProperty(
+          prefix + ".rejection-policy", workload.defaultRejectionPolicy.name()).toUpperCase());
+
+      pools.put(workload, new InstrumentedPool(workload, Math.max(1, threads),
+          Math.max(1, queueCapacity), policy));
+      log.info("Executor pool {} initialised: threads={}, queueCapacity={}, rejectionPolicy={}",
+          workload, threads, queueCapacity, policy);
+    }
+  }
+
+  /**
+   * Shared pool for a workload
+   */
+  public ExecutorService get(Workload workload) {
+    return pools.get(workload).executor;
+  }
+
+  /**
+   * Executor over a shared pool that lets at most {@code maxConcurrent} of the caller's tasks run
+   * at once. Create one per request (or per tenant) so a single large fan-out cannot occupy the
+   * whole pool; {@code execute} blocks the submitter while the limit is reached.
+   */
+  public Executor limited(Workload workload, int maxConcurrent) {
+    ExecutorService delegate = get(workload);
+    Semaphore permits = new Semaphore(Math.max(1, maxConcurrent));
+    return task -> {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RejectedExecutionException("Interrupted waiting for a " + workload + " slot", e);
+      }
+      try {
+        delegate.execute(() -> {
+          try {
+            task.run();
+          } finally {
+            permits.release();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        throw e;
+      }
+    };
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    pools.forEach((workload, pool) -> stats.put(workload.propertyName(), pool.stats()));
+    return stats;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    pools.values().forEach(pool -> pool.executor.shutdown());
+    for (InstrumentedPool pool : pools.values()) {
+      try {
+        if (!pool.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+          log.warn("Executor pool {} did not drain within 30s, forcing shutdown", pool.workload);
+          pool.executor.shutdownNow();
+        }
+      } catch (InterruptedException e) {
+        pool.executor.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static final class InstrumentedPool {
+
+    private final Workload workload;
+    private final RejectionPolicy policy;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+
+    InstrumentedPool(Workload workload, int threads, int queueCapacity, RejectionPolicy policy) {
+      this.workload = workload;
+      this.policy = policy;
+
+      String threadPrefix = workload.propertyName() + "-";
+      AtomicInteger threadIndex = new AtomicInteger();
+      RejectedExecutionHandler rejectionHandler = (task, pool) -> {
+        rejected.incrementAndGet();
+        if (policy == RejectionPolicy.CALLER_RUNS && !pool.isShutdown()) {
+          callerRuns.incrementAndGet();
+          task.run();
+        } else {
+          throw new RejectedExecutionException(workload + " pool saturated");
+        }
+      };
+
+      this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+          new ArrayBlockingQueue<>(queueCapacity), r -> {
+            Thread thread = new Thread(r, threadPrefix + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }, rejectionHandler) {
+        @Override
+        public void execute(Runnable command) {
+          submitted.incrementAndGet();
+          super.execute(() -> {
+            long start = System.nanoTime();
+            try {
+              command.run();
+            } catch (RuntimeException | Error e) {
+              failed.incrementAndGet();
+              throw e;
+            } finally {
+              totalRunNanos.addAndGet(System.nanoTime() - start);
+            }
+          });
+        }
+      };
+      this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    Map<String, Object> stats() {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      long completed = executor.getCompletedTaskCount();
+      stats.put("threads", executor.getMaximumPoolSize());
+      stats.put("active", executor.getActiveCount());
+      stats.put("pool_size", executor.getPoolSize());
+      stats.put("queued", executor.getQueue().size());
+      stats.put("queue_remaining", executor.getQueue().remainingCapacity());
+      stats.put("rejection_policy", policy.name());
+      stats.put("submitted", submitted.get());
+      stats.put("completed", completed);
+      stats.put("failed", failed.get());
+      stats.put("rejected", rejected.get());
+      stats.put("caller_runs", callerRuns.get());
+      stats.put("avg_run_ms", completed == 0 ? 0
+          : TimeUnit.NANOSECONDS.toMillis(totalRunNanos.get()) / completed);
+      return stats;
+    }
+  }
+}
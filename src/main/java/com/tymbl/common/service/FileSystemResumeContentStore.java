@@ -0,0 +1,137 @@
+package com.tymbl.common.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local filesystem resume store. Files are written under {@code <root>/<aa>/<bb>/<sha256>} so
+ * identical uploads share one file and directories stay small.
+ */
+@Slf4j
+@Service
+public class FileSystemResumeContentStore implements ResumeContentStore {
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private final Path root;
+
+  public FileSystemResumeContentStore(
+      @Value("${app.resume-storage.path:${user.home}/tymbl/resumes}") String rootPath) {
+    this.root = Paths.get(rootPath).toAbsolutePath().normalize();
+  }
+
+  @Override
+  public String store(InputStream content, long expectedSize) throws IOException {
+    Files.createDirectories(root);
+    Path tempFile = Files.createTempFile(root, "upload-", ".tmp");
+    try {
+      MessageDigest digest = newDigest();
+      long written;
+      try (DigestInputStream in = new DigestInputStream(content, digest)) {
+        written = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+
+      if (expectedSize >= 0 && written != expectedSize) {
+        throw new IOException("Resume upload truncated: expected " + expectedSize
+            + " bytes but received " + written);
+      }
+
+      String checksum = toHex(digest.digest());
+      Path target = pathFor(checksum);
+      if (Files.exists(target)) {
+        // Identical content already stored
+        return checksum;
+      }
+
+      Files.createDirectories(target.getParent());
+      Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+      log.debug("Stored resume content {} ({} bytes)", checksum, written);
+      return checksum;
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  @Override
+  public boolean exists(String checksum) {
+    return checksum != null && Files.exists(pathFor(checksum));
+  }
+
+  @Override
+  public long size(String checksum) throws IOException {
+    return Files.size(pathFor(checksum));
+  }
+
+  @Override
+  public void copyRange(String checksum, long offset, long length, OutputStream out)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(pathFor(checksum), StandardOpenOption.READ)) {
+      WritableByteChannel target = Channels.newChannel(out);
+      ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+      long position = offset;
+      long remaining = length;
+      while (remaining > 0) {
+        buffer.clear();
+        if (remaining < buffer.capacity()) {
+          buffer.limit((int) remaining);
+        }
+        int read = channel.read(buffer, position);
+        if (read < 0) {
+          break;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          target.write(buffer);
+        }
+        position += read;
+        remaining -= read;
+      }
+    }
+  }
+
+  @Override
+  public void delete(String checksum) throws IOException {
+    if (checksum != null) {
+      Files.deleteIfExists(pathFor(checksum));
+    }
+  }
+
+  private Path pathFor(String checksum) {
+    if (checksum == null || !checksum.matches("[0-9a-f]{64}")) {
+      throw new IllegalArgumentException("Invalid resume content checksum");
+    }
+    return root.resolve(checksum.substring(0, 2)).resolve(checksum.substring(2, 4)).resolve(checksum);
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+}
@@ -3,8 +3,14 @@ package com.tymbl.common.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tymbl.common.entity.Notification;
+import com.tymbl.common.service.DependencyGuard.Dependency;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,6 +27,13 @@ import org.springframework.web.client.RestTemplate;
 @RequiredArgsConstructor
 public class FirebaseNotificationService {
 
+  /**
+   * FCM per-token errors after which the token will never work again
+   */
+  private static final Set<String> PERMANENT_TOKEN_ERRORS = new HashSet<>(Arrays.asList(
+      "NotRegistered", "InvalidRegistration", "MismatchSenderId", "MissingRegistration",
+      "InvalidPackageName"));
+
   @Value("${firebase.server.key:}")
   private String firebaseServerKey;
 
@@ -32,6 +45,7 @@ public class FirebaseNotificationService {
 
   private final RestTemplate restTemplate;
   private final ObjectMapper objectMapper;
+  private final DependencyGuard dependencyGuard;
 
   /**
    * Send push notification to a specific device
@@ -63,8 +77,7 @@ public class FirebaseNotificationService {
 
       HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
 
-      ResponseEntity<String> response = restTemplate.postForEntity(firebaseApiUrl, request,
-          String.class);
+      ResponseEntity<String> response = post(request);
 
       if (response.getStatusCode() == HttpStatus.OK) {
         JsonNode responseNode = objectMapper.readTree(response.getBody());
@@ -118,8 +131,7 @@ public class FirebaseNotificationService {
 
       HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
 
-      ResponseEntity<String> response = restTemplate.postForEntity(firebaseApiUrl, request,
-          String.class);
+      ResponseEntity<String> response = post(request);
 
       if (response.getStatusCode() == HttpStatus.OK) {
         JsonNode responseNode = objectMapper.readTree(response.getBody());
@@ -140,6 +152,71 @@ public class FirebaseNotificationService {
     }
   }
 
+  /**
+   * Send one message to many devices in a single request and report the outcome per token. The
+   * caller keeps batches at or below the provider's multicast limit.
+   *
+   * @throws IllegalStateException when the request as a whole failed and should be retried
+   */
+  public MulticastResult sendMulticast(List<String> deviceTokens, String title, String message,
+      Map<String, Object> data) {
+    if (!notificationsEnabled) {
+      log.info("Firebase notifications are disabled. Skipping multicast to {} devices",
+          deviceTokens.size());
+      return new MulticastResult(deviceTokens.size(), Collections.emptyMap(),
+          Collections.emptySet());
+    }
+
+    Map<String, Object> notification = new HashMap<>();
+    notification.put("title", title);
+    notification.put("body", message);
+    notification.put("sound", "default");
+    notification.put("badge", "1");
+
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put("registration_ids", deviceTokens);
+    requestBody.put("notification", notification);
+    requestBody.put("data", data);
+    requestBody.put("priority", "high");
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("Authorization", "key=" + firebaseServerKey);
+
+    ResponseEntity<String> response;
+    JsonNode results;
+    try {
+      response = post(new HttpEntity<>(requestBody, headers));
+      if (response.getStatusCode() != HttpStatus.OK) {
+        throw new IllegalStateException("Firebase API error: " + response.getStatusCode());
+      }
+      results = objectMapper.readTree(response.getBody()).path("results");
+    } catch (IllegalStateException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException("Firebase multicast failed: " + e.getMessage(), e);
+    }
+
+    // Results are positional, one per registration id
+    int successCount = 0;
+    Map<String, String> permanentFailures = new HashMap<>();
+    Set<String> transientFailures = new HashSet<>();
+    for (int i = 0; i < deviceTokens.size(); i++) {
+      String error = results.path(i).path("error").asText("");
+      if (error.isEmpty()) {
+        successCount++;
+      } else if (PERMANENT_TOKEN_ERRORS.contains(error)) {
+        permanentFailures.put(deviceTokens.get(i), error);
+      } else {
+        transientFailures.add(deviceTokens.get(i));
+      }
+    }
+
+    log.info("Sent multicast to {} devices. Success: {}, Dead tokens: {}, Transient failures: {}",
+        deviceTokens.size(), successCount, permanentFailures.size(), transientFailures.size());
+    return new MulticastResult(successCount, permanentFailures, transientFailures);
+  }
+
   /**
    * Send notification to a topic
    */
@@ -169,8 +246,7 @@ public class FirebaseNotificationService {
 
       HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
 
-      ResponseEntity<String> response = restTemplate.postForEntity(firebaseApiUrl, request,
-          String.class);
+      ResponseEntity<String> response = post(request);
 
       if (response.getStatusCode() == HttpStatus.OK) {
         JsonNode responseNode = objectMapper.readTree(response.getBody());
@@ -194,6 +270,15 @@ public class FirebaseNotificationService {
     }
   }
 
+  /**
+   * Posts to FCM through the FIREBASE bulkhead and circuit breaker; a shed call throws
+   * {@link com.tymbl.exception.DependencyUnavailableException} and is retried like any failure
+   */
+  private ResponseEntity<String> post(HttpEntity<Map<String, Object>> request) throws Exception {
+    return dependencyGuard.call(Dependency.FIREBASE,
+        () -> restTemplate.postForEntity(firebaseApiUrl, request, String.class));
+  }
+
   /**
    * Send notification for a specific notification entity
    */
@@ -237,4 +322,36 @@ public class FirebaseNotificationService {
   public String getNotificationStatus() {
     return notificationsEnabled ? "ENABLED" : "DISABLED";
   }
-} 
\ No newline at end of file
+
+  public static final class MulticastResult {
+
+    private final int successCount;
+    private final Map<String, String> permanentFailures;
+    private final Set<String> transientFailures;
+
+    MulticastResult(int successCount, Map<String, String> permanentFailures,
+        Set<String> transientFailures) {
+      this.successCount = successCount;
+      this.permanentFailures = permanentFailures;
+      this.transientFailures = transientFailures;
+    }
+
+    public int getSuccessCount() {
+      return successCount;
+    }
+
+    /**
+     * Tokens FCM will never accept again, with the FCM error code
+     */
+    public Map<String, String> getPermanentFailures() {
+      return permanentFailures;
+    }
+
+    /**
+     * Tokens that failed for now (e.g. Unavailable) and may succeed on a later attempt
+     */
+    public Set<String> getTransientFailures() {
+      return transientFailures;
+    }
+  }
+}
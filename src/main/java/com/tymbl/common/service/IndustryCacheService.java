@@ -1,9 +1,11 @@
 package com.tymbl.common.service;
 
+import com.tymbl.common.entity.CacheChangeLog.EntityType;
 import com.tymbl.common.repository.IndustryRepository;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,6 +16,7 @@ import org.springframework.stereotype.Service;
 public class IndustryCacheService {
 
   private final IndustryRepository industryRepository;
+  private final CacheInvalidationBus invalidationBus;
 
   // In-memory cache for industry statistics
   private final ConcurrentMap<String, List<Object[]>> industryStatsCache = new ConcurrentHashMap<>();
@@ -27,6 +30,15 @@ public class IndustryCacheService {
   // Cache TTL in milliseconds (30 minutes)
   private static final long CACHE_TTL = 30 * 60 * 1000L;
 
+  /**
+   * Industry and company changes on any instance invalidate the statistics
+   */
+  @PostConstruct
+  public void subscribeToChanges() {
+    invalidationBus.subscribe(EntityType.INDUSTRY, id -> clearAllCaches());
+    invalidationBus.subscribe(EntityType.COMPANY, id -> clearAllCaches());
+  }
+
   /**
    * Check if cache entry is expired
    */
@@ -0,0 +1,268 @@
+package com.tymbl.common.service;
+
+import com.tymbl.common.dto.IndustryWiseCompaniesDTO;
+import com.tymbl.common.entity.Industry;
+import com.tymbl.common.repository.IndustryCompanyStatsRepository;
+import com.tymbl.common.repository.IndustryRepository;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serves industry statistics from the materialized {@code industry_company_stats} table.
+ *
+ * <p>Job writes only mark their company dirty; a short periodic pass recounts dirty companies
+ * and re-ranks the top companies of the industries they touch, so bulk syncs coalesce into one
+ * recount per company. A full reconciliation repairs any drift. Readers get pre-ranked,
+ * immutable snapshots whose cost does not depend on catalogue size or sync frequency.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class IndustryStatsService {
+
+  private static final int TOP_COMPANIES_LIMIT = 5;
+  private static final int REFRESH_BATCH_SIZE = 500;
+
+  /**
+   * Rank ascending, then industries named "other" last, then alphabetical
+   */
+  public static final Comparator<IndustryWiseCompaniesDTO> INDUSTRY_RANK_ORDER = (i1, i2) -> {
+    Integer rank1 = i1.getRankOrder() != null ? i1.getRankOrder() : Integer.MAX_VALUE;
+    Integer rank2 = i2.getRankOrder() != null ? i2.getRankOrder() : Integer.MAX_VALUE;
+    if (!rank1.equals(rank2)) {
+      return rank1.compareTo(rank2);
+    }
+
+    boolean i1HasOther = i1.getIndustryName().toLowerCase().contains("other");
+    boolean i2HasOther = i2.getIndustryName().toLowerCase().contains("other");
+    if (i1HasOther && !i2HasOther) {
+      return 1;
+    }
+    if (!i1HasOther && i2HasOther) {
+      return -1;
+    }
+    return i1.getIndustryName().compareToIgnoreCase(i2.getIndustryName());
+  };
+
+  private final IndustryCompanyStatsRepository industryCompanyStatsRepository;
+  private final IndustryRepository industryRepository;
+
+  private final Set<Long> dirtyCompanyIds = ConcurrentHashMap.newKeySet();
+  private volatile Snapshot snapshot;
+
+  /**
+   * Record that a job of this company was inserted, updated, activated or deactivated
+   */
+  public void onJobChanged(Long companyId) {
+    if (companyId != null) {
+      dirtyCompanyIds.add(companyId);
+    }
+  }
+
+  public boolean isReady() {
+    return snapshot != null;
+  }
+
+  /**
+   * All industries ordered by rank with company counts and top companies; null until the first
+   * snapshot is built
+   */
+  public List<IndustryWiseCompaniesDTO> getIndustryStatistics() {
+    Snapshot current = snapshot;
+    return current != null ? current.industryStatistics : null;
+  }
+
+  /**
+   * Industries with companies: those with active jobs first (by job count), then the rest by
+   * rank; null until the first snapshot is built
+   */
+  public List<IndustryWiseCompaniesDTO> getIndustryWiseCompanies() {
+    Snapshot current = snapshot;
+    return current != null ? current.industryWiseCompanies : null;
+  }
+
+  /**
+   * Full recount of the read model plus snapshot rebuild; repairs drift from missed events
+   */
+  @Scheduled(initialDelay = 60 * 1000, fixedDelay = 6 * 60 * 60 * 1000)
+  @Transactional
+  public void reconcile() {
+    long start = System.currentTimeMillis();
+    try {
+      int refreshed = industryCompanyStatsRepository.refreshAllCompanies();
+      int removed = industryCompanyStatsRepository.deleteOrphans();
+      rebuildSnapshot(null);
+      log.info("Reconciled industry_company_stats: {} rows refreshed, {} orphans removed in {} ms",
+          refreshed, removed, System.currentTimeMillis() - start);
+    } catch (Exception e) {
+      log.error("Industry stats reconciliation failed: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Recounts companies touched since the last pass and re-ranks their industries
+   */
+  @Scheduled(initialDelay = 90 * 1000, fixedDelay = 30 * 1000)
+  @Transactional
+  public void refreshDirtyCompanies() {
+    if (dirtyCompanyIds.isEmpty() || snapshot == null) {
+      return;
+    }
+
+    List<Long> companyIds = new ArrayList<>();
+    Iterator<Long> iterator = dirtyCompanyIds.iterator();
+    while (iterator.hasNext()) {
+      companyIds.add(iterator.next());
+      iterator.remove();
+    }
+
+    try {
+      Set<Long> affectedIndustries = new HashSet<>();
+      for (int i = 0; i < companyIds.size(); i += REFRESH_BATCH_SIZE) {
+        List<Long> batch = companyIds.subList(i, Math.min(i + REFRESH_BATCH_SIZE, companyIds.size()));
+        // Industries before and after, in case a company moved
+        affectedIndustries.addAll(industryCompanyStatsRepository.findIndustryIdsByCompanyIds(batch));
+        industryCompanyStatsRepository.refreshCompanies(batch);
+        affectedIndustries.addAll(industryCompanyStatsRepository.findIndustryIdsByCompanyIds(batch));
+      }
+      rebuildSnapshot(affectedIndustries);
+      log.debug("Refreshed industry stats for {} companies across {} industries",
+          companyIds.size(), affectedIndustries.size());
+    } catch (Exception e) {
+      dirtyCompanyIds.addAll(companyIds);
+      log.error("Failed to refresh industry stats for {} companies: {}", companyIds.size(),
+          e.getMessage());
+    }
+  }
+
+  /**
+   * Rebuilds per-industry entries (all of them when {@code industryIds} is null) and re-ranks
+   */
+  private void rebuildSnapshot(Set<Long> industryIds) {
+    Snapshot previous = snapshot;
+    Map<Long, IndustryEntry> entries = new HashMap<>();
+
+    if (industryIds == null || previous == null) {
+      for (Object[] row : industryCompanyStatsRepository.getIndustryTotals()) {
+        Long industryId = ((Number) row[0]).longValue();
+        entries.put(industryId, loadEntry(industryId, row));
+      }
+    } else {
+      entries.putAll(previous.entries);
+      for (Long industryId : industryIds) {
+        List<Object[]> totals = industryCompanyStatsRepository.getIndustryTotals(industryId);
+        if (totals.isEmpty()) {
+          entries.remove(industryId);
+        } else {
+          entries.put(industryId, loadEntry(industryId, totals.get(0)));
+        }
+      }
+    }
+
+    snapshot = new Snapshot(entries, industryRepository.findAll());
+  }
+
+  private IndustryEntry loadEntry(Long industryId, Object[] totalsRow) {
+    long companyCount = ((Number) totalsRow[1]).longValue();
+    long activeJobCount = ((Number) totalsRow[2]).longValue();
+
+    List<IndustryWiseCompaniesDTO.TopCompanyDTO> topCompanies = new ArrayList<>();
+    if (activeJobCount > 0) {
+      for (Object[] companyData : industryCompanyStatsRepository.findTopCompaniesByIndustry(
+          industryId, TOP_COMPANIES_LIMIT)) {
+        IndustryWiseCompaniesDTO.TopCompanyDTO topCompany = new IndustryWiseCompaniesDTO.TopCompanyDTO();
+        topCompany.setCompanyId(((Number) companyData[0]).longValue());
+        topCompany.setCompanyName((String) companyData[1]);
+        topCompany.setLogoUrl((String) companyData[2]);
+        topCompany.setWebsite((String) companyData[3]);
+        topCompany.setHeadquarters((String) companyData[4]);
+        topCompany.setActiveJobCount(
+            companyData[5] == null ? 0 : ((Number) companyData[5]).intValue());
+        topCompanies.add(topCompany);
+      }
+    }
+    return new IndustryEntry(companyCount, activeJobCount, Collections.unmodifiableList(topCompanies));
+  }
+
+  private static final class IndustryEntry {
+
+    private final long companyCount;
+    private final long activeJobCount;
+    private final List<IndustryWiseCompaniesDTO.TopCompanyDTO> topCompanies;
+
+    IndustryEntry(long companyCount, long activeJobCount,
+        List<IndustryWiseCompaniesDTO.TopCompanyDTO> topCompanies) {
+      this.companyCount = companyCount;
+      this.activeJobCount = activeJobCount;
+      this.topCompanies = topCompanies;
+    }
+  }
+
+  private static final class Snapshot {
+
+    private final Map<Long, IndustryEntry> entries;
+    private final List<IndustryWiseCompaniesDTO> industryStatistics;
+    private final List<IndustryWiseCompaniesDTO> industryWiseCompanies;
+
+    Snapshot(Map<Long, IndustryEntry> entries, List<Industry> industries) {
+      this.entries = entries;
+
+      List<IndustryWiseCompaniesDTO> statistics = new ArrayList<>();
+      List<IndustryWiseCompaniesDTO> withJobs = new ArrayList<>();
+      List<IndustryWiseCompaniesDTO> withoutJobs = new ArrayList<>();
+
+      for (Industry industry : industries) {
+        IndustryEntry entry = entries.get(industry.getId());
+        long companyCount = entry != null ? entry.companyCount : 0;
+        List<IndustryWiseCompaniesDTO.TopCompanyDTO> topCompanies =
+            entry != null ? entry.topCompanies : Collections.emptyList();
+
+        statistics.add(toDto(industry, companyCount, topCompanies));
+
+        if (entry == null || companyCount == 0) {
+          continue;
+        }
+        if (entry.activeJobCount > 0) {
+          // Matches the Elasticsearch-backed response, which reports job count for these
+          withJobs.add(toDto(industry, entry.activeJobCount, topCompanies));
+        } else {
+          withoutJobs.add(toDto(industry, companyCount, Collections.emptyList()));
+        }
+      }
+
+      statistics.sort(INDUSTRY_RANK_ORDER);
+      withJobs.sort((i1, i2) -> Integer.compare(i2.getCompanyCount(), i1.getCompanyCount()));
+      withoutJobs.sort(Comparator.comparing(
+          i -> i.getRankOrder() != null ? i.getRankOrder() : Integer.MAX_VALUE));
+      withJobs.addAll(withoutJobs);
+
+      this.industryStatistics = Collections.unmodifiableList(statistics);
+      this.industryWiseCompanies = Collections.unmodifiableList(withJobs);
+    }
+
+    private static IndustryWiseCompaniesDTO toDto(Industry industry, long count,
+        List<IndustryWiseCompaniesDTO.TopCompanyDTO> topCompanies) {
+      IndustryWiseCompaniesDTO dto = new IndustryWiseCompaniesDTO();
+      dto.setIndustryId(industry.getId());
+      dto.setIndustryName(industry.getName());
+      dto.setIndustryDescription(industry.getDescription());
+      dto.setRankOrder(industry.getRank());
+      dto.setCompanyCount((int) count);
+      dto.setTopCompanies(topCompanies);
+      return dto;
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package com.tymbl.common.service;
+
+import com.tymbl.common.dto.NotificationCountWithTypeResponse;
+import com.tymbl.common.entity.Notification;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-user notification counters kept in memory so badge refreshes never hit the database.
+ * Entries are loaded from a single grouped aggregate on a cache miss and then maintained
+ * incrementally by the create and mark-seen/clicked paths in {@link NotificationService}.
+ */
+@Service
+@Slf4j
+public class NotificationCounterCache {
+
+  // Counters are windowed (last N days), so entries are reloaded periodically to age out old rows
+  private static final long CACHE_TTL = 10 * 60 * 1000L;
+
+  // Upper bound on cached users; the map is reset when exceeded
+  private static final int MAX_CACHED_USERS = 100_000;
+
+  private static final int TOTAL = 0;
+  private static final int UNSEEN = 1;
+  private static final int SEEN = 2;
+  private static final int CLICKED = 3;
+
+  private final ConcurrentMap<Long, UserCounters> countersByUser = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the cached counters for a user, or null when the entry is missing or expired
+   */
+  public NotificationCountWithTypeResponse get(Long userId) {
+    UserCounters counters = countersByUser.get(userId);
+    if (counters == null || counters.isExpired()) {
+      return null;
+    }
+    return counters.toResponse(userId);
+  }
+
+  /**
+   * Builds and caches counters from rows of (type, seen, clicked, count)
+   */
+  public NotificationCountWithTypeResponse load(Long userId, List<Object[]> groupedCounts) {
+    UserCounters counters = new UserCounters();
+    for (Object[] row : groupedCounts) {
+      Notification.NotificationType type = (Notification.NotificationType) row[0];
+      boolean seen = Boolean.TRUE.equals(row[1]);
+      boolean clicked = Boolean.TRUE.equals(row[2]);
+      long count = ((Number) row[3]).longValue();
+      counters.add(type, seen, clicked, count);
+    }
+
+    if (countersByUser.size() >= MAX_CACHED_USERS) {
+      log.info("Notification counter cache reached {} users, resetting", MAX_CACHED_USERS);
+      countersByUser.clear();
+    }
+    countersByUser.put(userId, counters);
+    return counters.toResponse(userId);
+  }
+
+  /**
+   * Records a newly created (unseen, unclicked) notification
+   */
+  public void onCreated(Long userId, Notification.NotificationType type) {
+    afterCommit(() -> {
+      UserCounters counters = countersByUser.get(userId);
+      if (counters != null) {
+        counters.add(type, false, false, 1);
+      }
+    });
+  }
+
+  /**
+   * Records notifications of the given types moving from unseen to seen
+   */
+  public void onSeen(Long userId, Map<Notification.NotificationType, Long> newlySeenByType) {
+    afterCommit(() -> {
+      UserCounters counters = countersByUser.get(userId);
+      if (counters != null) {
+        newlySeenByType.forEach(counters::markSeen);
+      }
+    });
+  }
+
+  /**
+   * Records notifications of the given types moving from unclicked to clicked
+   */
+  public void onClicked(Long userId, Map<Notification.NotificationType, Long> newlyClickedByType) {
+    afterCommit(() -> {
+      UserCounters counters = countersByUser.get(userId);
+      if (counters != null) {
+        newlyClickedByType.forEach(counters::markClicked);
+      }
+    });
+  }
+
+  /**
+   * Records all of a user's notifications being marked as seen
+   */
+  public void onAllSeen(Long userId) {
+    afterCommit(() -> {
+      UserCounters counters = countersByUser.get(userId);
+      if (counters != null) {
+        counters.markAllSeen();
+      }
+    });
+  }
+
+  public void evict(Long userId) {
+    countersByUser.remove(userId);
+  }
+
+  public void evictAll() {
+    afterCommit(countersByUser::clear);
+  }
+
+  /**
+   * Defers cache mutations until the surrounding transaction commits so rolled back writes never
+   * leak into the counters
+   */
+  private void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  private static final class UserCounters {
+
+    private final long[][] counts = new long[Notification.NotificationType.values().length][4];
+    private final long loadedAt = System.currentTimeMillis();
+
+    boolean isExpired() {
+      return (System.currentTimeMillis() - loadedAt) > CACHE_TTL;
+    }
+
+    synchronized void add(Notification.NotificationType type, boolean seen, boolean clicked,
+        long count) {
+      long[] typeCounts = counts[type.ordinal()];
+      typeCounts[TOTAL] += count;
+      typeCounts[seen ? SEEN : UNSEEN] += count;
+      if (clicked) {
+        typeCounts[CLICKED] += count;
+      }
+    }
+
+    synchronized void markSeen(Notification.NotificationType type, long count) {
+      long[] typeCounts = counts[type.ordinal()];
+      long moved = Math.min(count, typeCounts[UNSEEN]);
+      typeCounts[UNSEEN] -= moved;
+      typeCounts[SEEN] += moved;
+    }
+
+    synchronized void markClicked(Notification.NotificationType type, long count) {
+      long[] typeCounts = counts[type.ordinal()];
+      typeCounts[CLICKED] = Math.min(typeCounts[TOTAL], typeCounts[CLICKED] + count);
+    }
+
+    synchronized void markAllSeen() {
+      for (long[] typeCounts : counts) {
+        typeCounts[SEEN] += typeCounts[UNSEEN];
+        typeCounts[UNSEEN] = 0;
+      }
+    }
+
+    synchronized NotificationCountWithTypeResponse toResponse(Long userId) {
+      Map<String, NotificationCountWithTypeResponse.NotificationTypeCount> countsByType = new HashMap<>();
+      long total = 0;
+      long unseen = 0;
+      long seen = 0;
+      long clicked = 0;
+
+      for (Notification.NotificationType type : Notification.NotificationType.values()) {
+        long[] typeCounts = counts[type.ordinal()];
+        total += typeCounts[TOTAL];
+        unseen += typeCounts[UNSEEN];
+        seen += typeCounts[SEEN];
+        clicked += typeCounts[CLICKED];
+
+        countsByType.put(type.getValue(), NotificationCountWithTypeResponse.NotificationTypeCount.builder()
+            .totalCount(typeCounts[TOTAL])
+            .newCount(typeCounts[UNSEEN])
+            .seenCount(typeCounts[SEEN])
+            .clickedCount(typeCounts[CLICKED])
+            .build());
+      }
+
+      return NotificationCountWithTypeResponse.builder()
+          .userId(userId)
+          .totalCount(total)
+          .newCount(unseen)
+          .seenCount(seen)
+          .clickedCount(clicked)
+          .countsByType(countsByType)
+          .build();
+    }
+  }
+}
@@ -0,0 +1,365 @@
+package com.tymbl.common.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tymbl.common.entity.NotificationOutbox;
+import com.tymbl.common.service.ExecutorRegistry.Workload;
+import com.tymbl.common.service.FirebaseNotificationService.MulticastResult;
+import com.tymbl.common.util.RateLimiter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.mail.SendFailedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Drains {@code notification_outbox} on the shared notifications pool.
+ *
+ * <p>Each channel is drained by at most one task at a time, so a slow provider only delays its
+ * own channel and never a scheduler thread or a user request. Pushes are grouped by identical
+ * payload and sent as FCM multicasts of up to {@code push-batch-size} tokens; emails go out in
+ * batches over one SMTP connection each. Both are paced by per-provider rate limits. Rows are
+ * leased like {@code question_generation_queue} entries, retried with exponential backoff, and
+ * marked FAILED after {@code max-attempts}; device tokens FCM rejects permanently are
+ * deactivated so they are never tried again. A push row records the devices it reached, so a
+ * retry only goes to the ones that failed.
+ */
+@Slf4j
+@Service
+public class NotificationDispatcher {
+
+  private static final long BASE_RETRY_DELAY_MS = 30_000L;
+  private static final long MAX_RETRY_DELAY_MS = 60 * 60 * 1000L;
+  private static final int MAX_ERROR_LENGTH = 2000;
+  private static final int PUSH_CLAIM_SIZE = 1000;
+
+  private final NotificationOutboxService notificationOutboxService;
+  private final FirebaseNotificationService firebaseNotificationService;
+  private final EmailService emailService;
+  private final ExecutorRegistry executorRegistry;
+  private final ObjectMapper objectMapper;
+
+  private final int pushBatchSize;
+  private final int emailBatchSize;
+  private final int maxAttempts;
+  private final long leaseMillis;
+  private final int retentionDays;
+  private final RateLimiter pushRateLimiter;
+  private final RateLimiter emailRateLimiter;
+
+  // Unique per process so leases from a previous run are never mistaken for our own
+  private final String dispatcherId = "outbox-" + UUID.randomUUID().toString().substring(0, 8);
+  private final Map<NotificationOutbox.Channel, AtomicBoolean> draining =
+      new EnumMap<>(NotificationOutbox.Channel.class);
+
+  private final AtomicLong sentCount = new AtomicLong();
+  private final AtomicLong retriedCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+  private final AtomicLong deadTokenCount = new AtomicLong();
+
+  public NotificationDispatcher(NotificationOutboxService notificationOutboxService,
+      FirebaseNotificationService firebaseNotificationService, EmailService emailService,
+      ExecutorRegistry executorRegistry, ObjectMapper objectMapper,
+      @Value("${notifications.outbox.push-batch-size:500}") int pushBatchSize,
+      @Value("${notifications.outbox.email-batch-size:50}") int emailBatchSize,
+      @Value("${notifications.outbox.max-attempts:6}") int maxAttempts,
+      @Value("${notifications.outbox.lease-seconds:300}") long leaseSeconds,
+      @Value("${notifications.outbox.retention-days:7}") int retentionDays,
+      @Value("${notifications.outbox.push-requests-per-second:10}") double pushRequestsPerSecond,
+      @Value("${notifications.outbox.emails-per-second:5}") double emailsPerSecond) {
+    this.notificationOutboxService = notificationOutboxService;
+    this.firebaseNotificationService = firebaseNotificationService;
+    this.emailService = emailService;
+    this.executorRegistry = executorRegistry;
+    this.objectMapper = objectMapper;
+    // FCM multicast accepts at most 500 tokens per request
+    this.pushBatchSize = Math.max(1, Math.min(500, pushBatchSize));
+    this.emailBatchSize = Math.max(1, emailBatchSize);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.leaseMillis = TimeUnit.SECONDS.toMillis(Math.max(30, leaseSeconds));
+    this.retentionDays = Math.max(1, retentionDays);
+    this.pushRateLimiter = new RateLimiter(pushRequestsPerSecond);
+    this.emailRateLimiter = new RateLimiter(emailsPerSecond);
+    for (NotificationOutbox.Channel channel : NotificationOutbox.Channel.values()) {
+      draining.put(channel, new AtomicBoolean());
+    }
+  }
+
+  /**
+   * Hands each idle channel to the notifications pool; returns immediately
+   */
+  @Scheduled(initialDelay = 20000, fixedDelayString = "${notifications.outbox.poll-ms:2000}")
+  public void poll() {
+    submit(NotificationOutbox.Channel.PUSH, this::drainPush);
+    submit(NotificationOutbox.Channel.EMAIL, this::drainEmail);
+  }
+
+  @Scheduled(cron = "0 30 3 * * *")
+  public void purgeDelivered() {
+    try {
+      int deleted = notificationOutboxService.deleteDeliveredBefore(
+          LocalDateTime.now().minusDays(retentionDays));
+      log.info("Purged {} delivered notification outbox rows", deleted);
+    } catch (Exception e) {
+      log.error("Failed to purge notification outbox: {}", e.getMessage());
+    }
+  }
+
+  private void submit(NotificationOutbox.Channel channel, Runnable drain) {
+    AtomicBoolean running = draining.get(channel);
+    if (!running.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executorRegistry.get(Workload.NOTIFICATIONS).execute(() -> {
+        try {
+          drain.run();
+        } catch (Exception e) {
+          log.error("Notification outbox drain for {} failed: {}", channel, e.getMessage(), e);
+        } finally {
+          running.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      running.set(false);
+      log.warn("Notifications pool saturated, {} outbox drain deferred", channel);
+    }
+  }
+
+  private void drainPush() {
+    List<NotificationOutbox> rows;
+    while (!(rows = notificationOutboxService.claim(NotificationOutbox.Channel.PUSH,
+        dispatcherId, PUSH_CLAIM_SIZE, leaseMillis)).isEmpty()) {
+      dispatchPushBatch(rows);
+    }
+  }
+
+  private void dispatchPushBatch(List<NotificationOutbox> rows) {
+    Map<Long, List<String>> tokensByUser = notificationOutboxService.findActiveTokens(
+        rows.stream().map(NotificationOutbox::getUserId).filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
+
+    List<Long> skipped = new ArrayList<>();
+    List<Long> sent = new ArrayList<>();
+    Map<Long, Set<String>> deliveredByRow = new HashMap<>();
+    Map<Long, Set<String>> targetsByRow = new HashMap<>();
+    Map<String, List<NotificationOutbox>> rowsByPayload = new LinkedHashMap<>();
+    for (NotificationOutbox row : rows) {
+      Set<String> delivered = parseTokens(row.getDeliveredTokens());
+      Set<String> targets = new LinkedHashSet<>(
+          tokensByUser.getOrDefault(row.getUserId(), Collections.emptyList()));
+      targets.removeAll(delivered);
+      if (targets.isEmpty()) {
+        // Every active device already has it from an earlier attempt, or there is none
+        (delivered.isEmpty() ? skipped : sent).add(row.getId());
+        continue;
+      }
+      deliveredByRow.put(row.getId(), delivered);
+      targetsByRow.put(row.getId(), targets);
+      String payloadKey = row.getSubject() + '\u0000' + row.getBody() + '\u0000' + row.getData();
+      rowsByPayload.computeIfAbsent(payloadKey, k -> new ArrayList<>()).add(row);
+    }
+    notificationOutboxService.markSkipped(skipped, dispatcherId, "No active device tokens");
+
+    Map<String, String> deadTokens = new HashMap<>();
+    for (List<NotificationOutbox> group : rowsByPayload.values()) {
+      NotificationOutbox first = group.get(0);
+      Map<String, Object> data = parseData(first.getData());
+
+      Set<String> tokens = new LinkedHashSet<>();
+      group.forEach(row -> tokens.addAll(targetsByRow.get(row.getId())));
+      List<String> tokenList = new ArrayList<>(tokens);
+
+      // Tokens whose delivery failed in a way worth retrying; a failed request taints all of its
+      Set<String> retryTokens = new HashSet<>();
+      String lastError = null;
+      for (int from = 0; from < tokenList.size(); from += pushBatchSize) {
+        List<String> chunk = tokenList.subList(from, Math.min(from + pushBatchSize,
+            tokenList.size()));
+        try {
+          pushRateLimiter.acquire(1);
+          MulticastResult result = firebaseNotificationService.sendMulticast(chunk,
+              first.getSubject(), first.getBody(), data);
+          deadTokens.putAll(result.getPermanentFailures());
+          retryTokens.addAll(result.getTransientFailures());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return; // Leases expire and the rows are picked up again
+        } catch (Exception e) {
+          lastError = e.getMessage();
+          retryTokens.addAll(chunk);
+        }
+      }
+
+      // A row is done once every device got it or failed permanently; otherwise it is retried
+      // for the devices that failed transiently, remembering the ones already reached
+      for (NotificationOutbox row : group) {
+        Set<String> targets = targetsByRow.get(row.getId());
+        if (targets.stream().noneMatch(retryTokens::contains)) {
+          sent.add(row.getId());
+          continue;
+        }
+        Set<String> delivered = deliveredByRow.get(row.getId());
+        targets.stream()
+            .filter(t -> !retryTokens.contains(t) && !deadTokens.containsKey(t))
+            .forEach(delivered::add);
+        row.setDeliveredTokens(delivered.isEmpty() ? null : writeTokens(delivered));
+        retryOrFail(row, lastError != null ? lastError : "FCM transient failure");
+      }
+    }
+
+    if (!deadTokens.isEmpty()) {
+      int deactivated = notificationOutboxService.deactivateTokens(deadTokens);
+      deadTokenCount.addAndGet(deactivated);
+      log.info("Deactivated {} device tokens rejected by FCM", deactivated);
+    }
+    sentCount.addAndGet(notificationOutboxService.markSent(sent, dispatcherId));
+  }
+
+  private void drainEmail() {
+    List<NotificationOutbox> rows;
+    while (!(rows = notificationOutboxService.claim(NotificationOutbox.Channel.EMAIL,
+        dispatcherId, emailBatchSize, leaseMillis)).isEmpty()) {
+      try {
+        emailRateLimiter.acquire(rows.size());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      Map<Long, Exception> failures = emailService.sendBatch(rows);
+      List<Long> sent = new ArrayList<>();
+      for (NotificationOutbox row : rows) {
+        Exception failure = failures.get(row.getId());
+        if (failure == null) {
+          sent.add(row.getId());
+        } else if (isRejectedRecipient(failure)) {
+          markFailed(row, failure.getMessage());
+        } else {
+          retryOrFail(row, failure.getMessage());
+        }
+      }
+      sentCount.addAndGet(notificationOutboxService.markSent(sent, dispatcherId));
+    }
+  }
+
+  private static boolean isRejectedRecipient(Exception failure) {
+    if (!(failure instanceof SendFailedException)) {
+      return false;
+    }
+    SendFailedException sendFailed = (SendFailedException) failure;
+    // Our own build failures carry no address lists and are just as permanent
+    return sendFailed.getInvalidAddresses() == null
+        || sendFailed.getInvalidAddresses().length > 0;
+  }
+
+  private void retryOrFail(NotificationOutbox row, String error) {
+    int attempt = row.getAttempts() != null ? row.getAttempts() : 1;
+    if (attempt >= maxAttempts) {
+      markFailed(row, error);
+      return;
+    }
+    long delay = Math.min(MAX_RETRY_DELAY_MS, BASE_RETRY_DELAY_MS << Math.min(attempt - 1, 16));
+    // Jitter so rows that failed together do not retry in lockstep
+    delay += (long) (Math.random() * delay / 4);
+    LocalDateTime nextAttemptAt = LocalDateTime.now().plusNanos(delay * 1_000_000L);
+    try {
+      notificationOutboxService.markRetry(row.getId(), dispatcherId, truncate(error),
+          nextAttemptAt, row.getDeliveredTokens());
+      retriedCount.incrementAndGet();
+      log.warn("{} outbox row {} failed (attempt {}/{}), retrying at {}: {}", row.getChannel(),
+          row.getId(), attempt, maxAttempts, nextAttemptAt, error);
+    } catch (Exception e) {
+      // Lease expiry will hand the row to the next drain
+      log.error("Error scheduling retry for outbox row {}", row.getId(), e);
+    }
+  }
+
+  private void markFailed(NotificationOutbox row, String error) {
+    try {
+      notificationOutboxService.markFailed(row.getId(), dispatcherId, truncate(error));
+      failedCount.incrementAndGet();
+      log.error("{} outbox row {} failed permanently: {}", row.getChannel(), row.getId(), error);
+    } catch (Exception e) {
+      log.error("Error marking outbox row {} as failed", row.getId(), e);
+    }
+  }
+
+  private Map<String, Object> parseData(String json) {
+    if (json == null || json.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    try {
+      return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {
+      });
+    } catch (Exception e) {
+      log.warn("Unreadable push data payload, sending without data: {}", e.getMessage());
+      return Collections.emptyMap();
+    }
+  }
+
+  private Set<String> parseTokens(String json) {
+    if (json == null || json.isEmpty()) {
+      return new LinkedHashSet<>();
+    }
+    try {
+      return objectMapper.readValue(json, new TypeReference<LinkedHashSet<String>>() {
+      });
+    } catch (Exception e) {
+      // Worst case the devices already reached get the push twice
+      log.warn("Unreadable delivered tokens, sending to all devices: {}", e.getMessage());
+      return new LinkedHashSet<>();
+    }
+  }
+
+  private String writeTokens(Set<String> tokens) {
+    try {
+      return objectMapper.writeValueAsString(tokens);
+    } catch (Exception e) {
+      log.warn("Could not record delivered tokens, a retry goes to all devices: {}",
+          e.getMessage());
+      return null;
+    }
+  }
+
+  private static String truncate(String message) {
+    if (message == null) {
+      return null;
+    }
+    return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+  }
+
+  public Map<String, Object> getStatus() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("dispatcher_id", dispatcherId);
+    status.put("push_batch_size", pushBatchSize);
+    status.put("email_batch_size", emailBatchSize);
+    status.put("push_requests_per_second", pushRateLimiter.getPermitsPerSecond());
+    status.put("emails_per_second", emailRateLimiter.getPermitsPerSecond());
+    status.put("max_attempts", maxAttempts);
+    status.put("sent_since_start", sentCount.get());
+    status.put("retried_since_start", retriedCount.get());
+    status.put("failed_since_start", failedCount.get());
+    status.put("dead_tokens_since_start", deadTokenCount.get());
+    status.put("queue", notificationOutboxService.getQueueCounts());
+    return status;
+  }
+}
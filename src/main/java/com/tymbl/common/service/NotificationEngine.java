@@ -1,16 +1,22 @@
 package com.tymbl.common.service;
 
+import com.tymbl.common.dto.UserCompanySummary;
 import com.tymbl.common.entity.NotificationJobApplicationCount;
 import com.tymbl.common.entity.User;
 import com.tymbl.common.repository.NotificationJobApplicationCountRepository;
 import com.tymbl.common.repository.UserRepository;
+import com.tymbl.jobs.dto.JobSummary;
 import com.tymbl.jobs.entity.JobApplication;
 import com.tymbl.jobs.repository.JobApplicationRepository;
 import com.tymbl.jobs.repository.JobRepository;
 import com.tymbl.common.service.DropdownService;
 import com.tymbl.jobs.service.ElasticsearchJobQueryService;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,6 +27,8 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class NotificationEngine {
 
+  private static final int TRACKING_LOOKUP_CHUNK = 1000;
+
   private final NotificationService notificationService;
   private final UserRepository userRepository;
   private final ElasticsearchJobQueryService elasticsearchJobQueryService;
@@ -28,6 +36,7 @@ public class NotificationEngine {
   private final JobRepository jobRepository;
   private final NotificationJobApplicationCountRepository notificationJobApplicationCountRepository;
   private final DropdownService dropdownService;
+  private final BatchWriter batchWriter;
   
   // Configuration for job count notification
   private static final int DEFAULT_JOB_COUNT_DAYS = 30;
@@ -54,15 +63,12 @@ public class NotificationEngine {
     
     try {
       // Get all users with company information
-      List<User> allUsers = userRepository.findAll();
-      List<User> usersWithCompanies = allUsers.stream()
-          .filter(user -> user.getCompanyId() != null)
-          .collect(java.util.stream.Collectors.toList());
+      List<UserCompanySummary> usersWithCompanies = userRepository.findUsersWithCompany();
       
       int notificationsCreated = 0;
       int usersProcessed = 0;
       
-      for (User user : usersWithCompanies) {
+      for (UserCompanySummary user : usersWithCompanies) {
         if (user.getCompanyId() == null) continue;
         
         usersProcessed++;
@@ -187,22 +193,38 @@ public class NotificationEngine {
     
     try {
       // Get all jobs that have applications using efficient database query
-      List<com.tymbl.common.entity.Job> jobsWithApplications = jobRepository.findJobsWithApplications();
-      
+      List<JobSummary> jobsWithApplications = jobRepository.findJobsWithApplications();
+
+      // Application counts and tracking rows in a few set-based reads instead of two per job
+      Map<Long, Integer> applicationCounts = new HashMap<>();
+      for (Object[] row : jobApplicationRepository.countApplicationsGroupedByJobId()) {
+        applicationCounts.put((Long) row[0], ((Number) row[1]).intValue());
+      }
+      Map<String, NotificationJobApplicationCount> trackedCounts = new HashMap<>();
+      List<Long> jobIds = jobsWithApplications.stream().map(JobSummary::getId)
+          .collect(Collectors.toList());
+      for (int i = 0; i < jobIds.size(); i += TRACKING_LOOKUP_CHUNK) {
+        for (NotificationJobApplicationCount tracked : notificationJobApplicationCountRepository
+            .findByJobIdIn(jobIds.subList(i, Math.min(i + TRACKING_LOOKUP_CHUNK, jobIds.size())))) {
+          trackedCounts.put(tracked.getJobId() + ":" + tracked.getPostedByUserId(), tracked);
+        }
+      }
+
+      // Only new or changed tracking rows are written, in one batch at the end
+      List<NotificationJobApplicationCount> dirtyCounts = new ArrayList<>();
       int notificationsCreated = 0;
       int jobsProcessed = 0;
       
-      for (com.tymbl.common.entity.Job job : jobsWithApplications) {
+      for (JobSummary job : jobsWithApplications) {
         jobsProcessed++;
         
         try {
           // Get current application count for this job
-          int currentApplicationCount = jobApplicationRepository.countByJobId(job.getId());
+          int currentApplicationCount = applicationCounts.getOrDefault(job.getId(), 0);
           
           // Check if we have a record for this job and user
-          NotificationJobApplicationCount existingCount = notificationJobApplicationCountRepository
-              .findByJobIdAndPostedByUserId(job.getId(), job.getPostedById())
-              .orElse(null);
+          NotificationJobApplicationCount existingCount =
+              trackedCounts.get(job.getId() + ":" + job.getPostedById());
           
           if (existingCount == null) {
             // First time tracking this job - create new record
@@ -214,7 +236,7 @@ public class NotificationEngine {
                   .currentApplicationCount(currentApplicationCount)
                   .build();
               
-              notificationJobApplicationCountRepository.save(newCount);
+              dirtyCounts.add(newCount);
               
               // Create notification
               notificationService.createPostedJobApplicationsNotification(
@@ -236,7 +258,7 @@ public class NotificationEngine {
               // Application count has increased - update and notify
               existingCount.setCurrentApplicationCount(currentApplicationCount);
               existingCount.setLastNotifiedCount(currentApplicationCount);
-              notificationJobApplicationCountRepository.save(existingCount);
+              dirtyCounts.add(existingCount);
               
               // Create notification
               notificationService.createPostedJobApplicationsNotification(
@@ -250,11 +272,14 @@ public class NotificationEngine {
               log.info("Created updated notification for job {}: {} applications (was {})", 
                   job.getId(), currentApplicationCount, lastNotifiedCount);
             } else {
-              // No change in application count - just update the current count
-              existingCount.setCurrentApplicationCount(currentApplicationCount);
-              notificationJobApplicationCountRepository.save(existingCount);
+              // No change in notified count - just track the current count if it moved
+              if (existingCount.getCurrentApplicationCount() == null
+                  || existingCount.getCurrentApplicationCount() != currentApplicationCount) {
+                existingCount.setCurrentApplicationCount(currentApplicationCount);
+                dirtyCounts.add(existingCount);
+              }
               
-              log.info("No new applications for job {}: {} applications (unchanged)", 
+              log.debug("No new applications for job {}: {} applications (unchanged)", 
                   job.getId(), currentApplicationCount);
             }
           }
@@ -263,6 +288,8 @@ public class NotificationEngine {
           log.error("Error processing job {} for posted job applications notification", job.getId(), e);
         }
       }
+
+      batchWriter.saveAll(dirtyCounts);
       
       log.info("Completed posted job applications notification generation: {} notifications created for {} jobs", 
           notificationsCreated, jobsProcessed);
@@ -0,0 +1,236 @@
+package com.tymbl.common.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tymbl.common.entity.DeviceToken;
+import com.tymbl.common.entity.Notification;
+import com.tymbl.common.entity.NotificationOutbox;
+import com.tymbl.common.repository.DeviceTokenRepository;
+import com.tymbl.common.repository.NotificationOutboxRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes and leases {@code notification_outbox} rows.
+ *
+ * <p>The enqueue methods join the caller's transaction, so a notification or token change and
+ * its delivery row commit or roll back together, and the caller never waits on a provider.
+ * Delivery itself happens in {@link NotificationDispatcher}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationOutboxService {
+
+  private static final String PUSH_TITLE = "Job Notification";
+
+  private final NotificationOutboxRepository notificationOutboxRepository;
+  private final DeviceTokenRepository deviceTokenRepository;
+  private final ObjectMapper objectMapper;
+
+  @Value("${firebase.notifications.enabled:false}")
+  private boolean pushEnabled;
+
+  /**
+   * Queue a push for a saved in-app notification; a no-op while Firebase is disabled
+   */
+  @Transactional
+  public void enqueuePush(Notification notification) {
+    if (!pushEnabled) {
+      return;
+    }
+
+    // No per-user fields in the payload, so the same alert to many users shares one multicast
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("type", notification.getType().getValue());
+    data.put("relatedEntityId",
+        notification.getRelatedEntityId() != null ? notification.getRelatedEntityId().toString()
+            : "");
+    data.put("relatedEntityType",
+        notification.getRelatedEntityType() != null ? notification.getRelatedEntityType() : "");
+    data.put("click_action", "FLUTTER_NOTIFICATION_CLICK");
+
+    notificationOutboxRepository.save(NotificationOutbox.builder()
+        .channel(NotificationOutbox.Channel.PUSH)
+        .userId(notification.getUserId())
+        .notificationId(notification.getId())
+        .subject(PUSH_TITLE)
+        .body(stripMarkup(notification.getMessage()))
+        .data(toJson(data))
+        .status(NotificationOutbox.Status.PENDING)
+        .attempts(0)
+        .build());
+  }
+
+  /**
+   * Queue an already rendered HTML email
+   */
+  @Transactional
+  public void enqueueEmail(String to, String subject, String htmlBody) {
+    notificationOutboxRepository.save(NotificationOutbox.builder()
+        .channel(NotificationOutbox.Channel.EMAIL)
+        .recipient(to)
+        .subject(subject)
+        .body(htmlBody)
+        .status(NotificationOutbox.Status.PENDING)
+        .attempts(0)
+        .build());
+  }
+
+  /**
+   * Leases up to {@code limit} due rows of a channel for {@code owner}
+   */
+  @Transactional
+  public List<NotificationOutbox> claim(NotificationOutbox.Channel channel, String owner,
+      int limit, long leaseMillis) {
+    LocalDateTime now = LocalDateTime.now();
+    List<Long> ids = notificationOutboxRepository.findClaimableIds(channel, now,
+        PageRequest.of(0, limit));
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    int claimed = notificationOutboxRepository.claim(ids, owner,
+        now.plusNanos(leaseMillis * 1_000_000L), now);
+    if (claimed == 0) {
+      return Collections.emptyList();
+    }
+    return notificationOutboxRepository.findByLeaseOwnerAndIdIn(owner, ids);
+  }
+
+  @Transactional
+  public int markSent(Collection<Long> ids, String owner) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return notificationOutboxRepository.release(ids, owner, NotificationOutbox.Status.SENT, null,
+        null, LocalDateTime.now());
+  }
+
+  @Transactional
+  public int markSkipped(Collection<Long> ids, String owner, String reason) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return notificationOutboxRepository.release(ids, owner, NotificationOutbox.Status.SKIPPED,
+        reason, null, null);
+  }
+
+  /**
+   * Hands the row back for another attempt at {@code nextAttemptAt}
+   *
+   * @param deliveredTokens JSON array of the device tokens a push already reached, or
+   *     {@code null}
+   */
+  @Transactional
+  public int markRetry(Long id, String owner, String error, LocalDateTime nextAttemptAt,
+      String deliveredTokens) {
+    return notificationOutboxRepository.releaseForRetry(id, owner, error, nextAttemptAt,
+        deliveredTokens);
+  }
+
+  @Transactional
+  public int markFailed(Long id, String owner, String error) {
+    return notificationOutboxRepository.release(Collections.singletonList(id), owner,
+        NotificationOutbox.Status.FAILED, error, null, null);
+  }
+
+  /**
+   * Active device tokens per user
+   */
+  @Transactional(readOnly = true)
+  public Map<Long, List<String>> findActiveTokens(Collection<Long> userIds) {
+    Map<Long, List<String>> tokensByUser = new HashMap<>();
+    if (userIds.isEmpty()) {
+      return tokensByUser;
+    }
+    for (DeviceToken deviceToken : deviceTokenRepository.findByUserIdInAndActiveTrue(userIds)) {
+      tokensByUser.computeIfAbsent(deviceToken.getUserId(), k -> new ArrayList<>())
+          .add(deviceToken.getToken());
+    }
+    return tokensByUser;
+  }
+
+  /**
+   * Dead-letter tokens FCM rejected permanently, keyed by token with the FCM error as reason
+   */
+  @Transactional
+  public int deactivateTokens(Map<String, String> reasonsByToken) {
+    Map<String, List<String>> tokensByReason = new HashMap<>();
+    reasonsByToken.forEach((token, reason) ->
+        tokensByReason.computeIfAbsent(reason, k -> new ArrayList<>()).add(token));
+
+    LocalDateTime now = LocalDateTime.now();
+    int deactivated = 0;
+    for (Map.Entry<String, List<String>> entry : tokensByReason.entrySet()) {
+      deactivated += deviceTokenRepository.deactivate(entry.getValue(), entry.getKey(), now);
+    }
+    return deactivated;
+  }
+
+  /**
+   * Register (or re-activate / move to this user) a device token
+   */
+  @Transactional
+  public DeviceToken registerDeviceToken(Long userId, String token, String platform) {
+    Optional<DeviceToken> existing = deviceTokenRepository.findByToken(token);
+    DeviceToken deviceToken = existing.orElseGet(() -> DeviceToken.builder().token(token).build());
+    deviceToken.setUserId(userId);
+    deviceToken.setPlatform(platform);
+    deviceToken.setActive(true);
+    deviceToken.setDeactivatedReason(null);
+    deviceToken.setDeactivatedAt(null);
+    return deviceTokenRepository.save(deviceToken);
+  }
+
+  @Transactional
+  public boolean unregisterDeviceToken(Long userId, String token) {
+    return deviceTokenRepository.deleteByUserIdAndToken(userId, token) > 0;
+  }
+
+  public Map<String, Map<String, Long>> getQueueCounts() {
+    Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+    for (NotificationOutbox.Channel channel : NotificationOutbox.Channel.values()) {
+      Map<String, Long> byStatus = new LinkedHashMap<>();
+      for (NotificationOutbox.Status status : NotificationOutbox.Status.values()) {
+        byStatus.put(status.name(), 0L);
+      }
+      counts.put(channel.name(), byStatus);
+    }
+    for (Object[] row : notificationOutboxRepository.countGroupedByChannelAndStatus()) {
+      counts.get(((NotificationOutbox.Channel) row[0]).name())
+          .put(((NotificationOutbox.Status) row[1]).name(), ((Number) row[2]).longValue());
+    }
+    return counts;
+  }
+
+  @Transactional
+  public int deleteDeliveredBefore(LocalDateTime cutoff) {
+    return notificationOutboxRepository.deleteDeliveredBefore(cutoff);
+  }
+
+  private String toJson(Map<String, Object> data) {
+    try {
+      return objectMapper.writeValueAsString(data);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialise push data", e);
+    }
+  }
+
+  // In-app messages carry <b> markup that push trays would show verbatim
+  private static String stripMarkup(String message) {
+    return message == null ? "" : message.replaceAll("<[^>]+>", "");
+  }
+}
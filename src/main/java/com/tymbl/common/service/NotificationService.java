@@ -8,7 +8,6 @@ import com.tymbl.common.entity.Notification;
 import com.tymbl.common.repository.NotificationRepository;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +27,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationCounterCache notificationCounterCache;
+    private final NotificationOutboxService notificationOutboxService;
 
     // Default duration for notifications (last 30 days)
     private static final int DEFAULT_NOTIFICATION_DURATION_DAYS = 30;
@@ -37,60 +38,31 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public NotificationCountResponse getNotificationCount(Long userId) {
-        LocalDateTime since = LocalDateTime.now().minusDays(DEFAULT_NOTIFICATION_DURATION_DAYS);
-
-        Long totalCount = notificationRepository.countByUserIdAndCreatedAtAfter(userId, since);
-        Long newCount = notificationRepository.countUnseenByUserIdAndCreatedAtAfter(userId, since);
-        Long seenCount = notificationRepository.countSeenByUserIdAndCreatedAtAfter(userId, since);
-        Long clickedCount = notificationRepository.countClickedByUserIdAndCreatedAtAfter(userId, since);
+        NotificationCountWithTypeResponse counts = getNotificationCountWithType(userId);
 
         return NotificationCountResponse.builder()
                 .userId(userId)
-                .totalCount(totalCount)
-                .newCount(newCount)
-                .seenCount(seenCount)
-                .clickedCount(clickedCount)
+                .totalCount(counts.getTotalCount())
+                .newCount(counts.getNewCount())
+                .seenCount(counts.getSeenCount())
+                .clickedCount(counts.getClickedCount())
                 .build();
     }
 
     /**
-     * Get notification count with type breakdown for a user
+     * Get notification count with type breakdown for a user.
+     * Served from the in-memory counter cache; a miss runs one grouped aggregate query.
      */
     @Transactional(readOnly = true)
     public NotificationCountWithTypeResponse getNotificationCountWithType(Long userId) {
-        LocalDateTime since = LocalDateTime.now().minusDays(DEFAULT_NOTIFICATION_DURATION_DAYS);
-
-        // Get overall counts
-        Long totalCount = notificationRepository.countByUserIdAndCreatedAtAfter(userId, since);
-        Long newCount = notificationRepository.countUnseenByUserIdAndCreatedAtAfter(userId, since);
-        Long seenCount = notificationRepository.countSeenByUserIdAndCreatedAtAfter(userId, since);
-        Long clickedCount = notificationRepository.countClickedByUserIdAndCreatedAtAfter(userId, since);
-
-        // Get counts by type
-        Map<String, NotificationCountWithTypeResponse.NotificationTypeCount> countsByType = new HashMap<>();
-
-        for (Notification.NotificationType type : Notification.NotificationType.values()) {
-            Long typeTotalCount = notificationRepository.countByUserIdAndTypeAndCreatedAtAfter(userId, type, since);
-            Long typeNewCount = notificationRepository.countUnseenByUserIdAndTypeAndCreatedAtAfter(userId, type, since);
-            Long typeSeenCount = notificationRepository.countSeenByUserIdAndTypeAndCreatedAtAfter(userId, type, since);
-            Long typeClickedCount = notificationRepository.countClickedByUserIdAndTypeAndCreatedAtAfter(userId, type, since);
-
-            countsByType.put(type.getValue(), NotificationCountWithTypeResponse.NotificationTypeCount.builder()
-                    .totalCount(typeTotalCount)
-                    .newCount(typeNewCount)
-                    .seenCount(typeSeenCount)
-                    .clickedCount(typeClickedCount)
-                    .build());
+        NotificationCountWithTypeResponse cached = notificationCounterCache.get(userId);
+        if (cached != null) {
+            return cached;
         }
 
-        return NotificationCountWithTypeResponse.builder()
-                .userId(userId)
-                .totalCount(totalCount)
-                .newCount(newCount)
-                .seenCount(seenCount)
-                .clickedCount(clickedCount)
-                .countsByType(countsByType)
-                .build();
+        LocalDateTime since = LocalDateTime.now().minusDays(DEFAULT_NOTIFICATION_DURATION_DAYS);
+        List<Object[]> groupedCounts = notificationRepository.countGroupedByTypeAndState(userId, since);
+        return notificationCounterCache.load(userId, groupedCounts);
     }
 
     /**
@@ -130,14 +102,12 @@ public class NotificationService {
             return 0;
         }
 
-        int totalUpdated = 0;
-        LocalDateTime now = LocalDateTime.now();
-
-        for (Long notificationId : notificationIds) {
-            int updated = notificationRepository.markAsSeen(notificationId, userId, now);
-            totalUpdated += updated;
-        }
+        LocalDateTime since = LocalDateTime.now().minusDays(DEFAULT_NOTIFICATION_DURATION_DAYS);
+        Map<Notification.NotificationType, Long> newlySeen = toTypeCounts(
+                notificationRepository.countUnseenByIdsGroupedByType(notificationIds, userId, since));
 
+        int totalUpdated = notificationRepository.markAllAsSeenByIds(notificationIds, userId, LocalDateTime.now());
+        notificationCounterCache.onSeen(userId, newlySeen);
         return totalUpdated;
     }
 
@@ -146,7 +116,9 @@ public class NotificationService {
      */
     @Transactional
     public int markAllAsSeen(Long userId) {
-        return notificationRepository.markAllAsSeen(userId, LocalDateTime.now());
+        int totalUpdated = notificationRepository.markAllAsSeen(userId, LocalDateTime.now());
+        notificationCounterCache.onAllSeen(userId);
+        return totalUpdated;
     }
 
     /**
@@ -158,15 +130,32 @@ public class NotificationService {
             return 0;
         }
 
-        int totalUpdated = 0;
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = LocalDateTime.now().minusDays(DEFAULT_NOTIFICATION_DURATION_DAYS);
+        Map<Notification.NotificationType, Long> newlyClicked = toTypeCounts(
+                notificationRepository.countUnclickedByIdsGroupedByType(notificationIds, userId, since));
+
+        int totalUpdated = notificationRepository.markAllAsClickedByIds(notificationIds, userId, LocalDateTime.now());
+        notificationCounterCache.onClicked(userId, newlyClicked);
+        return totalUpdated;
+    }
 
-        for (Long notificationId : notificationIds) {
-            int updated = notificationRepository.markAsClicked(notificationId, userId, now);
-            totalUpdated += updated;
+    private Map<Notification.NotificationType, Long> toTypeCounts(List<Object[]> rows) {
+        Map<Notification.NotificationType, Long> typeCounts = new HashMap<>();
+        for (Object[] row : rows) {
+            typeCounts.put((Notification.NotificationType) row[0], ((Number) row[1]).longValue());
         }
+        return typeCounts;
+    }
 
-        return totalUpdated;
+    /**
+     * Persist a notification, record it in the counter cache and queue its push in the same
+     * transaction
+     */
+    private Notification saveAndCount(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        notificationCounterCache.onCreated(saved.getUserId(), saved.getType());
+        notificationOutboxService.enqueuePush(saved);
+        return saved;
     }
 
     /**
@@ -187,7 +176,7 @@ public class NotificationService {
                 .clicked(false)
                 .build();
 
-        return notificationRepository.save(notification);
+        return saveAndCount(notification);
     }
 
     /**
@@ -211,7 +200,7 @@ public class NotificationService {
                 .clicked(false)
                 .build();
 
-        return notificationRepository.save(notification);
+        return saveAndCount(notification);
     }
 
 
@@ -308,7 +297,7 @@ public class NotificationService {
                     .clicked(false)
                     .build();
 
-            notificationRepository.save(notification);
+            saveAndCount(notification);
         }
     }
 
@@ -352,6 +341,8 @@ public class NotificationService {
     @Transactional
     public int cleanupOldNotifications(int daysToKeep) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(daysToKeep);
-        return notificationRepository.deleteByCreatedAtBefore(cutoffDate);
+        int deleted = notificationRepository.deleteByCreatedAtBefore(cutoffDate);
+        notificationCounterCache.evictAll();
+        return deleted;
     }
 }
@@ -0,0 +1,365 @@
+package com.tymbl.common.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tymbl.common.entity.CacheChangeLog.EntityType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Pre-serialized responses for the reference-data endpoints (dropdowns, skills). Each view of a
+ * dataset is serialized to JSON once, gzipped once and hashed; requests are then answered from
+ * those bytes with a strong ETag, so a client that already holds the current version gets a 304
+ * and a cold client costs a memory copy.
+ *
+ * <p>A snapshot is rebuilt after its dataset is invalidated (after commit, by the services that
+ * write it, or on a change published to the {@link CacheInvalidationBus} by any instance) or once
+ * it is older than {@code app.reference-data.rebuild-seconds}, which covers data changed behind
+ * the application's back. A rebuild with identical content keeps its ETag. Concurrent requests for
+ * a view that needs rebuilding wait for a single build instead of each running the loader.
+ * Clients may reuse a response for {@code app.reference-data.max-age-seconds} without asking.
+ */
+@Slf4j
+@Service
+public class ReferenceDataCache {
+
+  public enum Dataset {
+    DEPARTMENTS,
+    LOCATIONS,
+    DESIGNATIONS,
+    INDUSTRIES,
+    COMPANIES,
+    CURRENCIES,
+    DEGREES,
+    SKILLS
+  }
+
+  private static final String GZIP = "gzip";
+  private static final String GZIP_ETAG_SUFFIX = "-" + GZIP;
+
+  private final ObjectMapper objectMapper;
+  private final long rebuildMillis;
+  private final CacheControl cacheControl;
+
+  private final Map<Dataset, ConcurrentMap<String, Snapshot>> snapshots =
+      new EnumMap<>(Dataset.class);
+  // The one build running per view, joined by every request that needs it meanwhile
+  private final Map<Dataset, ConcurrentMap<String, CompletableFuture<Snapshot>>> building =
+      new EnumMap<>(Dataset.class);
+  // Bumped by each invalidation of the dataset; a build that overlapped one is served but not kept
+  private final Map<Dataset, AtomicLong> generations = new EnumMap<>(Dataset.class);
+
+  private final AtomicLong builds = new AtomicLong();
+  private final AtomicLong fullResponses = new AtomicLong();
+  private final AtomicLong gzipResponses = new AtomicLong();
+  private final AtomicLong notModified = new AtomicLong();
+
+  public ReferenceDataCache(ObjectMapper objectMapper, CacheInvalidationBus invalidationBus,
+      @Value("${app.reference-data.rebuild-seconds:600}") long rebuildSeconds,
+      @Value("${app.reference-data.max-age-seconds:300}") long maxAgeSeconds) {
+    this.objectMapper = objectMapper;
+    this.rebuildMillis = TimeUnit.SECONDS.toMillis(Math.max(1, rebuildSeconds));
+    this.cacheControl = CacheControl.maxAge(Math.max(0, maxAgeSeconds), TimeUnit.SECONDS)
+        .cachePublic();
+    for (Dataset dataset : Dataset.values()) {
+      snapshots.put(dataset, new ConcurrentHashMap<>());
+      building.put(dataset, new ConcurrentHashMap<>());
+      generations.put(dataset, new AtomicLong());
+    }
+    invalidationBus.subscribe(EntityType.DEPARTMENT, id -> evict(Dataset.DEPARTMENTS));
+    invalidationBus.subscribe(EntityType.LOCATION, id -> evict(Dataset.LOCATIONS));
+    invalidationBus.subscribe(EntityType.DESIGNATION, id -> evict(Dataset.DESIGNATIONS));
+    invalidationBus.subscribe(EntityType.INDUSTRY, id -> evict(Dataset.INDUSTRIES));
+    invalidationBus.subscribe(EntityType.COMPANY, id -> evict(Dataset.COMPANIES));
+    invalidationBus.subscribe(EntityType.SKILL, id -> evict(Dataset.SKILLS));
+  }
+
+  /**
+   * Answers a request for one view of a dataset: 304 when {@code If-None-Match} names the
+   * current version, otherwise the pre-serialized body, gzipped when the client accepts it.
+   * {@code loader} produces the response object and only runs when the snapshot is rebuilt.
+   */
+  public ResponseEntity<byte[]> respond(Dataset dataset, String view, Supplier<?> loader,
+      WebRequest request) {
+    Snapshot snapshot = get(dataset, view, loader);
+    boolean gzip = snapshot.gzip != null && acceptsGzip(request.getHeader(
+        HttpHeaders.ACCEPT_ENCODING));
+    String eTag = gzip ? snapshot.gzipETag() : snapshot.eTag();
+
+    if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), snapshot.hash)) {
+      notModified.incrementAndGet();
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(eTag)
+          .cacheControl(cacheControl)
+          .varyBy(HttpHeaders.ACCEPT_ENCODING)
+          .build();
+    }
+
+    fullResponses.incrementAndGet();
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .eTag(eTag)
+        .cacheControl(cacheControl)
+        .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      gzipResponses.incrementAndGet();
+      return response.header(HttpHeaders.CONTENT_ENCODING, GZIP)
+          .contentLength(snapshot.gzip.length)
+          .body(snapshot.gzip);
+    }
+    return response.contentLength(snapshot.json.length).body(snapshot.json);
+  }
+
+  /**
+   * Drops every view of the given datasets once the surrounding transaction commits (immediately
+   * outside one); the next request rebuilds them
+   */
+  public void invalidate(Dataset... datasets) {
+    afterCommit(() -> evict(datasets));
+  }
+
+  public void invalidateAll() {
+    invalidate(Dataset.values());
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    Map<String, Object> views = new LinkedHashMap<>();
+    snapshots.forEach((dataset, byView) -> byView.forEach((view, snapshot) -> {
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("eTag", snapshot.eTag());
+      entry.put("bytes", snapshot.json.length);
+      entry.put("gzipBytes", snapshot.gzip != null ? snapshot.gzip.length : null);
+      entry.put("ageSeconds",
+          TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - snapshot.builtAt));
+      views.put(dataset.name() + "/" + view, entry);
+    }));
+    stats.put("snapshots", views);
+    stats.put("builds", builds.get());
+    stats.put("fullResponses", fullResponses.get());
+    stats.put("gzipResponses", gzipResponses.get());
+    stats.put("notModified", notModified.get());
+    return stats;
+  }
+
+  private void evict(Dataset... datasets) {
+    for (Dataset dataset : datasets) {
+      generations.get(dataset).incrementAndGet();
+      snapshots.get(dataset).clear();
+      // Requests from now on start a build that sees the change instead of joining an older one
+      building.get(dataset).clear();
+    }
+  }
+
+  private Snapshot get(Dataset dataset, String view, Supplier<?> loader) {
+    ConcurrentMap<String, Snapshot> byView = snapshots.get(dataset);
+    Snapshot current = byView.get(view);
+    if (isFresh(current)) {
+      return current;
+    }
+
+    ConcurrentMap<String, CompletableFuture<Snapshot>> inFlight = building.get(dataset);
+    CompletableFuture<Snapshot> ours = new CompletableFuture<>();
+    CompletableFuture<Snapshot> running = inFlight.putIfAbsent(view, ours);
+    if (running != null) {
+      return await(running);
+    }
+    try {
+      Snapshot built = rebuild(dataset, view, loader);
+      ours.complete(built);
+      return built;
+    } catch (RuntimeException | Error e) {
+      ours.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(view, ours);
+    }
+  }
+
+  private Snapshot rebuild(Dataset dataset, String view, Supplier<?> loader) {
+    ConcurrentMap<String, Snapshot> byView = snapshots.get(dataset);
+    Snapshot current = byView.get(view);
+    if (isFresh(current)) {
+      // Another build finished between our first look and claiming the view
+      return current;
+    }
+
+    AtomicLong generation = generations.get(dataset);
+    long generationBefore = generation.get();
+    Snapshot built = build(loader.get(), current);
+    builds.incrementAndGet();
+    if (generation.get() == generationBefore) {
+      byView.put(view, built);
+    }
+    if (current == null || !current.hash.equals(built.hash)) {
+      log.info("Reference data {}/{} built: {} bytes, etag {}", dataset, view,
+          built.json.length, built.eTag());
+    }
+    return built;
+  }
+
+  private boolean isFresh(Snapshot snapshot) {
+    return snapshot != null && System.currentTimeMillis() - snapshot.builtAt <= rebuildMillis;
+  }
+
+  private static Snapshot await(CompletableFuture<Snapshot> build) {
+    try {
+      return build.join();
+    } catch (CompletionException e) {
+      // Fail the same way the request that ran the build did
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private Snapshot build(Object value, Snapshot previous) {
+    try {
+      byte[] json = objectMapper.writeValueAsBytes(value);
+      String hash = hash(json);
+      if (previous != null && previous.hash.equals(hash)) {
+        // Unchanged content: keep the bytes, restart the clock
+        return new Snapshot(previous.json, previous.gzip, hash);
+      }
+      return new Snapshot(json, gzip(json), hash);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to serialize reference data", e);
+    }
+  }
+
+  private static String hash(byte[] json) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * Returns the gzipped bytes, or {@code null} when compression does not make them smaller
+   */
+  private static byte[] gzip(byte[] json) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(json);
+    }
+    return bytes.size() < json.length ? bytes.toByteArray() : null;
+  }
+
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      String name = parts[0].trim();
+      if (!GZIP.equalsIgnoreCase(name) && !"*".equals(name)) {
+        continue;
+      }
+      boolean refused = false;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim().replace(" ", "");
+        if (parameter.matches("q=0(\\.0*)?")) {
+          refused = true;
+        }
+      }
+      return !refused;
+    }
+    return false;
+  }
+
+  /**
+   * Weak comparison as required for If-None-Match; either representation's tag identifies the
+   * version
+   */
+  private static boolean matches(String ifNoneMatch, String hash) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      String candidate = tag.trim();
+      if ("*".equals(candidate)) {
+        return true;
+      }
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+      candidate = candidate.replace("\"", "");
+      if (candidate.endsWith(GZIP_ETAG_SUFFIX)) {
+        candidate = candidate.substring(0, candidate.length() - GZIP_ETAG_SUFFIX.length());
+      }
+      if (candidate.equals(hash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  private static final class Snapshot {
+
+    private final byte[] json;
+    // null when gzip would not save anything
+    private final byte[] gzip;
+    private final String hash;
+    private final long builtAt = System.currentTimeMillis();
+
+    Snapshot(byte[] json, byte[] gzip, String hash) {
+      this.json = json;
+      this.gzip = gzip;
+      this.hash = hash;
+    }
+
+    // Strong tags differ per content coding
+    String eTag() {
+      return "\"" + hash + "\"";
+    }
+
+    String gzipETag() {
+      return "\"" + hash + GZIP_ETAG_SUFFIX + "\"";
+    }
+  }
+}
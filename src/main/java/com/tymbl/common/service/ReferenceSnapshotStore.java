@@ -0,0 +1,102 @@
+package com.tymbl.common.service;
+
+import com.tymbl.common.util.ColumnarSnapshot;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local-disk home of the reference-data snapshots ({@link ColumnarSnapshot} files), one file per
+ * cache under {@code app.reference-snapshots.dir}. Snapshots are an optimisation only: a missing,
+ * unreadable or corrupt file reads as absent and the cache loads from MySQL instead, and a failed
+ * write is logged and ignored.
+ */
+@Slf4j
+@Service
+public class ReferenceSnapshotStore {
+
+  private static final String SUFFIX = ".snap";
+
+  private final boolean enabled;
+  private final Path directory;
+
+  private final AtomicLong loaded = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong saved = new AtomicLong();
+
+  public ReferenceSnapshotStore(
+      @Value("${app.reference-snapshots.enabled:true}") boolean enabled,
+      @Value("${app.reference-snapshots.dir:${java.io.tmpdir}/tymbl-snapshots}") String directory) {
+    this.enabled = enabled;
+    this.directory = Paths.get(directory);
+  }
+
+  /**
+   * Maps the named snapshot into memory; {@code null} when there is none of this schema version
+   */
+  public ColumnarSnapshot.Reader load(String name, int schemaVersion) {
+    if (!enabled) {
+      return null;
+    }
+    Path file = directory.resolve(name + SUFFIX);
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed
+      ColumnarSnapshot.Reader reader = ColumnarSnapshot.read(
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), schemaVersion);
+      loaded.incrementAndGet();
+      return reader;
+    } catch (IOException | RuntimeException e) {
+      rejected.incrementAndGet();
+      log.warn("Ignoring snapshot {}: {}", file, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Replaces the named snapshot atomically, so a crash mid-write leaves the previous one intact
+   */
+  public void save(String name, byte[] snapshot) {
+    if (!enabled) {
+      return;
+    }
+    Path file = directory.resolve(name + SUFFIX);
+    try {
+      Files.createDirectories(directory);
+      Path temp = Files.createTempFile(directory, name, ".tmp");
+      try {
+        Files.write(temp, snapshot);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+      saved.incrementAndGet();
+      log.info("Snapshot {} written: {} bytes", file, snapshot.length);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Could not write snapshot {}: {}", file, e.getMessage());
+    }
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("enabled", enabled);
+    stats.put("directory", directory.toString());
+    stats.put("loaded", loaded.get());
+    stats.put("rejected", rejected.get());
+    stats.put("saved", saved.get());
+    return stats;
+  }
+}
@@ -0,0 +1,93 @@
+package com.tymbl.common.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Moves legacy resume blobs from the {@code user_resumes.resume_data} column into the
+ * {@link ResumeContentStore}, one row at a time so at most one file is held in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumeBlobMigrationService {
+
+  private static final int BATCH_SIZE = 50;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ResumeContentStore resumeContentStore;
+
+  /**
+   * Drain remaining legacy blobs every hour; a no-op once the table has been migrated
+   */
+  @Scheduled(initialDelay = 5 * 60 * 1000, fixedDelay = 60 * 60 * 1000)
+  public void migrateLegacyBlobs() {
+    try {
+      long lastId = 0;
+      int migrated = 0;
+      List<Long> ids;
+      do {
+        ids = jdbcTemplate.queryForList(
+            "SELECT id FROM user_resumes WHERE content_sha256 IS NULL AND resume_data IS NOT NULL "
+                + "AND id > ? ORDER BY id LIMIT ?", Long.class, lastId, BATCH_SIZE);
+        for (Long id : ids) {
+          if (migrate(id) != null) {
+            migrated++;
+          }
+          lastId = id;
+        }
+      } while (ids.size() == BATCH_SIZE);
+
+      if (migrated > 0) {
+        log.info("Moved {} legacy resume blobs to the resume content store", migrated);
+      }
+    } catch (DataAccessException e) {
+      // resume_data may already have been dropped once migration completed
+      log.debug("Skipping legacy resume blob migration: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Move a single resume's blob out of the table
+   *
+   * @return the content checksum, or null when the row has no legacy blob
+   */
+  public String migrate(Long resumeId) {
+    try {
+      String checksum = jdbcTemplate.query(
+          "SELECT resume_data FROM user_resumes WHERE id = ?",
+          (ResultSetExtractor<String>) rs -> {
+            if (!rs.next()) {
+              return null;
+            }
+            try (InputStream in = rs.getBinaryStream(1)) {
+              return in == null ? null : resumeContentStore.store(in, -1);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          }, resumeId);
+
+      if (checksum == null) {
+        return null;
+      }
+
+      jdbcTemplate.update(
+          "UPDATE user_resumes SET content_sha256 = ?, resume_data = NULL WHERE id = ? AND content_sha256 IS NULL",
+          checksum, resumeId);
+      return checksum;
+
+    } catch (UncheckedIOException | DataAccessException e) {
+      log.error("Failed to migrate resume blob for resume {}: {}", resumeId, e.getMessage());
+      return null;
+    }
+  }
+}
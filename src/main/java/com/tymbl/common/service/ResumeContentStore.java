@@ -0,0 +1,30 @@
+package com.tymbl.common.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Storage backend for resume file contents. Content is addressed by its SHA-256 checksum, so
+ * only metadata and the checksum need to live in the relational row.
+ */
+public interface ResumeContentStore {
+
+  /**
+   * Stream content into the store, verifying that exactly {@code expectedSize} bytes were read
+   *
+   * @return the lowercase hex SHA-256 checksum that addresses the stored content
+   */
+  String store(InputStream content, long expectedSize) throws IOException;
+
+  boolean exists(String checksum);
+
+  long size(String checksum) throws IOException;
+
+  /**
+   * Copy {@code length} bytes starting at {@code offset} to the given stream
+   */
+  void copyRange(String checksum, long offset, long length, OutputStream out) throws IOException;
+
+  void delete(String checksum) throws IOException;
+}
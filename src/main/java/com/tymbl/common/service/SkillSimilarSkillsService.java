@@ -6,12 +6,16 @@ import com.tymbl.common.entity.Skill;
 import com.tymbl.common.repository.SkillRepository;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,78 +28,104 @@ public class SkillSimilarSkillsService {
   private final AIRestService aiRestService;
   private final SkillRepository skillRepository;
   private final ObjectMapper objectMapper;
+  private final AiBatchEnrichmentService aiBatchEnrichmentService;
 
   /**
-   * Generate similar skills for all skills using GenAI
+   * Generate similar skills for all unprocessed skills, many skills per AI call (see
+   * {@link AiBatchEnrichmentService}); resumes from the last checkpoint after an interruption
    */
-  @Transactional
   public Map<String, Object> generateSimilarSkillsForAllSkills() {
-    try {
-      log.info("Starting similar skills generation for all skills using GenAI");
+    log.info("Starting batched similar skills generation for all skills using GenAI");
 
-      // Get all skills that don't have similar skills processed
-      List<Skill> skillsToProcess = skillRepository.findAll().stream()
-          .filter(skill -> !skill.isSimilarSkillsProcessed())
-          .collect(Collectors.toList());
+    // Canonical spelling of every skill, keyed case-insensitively for validating answers
+    Map<String, String> availableSkills = new LinkedHashMap<>();
+    for (Skill skill : skillRepository.findAll()) {
+      availableSkills.putIfAbsent(skill.getName().trim().toLowerCase(Locale.ROOT),
+          skill.getName());
+    }
 
-      if (skillsToProcess.isEmpty()) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("success", true);
-        result.put("message", "All skills already have similar skills generated");
-        result.put("processed", 0);
-        result.put("failed", 0);
-        result.put("total", skillRepository.count());
-        return result;
+    Map<String, Object> result = aiBatchEnrichmentService.run(
+        new SimilarSkillsTask(availableSkills));
+    result.put("message", "Similar skills generation completed");
+    return result;
+  }
+
+  /**
+   * Similar skills per skill, restricted to skills that exist in the system
+   */
+  private class SimilarSkillsTask implements AiEnrichmentTask<Skill> {
+
+    private final Map<String, String> availableSkills;
+
+    SimilarSkillsTask(Map<String, String> availableSkills) {
+      this.availableSkills = availableSkills;
+    }
+
+    @Override
+    public String getName() {
+      return "skill-similar-skills";
+    }
+
+    @Override
+    public List<Skill> fetchAfter(Long afterId, Pageable pageable) {
+      return skillRepository.findBySimilarSkillsProcessedFalseAndIdGreaterThan(afterId, pageable);
+    }
+
+    @Override
+    public Long idOf(Skill skill) {
+      return skill.getId();
+    }
+
+    @Override
+    public String instructions() {
+      StringBuilder prompt = new StringBuilder();
+      prompt.append("You are an expert in technology and programming skills analysis. ");
+      prompt.append("For each target skill in the input, list ALL the most similar and related ");
+      prompt.append("skills, chosen only from these available skills and spelled exactly as ");
+      prompt.append("listed:\n");
+      for (String skill : availableSkills.values()) {
+        prompt.append("- ").append(skill).append("\n");
       }
+      prompt.append("\nConsider direct technical relationships (Java -> Spring, Hibernate), ");
+      prompt.append("complementary skills, the same ecosystem, skills commonly used together ");
+      prompt.append("and shared concepts. Make each list extensive. Never include the target ");
+      prompt.append("skill itself.");
+      return prompt.toString();
+    }
 
-      // Get all available skills for reference
-      List<Skill> allSkills = skillRepository.findAll();
-      List<String> availableSkillNames = allSkills.stream()
-          .map(Skill::getName)
-          .collect(Collectors.toList());
+    @Override
+    public Map<String, Object> describe(Skill skill) {
+      return Collections.singletonMap("skill", skill.getName());
+    }
 
-      int processed = 0;
-      int failed = 0;
-      List<String> errors = new ArrayList<>();
-
-      for (Skill skill : skillsToProcess) {
-        try {
-          boolean success = generateSimilarSkillsForSkill(skill, availableSkillNames);
-          if (success) {
-            processed++;
-            log.info("Successfully generated similar skills for: {}", skill.getName());
-          } else {
-            failed++;
-            errors.add("Failed to generate similar skills for: " + skill.getName());
-            log.warn("Failed to generate similar skills for: {}", skill.getName());
-          }
-        } catch (Exception e) {
-          failed++;
-          errors.add(
-              "Error generating similar skills for: " + skill.getName() + " - " + e.getMessage());
-          log.error("Error generating similar skills for: {}", skill.getName(), e);
+    @Override
+    public Map<String, Object> resultProperties() {
+      return Collections.singletonMap("similarSkills",
+          AiBatchEnrichmentService.stringArraySchema("Similar skills from the available list"));
+    }
+
+    @Override
+    public boolean apply(Skill skill, JsonNode result) {
+      List<String> validSkills = new ArrayList<>();
+      for (JsonNode item : result.path("similarSkills")) {
+        String canonical = availableSkills.get(item.asText("").trim().toLowerCase(Locale.ROOT));
+        if (canonical != null && !canonical.equalsIgnoreCase(skill.getName())
+            && !validSkills.contains(canonical)) {
+          validSkills.add(canonical);
         }
       }
-
-      Map<String, Object> result = new HashMap<>();
-      result.put("success", true);
-      result.put("message", "Similar skills generation completed");
-      result.put("processed", processed);
-      result.put("failed", failed);
-      result.put("total", skillsToProcess.size());
-      if (!errors.isEmpty()) {
-        result.put("errors", errors);
+      if (validSkills.isEmpty()) {
+        return false;
       }
+      skill.setSimilarSkillsByName(String.join(", ", validSkills));
+      skill.setSimilarSkillsProcessed(true);
+      skillRepository.save(skill);
+      return true;
+    }
 
-      log.info("Similar skills generation completed - Success: {}, Failed: {}", processed, failed);
-      return result;
-
-    } catch (Exception e) {
-      log.error("Error generating similar skills for all skills", e);
-      Map<String, Object> error = new HashMap<>();
-      error.put("success", false);
-      error.put("error", "Error generating similar skills: " + e.getMessage());
-      return error;
+    @Override
+    public int outputTokensPerItem() {
+      return 150;
     }
   }
 
@@ -4,14 +4,20 @@ import com.tymbl.common.entity.UserResume;
 import com.tymbl.common.repository.UserRepository;
 import com.tymbl.common.repository.UserResumeRepository;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+@Slf4j
 @Service
 public class UserResumeService {
 
@@ -27,8 +33,25 @@ public class UserResumeService {
   @Value("${server.servlet.context-path:}")
   private String contextPath;
 
+  @Autowired
+  private ResumeContentStore resumeContentStore;
+
+  @Autowired
+  private ResumeBlobMigrationService resumeBlobMigrationService;
+
   @Transactional
   public UserResume uploadResume(Long userId, MultipartFile file) throws IOException {
+    return uploadResume(userId, file, null);
+  }
+
+  /**
+   * Upload a resume, streaming the file into the content store.
+   *
+   * @param expectedSha256 optional client-computed SHA-256; the upload is rejected on mismatch
+   */
+  @Transactional
+  public UserResume uploadResume(Long userId, MultipartFile file, String expectedSha256)
+      throws IOException {
     // Validate file type
     String contentType = file.getContentType();
     if (contentType == null || (!contentType.equals("application/pdf") &&
@@ -54,7 +77,17 @@ public class UserResumeService {
     resume.setFileType(contentType);
     resume.setContentType(contentType);
     resume.setFileSize(file.getSize());
-    resume.setResumeData(file.getBytes());
+
+    String checksum;
+    try (InputStream content = file.getInputStream()) {
+      checksum = resumeContentStore.store(content, file.getSize());
+    }
+    if (expectedSha256 != null && !expectedSha256.trim().isEmpty()
+        && !expectedSha256.trim().equalsIgnoreCase(checksum)) {
+      deleteContentIfUnreferenced(checksum);
+      throw new IllegalArgumentException("Checksum mismatch: uploaded file is corrupted.");
+    }
+    resume.setContentSha256(checksum);
 
     resume = userResumeRepository.save(resume);
 
@@ -99,6 +132,21 @@ public class UserResumeService {
     }
 
     userResumeRepository.deleteById(resumeId);
+
+    // Content is shared between identical uploads, so only remove it once nothing references it
+    String checksum = resume.getContentSha256();
+    if (checksum != null) {
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            deleteContentIfUnreferenced(checksum);
+          }
+        });
+      } else {
+        deleteContentIfUnreferenced(checksum);
+      }
+    }
   }
 
   @Transactional
@@ -108,6 +156,38 @@ public class UserResumeService {
     deleteResume(resume.getId());
   }
 
+  /**
+   * Returns the content checksum for a resume, moving a legacy in-table blob to the content store
+   * first if needed. Null if the resume has no stored content.
+   */
+  public String ensureContentStored(UserResume resume) {
+    String checksum = resume.getContentSha256();
+    if (checksum == null) {
+      checksum = resumeBlobMigrationService.migrate(resume.getId());
+      resume.setContentSha256(checksum);
+    }
+    return checksum != null && resumeContentStore.exists(checksum) ? checksum : null;
+  }
+
+  public long getContentSize(String checksum) throws IOException {
+    return resumeContentStore.size(checksum);
+  }
+
+  public void writeContent(String checksum, long offset, long length, OutputStream out)
+      throws IOException {
+    resumeContentStore.copyRange(checksum, offset, length, out);
+  }
+
+  private void deleteContentIfUnreferenced(String checksum) {
+    try {
+      if (userResumeRepository.countByContentSha256(checksum) == 0) {
+        resumeContentStore.delete(checksum);
+      }
+    } catch (Exception e) {
+      log.warn("Failed to delete resume content {}: {}", checksum, e.getMessage());
+    }
+  }
+
   public String getDownloadUrl(String uuid) {
     return baseUrl + contextPath + "/api/v1/resumes/download/" + uuid;
   }
@@ -0,0 +1,75 @@
+package com.tymbl.common.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a text file in fixed-size chunks of lines, so imports hold one chunk in memory however
+ * large the file is. The caller owns (and closes) the reader; read errors surface as
+ * {@link UncheckedIOException}.
+ */
+public final class ChunkedLineReader implements Iterator<List<String>> {
+
+  private final BufferedReader reader;
+  private final int chunkSize;
+
+  private List<String> next;
+  private boolean exhausted;
+
+  private ChunkedLineReader(BufferedReader reader, int chunkSize) {
+    this.reader = reader;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Non-blank lines in chunks of up to {@code chunkSize}, optionally skipping a header line
+   */
+  public static Iterable<List<String>> chunks(BufferedReader reader, int chunkSize,
+      boolean skipHeader) {
+    return () -> {
+      if (skipHeader) {
+        readLine(reader);
+      }
+      return new ChunkedLineReader(reader, Math.max(1, chunkSize));
+    };
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !exhausted) {
+      List<String> chunk = new ArrayList<>(chunkSize);
+      String line;
+      while (chunk.size() < chunkSize && (line = readLine(reader)) != null) {
+        if (!line.trim().isEmpty()) {
+          chunk.add(line);
+        }
+      }
+      exhausted = chunk.size() < chunkSize;
+      next = chunk.isEmpty() ? null : chunk;
+    }
+    return next != null;
+  }
+
+  @Override
+  public List<String> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    List<String> chunk = next;
+    next = null;
+    return chunk;
+  }
+
+  private static String readLine(BufferedReader reader) {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
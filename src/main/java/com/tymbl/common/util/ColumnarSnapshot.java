@@ -0,0 +1,243 @@
+package com.tymbl.common.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary format for reference-data snapshots. A header (magic, format version, the
+ * caller's schema version, a high-water mark and the row count) is followed by one block per
+ * column: a type tag and the column's values for every row. A CRC32 of everything before it
+ * closes the file.
+ *
+ * <p>Strings are length-prefixed UTF-8 ({@code -1} for null); nullable numbers carry a presence
+ * byte. Columns are read back in the order they were written, so the writer and reader of a
+ * schema version must agree on the column list.
+ */
+public final class ColumnarSnapshot {
+
+  // "TYSN"
+  private static final int MAGIC = 0x5459534E;
+  private static final int FORMAT_VERSION = 1;
+  private static final int CHECKSUM_BYTES = Long.BYTES;
+
+  private static final byte LONG = 1;
+  private static final byte INT = 2;
+  private static final byte STRING = 3;
+  private static final byte BOOLEAN = 4;
+
+  private ColumnarSnapshot() {
+  }
+
+  public static <T> Writer<T> writer(List<T> rows, int schemaVersion, long highWaterMark) {
+    return new Writer<>(rows, schemaVersion, highWaterMark);
+  }
+
+  /**
+   * Validates the header and checksum of a snapshot and returns a reader positioned at its first
+   * column
+   *
+   * @throws IllegalArgumentException if the snapshot is corrupt or of another format or schema
+   */
+  public static Reader read(ByteBuffer buffer, int schemaVersion) {
+    ByteBuffer data = buffer.duplicate();
+    if (data.remaining() < 6 * Integer.BYTES + CHECKSUM_BYTES) {
+      throw new IllegalArgumentException("Snapshot truncated");
+    }
+
+    ByteBuffer body = data.duplicate();
+    body.limit(data.limit() - CHECKSUM_BYTES);
+    CRC32 crc = new CRC32();
+    crc.update(body.duplicate());
+    if (crc.getValue() != data.getLong(data.limit() - CHECKSUM_BYTES)) {
+      throw new IllegalArgumentException("Snapshot checksum mismatch");
+    }
+
+    if (body.getInt() != MAGIC || body.getInt() != FORMAT_VERSION) {
+      throw new IllegalArgumentException("Not a snapshot of this format");
+    }
+    int version = body.getInt();
+    if (version != schemaVersion) {
+      throw new IllegalArgumentException(
+          "Snapshot schema " + version + ", expected " + schemaVersion);
+    }
+    long highWaterMark = body.getLong();
+    int rows = body.getInt();
+    if (rows < 0) {
+      throw new IllegalArgumentException("Snapshot row count " + rows);
+    }
+    return new Reader(body, highWaterMark, rows);
+  }
+
+  public static final class Writer<T> {
+
+    private final List<T> rows;
+    private final ByteArrayOutputStream bytes;
+    private final DataOutputStream out;
+
+    private Writer(List<T> rows, int schemaVersion, long highWaterMark) {
+      this.rows = rows;
+      this.bytes = new ByteArrayOutputStream(64 + rows.size() * 32);
+      this.out = new DataOutputStream(bytes);
+      write(() -> {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(schemaVersion);
+        out.writeLong(highWaterMark);
+        out.writeInt(rows.size());
+      });
+    }
+
+    public Writer<T> longs(Function<T, Long> column) {
+      return column(LONG, row -> {
+        Long value = column.apply(row);
+        out.writeBoolean(value != null);
+        if (value != null) {
+          out.writeLong(value);
+        }
+      });
+    }
+
+    public Writer<T> ints(Function<T, Integer> column) {
+      return column(INT, row -> {
+        Integer value = column.apply(row);
+        out.writeBoolean(value != null);
+        if (value != null) {
+          out.writeInt(value);
+        }
+      });
+    }
+
+    public Writer<T> strings(Function<T, String> column) {
+      return column(STRING, row -> {
+        String value = column.apply(row);
+        if (value == null) {
+          out.writeInt(-1);
+        } else {
+          byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+          out.writeInt(utf8.length);
+          out.write(utf8);
+        }
+      });
+    }
+
+    public Writer<T> booleans(Predicate<T> column) {
+      return column(BOOLEAN, row -> out.writeBoolean(column.test(row)));
+    }
+
+    /**
+     * The finished snapshot, checksum included
+     */
+    public byte[] toBytes() {
+      CRC32 crc = new CRC32();
+      crc.update(bytes.toByteArray());
+      write(() -> out.writeLong(crc.getValue()));
+      return bytes.toByteArray();
+    }
+
+    private Writer<T> column(byte type, ValueWriter<T> values) {
+      write(() -> {
+        out.writeByte(type);
+        for (T row : rows) {
+          values.write(row);
+        }
+      });
+      return this;
+    }
+
+    private static void write(IoAction action) {
+      try {
+        action.run();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  public static final class Reader {
+
+    private final ByteBuffer body;
+    private final long highWaterMark;
+    private final int rows;
+
+    private Reader(ByteBuffer body, long highWaterMark, int rows) {
+      this.body = body;
+      this.highWaterMark = highWaterMark;
+      this.rows = rows;
+    }
+
+    public long highWaterMark() {
+      return highWaterMark;
+    }
+
+    public int rows() {
+      return rows;
+    }
+
+    public Long[] longs() {
+      expect(LONG);
+      Long[] values = new Long[rows];
+      for (int i = 0; i < rows; i++) {
+        values[i] = body.get() != 0 ? body.getLong() : null;
+      }
+      return values;
+    }
+
+    public Integer[] ints() {
+      expect(INT);
+      Integer[] values = new Integer[rows];
+      for (int i = 0; i < rows; i++) {
+        values[i] = body.get() != 0 ? body.getInt() : null;
+      }
+      return values;
+    }
+
+    public String[] strings() {
+      expect(STRING);
+      String[] values = new String[rows];
+      for (int i = 0; i < rows; i++) {
+        int length = body.getInt();
+        if (length >= 0) {
+          byte[] utf8 = new byte[length];
+          body.get(utf8);
+          values[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+      }
+      return values;
+    }
+
+    public boolean[] booleans() {
+      expect(BOOLEAN);
+      boolean[] values = new boolean[rows];
+      for (int i = 0; i < rows; i++) {
+        values[i] = body.get() != 0;
+      }
+      return values;
+    }
+
+    private void expect(byte type) {
+      byte actual = body.get();
+      if (actual != type) {
+        throw new IllegalArgumentException(
+            "Snapshot column type " + actual + ", expected " + type);
+      }
+    }
+  }
+
+  private interface ValueWriter<T> {
+
+    void write(T row) throws IOException;
+  }
+
+  private interface IoAction {
+
+    void run() throws IOException;
+  }
+}
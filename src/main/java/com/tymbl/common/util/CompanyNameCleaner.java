@@ -1,5 +1,6 @@
 package com.tymbl.common.util;
 
+import java.util.Locale;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -11,6 +12,11 @@ import org.springframework.stereotype.Component;
 @Component
 public class CompanyNameCleaner {
 
+  /**
+   * Width of {@code companies.normalized_name}
+   */
+  public static final int NORMALIZED_KEY_MAX_LENGTH = 255;
+
   /**
    * Clean a company name by removing various anomalies and unwanted characters.
    *
@@ -173,4 +179,24 @@ public class CompanyNameCleaner {
 
     return normalized;
   }
-} 
\ No newline at end of file
+
+  /**
+   * Key under which companies count as the same: the duplicate-detection normalization with
+   * whitespace collapsed and case folded. Stored in {@code companies.normalized_name} so imports
+   * and the duplicate merge can match and group in SQL instead of re-deriving it per row.
+   *
+   * @return the key, or null when nothing is left of the name
+   */
+  public static String normalizedKey(String companyName) {
+    String normalized = getNormalizedNameForDuplicateDetection(companyName);
+    if (normalized == null) {
+      return null;
+    }
+    normalized = normalized.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT);
+    if (normalized.isEmpty()) {
+      return null;
+    }
+    return normalized.length() > NORMALIZED_KEY_MAX_LENGTH
+        ? normalized.substring(0, NORMALIZED_KEY_MAX_LENGTH) : normalized;
+  }
+}
@@ -0,0 +1,91 @@
+package com.tymbl.common.util;
+
+import com.tymbl.common.repository.KeysetRepository;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Walks a table in id order, one batch at a time, seeking past the last id seen
+ * ({@code WHERE id > ? ORDER BY id LIMIT n}).
+ *
+ * <p>Each batch costs the same however deep the scan is, unlike OFFSET paging, and rows that
+ * stop matching the filter while the scan runs (e.g. {@code isCrawled} set by the loop itself)
+ * neither shift later rows out of view nor get revisited.
+ */
+public final class KeysetIterator<T> implements Iterator<List<T>> {
+
+  private final BiFunction<Long, Pageable, List<T>> fetcher;
+  private final Function<T, Long> idOf;
+  private final Pageable pageable;
+
+  private Long lastId;
+  private List<T> next;
+  private boolean exhausted;
+
+  private KeysetIterator(BiFunction<Long, Pageable, List<T>> fetcher, Function<T, Long> idOf,
+      int batchSize, Long startAfterId) {
+    this.fetcher = fetcher;
+    this.idOf = idOf;
+    this.pageable = PageRequest.of(0, Math.max(1, batchSize), Sort.by(Sort.Direction.ASC, "id"));
+    this.lastId = startAfterId;
+  }
+
+  /**
+   * Batches of a filtered query; {@code fetcher} receives the last id seen and a first-page,
+   * id-sorted {@link Pageable} and must apply {@code id > lastId}
+   */
+  public static <T> Iterable<List<T>> batches(BiFunction<Long, Pageable, List<T>> fetcher,
+      Function<T, Long> idOf, int batchSize) {
+    return () -> new KeysetIterator<>(fetcher, idOf, batchSize, 0L);
+  }
+
+  /**
+   * Like {@link #batches(BiFunction, Function, int)}, resuming after {@code startAfterId}
+   */
+  public static <T> Iterable<List<T>> batchesAfter(BiFunction<Long, Pageable, List<T>> fetcher,
+      Function<T, Long> idOf, int batchSize, long startAfterId) {
+    return () -> new KeysetIterator<>(fetcher, idOf, batchSize, startAfterId);
+  }
+
+  /**
+   * Batches of every row of the repository's table. Named apart from {@link #batches}, as a
+   * method reference would match both parameter types.
+   */
+  public static <T> Iterable<List<T>> batchesOf(KeysetRepository<T> repository,
+      Function<T, Long> idOf, int batchSize) {
+    return batches(repository::findByIdGreaterThan, idOf, batchSize);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null && !exhausted) {
+      List<T> batch = fetcher.apply(lastId, pageable);
+      if (batch == null || batch.isEmpty()) {
+        exhausted = true;
+      } else {
+        next = batch;
+        lastId = idOf.apply(batch.get(batch.size() - 1));
+        // A short batch is the last one; skip the extra empty query
+        exhausted = batch.size() < pageable.getPageSize();
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public List<T> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    List<T> batch = Collections.unmodifiableList(next);
+    next = null;
+    return batch;
+  }
+}
@@ -0,0 +1,57 @@
+package com.tymbl.common.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking token bucket: {@code permitsPerSecond} sustained, bursts of up to one second's worth.
+ * Meant for pacing calls to an external provider from a few dispatcher threads.
+ */
+public final class RateLimiter {
+
+  private final double permitsPerSecond;
+  private final double maxPermits;
+
+  private double storedPermits;
+  private long lastRefillNanos;
+
+  public RateLimiter(double permitsPerSecond) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+    }
+    this.permitsPerSecond = permitsPerSecond;
+    this.maxPermits = Math.max(1.0, permitsPerSecond);
+    this.storedPermits = maxPermits;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /**
+   * Waits until {@code permits} are available and takes them; a request larger than the burst
+   * size is admitted once the bucket is full and leaves it in debt
+   */
+  public void acquire(int permits) throws InterruptedException {
+    long waitNanos;
+    synchronized (this) {
+      refill();
+      double needed = Math.min(permits, maxPermits);
+      waitNanos = storedPermits >= needed ? 0
+          : (long) ((needed - storedPermits) / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+      // Reserve now so concurrent callers queue behind this one instead of racing for the refill
+      storedPermits -= permits;
+    }
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  public double getPermitsPerSecond() {
+    return permitsPerSecond;
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    double refilled = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1)
+        * permitsPerSecond;
+    storedPermits = Math.min(maxPermits, storedPermits + refilled);
+    lastRefillNanos = now;
+  }
+}
@@ -2,8 +2,15 @@ package com.tymbl.common.util;
 
 import com.tymbl.common.entity.User;
 import com.tymbl.common.service.DropdownService;
-import com.tymbl.jobs.service.CompanyService;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.HibernateException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -14,17 +21,18 @@ public class UserEnrichmentUtil {
 
   private static final Logger logger = LoggerFactory.getLogger(UserEnrichmentUtil.class);
 
-  private final CompanyService companyService;
   private final DropdownService dropdownService;
 
   /**
-   * Enriches user with company name from CompanyService
+   * Enriches user with company name from DropdownService
    */
   public User enrichUserWithCompanyName(User user) {
     try {
       if (user.getCompanyId() != null) {
-        String companyName = companyService.getCompanyById(user.getCompanyId()).getName();
-        user.setCompany(companyName);
+        String companyName = dropdownService.getCompanyNameById(user.getCompanyId());
+        if (companyName != null) {
+          user.setCompany(companyName);
+        }
       }
     } catch (Exception e) {
       logger.warn("Could not fetch company name for companyId: {}. Error: {}", user.getCompanyId(),
@@ -116,4 +124,69 @@ public class UserEnrichmentUtil {
     enrichUserWithCityName(user);
     return user;
   }
-} 
\ No newline at end of file
+
+  /**
+   * Enriches a list of users with all names in a fixed number of queries: their lazy skill and
+   * education collections are loaded in batches (see {@code @BatchSize} on {@link User}) and every
+   * name comes from one bulk lookup per kind. Must run while the users' session is open.
+   */
+  public <C extends Collection<User>> C enrichUsersWithAllNames(C users) {
+    prefetchCollections(users);
+
+    Map<Long, String> companies = dropdownService.getCompanyNamesByIds(
+        ids(users, User::getCompanyId));
+    Map<Long, String> designations = dropdownService.getDesignationNamesByIds(
+        ids(users, User::getDesignationId));
+    Map<Long, String> departments = dropdownService.getDepartmentNamesByIds(
+        ids(users, User::getDepartmentId));
+    Map<Long, String> countries = dropdownService.getCountryNamesByIds(
+        ids(users, User::getCountryId));
+    Map<Long, String> cities = dropdownService.getCityNamesByIds(ids(users, User::getCityId));
+
+    for (User user : users) {
+      if (user == null) {
+        continue;
+      }
+      setName(companies, user.getCompanyId(), user::setCompany);
+      setName(designations, user.getDesignationId(), user::setDesignation);
+      setName(departments, user.getDepartmentId(), user::setDepartmentName);
+      setName(countries, user.getCountryId(), user::setCountryName);
+      setName(cities, user.getCityId(), user::setCityName);
+    }
+    return users;
+  }
+
+  private void prefetchCollections(Collection<User> users) {
+    try {
+      // Initializing one collection loads the same collection of up to 100 other users with it
+      for (User user : users) {
+        if (user == null) {
+          continue;
+        }
+        Hibernate.initialize(user.getSkillIds());
+        Hibernate.initialize(user.getSkillNames());
+        Hibernate.initialize(user.getEducation());
+      }
+    } catch (HibernateException e) {
+      // Detached users: their collections load (or fail) on access as before
+      logger.debug("Could not prefetch user collections: {}", e.getMessage());
+    }
+  }
+
+  private static Set<Long> ids(Collection<User> users, Function<User, Long> idOf) {
+    Set<Long> ids = new HashSet<>();
+    for (User user : users) {
+      if (user != null && idOf.apply(user) != null) {
+        ids.add(idOf.apply(user));
+      }
+    }
+    return ids;
+  }
+
+  private static void setName(Map<Long, String> names, Long id, Consumer<String> setter) {
+    String name = id != null ? names.get(id) : null;
+    if (name != null) {
+      setter.accept(name);
+    }
+  }
+}
@@ -5,15 +5,36 @@ import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpHost;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.elasticsearch.client.RestClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 
+/**
+ * Two Elasticsearch clients with separate connection pools: the primary one serves interactive
+ * search, {@link #BULK_CLIENT} serves indexing, so a reindex can only exhaust its own pool.
+ *
+ * <p>Nodes come from {@code elasticsearch.hosts} (comma-separated URLs), falling back to
+ * {@code elasticsearch.host/port/scheme}. Each client is tuned with
+ * {@code elasticsearch.<search|bulk>.max-connections}, {@code .max-connections-per-route},
+ * {@code .connect-timeout-ms}, {@code .socket-timeout-ms}, {@code .connection-request-timeout-ms}
+ * (how long a request may wait for a pooled connection) and {@code .compression} (gzip).
+ */
+@Slf4j
 @Configuration
 public class ElasticsearchConfig {
 
+  public static final String BULK_CLIENT = "bulkElasticsearchClient";
+
   @Value("${elasticsearch.host:localhost}")
   private String host;
 
@@ -23,14 +44,58 @@ public class ElasticsearchConfig {
   @Value("${elasticsearch.scheme:http}")
   private String scheme;
 
+  @Value("${elasticsearch.hosts:}")
+  private String hosts;
+
+  // Upper bound for reusing an idle connection; below typical LB/NAT idle cut-offs
+  @Value("${elasticsearch.keep-alive-ms:60000}")
+  private long keepAliveMs;
+
+  private final Environment environment;
+
+  public ElasticsearchConfig(Environment environment) {
+    this.environment = environment;
+  }
+
+  private enum Pool {
+    SEARCH(100, 50, 1000, 10000, 1000, false),
+    BULK(20, 10, 2000, 60000, 30000, true);
+
+    private final int maxConnections;
+    private final int maxConnectionsPerRoute;
+    private final int connectTimeoutMs;
+    private final int socketTimeoutMs;
+    private final int connectionRequestTimeoutMs;
+    private final boolean compression;
+
+    Pool(int maxConnections, int maxConnectionsPerRoute, int connectTimeoutMs,
+        int socketTimeoutMs, int connectionRequestTimeoutMs, boolean compression) {
+      this.maxConnections = maxConnections;
+      this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      this.connectTimeoutMs = connectTimeoutMs;
+      this.socketTimeoutMs = socketTimeoutMs;
+      this.connectionRequestTimeoutMs = connectionRequestTimeoutMs;
+      this.compression = compression;
+    }
+
+    String propertyName() {
+      return name().toLowerCase();
+    }
+  }
+
+  @Bean
+  @Primary
+  public RestClient restClient(ElasticsearchNodeHealth nodeHealth) {
+    return buildRestClient(Pool.SEARCH, nodeHealth);
+  }
+
   @Bean
-  public RestClient restClient() {
-    return RestClient.builder(
-        new HttpHost(host, port, scheme)
-    ).build();
+  public RestClient bulkRestClient(ElasticsearchNodeHealth nodeHealth) {
+    return buildRestClient(Pool.BULK, nodeHealth);
   }
 
   @Bean
+  @Primary
   public ElasticsearchTransport elasticsearchTransport(RestClient restClient,
       ObjectMapper objectMapper) {
     JacksonJsonpMapper jsonpMapper = new JacksonJsonpMapper(objectMapper);
@@ -38,7 +103,76 @@ public class ElasticsearchConfig {
   }
 
   @Bean
+  public ElasticsearchTransport bulkElasticsearchTransport(
+      @Qualifier("bulkRestClient") RestClient bulkRestClient, ObjectMapper objectMapper) {
+    JacksonJsonpMapper jsonpMapper = new JacksonJsonpMapper(objectMapper);
+    return new RestClientTransport(bulkRestClient, jsonpMapper);
+  }
+
+  @Bean
+  @Primary
   public ElasticsearchClient elasticsearchClient(ElasticsearchTransport transport) {
     return new ElasticsearchClient(transport);
   }
-} 
\ No newline at end of file
+
+  @Bean(BULK_CLIENT)
+  public ElasticsearchClient bulkElasticsearchClient(
+      @Qualifier("bulkElasticsearchTransport") ElasticsearchTransport transport) {
+    return new ElasticsearchClient(transport);
+  }
+
+  private RestClient buildRestClient(Pool pool, ElasticsearchNodeHealth nodeHealth) {
+    String prefix = "elasticsearch." + pool.propertyName();
+    int maxConnections = environment.getProperty(prefix + ".max-connections", Integer.class,
+        pool.maxConnections);
+    int maxConnectionsPerRoute = environment.getProperty(prefix + ".max-connections-per-route",
+        Integer.class, pool.maxConnectionsPerRoute);
+    int connectTimeoutMs = environment.getProperty(prefix + ".connect-timeout-ms", Integer.class,
+        pool.connectTimeoutMs);
+    int socketTimeoutMs = environment.getProperty(prefix + ".socket-timeout-ms", Integer.class,
+        pool.socketTimeoutMs);
+    int connectionRequestTimeoutMs = environment.getProperty(
+        prefix + ".connection-request-timeout-ms", Integer.class,
+        pool.connectionRequestTimeoutMs);
+    boolean compression = environment.getProperty(prefix + ".compression", Boolean.class,
+        pool.compression);
+
+    List<HttpHost> nodes = resolveHosts();
+    log.info("Elasticsearch {} client initialised: nodes={}, maxConnections={}, "
+            + "maxConnectionsPerRoute={}, connectTimeoutMs={}, socketTimeoutMs={}, "
+            + "connectionRequestTimeoutMs={}, compression={}", pool, nodes, maxConnections,
+        maxConnectionsPerRoute, connectTimeoutMs, socketTimeoutMs, connectionRequestTimeoutMs,
+        compression);
+
+    return RestClient.builder(nodes.toArray(new HttpHost[0]))
+        .setFailureListener(nodeHealth.register(pool.propertyName(), nodes))
+        .setCompressionEnabled(compression)
+        .setRequestConfigCallback(requestConfig -> requestConfig
+            .setConnectTimeout(connectTimeoutMs)
+            .setSocketTimeout(socketTimeoutMs)
+            .setConnectionRequestTimeout(connectionRequestTimeoutMs))
+        .setHttpClientConfigCallback(httpClient -> httpClient
+            .setMaxConnTotal(maxConnections)
+            .setMaxConnPerRoute(maxConnectionsPerRoute)
+            .setKeepAliveStrategy((response, context) -> {
+              long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                  .getKeepAliveDuration(response, context);
+              return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMs) : keepAliveMs;
+            })
+            .setDefaultIOReactorConfig(IOReactorConfig.custom().setSoKeepAlive(true).build()))
+        .build();
+  }
+
+  private List<HttpHost> resolveHosts() {
+    List<HttpHost> nodes = new ArrayList<>();
+    for (String url : hosts.split(",")) {
+      if (!url.trim().isEmpty()) {
+        nodes.add(HttpHost.create(url.trim()));
+      }
+    }
+    if (nodes.isEmpty()) {
+      nodes.add(new HttpHost(host, port, scheme));
+    }
+    return nodes;
+  }
+}
@@ -0,0 +1,68 @@
+package com.tymbl.config;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.Node;
+import org.elasticsearch.client.RestClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * Failure counters per Elasticsearch client and node. The low-level RestClient already takes a
+ * failing node out of rotation and retries it with backoff; this records those events so they
+ * show up in /api/v1/health/elasticsearch instead of only as request errors.
+ */
+@Slf4j
+@Component
+public class ElasticsearchNodeHealth {
+
+  private final ConcurrentMap<String, ConcurrentMap<String, NodeStats>> clients =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Registers a client's nodes and returns the listener to install on its builder
+   */
+  RestClient.FailureListener register(String clientName, List<HttpHost> hosts) {
+    ConcurrentMap<String, NodeStats> nodes = clients.computeIfAbsent(clientName,
+        name -> new ConcurrentHashMap<>());
+    hosts.forEach(host -> nodes.putIfAbsent(host.toURI(), new NodeStats()));
+
+    return new RestClient.FailureListener() {
+      @Override
+      public void onFailure(Node node) {
+        NodeStats stats = nodes.computeIfAbsent(node.getHost().toURI(), uri -> new NodeStats());
+        long failures = stats.failures.incrementAndGet();
+        stats.lastFailureAt = Instant.now();
+        log.warn("Elasticsearch {} client marked node {} dead (failures so far: {})", clientName,
+            node.getHost(), failures);
+      }
+    };
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    clients.forEach((clientName, nodes) -> {
+      Map<String, Object> nodeStats = new LinkedHashMap<>();
+      nodes.forEach((uri, node) -> {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("failures", node.failures.get());
+        entry.put("lastFailureAt", node.lastFailureAt);
+        nodeStats.put(uri, entry);
+      });
+      stats.put(clientName, nodeStats);
+    });
+    return stats;
+  }
+
+  private static final class NodeStats {
+
+    private final AtomicLong failures = new AtomicLong();
+    private volatile Instant lastFailureAt;
+  }
+}
@@ -0,0 +1,31 @@
+package com.tymbl.config;
+
+import com.tymbl.common.jdbc.InstrumentedDataSource;
+import com.tymbl.common.jdbc.QueryBudget;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryInstrumentationConfig {
+
+  // Static so the post-processor is registered without initialising this configuration early
+  @Bean
+  public static BeanPostProcessor queryBudgetDataSourcePostProcessor(
+      ObjectProvider<QueryBudget> queryBudget) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof InstrumentedDataSource)) {
+          QueryBudget budget = queryBudget.getObject();
+          if (budget.isEnabled()) {
+            return new InstrumentedDataSource((DataSource) bean, budget);
+          }
+        }
+        return bean;
+      }
+    };
+  }
+}
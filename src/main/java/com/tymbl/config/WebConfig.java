@@ -1,19 +1,27 @@
 package com.tymbl.config;
 
 import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class WebConfig {
 
+  // Without a read timeout a hung peer (FCM, job portals) holds the calling thread forever
   @Bean
   @Primary
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(
+      @Value("${app.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+      @Value("${app.http.read-timeout-ms:60000}") int readTimeoutMs) {
+    SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+    factory.setConnectTimeout(connectTimeoutMs);
+    factory.setReadTimeout(readTimeoutMs);
+    return new RestTemplate(factory);
   }
 
   @Bean("taskExecutor")
@@ -0,0 +1,16 @@
+package com.tymbl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown without calling an outbound dependency whose circuit is open or whose concurrency limit
+ * is used up (see {@link com.tymbl.common.service.DependencyGuard})
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DependencyUnavailableException extends RuntimeException {
+
+  public DependencyUnavailableException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,12 @@
+package com.tymbl.exception;
+
+/**
+ * Thrown before running a SQL statement that takes a request or scheduled job past its statement
+ * budget, when {@code app.query-budget.mode=FAIL} (see {@link com.tymbl.common.jdbc.QueryBudget})
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+  public QueryBudgetExceededException(String message) {
+    super(message);
+  }
+}
@@ -1,9 +1,11 @@
 package com.tymbl.interview.controller;
 
+import com.tymbl.common.service.ExecutorRegistry;
 import com.tymbl.interview.dto.DesignationSkillDTO;
 import com.tymbl.interview.dto.QuestionGenerationRequestDTO;
 import com.tymbl.interview.entity.QuestionGenerationQueue;
 import com.tymbl.interview.service.InterviewPreparationService;
+import com.tymbl.interview.service.QuestionGenerationWorkerPool;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,7 +13,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +35,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class InterviewGenerationController {
 
   private final InterviewPreparationService interviewPreparationService;
+  private final QuestionGenerationWorkerPool questionGenerationWorkerPool;
+  private final ExecutorRegistry executorRegistry;
 
   @Autowired
   private Environment environment;
@@ -134,16 +138,23 @@ public class InterviewGenerationController {
     log.info("Requesting question generation: {}", request);
 
     Long queueId = interviewPreparationService.requestQuestionGeneration(request);
+    QuestionGenerationQueue queueEntry = interviewPreparationService.getQueueEntryById(queueId);
 
     Map<String, Object> response = new HashMap<>();
     response.put("queue_id", queueId);
-    response.put("status", "PENDING");
+    response.put("status", queueEntry.getStatus());
     response.put("message",
         "Question generation request submitted successfully. Use the queue ID to check status.");
 
     return ResponseEntity.ok(response);
   }
 
+  @GetMapping("/questions/generation/queue/status")
+  @Operation(summary = "Get generation worker status", description = "Get queue depth by status and worker pool utilisation")
+  public ResponseEntity<Map<String, Object>> getQueueStatus() {
+    return ResponseEntity.ok(questionGenerationWorkerPool.getStatus());
+  }
+
   @GetMapping("/questions/generation/queue/{queueId}")
   @Operation(summary = "Check generation status", description = "Check the status of a question generation request")
   public ResponseEntity<QuestionGenerationQueue> getQueueEntryById(
@@ -200,12 +211,12 @@ public class InterviewGenerationController {
         }
       }
       if (isProd) {
-        // Multithreading: process up to 10 topics in parallel
-        ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(10);
+        // Process up to 10 topics in parallel on the shared AI pool
+        Executor executor = executorRegistry.limited(ExecutorRegistry.Workload.AI_FANOUT, 10);
         List<java.util.concurrent.Future<Map<String, Object>>> futures = new ArrayList<>();
         // This part of the code was not provided in the original file, so it's commented out.
         // for (SkillTopic topic : topics) {
-        //     futures.add(executor.submit(() -> generateQuestionsForSkillAndTopicInternal(skill, topic, numQuestions)));
+        //     futures.add(CompletableFuture.supplyAsync(() -> generateQuestionsForSkillAndTopicInternal(skill, topic, numQuestions), executor));
         // }
         for (java.util.concurrent.Future<Map<String, Object>> future : futures) {
           try {
@@ -216,7 +227,6 @@ public class InterviewGenerationController {
             log.error("Error processing topic in parallel", e);
           }
         }
-        executor.shutdown();
       } else {
         // Sequential processing for local/dev
         // This part of the code was not provided in the original file, so it's commented out.
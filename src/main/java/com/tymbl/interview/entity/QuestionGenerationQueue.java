@@ -53,6 +53,23 @@ public class QuestionGenerationQueue {
   @Column(name = "error_message", columnDefinition = "TEXT")
   private String errorMessage;
 
+  // Identical pending/in-progress requests share one queue entry
+  @Column(name = "dedupe_key", length = 512)
+  private String dedupeKey;
+
+  @Column(name = "attempts")
+  private Integer attempts;
+
+  @Column(name = "next_attempt_at")
+  private LocalDateTime nextAttemptAt;
+
+  // Worker holding the entry; the lease expiring makes it claimable again after a crash/restart
+  @Column(name = "lease_owner", length = 64)
+  private String leaseOwner;
+
+  @Column(name = "lease_expires_at")
+  private LocalDateTime leaseExpiresAt;
+
   @Column(name = "created_at")
   private LocalDateTime createdAt;
 
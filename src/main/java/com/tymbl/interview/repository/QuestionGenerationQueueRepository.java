@@ -1,9 +1,15 @@
 package com.tymbl.interview.repository;
 
 import com.tymbl.interview.entity.QuestionGenerationQueue;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -23,4 +29,35 @@ public interface QuestionGenerationQueueRepository extends
 
   @Query("SELECT q FROM QuestionGenerationQueue q WHERE q.status = 'IN_PROGRESS' ORDER BY q.updatedAt ASC")
   List<QuestionGenerationQueue> findInProgressRequests();
-} 
\ No newline at end of file
+
+  Optional<QuestionGenerationQueue> findFirstByDedupeKeyAndStatusInOrderByIdAsc(String dedupeKey,
+      Collection<QuestionGenerationQueue.Status> statuses);
+
+  long countByStatus(QuestionGenerationQueue.Status status);
+
+  // Entries ready to run: pending and due, or in progress with an expired lease
+  @Query("SELECT q.id FROM QuestionGenerationQueue q WHERE "
+      + "(q.status = 'PENDING' AND (q.nextAttemptAt IS NULL OR q.nextAttemptAt <= :now)) "
+      + "OR (q.status = 'IN_PROGRESS' AND q.leaseExpiresAt < :now) "
+      + "ORDER BY q.createdAt ASC")
+  List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+  // Compare-and-set claim; only one worker sees an update count of 1
+  @Modifying
+  @Query("UPDATE QuestionGenerationQueue q SET q.status = 'IN_PROGRESS', q.leaseOwner = :owner, "
+      + "q.leaseExpiresAt = :leaseExpiresAt, q.attempts = COALESCE(q.attempts, 0) + 1, q.updatedAt = :now "
+      + "WHERE q.id = :id AND ((q.status = 'PENDING' AND (q.nextAttemptAt IS NULL OR q.nextAttemptAt <= :now)) "
+      + "OR (q.status = 'IN_PROGRESS' AND q.leaseExpiresAt < :now))")
+  int claim(@Param("id") Long id, @Param("owner") String owner,
+      @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt, @Param("now") LocalDateTime now);
+
+  // Releases a lease held by owner; a worker whose lease was taken over cannot overwrite the result
+  @Modifying
+  @Query("UPDATE QuestionGenerationQueue q SET q.status = :status, q.errorMessage = :errorMessage, "
+      + "q.nextAttemptAt = :nextAttemptAt, q.leaseOwner = NULL, q.leaseExpiresAt = NULL, q.updatedAt = :now "
+      + "WHERE q.id = :id AND q.leaseOwner = :owner")
+  int release(@Param("id") Long id, @Param("owner") String owner,
+      @Param("status") QuestionGenerationQueue.Status status,
+      @Param("errorMessage") String errorMessage,
+      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("now") LocalDateTime now);
+}
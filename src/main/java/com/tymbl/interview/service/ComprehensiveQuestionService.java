@@ -4,6 +4,7 @@ import com.tymbl.common.entity.Designation;
 import com.tymbl.common.entity.Skill;
 import com.tymbl.common.repository.DesignationRepository;
 import com.tymbl.common.repository.SkillRepository;
+import com.tymbl.common.service.ExecutorRegistry;
 import com.tymbl.common.service.GeminiService;
 import com.tymbl.interview.entity.DesignationSkillQuestionMapping;
 import com.tymbl.interview.entity.InterviewQuestion;
@@ -15,8 +16,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +33,7 @@ public class ComprehensiveQuestionService {
   private final InterviewQuestionRepository interviewQuestionRepository;
   private final DesignationSkillQuestionMappingRepository mappingRepository;
   private final GeminiService geminiService;
+  private final ExecutorRegistry executorRegistry;
 
   @Transactional
   public Map<String, Object> generateQuestionsForAllSkills() {
@@ -47,46 +48,40 @@ public class ComprehensiveQuestionService {
     List<Skill> skills = skillRepository.findByEnabledTrueOrderByUsageCountDescNameAsc();
     log.info("📋 Found {} enabled skills to process", skills.size());
 
-    // Create a fixed thread pool with 10 threads for parallel processing
-    ExecutorService executor = Executors.newFixedThreadPool(10);
-
-    try {
-      // Process skills in parallel using CompletableFuture
-      List<CompletableFuture<Map<String, Object>>> futures = skills.stream()
-          .map(skill -> CompletableFuture.supplyAsync(() -> {
-            try {
-              log.info("🔄 Processing skill: {} (ID: {})", skill.getName(), skill.getId());
-              return generateQuestionsForSkill(skill);
-            } catch (Exception e) {
-              log.error("Error processing skill: {}", skill.getName(), e);
-              Map<String, Object> errorResult = new HashMap<>();
-              errorResult.put("skill_name", skill.getName());
-              errorResult.put("skill_id", skill.getId());
-              errorResult.put("error", e.getMessage());
-              errorResult.put("questions_generated", 0);
-              return errorResult;
-            }
-          }, executor))
-          .collect(Collectors.toList());
+    // At most 10 skills in flight for this run, on the shared AI pool
+    Executor executor = executorRegistry.limited(ExecutorRegistry.Workload.AI_FANOUT, 10);
+
+    // Process skills in parallel using CompletableFuture
+    List<CompletableFuture<Map<String, Object>>> futures = skills.stream()
+        .map(skill -> CompletableFuture.supplyAsync(() -> {
+          try {
+            log.info("🔄 Processing skill: {} (ID: {})", skill.getName(), skill.getId());
+            return generateQuestionsForSkill(skill);
+          } catch (Exception e) {
+            log.error("Error processing skill: {}", skill.getName(), e);
+            Map<String, Object> errorResult = new HashMap<>();
+            errorResult.put("skill_name", skill.getName());
+            errorResult.put("skill_id", skill.getId());
+            errorResult.put("error", e.getMessage());
+            errorResult.put("questions_generated", 0);
+            return errorResult;
+          }
+        }, executor))
+        .collect(Collectors.toList());
 
-      // Wait for all futures to complete and collect results
-      for (CompletableFuture<Map<String, Object>> future : futures) {
-        try {
-          Map<String, Object> skillResult = future.get();
-          skillResults.add(skillResult);
+    // Wait for all futures to complete and collect results
+    for (CompletableFuture<Map<String, Object>> future : futures) {
+      try {
+        Map<String, Object> skillResult = future.get();
+        skillResults.add(skillResult);
 
-          int questionsGenerated = (Integer) skillResult.get("questions_generated");
-          totalQuestionsGenerated += questionsGenerated;
-          totalSkillsProcessed++;
+        int questionsGenerated = (Integer) skillResult.get("questions_generated");
+        totalQuestionsGenerated += questionsGenerated;
+        totalSkillsProcessed++;
 
-        } catch (Exception e) {
-          log.error("Error waiting for skill processing to complete", e);
-        }
+      } catch (Exception e) {
+        log.error("Error waiting for skill processing to complete", e);
       }
-
-    } finally {
-      // Shutdown the executor
-      executor.shutdown();
     }
 
     result.put("total_skills_processed", totalSkillsProcessed);
@@ -18,15 +18,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +43,9 @@ public class InterviewPreparationService {
   private final DesignationRepository designationRepository;
   private final GeminiService geminiService;
 
+  private static final List<QuestionGenerationQueue.Status> ACTIVE_QUEUE_STATUSES = Arrays.asList(
+      QuestionGenerationQueue.Status.PENDING, QuestionGenerationQueue.Status.IN_PROGRESS);
+
   // Topic Management
   public List<DesignationSkillDTO> getTopicsByDesignation(String designation) {
     log.info("Fetching topics for designation: {}", designation);
@@ -169,6 +173,17 @@ public class InterviewPreparationService {
         request.getRequestType().toUpperCase());
     QuestionGenerationQueue.DifficultyLevel difficultyLevel = QuestionGenerationQueue.DifficultyLevel.valueOf(
         request.getDifficultyLevel().toUpperCase());
+    int numQuestions = request.getNumQuestions() != null ? request.getNumQuestions() : 5;
+
+    String dedupeKey = buildDedupeKey(requestType, request.getDesignation(),
+        request.getCompanyName(), request.getTopicName(), difficultyLevel, numQuestions);
+    Optional<QuestionGenerationQueue> existing = questionGenerationQueueRepository
+        .findFirstByDedupeKeyAndStatusInOrderByIdAsc(dedupeKey, ACTIVE_QUEUE_STATUSES);
+    if (existing.isPresent()) {
+      log.info("Identical question generation request already queued with ID: {}",
+          existing.get().getId());
+      return existing.get().getId();
+    }
 
     QuestionGenerationQueue queueEntry = QuestionGenerationQueue.builder()
         .requestType(requestType)
@@ -176,70 +191,48 @@ public class InterviewPreparationService {
         .companyName(request.getCompanyName())
         .topicName(request.getTopicName())
         .difficultyLevel(difficultyLevel)
-        .numQuestions(request.getNumQuestions() != null ? request.getNumQuestions() : 5)
+        .numQuestions(numQuestions)
         .status(QuestionGenerationQueue.Status.PENDING)
+        .dedupeKey(dedupeKey)
+        .attempts(0)
         .createdAt(LocalDateTime.now())
         .updatedAt(LocalDateTime.now())
         .build();
 
+    // Picked up by QuestionGenerationWorkerPool
     QuestionGenerationQueue saved = questionGenerationQueueRepository.save(queueEntry);
     log.info("Created question generation request with ID: {}", saved.getId());
 
-    // Trigger async generation
-    generateQuestionsAsync(saved.getId());
-
     return saved.getId();
   }
 
-  @Async
-  @Transactional
-  public void generateQuestionsAsync(Long queueId) {
-    try {
-      log.info("Starting async question generation for queue ID: {}", queueId);
-
-      QuestionGenerationQueue queueEntry = questionGenerationQueueRepository.findById(queueId)
-          .orElseThrow(() -> new RuntimeException("Queue entry not found: " + queueId));
-
-      // Update status to IN_PROGRESS
-      queueEntry.setStatus(QuestionGenerationQueue.Status.IN_PROGRESS);
-      queueEntry.setUpdatedAt(LocalDateTime.now());
-      questionGenerationQueueRepository.save(queueEntry);
-
-      List<Map<String, Object>> generatedQuestions;
-
-      if (queueEntry.getRequestType() == QuestionGenerationQueue.RequestType.GENERAL) {
-        generatedQuestions = generateGeneralQuestions(queueEntry);
-      } else {
-        generatedQuestions = generateCompanySpecificQuestions(queueEntry);
-      }
-
-      // Save generated questions
-      saveGeneratedQuestions(queueEntry, generatedQuestions);
-
-      // Update status to COMPLETED
-      queueEntry.setStatus(QuestionGenerationQueue.Status.COMPLETED);
-      queueEntry.setUpdatedAt(LocalDateTime.now());
-      questionGenerationQueueRepository.save(queueEntry);
-
-      log.info("Successfully completed question generation for queue ID: {}", queueId);
+  private static String buildDedupeKey(QuestionGenerationQueue.RequestType requestType,
+      String designation, String companyName, String topicName,
+      QuestionGenerationQueue.DifficultyLevel difficultyLevel, int numQuestions) {
+    String key = String.join("|",
+        requestType.name(),
+        normalizeKeyPart(designation),
+        requestType == QuestionGenerationQueue.RequestType.COMPANY_SPECIFIC
+            ? normalizeKeyPart(companyName) : "",
+        normalizeKeyPart(topicName),
+        difficultyLevel.name(),
+        String.valueOf(numQuestions));
+    return key.length() > 512 ? key.substring(0, 512) : key;
+  }
 
-    } catch (Exception e) {
-      log.error("Error in async question generation for queue ID: {}", queueId, e);
+  private static String normalizeKeyPart(String value) {
+    return value == null ? "" : value.trim().toLowerCase();
+  }
 
-      // Update status to FAILED
-      try {
-        QuestionGenerationQueue queueEntry = questionGenerationQueueRepository.findById(queueId)
-            .orElse(null);
-        if (queueEntry != null) {
-          queueEntry.setStatus(QuestionGenerationQueue.Status.FAILED);
-          queueEntry.setErrorMessage(e.getMessage());
-          queueEntry.setUpdatedAt(LocalDateTime.now());
-          questionGenerationQueueRepository.save(queueEntry);
-        }
-      } catch (Exception updateError) {
-        log.error("Error updating queue status to FAILED for queue ID: {}", queueId, updateError);
-      }
+  /**
+   * Calls Gemini for every topic of a queue entry. Runs outside any transaction so no connection
+   * is held during the model calls.
+   */
+  public List<Map<String, Object>> generateQuestionsForEntry(QuestionGenerationQueue queueEntry) {
+    if (queueEntry.getRequestType() == QuestionGenerationQueue.RequestType.GENERAL) {
+      return generateGeneralQuestions(queueEntry);
     }
+    return generateCompanySpecificQuestions(queueEntry);
   }
 
   private List<Map<String, Object>> generateGeneralQuestions(QuestionGenerationQueue queueEntry) {
@@ -290,7 +283,8 @@ public class InterviewPreparationService {
     return allQuestions;
   }
 
-  private void saveGeneratedQuestions(QuestionGenerationQueue queueEntry,
+  @Transactional
+  public void saveGeneratedQuestions(QuestionGenerationQueue queueEntry,
       List<Map<String, Object>> questions) {
     LocalDateTime now = LocalDateTime.now();
 
@@ -345,6 +339,41 @@ public class InterviewPreparationService {
         .orElseThrow(() -> new RuntimeException("Queue entry not found: " + queueId));
   }
 
+  public List<Long> findClaimableQueueEntryIds(int limit) {
+    return questionGenerationQueueRepository.findClaimableIds(LocalDateTime.now(),
+        PageRequest.of(0, limit));
+  }
+
+  /**
+   * Claims a queue entry for the given worker; returns the entry if this worker won the claim
+   */
+  @Transactional
+  public Optional<QuestionGenerationQueue> claimQueueEntry(Long queueId, String owner,
+      long leaseMillis) {
+    LocalDateTime now = LocalDateTime.now();
+    int claimed = questionGenerationQueueRepository.claim(queueId, owner,
+        now.plusNanos(leaseMillis * 1_000_000L), now);
+    if (claimed == 0) {
+      return Optional.empty();
+    }
+    return questionGenerationQueueRepository.findById(queueId);
+  }
+
+  @Transactional
+  public boolean releaseQueueEntry(Long queueId, String owner, QuestionGenerationQueue.Status status,
+      String errorMessage, LocalDateTime nextAttemptAt) {
+    return questionGenerationQueueRepository.release(queueId, owner, status, errorMessage,
+        nextAttemptAt, LocalDateTime.now()) > 0;
+  }
+
+  public Map<String, Long> getQueueCounts() {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    for (QuestionGenerationQueue.Status status : QuestionGenerationQueue.Status.values()) {
+      counts.put(status.name(), questionGenerationQueueRepository.countByStatus(status));
+    }
+    return counts;
+  }
+
   // Statistics
   public Map<String, Object> getStatistics(String designation) {
     Map<String, Object> stats = new HashMap<>();
@@ -0,0 +1,200 @@
+package com.tymbl.interview.service;
+
+import com.tymbl.interview.entity.QuestionGenerationQueue;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Consumes {@code question_generation_queue} with a bounded pool of workers.
+ *
+ * <p>Entries are claimed with a compare-and-set update that stamps a lease owner and expiry, so
+ * several instances can poll the same table and an entry abandoned by a crashed or restarted
+ * worker becomes claimable again once its lease runs out. Failures are retried with exponential
+ * backoff until {@code maxAttempts} is reached.
+ */
+@Slf4j
+@Service
+public class QuestionGenerationWorkerPool {
+
+  private static final long BASE_RETRY_DELAY_MS = 30_000L;
+  private static final long MAX_RETRY_DELAY_MS = 30 * 60 * 1000L;
+  private static final int MAX_ERROR_LENGTH = 2000;
+
+  private final InterviewPreparationService interviewPreparationService;
+  private final int workerCount;
+  private final int maxAttempts;
+  private final long leaseMillis;
+
+  // Unique per process so leases from a previous run are never mistaken for our own
+  private final String workerId = "qgen-" + UUID.randomUUID().toString().substring(0, 8);
+  private final ThreadPoolExecutor executor;
+  private final Semaphore freeWorkers;
+
+  private final AtomicLong completedCount = new AtomicLong();
+  private final AtomicLong retriedCount = new AtomicLong();
+  private final AtomicLong failedCount = new AtomicLong();
+
+  public QuestionGenerationWorkerPool(InterviewPreparationService interviewPreparationService,
+      @Value("${interview.question-generation.workers:4}") int workerCount,
+      @Value("${interview.question-generation.max-attempts:5}") int maxAttempts,
+      @Value("${interview.question-generation.lease-minutes:30}") long leaseMinutes) {
+    this.interviewPreparationService = interviewPreparationService;
+    this.workerCount = Math.max(1, workerCount);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.leaseMillis = TimeUnit.MINUTES.toMillis(Math.max(1, leaseMinutes));
+    this.freeWorkers = new Semaphore(this.workerCount);
+
+    AtomicInteger threadIndex = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(this.workerCount, this.workerCount,
+        0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(this.workerCount),
+        r -> {
+          Thread thread = new Thread(r, "QuestionGen-" + threadIndex.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Claims as many due entries as there are idle workers
+   */
+  @Scheduled(initialDelay = 15000, fixedDelayString = "${interview.question-generation.poll-ms:5000}")
+  public void poll() {
+    int available = freeWorkers.availablePermits();
+    if (available == 0 || executor.isShutdown()) {
+      return;
+    }
+
+    List<Long> candidates;
+    try {
+      // Over-fetch so losing a few claims to other instances still fills the pool
+      candidates = interviewPreparationService.findClaimableQueueEntryIds(available * 2);
+    } catch (Exception e) {
+      log.error("Failed to poll question generation queue: {}", e.getMessage());
+      return;
+    }
+
+    for (Long queueId : candidates) {
+      if (!freeWorkers.tryAcquire()) {
+        break;
+      }
+      Optional<QuestionGenerationQueue> claimed;
+      try {
+        claimed = interviewPreparationService.claimQueueEntry(queueId, workerId, leaseMillis);
+      } catch (Exception e) {
+        freeWorkers.release();
+        log.error("Failed to claim question generation entry {}: {}", queueId, e.getMessage());
+        continue;
+      }
+      if (!claimed.isPresent()) {
+        freeWorkers.release();
+        continue;
+      }
+
+      QuestionGenerationQueue entry = claimed.get();
+      executor.execute(() -> {
+        try {
+          process(entry);
+        } finally {
+          freeWorkers.release();
+        }
+      });
+    }
+  }
+
+  private void process(QuestionGenerationQueue entry) {
+    Long queueId = entry.getId();
+    int attempt = entry.getAttempts() != null ? entry.getAttempts() : 1;
+    log.info("Worker {} generating questions for queue ID: {} (attempt {}/{})", workerId, queueId,
+        attempt, maxAttempts);
+
+    try {
+      List<Map<String, Object>> questions = interviewPreparationService.generateQuestionsForEntry(
+          entry);
+      interviewPreparationService.saveGeneratedQuestions(entry, questions);
+
+      if (interviewPreparationService.releaseQueueEntry(queueId, workerId,
+          QuestionGenerationQueue.Status.COMPLETED, null, null)) {
+        completedCount.incrementAndGet();
+        log.info("Completed question generation for queue ID: {} ({} questions)", queueId,
+            questions.size());
+      } else {
+        log.warn("Lease on queue ID: {} was lost before completion", queueId);
+      }
+
+    } catch (Exception e) {
+      String error = truncate(e.getMessage());
+      if (attempt < maxAttempts) {
+        long delay = Math.min(MAX_RETRY_DELAY_MS, BASE_RETRY_DELAY_MS << Math.min(attempt - 1, 16));
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plusNanos(delay * 1_000_000L);
+        releaseQuietly(queueId, QuestionGenerationQueue.Status.PENDING, error, nextAttemptAt);
+        retriedCount.incrementAndGet();
+        log.warn("Question generation failed for queue ID: {}, retrying at {}: {}", queueId,
+            nextAttemptAt, error);
+      } else {
+        releaseQuietly(queueId, QuestionGenerationQueue.Status.FAILED, error, null);
+        failedCount.incrementAndGet();
+        log.error("Question generation failed permanently for queue ID: {}", queueId, e);
+      }
+    }
+  }
+
+  private void releaseQuietly(Long queueId, QuestionGenerationQueue.Status status, String error,
+      LocalDateTime nextAttemptAt) {
+    try {
+      interviewPreparationService.releaseQueueEntry(queueId, workerId, status, error,
+          nextAttemptAt);
+    } catch (Exception e) {
+      // Lease expiry will hand the entry to another worker
+      log.error("Error updating queue status to {} for queue ID: {}", status, queueId, e);
+    }
+  }
+
+  private static String truncate(String message) {
+    if (message == null) {
+      return null;
+    }
+    return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+  }
+
+  public Map<String, Object> getStatus() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("worker_id", workerId);
+    status.put("workers", workerCount);
+    status.put("busy_workers", workerCount - freeWorkers.availablePermits());
+    status.put("max_attempts", maxAttempts);
+    status.put("completed_since_start", completedCount.get());
+    status.put("retried_since_start", retriedCount.get());
+    status.put("failed_since_start", failedCount.get());
+    status.put("queue", interviewPreparationService.getQueueCounts());
+    return status;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    // In-flight entries keep their lease and are reclaimed after it expires
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -22,6 +22,8 @@ public final class ElasticsearchConstants {
   public static final String FIELD_PRIMARY_INDUSTRY_NAME = "primaryIndustryName";
   public static final String FIELD_PRIMARY_INDUSTRY_NAME_KEYWORD = "primaryIndustryName.keyword";
   public static final String FIELD_SECONDARY_INDUSTRIES = "secondaryIndustries";
+  public static final String FIELD_SECONDARY_INDUSTRY_NAMES = "secondaryIndustryNames";
+  public static final String FIELD_SECONDARY_INDUSTRY_NAMES_KEYWORD = "secondaryIndustryNames.keyword";
   public static final String FIELD_COMPANY_ID = "companyId";
   public static final String FIELD_COMPANY_NAME = "companyName";
   public static final String FIELD_COMPANY_NAME_KEYWORD = "companyName.keyword";
@@ -30,6 +32,11 @@ public final class ElasticsearchConstants {
   public static final String FIELD_CITY_ID = "cityId";
   public static final String FIELD_COUNTRY_ID = "countryId";
   public static final String FIELD_DESIGNATION_ID = "designationId";
+  public static final String FIELD_SKILL_IDS = "skillIds";
+  public static final String FIELD_JOB_TYPE_KEYWORD = "jobType.keyword";
+  public static final String FIELD_MIN_EXPERIENCE = "minExperience";
+  public static final String FIELD_MAX_EXPERIENCE = "maxExperience";
+  public static final String FIELD_MIN_SALARY = "minSalary";
   public static final String FIELD_CREATED_AT = "createdAt";
   public static final String FIELD_UPDATED_AT = "updatedAt";
   public static final String FIELD_LOGO_URL = "logoUrl";
@@ -37,6 +44,9 @@ public final class ElasticsearchConstants {
   public static final String FIELD_CAREER_PAGE_URL = "careerPageUrl";
   public static final String FIELD_LINKEDIN_URL = "linkedinUrl";
   public static final String FIELD_HEADQUARTERS = "headquarters";
+  public static final String FIELD_HEADQUARTERS_KEYWORD = "headquarters.keyword";
+  public static final String FIELD_NAME_KEYWORD = "name.keyword";
+  public static final String FIELD_JOB_COUNT = "jobCount";
   public static final String FIELD_COMPANY_SIZE = "companySize";
   public static final String FIELD_SPECIALTIES = "specialties";
   public static final String FIELD_ABOUT_US = "aboutUs";
@@ -50,6 +60,10 @@ public final class ElasticsearchConstants {
   public static final String AGG_TOP_COMPANIES = "top_companies";
   public static final String AGG_COMPANY_DETAILS = "company_details";
   public static final String AGG_ALL_INDUSTRIES = "all_industries";
+  public static final String AGG_FACET_INDUSTRIES = "facet_industries";
+  public static final String AGG_FACET_SECONDARY_INDUSTRIES = "facet_secondary_industries";
+  public static final String AGG_FACET_HEADQUARTERS = "facet_headquarters";
+  public static final String AGG_FACET_VALUES = "values";
 
   // Sorting and pagination defaults
   public static final int DEFAULT_PAGE_SIZE = 20;
@@ -57,6 +71,8 @@ public final class ElasticsearchConstants {
   public static final int MAX_SEARCH_SIZE = 1000;
   public static final int MAX_AGGREGATION_SIZE = 1000;
   public static final int TOP_COMPANIES_LIMIT = 5;
+  public static final int FACET_SIZE = 50;
+  public static final int DEFAULT_FACET_SIZE = 10;
 
   // Query constants
   public static final String COUNT_FIELD = "_count";
@@ -2,7 +2,6 @@ package com.tymbl.jobs.controller;
 
 import com.tymbl.common.service.AIJobFetchingService;
 import com.tymbl.common.service.CompanyWebsiteService;
-import com.tymbl.jobs.dto.CompanyIndustryResponse;
 import com.tymbl.jobs.entity.Company;
 import com.tymbl.jobs.entity.CompanyContent;
 import com.tymbl.jobs.repository.CompanyContentRepository;
@@ -345,10 +344,7 @@ public class AICompanyController {
       }
 
       // Perform industry detection for all companies in batches
-      List<CompanyIndustryResponse> results = companyService.detectIndustriesForCompaniesInBatches();
-      Map<String, Object> result = new HashMap<>();
-      result.put("results", results);
-      result.put("count", results.size());
+      Map<String, Object> result = companyService.detectIndustriesForCompaniesInBatches();
 
       Map<String, Object> response = new HashMap<>();
       response.put("processed", true);
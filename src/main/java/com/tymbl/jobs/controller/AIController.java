@@ -1,7 +1,9 @@
 package com.tymbl.jobs.controller;
 
 
+import com.tymbl.common.entity.AiEnrichmentCheckpoint;
 import com.tymbl.common.service.AIJobFetchingService;
+import com.tymbl.common.service.AiBatchEnrichmentService;
 import com.tymbl.common.service.GeminiService;
 import com.tymbl.common.service.ProcessedNameService;
 import com.tymbl.jobs.service.AIJobService;
@@ -22,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -55,6 +58,7 @@ public class AIController {
   private final ProcessedNameService processedNameService;
   private final GeminiService geminiService;
   private final ElasticsearchIndexingService elasticsearchIndexingService;
+  private final AiBatchEnrichmentService aiBatchEnrichmentService;
 
   // ============================================================================
   // COMPANY CRAWLING ENDPOINTS (Legacy - kept for backward compatibility)
@@ -345,5 +349,34 @@ public class AIController {
     }
   }
 
+  // ============================================================================
+  // BATCHED ENRICHMENT CHECKPOINTS
+  // ============================================================================
+
+  @GetMapping("/enrichment/checkpoints")
+  @Operation(
+      summary = "Get batched AI enrichment progress",
+      description = "Returns the checkpoint of every batched enrichment task: last resolved id, status and enriched/failed/AI call/token counters"
+  )
+  public ResponseEntity<List<AiEnrichmentCheckpoint>> getEnrichmentCheckpoints() {
+    return ResponseEntity.ok(aiBatchEnrichmentService.getCheckpoints());
+  }
 
+  @DeleteMapping("/enrichment/checkpoints/{taskName}")
+  @Operation(
+      summary = "Reset a batched AI enrichment checkpoint",
+      description = "Forgets a task's progress so its next run starts from the first entity; refused while the task is running"
+  )
+  public ResponseEntity<Map<String, Object>> resetEnrichmentCheckpoint(
+      @PathVariable String taskName) {
+    Map<String, Object> response = new HashMap<>();
+    boolean reset = aiBatchEnrichmentService.resetCheckpoint(taskName);
+    response.put("success", reset);
+    response.put("taskName", taskName);
+    if (!reset) {
+      response.put("error", "No idle checkpoint for task " + taskName);
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+    return ResponseEntity.ok(response);
+  }
 } 
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.tymbl.jobs.controller;
 
 import com.tymbl.jobs.service.ExternalJobSyncService;
 import com.tymbl.jobs.service.ExternalJobSyncService.SyncResult;
+import com.tymbl.jobs.service.IngestionPipelineService;
 import com.tymbl.jobs.service.JobContentRefinementService;
 import com.tymbl.jobs.service.JobCrawlingService;
 import com.tymbl.jobs.service.JobService;
@@ -12,12 +13,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import javax.annotation.PostConstruct;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
@@ -39,7 +39,7 @@ public class AIJobController {
   private JobService jobService;
 
   @Autowired
-  private Executor taskExecutor;
+  private IngestionPipelineService ingestionPipelineService;
 
 
   @PostMapping("/crawl-all-active-keywords")
@@ -132,94 +132,9 @@ public class AIJobController {
     }
   }
 
-  /**
-   * PostConstruct method that runs all AI job processing methods in a continuous loop
-   * Each method runs independently in its own thread with a 1-hour sleep interval
-   */
-  //@PostConstruct
-  public void startContinuousProcessing() {
-    log.info("Starting continuous AI job processing loop");
-    
-    CompletableFuture.runAsync(() -> {
-      while (true) {
-        try {
-          log.info("Starting new cycle of AI job processing methods");
-          
-          // Execute all methods independently in parallel
-          CompletableFuture<Void> crawlFuture = CompletableFuture.runAsync(() -> {
-            try {
-              log.info("Executing crawlAllActiveKeywords");
-              jobCrawlingService.crawlAllActiveKeywords();
-              log.info("Completed crawlAllActiveKeywords");
-            } catch (Exception e) {
-              log.error("Error in crawlAllActiveKeywords: {}", e.getMessage(), e);
-            }
-          }, taskExecutor);
-
-          CompletableFuture<Void> processFuture = CompletableFuture.runAsync(() -> {
-            try {
-              log.info("Executing processPendingRawResponses");
-              jobCrawlingService.processPendingRawResponses();
-              log.info("Completed processPendingRawResponses");
-            } catch (Exception e) {
-              log.error("Error in processPendingRawResponses: {}", e.getMessage(), e);
-            }
-          }, taskExecutor);
-
-          CompletableFuture<Void> refineFuture = CompletableFuture.runAsync(() -> {
-            try {
-              log.info("Executing refineUnprocessedContent");
-              int processedCount = contentRefinementService.refineAllUnprocessedContent();
-              log.info("Completed refineUnprocessedContent, processed {} records", processedCount);
-            } catch (Exception e) {
-              log.error("Error in refineUnprocessedContent: {}", e.getMessage(), e);
-            }
-          }, taskExecutor);
-
-          CompletableFuture<Void> syncFuture = CompletableFuture.runAsync(() -> {
-            try {
-              log.info("Executing syncExternalJobs");
-              SyncResult result = externalJobSyncService.syncExternalJobsToJobTable();
-              log.info("Completed syncExternalJobs: {}", result.getMessage());
-            } catch (Exception e) {
-              log.error("Error in syncExternalJobs: {}", e.getMessage(), e);
-            }
-          }, taskExecutor);
-
-          CompletableFuture<Void> reindexFuture = CompletableFuture.runAsync(() -> {
-            try {
-              log.info("Executing reindexAllJobs");
-              jobService.reindexAllJobsToElasticsearch();
-              log.info("Completed reindexAllJobs");
-            } catch (Exception e) {
-              log.error("Error in reindexAllJobs: {}", e.getMessage(), e);
-            }
-          }, taskExecutor);
-
-
-          log.info("Completed cycle of AI job processing methods, sleeping for 1 hour");
-          
-          // Sleep for 1 hour before next cycle
-          Thread.sleep(60 * 60 * 1000); // 1 hour in milliseconds
-          
-        } catch (InterruptedException e) {
-          log.warn("Continuous processing loop interrupted: {}", e.getMessage());
-          Thread.currentThread().interrupt();
-          break;
-        } catch (Exception e) {
-          log.error("Unexpected error in continuous processing loop: {}", e.getMessage(), e);
-          try {
-            // Sleep for 1 hour even if there's an error, then continue
-            Thread.sleep(60 * 60 * 1000);
-          } catch (InterruptedException ie) {
-            log.warn("Sleep interrupted after error: {}", ie.getMessage());
-            Thread.currentThread().interrupt();
-            break;
-          }
-        }
-      }
-    }, taskExecutor);
-    
-    log.info("Continuous AI job processing loop started successfully");
+  @GetMapping("/pipeline/status")
+  @Operation(summary = "Ingestion pipeline status", description = "Per-stage backlog, lag and throughput of the continuous crawl, parse, refine, sync and index pipeline")
+  public ResponseEntity<Map<String, Object>> getPipelineStatus() {
+    return ResponseEntity.ok(ingestionPipelineService.getStatus());
   }
 }
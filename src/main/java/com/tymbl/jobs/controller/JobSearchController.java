@@ -51,7 +51,7 @@ public class JobSearchController {
   @PostMapping("/search")
   @Operation(
       summary = "Search jobs using Elasticsearch",
-      description = "Unified search endpoint that searches jobs using Elasticsearch. Supports keyword search, location filtering (by ID or name), experience filtering, company, designation, and pagination. City and country can be specified using either IDs (cityId, countryId) or names (cityName, countryName)."
+      description = "Unified search endpoint that searches jobs using Elasticsearch. Supports keyword search, location filtering (by ID or name), experience filtering, company, designation, skill, job type, and pagination. City and country can be specified using either IDs (cityId, countryId) or names (cityName, countryName). With includeFacets=true the response also carries facet counts for companies, cities, designations, skills, job types, experience and salary; each facet ignores its own filter so sibling values stay selectable."
   )
   @ApiResponses(value = {
       @ApiResponse(
@@ -83,6 +83,18 @@ public class JobSearchController {
                           "  \"page\": 0,\n" +
                           "  \"size\": 10\n" +
                           "}"
+                  ),
+                  @ExampleObject(
+                      name = "Search with facets",
+                      value = "{\n" +
+                          "  \"keywords\": [\"java\"],\n" +
+                          "  \"cityId\": 1,\n" +
+                          "  \"jobType\": \"HYBRID\",\n" +
+                          "  \"includeFacets\": true,\n" +
+                          "  \"facetSize\": 10,\n" +
+                          "  \"page\": 0,\n" +
+                          "  \"size\": 20\n" +
+                          "}"
                   )
               }
           )
@@ -34,7 +34,7 @@ public class ListOfCompaniesController {
   @GetMapping("/search")
   @Operation(
       summary = "Search companies with filters",
-      description = "Search companies by location (headquarters), industry name, and secondary industry name. Results are sorted by job count (descending) and then by company name (ascending)."
+      description = "Search companies by location (headquarters), industry name, and secondary industry name. Results are sorted by job count (descending) and then by company name (ascending). The response carries facet counts for industries, secondary industries and headquarters under the current filters, and a nextCursor that fetches the following page when passed back as cursor."
   )
   @ApiResponses(value = {
       @ApiResponse(
@@ -76,7 +76,13 @@ public class ListOfCompaniesController {
                       "  \"total\": 2,\n" +
                       "  \"page\": 0,\n" +
                       "  \"size\": 10,\n" +
-                      "  \"totalPages\": 1\n" +
+                      "  \"totalPages\": 1,\n" +
+                      "  \"facets\": {\n" +
+                      "    \"industries\": [{\"name\": \"Information Technology & Services\", \"count\": 2}],\n" +
+                      "    \"secondaryIndustries\": [{\"name\": \"Software\", \"count\": 2}, {\"name\": \"Cloud\", \"count\": 2}],\n" +
+                      "    \"headquarters\": [{\"name\": \"Mountain View, CA\", \"count\": 1}, {\"name\": \"Redmond, WA\", \"count\": 1}]\n" +
+                      "  },\n" +
+                      "  \"nextCursor\": null\n" +
                       "}"
               )
           )
@@ -89,7 +95,8 @@ public class ListOfCompaniesController {
       @RequestParam(value = "industryName", required = false) String industryName,
       @RequestParam(value = "secondaryIndustryName", required = false) String secondaryIndustryName,
       @RequestParam(value = "page", defaultValue = "0") int page,
-      @RequestParam(value = "size", defaultValue = "10") int size) {
+      @RequestParam(value = "size", defaultValue = "10") int size,
+      @RequestParam(value = "cursor", required = false) String cursor) {
 
     try {
       // Validate parameters
@@ -104,7 +111,7 @@ public class ListOfCompaniesController {
 
       // All filters are optional, so we can proceed with the search
       Map<String, Object> result = elasticsearchIndexingService.searchCompanies(
-          location, industryName, secondaryIndustryName, page, size);
+          location, industryName, secondaryIndustryName, page, size, cursor);
 
       if (result.containsKey("error")) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
@@ -112,6 +119,8 @@ public class ListOfCompaniesController {
 
       return ResponseEntity.ok(result);
 
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
     } catch (Exception e) {
       log.error("Error searching companies", e);
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
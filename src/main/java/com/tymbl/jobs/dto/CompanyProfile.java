@@ -0,0 +1,42 @@
+package com.tymbl.jobs.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Company fields shown on listings and indexed into Elasticsearch. Excludes {@code crawledData}
+ * and the similar-company lists, which only the detail and crawl-processing paths load.
+ */
+public interface CompanyProfile extends CompanySummary {
+
+  String getDescription();
+
+  String getCareerPageUrl();
+
+  String getLinkedinUrl();
+
+  String getCompanySize();
+
+  String getSpecialties();
+
+  String getAboutUs();
+
+  String getVision();
+
+  String getMission();
+
+  String getCulture();
+
+  String getShortname();
+
+  boolean isCrawled();
+
+  boolean isSimilarCompaniesProcessed();
+
+  boolean isIndustryProcessed();
+
+  Integer getWebsiteFetched();
+
+  LocalDateTime getCreatedAt();
+
+  LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,22 @@
+package com.tymbl.jobs.dto;
+
+/**
+ * Lightweight company projection for listings, dropdown caches and lookups. Never selects the
+ * crawl text or similar-company columns.
+ */
+public interface CompanySummary {
+
+  Long getId();
+
+  String getName();
+
+  String getLogoUrl();
+
+  String getWebsite();
+
+  String getHeadquarters();
+
+  Long getPrimaryIndustryId();
+
+  String getSecondaryIndustries();
+}
@@ -21,6 +21,8 @@ public class JobSearchRequest {
   private String countryName; // Optional: country name to map to countryId
   private Long companyId; // Optional: filter by company
   private Long designationId; // Optional: filter by designation
+  private Long skillId; // Optional: filter by skill
+  private String jobType; // Optional: filter by job type (REMOTE_ONLY, WFO, HYBRID, ONSITE)
   @Min(0)
   private Integer minExperience;
   @Min(0)
@@ -31,4 +33,10 @@ public class JobSearchRequest {
   @Builder.Default
   @Min(1)
   private Integer size = 20;
+  // Optional: also return facet counts (company, city, designation, skill, job type,
+  // experience, salary) for building filter sidebars
+  @Builder.Default
+  private Boolean includeFacets = false;
+  @Min(1)
+  private Integer facetSize; // Optional: buckets per terms facet, capped at 50
 } 
\ No newline at end of file
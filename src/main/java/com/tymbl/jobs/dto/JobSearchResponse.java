@@ -28,6 +28,13 @@ public class JobSearchResponse {
    */
   private Map<Long, CompanyMetaData> companyMetaData;
 
+  /**
+   * Facet name (companies, cities, designations, skills, jobTypes, experience, salary) to its
+   * buckets; only present when the request asked for facets. Each facet is counted under every
+   * filter except its own, so its other values stay selectable.
+   */
+  private Map<String, List<FacetBucket>> facets;
+
   @Data
   @Builder
   @NoArgsConstructor
@@ -45,6 +52,17 @@ public class JobSearchResponse {
     private String careerPageUrl;
   }
 
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class FacetBucket {
+
+    private String key;
+    private String label;
+    private Long count;
+  }
+
   public Integer getTotalPages() {
     if (size == null || size == 0) {
       return 0;
@@ -0,0 +1,15 @@
+package com.tymbl.jobs.dto;
+
+/**
+ * Job identity and ownership without description, tags or skill collections
+ */
+public interface JobSummary {
+
+  Long getId();
+
+  String getTitle();
+
+  Long getCompanyId();
+
+  Long getPostedById();
+}
@@ -1,5 +1,7 @@
 package com.tymbl.jobs.entity;
 
+import com.tymbl.common.util.CompanyNameCleaner;
+import com.tymbl.jobs.dto.CompanyProfile;
 import java.time.LocalDateTime;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -7,6 +9,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 import lombok.Data;
 import org.hibernate.annotations.CreationTimestamp;
@@ -15,7 +18,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Entity
 @Data
 @Table(name = "companies")
-public class Company {
+public class Company implements CompanyProfile {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -88,6 +91,10 @@ public class Company {
   @Column(name = "short_name")
   private String shortname;
 
+  // Duplicate-detection key derived from name, see CompanyNameCleaner.normalizedKey
+  @Column(name = "normalized_name")
+  private String normalizedName;
+
   @Column(name = "website_fetched", nullable = false)
   private Integer websiteFetched = 0; // 0 = not tried, 1 = fetched, 2 = failed
 
@@ -100,5 +107,11 @@ public class Company {
   @PrePersist
   protected void onCreate() {
     updatedAt = LocalDateTime.now();
+    normalizedName = CompanyNameCleaner.normalizedKey(name);
+  }
+
+  @PreUpdate
+  protected void onUpdate() {
+    normalizedName = CompanyNameCleaner.normalizedKey(name);
   }
 } 
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.tymbl.jobs.entity;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+/**
+ * Watermark of an ingestion pipeline stage whose input has no status flag of its own: every row
+ * changed after ({@code watermarkAt}, {@code lastId}) is still to be processed.
+ */
+@Entity
+@Table(name = "ingestion_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionCheckpoint {
+
+  @Id
+  @Column(name = "stage", length = 32)
+  private String stage;
+
+  @Column(name = "watermark_at", nullable = false)
+  private LocalDateTime watermarkAt;
+
+  @Column(name = "last_id", nullable = false)
+  private Long lastId = 0L;
+
+  @UpdateTimestamp
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+}
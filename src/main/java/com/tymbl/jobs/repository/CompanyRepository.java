@@ -1,16 +1,67 @@
 package com.tymbl.jobs.repository;
 
+import com.tymbl.common.repository.KeysetRepository;
+import com.tymbl.jobs.dto.CompanyProfile;
+import com.tymbl.jobs.dto.CompanySummary;
 import com.tymbl.jobs.entity.Company;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Long> {
+public interface CompanyRepository extends JpaRepository<Company, Long>,
+    KeysetRepository<Company> {
+
+  String SUMMARY_COLUMNS = "c.id AS id, c.name AS name, c.logoUrl AS logoUrl, "
+      + "c.website AS website, c.headquarters AS headquarters, "
+      + "c.primaryIndustryId AS primaryIndustryId, c.secondaryIndustries AS secondaryIndustries";
+
+  String PROFILE_COLUMNS = SUMMARY_COLUMNS + ", c.description AS description, "
+      + "c.careerPageUrl AS careerPageUrl, c.linkedinUrl AS linkedinUrl, "
+      + "c.companySize AS companySize, c.specialties AS specialties, c.aboutUs AS aboutUs, "
+      + "c.vision AS vision, c.mission AS mission, c.culture AS culture, "
+      + "c.shortname AS shortname, c.isCrawled AS crawled, "
+      + "c.similarCompaniesProcessed AS similarCompaniesProcessed, "
+      + "c.industryProcessed AS industryProcessed, c.websiteFetched AS websiteFetched, "
+      + "c.createdAt AS createdAt, c.updatedAt AS updatedAt";
+
+  // Projections below never touch crawled_data or the similar-company columns
+  @Query("SELECT " + SUMMARY_COLUMNS + " FROM Company c ORDER BY c.id")
+  List<CompanySummary> findAllSummaries();
+
+  @Query("SELECT " + SUMMARY_COLUMNS + " FROM Company c WHERE c.id = :id")
+  Optional<CompanySummary> findSummaryById(@Param("id") Long id);
+
+  // Snapshot reconciliation: changed rows since the high-water mark, and the live id set
+  @Query("SELECT " + SUMMARY_COLUMNS + " FROM Company c WHERE c.updatedAt >= :since ORDER BY c.id")
+  List<CompanySummary> findSummariesUpdatedSince(@Param("since") LocalDateTime since);
+
+  @Query("SELECT MAX(c.updatedAt) FROM Company c")
+  LocalDateTime findMaxUpdatedAt();
+
+  @Query("SELECT c.id FROM Company c")
+  List<Long> findAllIds();
+
+  @Query(value = "SELECT " + PROFILE_COLUMNS + " FROM Company c",
+      countQuery = "SELECT COUNT(c) FROM Company c")
+  Page<CompanyProfile> findAllProfiles(Pageable pageable);
+
+  // Keyset variant of findAllProfiles for full scans
+  @Query("SELECT " + PROFILE_COLUMNS + " FROM Company c WHERE c.id > :afterId")
+  List<CompanyProfile> findProfilesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+  @Query("SELECT c.name FROM Company c WHERE c.id = :id")
+  Optional<String> findNameById(@Param("id") Long id);
+
+  @Query("SELECT c.id, c.name FROM Company c WHERE c.id IN :ids")
+  List<Object[]> findIdAndNameByIdIn(@Param("ids") Collection<Long> ids);
 
   Optional<Company> findByName(String name);
 
@@ -24,6 +75,8 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
 
   Page<Company> findByIsCrawledFalse(Pageable pageable);
 
+  List<Company> findByIsCrawledFalseAndIdGreaterThan(Long id, Pageable pageable);
+
   // Find all companies by primaryIndustryId
   List<Company> findByPrimaryIndustryId(Long primaryIndustryId);
 
@@ -43,6 +96,8 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
   // Find companies that haven't been processed for industry detection
   List<Company> findByIndustryProcessedFalse();
 
+  List<Company> findByIndustryProcessedFalseAndIdGreaterThan(Long id, Pageable pageable);
+
   // Find companies by shortname (for deduplication)
   List<Company> findByShortnameIgnoreCase(String shortname);
 
@@ -63,6 +118,8 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
   // Find companies that haven't been processed for website fetching with pagination
   Page<Company> findByWebsiteFetched(Integer status, Pageable pageable);
 
+  List<Company> findByWebsiteFetchedAndIdGreaterThan(Integer status, Long id, Pageable pageable);
+
   // Reset website fetched flag for all companies
   @Query("UPDATE Company c SET c.websiteFetched = 0")
   void resetWebsiteFetchedFlag();
@@ -73,4 +130,12 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
   // Count active jobs for a specific company
   @Query("SELECT COUNT(j) FROM Job j WHERE j.companyId = :companyId AND j.active = true")
   long countActiveJobsByCompanyId(Long companyId);
+
+  // Active job counts for many companies in one grouped query; companies with none are absent
+  @Query("SELECT j.companyId, COUNT(j) FROM Job j WHERE j.companyId IN :companyIds AND j.active = true GROUP BY j.companyId")
+  List<Object[]> countActiveJobsByCompanyIds(@Param("companyIds") Collection<Long> companyIds);
+
+  // Lowest company id per normalized name, for resolving import rows against existing companies
+  @Query("SELECT c.normalizedName, MIN(c.id) FROM Company c WHERE c.normalizedName IN :keys GROUP BY c.normalizedName")
+  List<Object[]> findIdsByNormalizedNameIn(@Param("keys") Collection<String> keys);
 } 
\ No newline at end of file
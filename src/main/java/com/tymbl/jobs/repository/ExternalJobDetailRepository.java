@@ -3,6 +3,7 @@ package com.tymbl.jobs.repository;
 import com.tymbl.jobs.entity.ExternalJobDetail;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -40,10 +41,23 @@ public interface ExternalJobDetailRepository extends JpaRepository<ExternalJobDe
   List<ExternalJobDetail> findByIsRefinedFalse();
 
   long countByIsRefinedTrue();
+
+  // Keyset page and lag of the refinement backlog, for the ingestion pipeline
+  List<ExternalJobDetail> findByIsRefinedFalseAndIdGreaterThan(Long id, Pageable pageable);
+
+  long countByIsRefinedFalse();
+
+  Optional<ExternalJobDetail> findFirstByIsRefinedFalseOrderByIdAsc();
   
   // Method for finding refined jobs that are not synced to job table
   List<ExternalJobDetail> findByIsRefinedTrueAndIsSyncedToJobTableFalse();
+
+  // Keyset page of the same rows, for walking the sync backlog in id order
+  List<ExternalJobDetail> findByIsRefinedTrueAndIsSyncedToJobTableFalseAndIdGreaterThan(Long id,
+      Pageable pageable);
   
   // Method for counting refined jobs that are not synced to job table
   long countByIsRefinedTrueAndIsSyncedToJobTableFalse();
+
+  Optional<ExternalJobDetail> findFirstByIsRefinedTrueAndIsSyncedToJobTableFalseOrderByIdAsc();
 }
@@ -2,6 +2,8 @@ package com.tymbl.jobs.repository;
 
 import com.tymbl.jobs.entity.ExternalJobRawResponse;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,6 +21,15 @@ public interface ExternalJobRawResponseRepository extends
   @Query("SELECT r FROM ExternalJobRawResponse r WHERE r.processingStatus = 'PENDING' ORDER BY r.createdAt ASC")
   List<ExternalJobRawResponse> findPendingResponses();
 
+  // Keyset page and lag of one status, for the ingestion pipeline
+  List<ExternalJobRawResponse> findByProcessingStatusAndIdGreaterThan(
+      ExternalJobRawResponse.ProcessingStatus status, Long id, Pageable pageable);
+
+  long countByProcessingStatus(ExternalJobRawResponse.ProcessingStatus status);
+
+  Optional<ExternalJobRawResponse> findFirstByProcessingStatusOrderByIdAsc(
+      ExternalJobRawResponse.ProcessingStatus status);
+
   @Query("SELECT r FROM ExternalJobRawResponse r WHERE r.portalName = :portalName AND r.keyword = :keyword ORDER BY r.createdAt DESC")
   List<ExternalJobRawResponse> findLatestResponsesByPortalAndKeyword(
       @Param("portalName") String portalName,
@@ -0,0 +1,10 @@
+package com.tymbl.jobs.repository;
+
+import com.tymbl.jobs.entity.IngestionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestionCheckpointRepository extends JpaRepository<IngestionCheckpoint, String> {
+
+}
@@ -24,4 +24,8 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
 
   @Query("SELECT COUNT(ja) FROM JobApplication ja WHERE ja.jobId = :jobId")
   int countByJobId(@Param("jobId") Long jobId);
+
+  // Rows of [jobId, applicationCount] for every job with applications, in one query
+  @Query("SELECT ja.jobId, COUNT(ja) FROM JobApplication ja GROUP BY ja.jobId")
+  List<Object[]> countApplicationsGroupedByJobId();
 } 
\ No newline at end of file
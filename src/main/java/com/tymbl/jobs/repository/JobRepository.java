@@ -1,7 +1,10 @@
 package com.tymbl.jobs.repository;
 
 import com.tymbl.common.entity.Job;
+import com.tymbl.jobs.dto.JobSummary;
 import com.tymbl.jobs.entity.Company;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -66,6 +69,9 @@ public interface JobRepository extends JpaRepository<Job, Long> {
 
   List<Job> findByPostedById(Long postedById);
 
+  @Query("SELECT j.id FROM Job j WHERE j.postedById = :postedById")
+  List<Long> findIdsByPostedById(@Param("postedById") Long postedById);
+
   Optional<Job> findByTitleAndCompanyId(String title, Long companyId);
 
   List<Job> findByCompanyIdAndPostedByIdAndActiveTrue(Long companyId, Long postedById);
@@ -120,9 +126,28 @@ public interface JobRepository extends JpaRepository<Job, Long> {
   @Query("SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.skillIds LEFT JOIN FETCH j.tags")
   List<Job> findAllWithCollections();
 
+  @Query("SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.skillIds LEFT JOIN FETCH j.tags "
+      + "WHERE j.id IN :ids")
+  List<Job> findAllWithCollectionsByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("SELECT DISTINCT j FROM Job j LEFT JOIN FETCH j.skillIds LEFT JOIN FETCH j.tags "
+      + "WHERE j.id = :id")
+  Optional<Job> findByIdWithCollections(@Param("id") Long id);
+
+  // (id, updatedAt) of jobs changed after the (since, afterId) watermark and up to :until, oldest
+  // change first; drives the incremental index stage of the ingestion pipeline
+  @Query("SELECT j.id, j.updatedAt FROM Job j WHERE j.updatedAt <= :until AND "
+      + "(j.updatedAt > :since OR (j.updatedAt = :since AND j.id > :afterId)) "
+      + "ORDER BY j.updatedAt ASC, j.id ASC")
+  List<Object[]> findChangedSince(@Param("since") LocalDateTime since,
+      @Param("afterId") Long afterId, @Param("until") LocalDateTime until, Pageable pageable);
+
+  long countByUpdatedAtAfter(LocalDateTime since);
+
   // Efficient query to get jobs that have applications
-  @Query("SELECT DISTINCT j FROM Job j WHERE EXISTS (SELECT 1 FROM JobApplication ja WHERE ja.jobId = j.id)")
-  List<Job> findJobsWithApplications();
+  @Query("SELECT j.id AS id, j.title AS title, j.companyId AS companyId, j.postedById AS postedById "
+      + "FROM Job j WHERE EXISTS (SELECT 1 FROM JobApplication ja WHERE ja.jobId = j.id)")
+  List<JobSummary> findJobsWithApplications();
 
   // Find existing jobs by designation, company, and location within last 30 days
   @Query("SELECT j FROM Job j WHERE j.designation = :designation AND j.company = :companyName AND j.cityName = :cityName AND j.createdAt >= :sinceDate AND j.active = true")
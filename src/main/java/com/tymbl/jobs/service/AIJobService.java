@@ -1,6 +1,7 @@
 package com.tymbl.jobs.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tymbl.common.entity.CacheChangeLog.EntityType;
 import com.tymbl.common.entity.Skill;
 import com.tymbl.common.entity.SkillTopic;
 import com.tymbl.common.repository.DesignationRepository;
@@ -8,7 +9,9 @@ import com.tymbl.common.repository.IndustryRepository;
 import com.tymbl.common.repository.SkillRepository;
 import com.tymbl.common.repository.SkillTopicRepository;
 import com.tymbl.common.service.AIJobFetchingService;
+import com.tymbl.common.service.CacheInvalidationBus;
 import com.tymbl.common.service.DropdownService;
+import com.tymbl.common.service.ExecutorRegistry;
 import com.tymbl.common.service.GeminiService;
 import com.tymbl.common.util.CompanyNameCleaner;
 import com.tymbl.common.util.DesignationNameCleaner;
@@ -28,8 +31,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -53,6 +56,8 @@ public class AIJobService {
   private final CompanyTransactionService companyTransactionService;
   private final AIJobFetchingService aiJobFetchingService;
   private final ExternalJobDetailRepository externalJobDetailRepository;
+  private final ExecutorRegistry executorRegistry;
+  private final CacheInvalidationBus invalidationBus;
 
   // ============================================================================
   // AI JOB FETCHING AND SAVING METHODS
@@ -525,6 +530,10 @@ public class AIJobService {
       }
     }
 
+    if (newSkillsAdded > 0) {
+      invalidationBus.publish(EntityType.SKILL, null);
+    }
+
     Map<String, Object> response = new HashMap<>();
     response.put("new_skills_added", newSkillsAdded);
     response.put("total_skills_generated", generatedSkills.size());
@@ -624,13 +633,13 @@ public class AIJobService {
     List<Map<String, Object>> results = new ArrayList<>();
     int totalQuestions = 0;
 
-    // Multithreading: process up to 10 topics in parallel
-    ExecutorService executor = Executors.newFixedThreadPool(10);
+    // Up to 10 topics in parallel on the shared AI pool
+    Executor executor = executorRegistry.limited(ExecutorRegistry.Workload.AI_FANOUT, 10);
     List<Future<Map<String, Object>>> futures = new ArrayList<>();
 
     for (SkillTopic topic : topics) {
-      futures.add(executor.submit(
-          () -> generateQuestionsForSkillAndTopicInternal(skill, topic, numQuestions)));
+      futures.add(CompletableFuture.supplyAsync(
+          () -> generateQuestionsForSkillAndTopicInternal(skill, topic, numQuestions), executor));
     }
 
     for (Future<Map<String, Object>> future : futures) {
@@ -643,8 +652,6 @@ public class AIJobService {
       }
     }
 
-    executor.shutdown();
-
     Map<String, Object> result = new HashMap<>();
     result.put("skill_name", skill.getName());
     result.put("topics_processed", results.size());
@@ -1,14 +1,13 @@
 package com.tymbl.jobs.service;
 
 import com.tymbl.common.util.CrawlingService;
+import com.tymbl.common.util.KeysetIterator;
 import com.tymbl.jobs.entity.Company;
 import com.tymbl.jobs.repository.CompanyContentRepository;
 import com.tymbl.jobs.repository.CompanyRepository;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -28,23 +27,16 @@ public class CompanyCrawlerService {
   public void crawlCompanies() {
     log.info("🚀 Starting company crawling process");
 
-    int pageNumber = 0;
-    boolean hasMoreCompanies = true;
+    int batchNumber = 0;
 
-    while (hasMoreCompanies) {
-      try {
-        Pageable pageable = PageRequest.of(pageNumber, BATCH_SIZE);
-        Page<Company> companyPage = companyRepository.findByIsCrawledFalse(pageable);
-        if (companyPage.isEmpty()) {
-          log.info("No more companies to crawl");
-          hasMoreCompanies = false;
-          break;
-        }
-
-        log.info("📦 Processing batch {} with {} companies", pageNumber + 1,
-            companyPage.getContent().size());
+    try {
+      // Keyset paging: crawled companies leave the filter, which made OFFSET pages skip rows
+      for (List<Company> batch : KeysetIterator.batches(
+          companyRepository::findByIsCrawledFalseAndIdGreaterThan, Company::getId, BATCH_SIZE)) {
+        batchNumber++;
+        log.info("📦 Processing batch {} with {} companies", batchNumber, batch.size());
 
-        for (Company company : companyPage.getContent()) {
+        for (Company company : batch) {
           try {
             companyTransactionService.processCompanyCrawlingInTransaction(company);
             // Add delay to avoid rate limiting
@@ -53,13 +45,10 @@ public class CompanyCrawlerService {
             log.error("Error processing company: " + company.getName(), e);
           }
         }
-
-        pageNumber++;
-
-      } catch (Exception e) {
-        log.error("Error processing batch {}", pageNumber + 1, e);
-        break;
       }
+      log.info("No more companies to crawl");
+    } catch (Exception e) {
+      log.error("Error processing batch {}", batchNumber + 1, e);
     }
 
     log.info("✅ Completed company crawling process");
@@ -73,26 +62,18 @@ public class CompanyCrawlerService {
   public void crawlCompaniesInBatches() {
     log.info("🚀 Starting company crawling process in batches");
 
-    int pageNumber = 0;
-    boolean hasMoreCompanies = true;
+    int batchNumber = 0;
     int totalProcessed = 0;
     int totalErrors = 0;
 
-    while (hasMoreCompanies) {
-      try {
-        Pageable pageable = PageRequest.of(pageNumber, BATCH_SIZE);
-        Page<Company> companyPage = companyRepository.findByIsCrawledFalse(pageable);
-        if (companyPage.isEmpty()) {
-          log.info("No more companies to crawl");
-          hasMoreCompanies = false;
-          break;
-        }
-
-        log.info("📦 Processing crawling batch {} with {} companies", pageNumber + 1,
-            companyPage.getContent().size());
+    try {
+      for (List<Company> batch : KeysetIterator.batches(
+          companyRepository::findByIsCrawledFalseAndIdGreaterThan, Company::getId, BATCH_SIZE)) {
+        batchNumber++;
+        log.info("📦 Processing crawling batch {} with {} companies", batchNumber, batch.size());
 
         // Process each company in the batch with its own transaction
-        for (Company company : companyPage.getContent()) {
+        for (Company company : batch) {
           try {
             companyTransactionService.processCompanyCrawlingInTransaction(company);
             totalProcessed++;
@@ -104,14 +85,11 @@ public class CompanyCrawlerService {
                 e);
           }
         }
-
-        pageNumber++;
-
-      } catch (Exception e) {
-        log.error("Error processing crawling batch {}", pageNumber + 1, e);
-        totalErrors++;
-        pageNumber++;
       }
+      log.info("No more companies to crawl");
+    } catch (Exception e) {
+      log.error("Error processing crawling batch {}", batchNumber + 1, e);
+      totalErrors++;
     }
 
     log.info("🎉 Completed company crawling in batches. Total processed: {}, Total errors: {}",
@@ -1,16 +1,24 @@
 package com.tymbl.jobs.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tymbl.common.entity.Industry;
 import com.tymbl.common.repository.IndustryRepository;
+import com.tymbl.common.service.AiBatchEnrichmentService;
+import com.tymbl.common.service.AiEnrichmentTask;
 import com.tymbl.common.service.DropdownService;
 import com.tymbl.common.service.GeminiService;
 import com.tymbl.jobs.dto.CompanyIndustryResponse;
 import com.tymbl.jobs.entity.Company;
 import com.tymbl.jobs.repository.CompanyRepository;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +31,7 @@ public class CompanyIndustryDetectionService {
   private final IndustryRepository industryRepository;
   private final GeminiService geminiService;
   private final DropdownService dropdownService;
+  private final AiBatchEnrichmentService aiBatchEnrichmentService;
 
   /**
    * Process industry detection for a single company in its own transaction
@@ -59,7 +68,7 @@ public class CompanyIndustryDetectionService {
         companyRepository.save(company);
 
         // Refresh company cache to ensure fresh data
-        dropdownService.refreshCompanyList();
+        dropdownService.refreshCompany(company.getId());
 
         response.setPrimaryIndustry(primaryIndustry);
         response.setPrimaryIndustryId(primaryIndustryId);
@@ -87,4 +96,112 @@ public class CompanyIndustryDetectionService {
         .map(industry -> industry.getId())
         .orElse(null);
   }
+
+  /**
+   * Detect industries for every unprocessed company, many companies per AI call (see
+   * {@link AiBatchEnrichmentService}); the company cache is refreshed once at the end
+   */
+  public Map<String, Object> detectIndustriesInBatches() {
+    Map<String, Object> result = aiBatchEnrichmentService.run(
+        new IndustryEnrichmentTask(industryRepository.findAll()));
+    dropdownService.refreshCompanyList();
+    return result;
+  }
+
+  /**
+   * Primary industry (one of ours) plus 2-6 secondary industries or tags per company. The industry
+   * list is read once per run; the prompt and the name lookup are built from it up front.
+   */
+  private class IndustryEnrichmentTask implements AiEnrichmentTask<Company> {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 600;
+
+    private final Map<String, Long> industryIds = new HashMap<>();
+    private final String instructions;
+
+    IndustryEnrichmentTask(List<Industry> industries) {
+      for (Industry industry : industries) {
+        industryIds.put(industry.getName().toLowerCase(Locale.ROOT), industry.getId());
+      }
+      this.instructions = buildInstructions(industries);
+    }
+
+    @Override
+    public String getName() {
+      return "company-industry";
+    }
+
+    @Override
+    public List<Company> fetchAfter(Long afterId, Pageable pageable) {
+      return companyRepository.findByIndustryProcessedFalseAndIdGreaterThan(afterId, pageable);
+    }
+
+    @Override
+    public Long idOf(Company company) {
+      return company.getId();
+    }
+
+    @Override
+    public String instructions() {
+      return instructions;
+    }
+
+    private String buildInstructions(List<Industry> industries) {
+      StringBuilder prompt = new StringBuilder();
+      prompt.append("Classify each company in the input by industry.\n");
+      prompt.append("primaryIndustry: exactly ONE industry from this list, copied verbatim, that ")
+          .append("best represents the company's main business:\n");
+      industries.forEach(industry ->
+          prompt.append("- ").append(industry.getName()).append("\n"));
+      prompt.append("secondaryIndustries: 2-6 items, each either another industry from the list ")
+          .append("or a company type tag such as Startup, Fortune 500, Unicorn, Product Based ")
+          .append("Company, Service Based Company, SaaS, B2B, B2C, Enterprise, SME, Public ")
+          .append("Company, Private Company, Remote First, Hybrid, Onsite.\n");
+      prompt.append("Use the company's name, description and specialties.");
+      return prompt.toString();
+    }
+
+    @Override
+    public Map<String, Object> describe(Company company) {
+      Map<String, Object> input = new LinkedHashMap<>();
+      input.put("name", company.getName());
+      String description = company.getDescription();
+      input.put("description", description != null && description.length() > MAX_DESCRIPTION_LENGTH
+          ? description.substring(0, MAX_DESCRIPTION_LENGTH) : description);
+      input.put("specialties", company.getSpecialties());
+      return input;
+    }
+
+    @Override
+    public Map<String, Object> resultProperties() {
+      Map<String, Object> properties = new LinkedHashMap<>();
+      properties.put("primaryIndustry",
+          AiBatchEnrichmentService.stringSchema("One industry from the list, verbatim"));
+      properties.put("secondaryIndustries",
+          AiBatchEnrichmentService.stringArraySchema("2-6 secondary industries or tags"));
+      return properties;
+    }
+
+    @Override
+    public boolean apply(Company company, JsonNode result) {
+      Long primaryIndustryId = industryIds.get(
+          result.path("primaryIndustry").asText("").trim().toLowerCase(Locale.ROOT));
+      List<String> secondaryIndustries = new ArrayList<>();
+      for (JsonNode item : result.path("secondaryIndustries")) {
+        String value = item.asText("").trim();
+        if (!value.isEmpty() && !secondaryIndustries.contains(value)) {
+          secondaryIndustries.add(value);
+        }
+      }
+      if (primaryIndustryId == null || secondaryIndustries.isEmpty()) {
+        return false;
+      }
+
+      company.setPrimaryIndustryId(primaryIndustryId);
+      company.setSecondaryIndustries(String.join(",", secondaryIndustries));
+      company.setIndustryProcessed(true);
+      companyRepository.save(company);
+      return true;
+    }
+  }
 } 
\ No newline at end of file
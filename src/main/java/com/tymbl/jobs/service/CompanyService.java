@@ -5,16 +5,17 @@ import com.tymbl.common.repository.IndustryRepository;
 import com.tymbl.common.service.DropdownService;
 import com.tymbl.common.service.GeminiService;
 import com.tymbl.common.util.CompanyNameCleaner;
-import com.tymbl.jobs.dto.CompanyIndustryResponse;
+import com.tymbl.jobs.dto.CompanyProfile;
 import com.tymbl.jobs.dto.CompanyRequest;
 import com.tymbl.jobs.dto.CompanyResponse;
+import com.tymbl.jobs.dto.CompanySummary;
 import com.tymbl.jobs.dto.JobResponse;
 import com.tymbl.jobs.entity.Company;
 import com.tymbl.jobs.exception.CompanyNotFoundException;
 import com.tymbl.jobs.repository.CompanyRepository;
 import com.tymbl.jobs.repository.JobRepository;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,7 +34,7 @@ public class CompanyService {
   private final GeminiService geminiService;
   private final IndustryRepository industryRepository;
   private final DropdownService dropdownService;
-  private final CompanyTransactionService companyTransactionService;
+  private final CompanyIndustryDetectionService companyIndustryDetectionService;
   private final ElasticsearchJobQueryService elasticsearchJobQueryService;
 
   private static final Long SUPER_ADMIN_ID = 0L;
@@ -66,7 +67,7 @@ public class CompanyService {
     company = companyRepository.save(company);
 
     // Refresh company cache to ensure fresh data
-    dropdownService.refreshCompanyList();
+    dropdownService.refreshCompany(company.getId());
 
     return mapToResponse(company);
   }
@@ -80,8 +81,8 @@ public class CompanyService {
   }
 
   public Page<CompanyResponse> getAllCompanies(Pageable pageable) {
-    // For pagination, we need to use repository directly
-    Page<Company> companies = companyRepository.findAll(pageable);
+    // For pagination, we need to use repository directly; the profile projection skips crawl text
+    Page<CompanyProfile> companies = companyRepository.findAllProfiles(pageable);
     if (companies.isEmpty()) {
       throw new CompanyNotFoundException("No companies found");
     }
@@ -120,7 +121,7 @@ public class CompanyService {
 
 
   @Transactional(readOnly = true)
-  public List<Company> getAllCompaniesForDropdown() {
+  public List<CompanySummary> getAllCompaniesForDropdown() {
     // Use cached data from DropdownService instead of direct database call
     return dropdownService.getAllCompanies();
   }
@@ -137,12 +138,12 @@ public class CompanyService {
   }
 
 
-  private CompanyResponse mapToResponse(Company company) {
+  private CompanyResponse mapToResponse(CompanyProfile company) {
     List<Job> jobs = jobRepository.findByCompanyId(company.getId());
     return mapToResponse(company, jobs);
   }
 
-  private CompanyResponse mapToResponse(Company company, List<Job> jobs) {
+  private CompanyResponse mapToResponse(CompanyProfile company, List<Job> jobs) {
     CompanyResponse response = new CompanyResponse();
     response.setId(company.getId());
     response.setName(company.getName());
@@ -274,56 +275,12 @@ public class CompanyService {
   }
 
   /**
-   * Detect industries for companies in batches with individual transactions per batch This ensures
-   * that each batch is processed in its own transaction
+   * Detect industries for all unprocessed companies; companies are sent to the AI in batches and
+   * each result is stored as it arrives
    */
-  public List<CompanyIndustryResponse> detectIndustriesForCompaniesInBatches() {
+  public Map<String, Object> detectIndustriesForCompaniesInBatches() {
     log.info("Starting industry detection for companies in batches");
-
-    // Only fetch companies that haven't been processed for industry detection
-    List<Company> companies = companyRepository.findByIndustryProcessedFalse();
-    List<CompanyIndustryResponse> results = new ArrayList<>();
-
-    int totalProcessed = 0;
-    int totalErrors = 0;
-    int batchSize = 10; // Process 10 companies at a time
-
-    for (int i = 0; i < companies.size(); i += batchSize) {
-      int endIndex = Math.min(i + batchSize, companies.size());
-      List<Company> batch = companies.subList(i, endIndex);
-
-      log.info("Processing industry detection batch {} with {} companies", (i / batchSize) + 1,
-          batch.size());
-
-      // Process each company in the batch with its own transaction
-      for (Company company : batch) {
-        try {
-          CompanyIndustryResponse response = companyTransactionService.processCompanyIndustryDetectionInTransaction(
-              company);
-          results.add(response);
-          totalProcessed++;
-          log.info("Successfully processed industry detection for company: {} (ID: {})",
-              company.getName(), company.getId());
-        } catch (Exception e) {
-          totalErrors++;
-          log.error("Error processing industry detection for company: {} (ID: {})",
-              company.getName(), company.getId(), e);
-
-          // Create error response
-          CompanyIndustryResponse errorResponse = CompanyIndustryResponse.builder()
-              .companyId(company.getId())
-              .companyName(company.getName())
-              .processed(false)
-              .error("Error processing company: " + e.getMessage())
-              .build();
-          results.add(errorResponse);
-        }
-      }
-    }
-
-    log.info("Completed industry detection in batches. Total processed: {}, Total errors: {}",
-        totalProcessed, totalErrors);
-    return results;
+    return companyIndustryDetectionService.detectIndustriesInBatches();
   }
 
 }
\ No newline at end of file
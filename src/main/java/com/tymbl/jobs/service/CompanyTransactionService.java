@@ -116,7 +116,7 @@ public class CompanyTransactionService {
         companyRepository.save(company);
 
         // Refresh company cache to ensure fresh data
-        dropdownService.refreshCompanyList();
+        dropdownService.refreshCompany(company.getId());
 
         response.setPrimaryIndustry(primaryIndustry);
         response.setPrimaryIndustryId(primaryIndustryId);
@@ -6,17 +6,26 @@ import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
 import com.tymbl.common.service.DropdownService;
+import com.tymbl.common.util.KeysetIterator;
+import com.tymbl.config.ElasticsearchConfig;
+import com.tymbl.jobs.constants.ElasticsearchConstants;
+import com.tymbl.jobs.dto.CompanyProfile;
 import com.tymbl.jobs.entity.Company;
 import com.tymbl.jobs.repository.CompanyRepository;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,12 +37,19 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ElasticsearchCompanyIndexingService {
 
+  @Qualifier(ElasticsearchConfig.BULK_CLIENT)
   private final ElasticsearchClient elasticsearchClient;
   private final CompanyRepository companyRepository;
   private final DropdownService dropdownService;
 
   private static final String COMPANIES_INDEX = "companies";
 
+  // Coalescing window for company jobCount updates
+  private static final long JOB_COUNT_FLUSH_INTERVAL_MS = 5000L;
+  private static final int JOB_COUNT_BATCH_SIZE = 1000;
+
+  private final Set<Long> dirtyJobCountCompanyIds = ConcurrentHashMap.newKeySet();
+
   /**
    * Index all companies to Elasticsearch
    */
@@ -46,30 +62,25 @@ public class ElasticsearchCompanyIndexingService {
       int totalSuccessCount = 0;
       int totalFailureCount = 0;
       int totalCompanies = 0;
-      int batchIndex = 0;
+      int batchIndex = -1;
 
       log.info("📦 Processing companies in batches of {} each", batchSize);
 
-      while (true) {
-        Pageable pageable = PageRequest.of(batchIndex, batchSize);
-        Page<Company> companyPage = companyRepository.findAll(pageable);
-
-        List<Company> batch = companyPage.getContent();
-
-        if (batch.isEmpty()) {
-          break; // No more companies to process
-        }
-
+      // Profile projection: crawl text is never indexed, so it is never read here either. Seeking
+      // by id keeps late batches as cheap as the first, where OFFSET rescanned every earlier row
+      for (List<CompanyProfile> batch : KeysetIterator.batches(
+          companyRepository::findProfilesAfter, CompanyProfile::getId, batchSize)) {
+        batchIndex++;
         totalCompanies += batch.size();
-        log.info("🔄 Processing batch {}: companies {} to {} (total processed: {})",
-            batchIndex + 1, (batchIndex * batchSize) + 1, (batchIndex * batchSize) + batch.size(),
+        log.info("🔄 Processing batch {}: company ids {} to {} (total processed: {})",
+            batchIndex + 1, batch.get(0).getId(), batch.get(batch.size() - 1).getId(),
             totalCompanies);
 
         BulkRequest.Builder bulkRequest = new BulkRequest.Builder();
         log.info("🏗️ Building bulk request for batch {} with {} companies", batchIndex + 1,
             batch.size());
 
-        for (Company company : batch) {
+        for (CompanyProfile company : batch) {
           log.info("📄 Building document for company: {} (ID: {})", company.getName(),
               company.getId());
           Map<String, Object> companyDoc = buildCompanyDocument(company);
@@ -112,13 +123,6 @@ public class ElasticsearchCompanyIndexingService {
 
         log.info("📦 Batch {} completed - Success: {}, Failures: {}", batchIndex + 1,
             batchSuccessCount, batchFailureCount);
-
-        // Check if this was the last page
-        if (!companyPage.hasNext()) {
-          break;
-        }
-
-        batchIndex++;
       }
 
       int totalBatches = batchIndex + 1;
@@ -179,10 +183,36 @@ public class ElasticsearchCompanyIndexingService {
     }
   }
 
+  /**
+   * Remove companies from the index in one bulk request, e.g. after duplicates were merged away
+   */
+  public void deleteCompaniesFromElasticsearch(Collection<Long> companyIds) {
+    if (companyIds == null || companyIds.isEmpty()) {
+      return;
+    }
+    try {
+      BulkRequest.Builder bulkRequest = new BulkRequest.Builder();
+      for (Long companyId : companyIds) {
+        bulkRequest.operations(op -> op
+            .delete(d -> d.index(COMPANIES_INDEX).id(companyId.toString())));
+      }
+      BulkResponse response = elasticsearchClient.bulk(bulkRequest.build());
+      if (response.errors()) {
+        // Missing documents are reported per item and are fine here
+        log.warn("Deleting {} companies from Elasticsearch reported item errors", companyIds.size());
+      } else {
+        log.info("Deleted {} companies from Elasticsearch", companyIds.size());
+      }
+    } catch (Exception e) {
+      log.error("Failed to delete {} companies from Elasticsearch: {}", companyIds.size(),
+          e.getMessage(), e);
+    }
+  }
+
   /**
    * Build company document for Elasticsearch
    */
-  private Map<String, Object> buildCompanyDocument(Company company) {
+  private Map<String, Object> buildCompanyDocument(CompanyProfile company) {
     log.info("🏗️ Building Elasticsearch document for company: {} (ID: {})", company.getName(),
         company.getId());
 
@@ -197,6 +227,9 @@ public class ElasticsearchCompanyIndexingService {
     doc.put("headquarters", company.getHeadquarters());
     doc.put("primaryIndustryId", company.getPrimaryIndustryId());
     doc.put("secondaryIndustries", company.getSecondaryIndustries());
+    // Split copy of the comma-separated column so each industry is its own facet term
+    doc.put(ElasticsearchConstants.FIELD_SECONDARY_INDUSTRY_NAMES,
+        splitSecondaryIndustries(company.getSecondaryIndustries()));
     doc.put("companySize", company.getCompanySize());
     doc.put("specialties", company.getSpecialties());
     doc.put("aboutUs", company.getAboutUs());
@@ -273,42 +306,92 @@ public class ElasticsearchCompanyIndexingService {
     return doc;
   }
 
+  private static List<String> splitSecondaryIndustries(String secondaryIndustries) {
+    List<String> names = new ArrayList<>();
+    if (secondaryIndustries == null) {
+      return names;
+    }
+    for (String name : secondaryIndustries.split(",")) {
+      String trimmed = name.trim();
+      if (!trimmed.isEmpty() && !names.contains(trimmed)) {
+        names.add(trimmed);
+      }
+    }
+    return names;
+  }
+
   /**
-   * Update job count for a specific company in Elasticsearch
+   * Queue a company's jobCount for refresh. Calls within the coalescing window collapse into a
+   * single grouped count and one bulk update, so syncing many jobs of one company costs one write.
    */
   public void updateCompanyJobCount(Long companyId) {
-    try {
-      log.info("🔢 Starting job count update for company ID: {}", companyId);
+    if (companyId != null) {
+      dirtyJobCountCompanyIds.add(companyId);
+    }
+  }
+
+  /**
+   * Apply pending jobCount updates: one grouped count query and one _bulk of partial updates per
+   * batch of dirty companies
+   */
+  @Scheduled(fixedDelay = JOB_COUNT_FLUSH_INTERVAL_MS)
+  public void flushCompanyJobCounts() {
+    if (dirtyJobCountCompanyIds.isEmpty()) {
+      return;
+    }
+
+    List<Long> companyIds = new ArrayList<>();
+    Iterator<Long> iterator = dirtyJobCountCompanyIds.iterator();
+    while (iterator.hasNext()) {
+      companyIds.add(iterator.next());
+      iterator.remove();
+    }
 
-      Company company = companyRepository.findById(companyId).orElse(null);
-      if (company == null) {
-        log.warn("Company not found for job count update: {}", companyId);
-        return;
+    for (int i = 0; i < companyIds.size(); i += JOB_COUNT_BATCH_SIZE) {
+      List<Long> batch = companyIds.subList(i, Math.min(i + JOB_COUNT_BATCH_SIZE, companyIds.size()));
+      try {
+        applyJobCounts(batch);
+      } catch (Exception e) {
+        // Retry on the next window
+        dirtyJobCountCompanyIds.addAll(batch);
+        log.error("Error updating job counts for {} companies in Elasticsearch: {}", batch.size(),
+            e.getMessage());
       }
-              log.info("🏢 Found company: {} (ID: {}) for job count update", company.getName(), companyId);
+    }
+  }
 
-      // Count active jobs for the company
-      long jobCount = companyRepository.countActiveJobsByCompanyId(companyId);
-              log.info("💼 Found {} active jobs for company: {}", jobCount, company.getName());
+  private void applyJobCounts(List<Long> companyIds) throws IOException {
+    Map<Long, Long> jobCounts = new HashMap<>();
+    for (Long companyId : companyIds) {
+      jobCounts.put(companyId, 0L);
+    }
+    for (Object[] row : companyRepository.countActiveJobsByCompanyIds(companyIds)) {
+      jobCounts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+    }
 
+    BulkRequest.Builder bulkRequest = new BulkRequest.Builder();
+    jobCounts.forEach((companyId, jobCount) -> {
       Map<String, Object> updateDoc = new HashMap<>();
       updateDoc.put("jobCount", jobCount);
-              log.info("📝 Prepared update document for company: {} - Job count: {}", company.getName(),
-            jobCount);
-
-              log.info("🚀 Executing update request to Elasticsearch for company: {} in index: {}",
-            company.getName(), COMPANIES_INDEX);
-      elasticsearchClient.update(u -> u
+      bulkRequest.operations(op -> op
+          .update(u -> u
               .index(COMPANIES_INDEX)
               .id(companyId.toString())
-              .doc(updateDoc)
-          , Map.class);
-
-              log.info("✅ Successfully updated job count for company {} (ID: {}) to {} in Elasticsearch",
-            company.getName(), companyId, jobCount);
-        Thread.sleep(5000);
-    } catch (Exception e) {
-      log.error("Error updating job count for company {} in Elasticsearch", companyId, e);
+              .action(a -> a.doc(updateDoc))
+          )
+      );
+    });
+
+    BulkResponse response = elasticsearchClient.bulk(bulkRequest.build());
+    if (response.errors()) {
+      // Typically document_missing for companies not indexed yet; the next full index covers them
+      long failed = response.items().stream().filter(item -> item.error() != null).count();
+      log.warn("Job count bulk update: {} of {} companies failed, first error: {}", failed,
+          jobCounts.size(), response.items().stream()
+              .filter(item -> item.error() != null)
+              .map(item -> item.id() + ": " + item.error().reason())
+              .findFirst().orElse(""));
     }
+    log.info("Updated job counts for {} companies in Elasticsearch", jobCounts.size());
   }
 }
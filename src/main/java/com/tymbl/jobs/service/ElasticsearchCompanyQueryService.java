@@ -0,0 +1,230 @@
+package com.tymbl.jobs.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Operator;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tymbl.common.service.DependencyGuard;
+import com.tymbl.common.service.DependencyGuard.Dependency;
+import com.tymbl.jobs.constants.ElasticsearchConstants;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Company search over the companies index. Filters run in filter context so ES can cache them,
+ * and each response carries facet counts for industry, secondary industry and headquarters under
+ * the current filters. Results are ordered by jobCount, then name and id; the last hit's sort
+ * values are returned as an opaque {@code nextCursor} for search_after paging.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ElasticsearchCompanyQueryService {
+
+  // Fields the listing renders; crawl text such as aboutUs/culture stays out of the response
+  private static final List<String> LISTING_FIELDS = Arrays.asList(
+      ElasticsearchConstants.FIELD_ID,
+      ElasticsearchConstants.FIELD_NAME,
+      ElasticsearchConstants.FIELD_DESCRIPTION,
+      ElasticsearchConstants.FIELD_WEBSITE,
+      ElasticsearchConstants.FIELD_LOGO_URL,
+      ElasticsearchConstants.FIELD_HEADQUARTERS,
+      ElasticsearchConstants.FIELD_PRIMARY_INDUSTRY_NAME,
+      ElasticsearchConstants.FIELD_SECONDARY_INDUSTRIES,
+      ElasticsearchConstants.FIELD_COMPANY_SIZE,
+      ElasticsearchConstants.FIELD_SPECIALTIES,
+      ElasticsearchConstants.FIELD_JOB_COUNT);
+
+  private final ElasticsearchClient elasticsearchClient;
+  private final DependencyGuard dependencyGuard;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Search companies. With a {@code cursor} (the {@code nextCursor} of the previous response) the
+   * page continues after that hit and {@code page} is ignored; without one the first pages are
+   * still reachable by offset.
+   */
+  public Map<String, Object> searchCompanies(String location, String industryName,
+      String secondaryIndustryName, int page, int size, String cursor) {
+    try {
+      BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
+
+      if (hasText(industryName)) {
+        boolQueryBuilder.filter(Query.of(q -> q.term(t -> t
+            .field(ElasticsearchConstants.FIELD_PRIMARY_INDUSTRY_NAME_KEYWORD)
+            .value(industryName.trim()))));
+      }
+
+      if (hasText(secondaryIndustryName)) {
+        boolQueryBuilder.filter(Query.of(q -> q.term(t -> t
+            .field(ElasticsearchConstants.FIELD_SECONDARY_INDUSTRY_NAMES_KEYWORD)
+            .value(secondaryIndustryName.trim()))));
+      }
+
+      // Headquarters is free text ("Mountain View, CA"), so match all given words
+      if (hasText(location)) {
+        boolQueryBuilder.filter(Query.of(q -> q.match(m -> m
+            .field(ElasticsearchConstants.FIELD_HEADQUARTERS)
+            .query(location.trim())
+            .operator(Operator.And))));
+      }
+
+      final List<FieldValue> searchAfter = decodeCursor(cursor);
+      final Query query = boolQueryBuilder.build()._toQuery();
+
+      SearchRequest searchRequest = SearchRequest.of(s -> {
+        s.index(ElasticsearchConstants.COMPANIES_INDEX)
+            .query(query)
+            .source(src -> src.filter(f -> f.includes(LISTING_FIELDS)))
+            .sort(sort -> sort.field(f -> f.field(ElasticsearchConstants.FIELD_JOB_COUNT)
+                .order(SortOrder.Desc).missing("_last").unmappedType(FieldType.Long)))
+            .sort(sort -> sort.field(f -> f.field(ElasticsearchConstants.FIELD_NAME_KEYWORD)
+                .order(SortOrder.Asc).missing("_last")))
+            .sort(sort -> sort.field(f -> f.field(ElasticsearchConstants.FIELD_ID)
+                .order(SortOrder.Asc)))
+            .size(size)
+            .aggregations(ElasticsearchConstants.AGG_FACET_INDUSTRIES, a -> a.terms(t -> t
+                .field(ElasticsearchConstants.FIELD_PRIMARY_INDUSTRY_NAME_KEYWORD)
+                .size(ElasticsearchConstants.FACET_SIZE)))
+            .aggregations(ElasticsearchConstants.AGG_FACET_SECONDARY_INDUSTRIES, a -> a.terms(t -> t
+                .field(ElasticsearchConstants.FIELD_SECONDARY_INDUSTRY_NAMES_KEYWORD)
+                .size(ElasticsearchConstants.FACET_SIZE)))
+            .aggregations(ElasticsearchConstants.AGG_FACET_HEADQUARTERS, a -> a.terms(t -> t
+                .field(ElasticsearchConstants.FIELD_HEADQUARTERS_KEYWORD)
+                .size(ElasticsearchConstants.FACET_SIZE)));
+        if (searchAfter != null) {
+          s.searchAfter(searchAfter);
+        } else {
+          s.from(page * size);
+        }
+        return s;
+      });
+
+      SearchResponse<Map> response = dependencyGuard.call(Dependency.ELASTICSEARCH,
+          () -> elasticsearchClient.search(searchRequest, Map.class));
+
+      List<Map<String, Object>> companies = new ArrayList<>();
+      List<FieldValue> lastSort = null;
+      for (Hit<Map> hit : response.hits().hits()) {
+        Map<String, Object> company = new HashMap<>();
+        if (hit.source() != null) {
+          company.putAll(hit.source());
+        }
+        if (hit.score() != null) {
+          company.put("score", hit.score());
+        }
+        companies.add(company);
+        lastSort = hit.sort();
+      }
+
+      long total = response.hits().total() != null ? response.hits().total().value() : 0L;
+
+      Map<String, Object> facets = new LinkedHashMap<>();
+      facets.put("industries",
+          parseFacet(response.aggregations().get(ElasticsearchConstants.AGG_FACET_INDUSTRIES)));
+      facets.put("secondaryIndustries", parseFacet(
+          response.aggregations().get(ElasticsearchConstants.AGG_FACET_SECONDARY_INDUSTRIES)));
+      facets.put("headquarters",
+          parseFacet(response.aggregations().get(ElasticsearchConstants.AGG_FACET_HEADQUARTERS)));
+
+      Map<String, Object> result = new HashMap<>();
+      result.put("companies", companies);
+      result.put("total", total);
+      result.put("page", page);
+      result.put("size", size);
+      result.put("totalPages", (int) Math.ceil((double) total / size));
+      result.put("facets", facets);
+      result.put("nextCursor",
+          companies.size() == size && lastSort != null ? encodeCursor(lastSort) : null);
+      return result;
+
+    } catch (IllegalArgumentException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Failed to search companies in Elasticsearch. Error: {}", e.getMessage(), e);
+      Map<String, Object> error = new HashMap<>();
+      error.put("error", "Failed to search companies: " + e.getMessage());
+      return error;
+    }
+  }
+
+  private List<Map<String, Object>> parseFacet(Aggregate aggregate) {
+    List<Map<String, Object>> buckets = new ArrayList<>();
+    if (aggregate == null || !aggregate.isSterms()) {
+      return buckets;
+    }
+    for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+      Map<String, Object> entry = new LinkedHashMap<>();
+      entry.put("name", bucket.key().stringValue());
+      entry.put("count", bucket.docCount());
+      buckets.add(entry);
+    }
+    return buckets;
+  }
+
+  private String encodeCursor(List<FieldValue> sortValues) throws Exception {
+    List<Object> values = new ArrayList<>();
+    for (FieldValue value : sortValues) {
+      values.add(value.isNull() ? null : value._get());
+    }
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(objectMapper.writeValueAsBytes(values));
+  }
+
+  /**
+   * Parses a {@code nextCursor}; {@code null} when absent
+   *
+   * @throws IllegalArgumentException if the cursor was not issued by this service
+   */
+  private List<FieldValue> decodeCursor(String cursor) {
+    if (!hasText(cursor)) {
+      return null;
+    }
+    try {
+      List<Object> values = objectMapper.readValue(
+          new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8),
+          new TypeReference<List<Object>>() {
+          });
+      List<FieldValue> searchAfter = new ArrayList<>();
+      for (Object value : values) {
+        if (value == null) {
+          searchAfter.add(FieldValue.NULL);
+        } else if (value instanceof Double || value instanceof Float) {
+          searchAfter.add(FieldValue.of(((Number) value).doubleValue()));
+        } else if (value instanceof Number) {
+          searchAfter.add(FieldValue.of(((Number) value).longValue()));
+        } else if (value instanceof Boolean) {
+          searchAfter.add(FieldValue.of((Boolean) value));
+        } else {
+          searchAfter.add(FieldValue.of(value.toString()));
+        }
+      }
+      return searchAfter;
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Invalid cursor");
+    }
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.trim().isEmpty();
+  }
+}
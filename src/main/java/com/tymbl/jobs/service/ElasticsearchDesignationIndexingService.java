@@ -8,12 +8,14 @@ import co.elastic.clients.elasticsearch.core.IndexResponse;
 import com.tymbl.common.entity.Designation;
 import com.tymbl.common.repository.DesignationRepository;
 import com.tymbl.common.service.DropdownService;
+import com.tymbl.config.ElasticsearchConfig;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ElasticsearchDesignationIndexingService {
 
+  @Qualifier(ElasticsearchConfig.BULK_CLIENT)
   private final ElasticsearchClient elasticsearchClient;
   private final DesignationRepository designationRepository;
   private final DropdownService dropdownService;
@@ -8,6 +8,7 @@ import co.elastic.clients.elasticsearch.core.DeleteByQueryResponse;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.tymbl.config.ElasticsearchConfig;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -15,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,11 +30,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class ElasticsearchIndexingService {
 
   private final ElasticsearchClient elasticsearchClient;
+  // Index-wide deletes run on the indexing pool, away from interactive search
+  @Qualifier(ElasticsearchConfig.BULK_CLIENT)
+  private final ElasticsearchClient bulkElasticsearchClient;
   private final ElasticsearchCompanyIndexingService elasticsearchCompanyIndexingService;
   private final ElasticsearchDesignationIndexingService elasticsearchDesignationIndexingService;
   private final ElasticsearchCityIndexingService elasticsearchCityIndexingService;
   private final ElasticsearchSkillIndexingService elasticsearchSkillIndexingService;
   private final ElasticsearchJobIndexingService elasticsearchJobIndexingService;
+  private final ElasticsearchCompanyQueryService elasticsearchCompanyQueryService;
 
   private static final String COMPANIES_INDEX = "companies";
   private static final String DESIGNATIONS_INDEX = "designations";
@@ -175,7 +181,7 @@ public class ElasticsearchIndexingService {
     try {
       // Delete from companies index
       log.info("Deleting all documents from companies index");
-      DeleteByQueryResponse companiesDeleteResult = elasticsearchClient.deleteByQuery(d -> d
+      DeleteByQueryResponse companiesDeleteResult = bulkElasticsearchClient.deleteByQuery(d -> d
           .index(COMPANIES_INDEX)
           .query(q -> q.matchAll(m -> m))
       );
@@ -186,7 +192,7 @@ public class ElasticsearchIndexingService {
 
       // Delete from designations index
       log.info("Deleting all documents from designations index");
-      DeleteByQueryResponse designationsDeleteResult = elasticsearchClient.deleteByQuery(d -> d
+      DeleteByQueryResponse designationsDeleteResult = bulkElasticsearchClient.deleteByQuery(d -> d
           .index(DESIGNATIONS_INDEX)
           .query(q -> q.matchAll(m -> m))
       );
@@ -197,7 +203,7 @@ public class ElasticsearchIndexingService {
 
       // Delete from cities index
       log.info("Deleting all documents from cities index");
-      DeleteByQueryResponse citiesDeleteResult = elasticsearchClient.deleteByQuery(d -> d
+      DeleteByQueryResponse citiesDeleteResult = bulkElasticsearchClient.deleteByQuery(d -> d
           .index(CITIES_INDEX)
           .query(q -> q.matchAll(m -> m))
       );
@@ -208,7 +214,7 @@ public class ElasticsearchIndexingService {
 
       // Delete from skills index
       log.info("Deleting all documents from skills index");
-      DeleteByQueryResponse skillsDeleteResult = elasticsearchClient.deleteByQuery(d -> d
+      DeleteByQueryResponse skillsDeleteResult = bulkElasticsearchClient.deleteByQuery(d -> d
           .index(SKILLS_INDEX)
           .query(q -> q.matchAll(m -> m))
       );
@@ -219,7 +225,7 @@ public class ElasticsearchIndexingService {
 
       // Delete from jobs index
       log.info("Deleting all documents from jobs index");
-      DeleteByQueryResponse jobsDeleteResult = elasticsearchClient.deleteByQuery(d -> d
+      DeleteByQueryResponse jobsDeleteResult = bulkElasticsearchClient.deleteByQuery(d -> d
           .index(JOBS_INDEX)
           .query(q -> q.matchAll(m -> m))
       );
@@ -338,18 +344,16 @@ public class ElasticsearchIndexingService {
    */
   public Map<String, Object> searchCompanies(String location, String industryName,
       String secondaryIndustryName, int page, int size) {
-    // This method is now delegated to the company query service
-    // For now, we'll return an empty result and log that this method is deprecated
-    log.warn("searchCompanies method is deprecated. Use ElasticsearchJobQueryService instead.");
-
-    Map<String, Object> result = new HashMap<>();
-    result.put("companies", new ArrayList<>());
-    result.put("total", 0);
-    result.put("page", page);
-    result.put("size", size);
-    result.put("totalPages", 0);
-    result.put("message", "This method is deprecated. Use ElasticsearchJobQueryService instead.");
+    return searchCompanies(location, industryName, secondaryIndustryName, page, size, null);
+  }
 
-    return result;
+  /**
+   * Search companies with filters, facets and search_after paging (see
+   * {@link ElasticsearchCompanyQueryService})
+   */
+  public Map<String, Object> searchCompanies(String location, String industryName,
+      String secondaryIndustryName, int page, int size, String cursor) {
+    return elasticsearchCompanyQueryService.searchCompanies(location, industryName,
+        secondaryIndustryName, page, size, cursor);
   }
-} 
\ No newline at end of file
+}
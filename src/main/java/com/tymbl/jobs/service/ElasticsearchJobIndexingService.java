@@ -1,13 +1,15 @@
 package com.tymbl.jobs.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.GetResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
 import com.tymbl.common.entity.Job;
 import com.tymbl.common.service.DropdownService;
-import com.tymbl.common.service.IndustryCacheService;
+import com.tymbl.common.service.IndustryStatsService;
+import com.tymbl.config.ElasticsearchConfig;
 import com.tymbl.jobs.constants.ElasticsearchConstants;
-import com.tymbl.jobs.entity.Company;
+import com.tymbl.jobs.dto.CompanySummary;
 import com.tymbl.jobs.repository.CompanyRepository;
 import com.tymbl.jobs.repository.JobRepository;
 import com.tymbl.common.entity.Skill;
@@ -20,6 +22,7 @@ import java.util.Map;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,20 +34,34 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ElasticsearchJobIndexingService {
 
+  @Qualifier(ElasticsearchConfig.BULK_CLIENT)
   private final ElasticsearchClient elasticsearchClient;
   private final DropdownService dropdownService;
-  private final IndustryCacheService industryCacheService;
+  private final IndustryStatsService industryStatsService;
   private final CompanyRepository companyRepository;
   private final JobRepository jobRepository;
   private final SkillRepository skillRepository;
   private final ElasticsearchCompanyIndexingService elasticsearchCompanyIndexingService;
+  private final SEOInterlinkGraphService seoInterlinkGraphService;
 
   /**
    * Sync a job to Elasticsearch (save or update) Does not fail the main transaction if ES fails
    */
   public void syncJobToElasticsearch(Job job) {
+    indexJob(job);
+  }
+
+  /**
+   * Same as {@link #syncJobToElasticsearch}, but reports whether the job was written, for callers
+   * that must retry it
+   *
+   * @return false when the job could not be indexed (the error is logged)
+   */
+  @SuppressWarnings("unchecked")
+  public boolean indexJob(Job job) {
     try {
       Map<String, Object> jobDocument = buildJobDocument(job);
+      Map<String, Object> previousDocument = findIndexedInterlinkFields(job.getId());
 
       IndexRequest<Map<String, Object>> indexRequest = IndexRequest.of(i -> i
           .index(ElasticsearchConstants.JOBS_INDEX)
@@ -57,14 +74,18 @@ public class ElasticsearchJobIndexingService {
       log.info("✅ Successfully synced job {} to Elasticsearch with result: {}",
           job.getId(), response.result().name());
 
-      // Flush industry cache to ensure consistency after job data changes
-      try {
-        industryCacheService.flushCache();
-        log.debug("Industry cache flushed after syncing job {}", job.getId());
-      } catch (Exception cacheException) {
-        log.warn("Failed to flush industry cache after syncing job {}: {}",
-            job.getId(), cacheException.getMessage());
-        // Don't fail the main operation if cache flush fails
+      // Recount this company in the materialized industry stats on the next refresh pass
+      industryStatsService.onJobChanged(job.getCompanyId());
+
+      // Queue this job's designation and skills for an incremental SEO interlink graph refresh,
+      // including the ones it was indexed under before so they stop counting it
+      seoInterlinkGraphService.markDirty(
+          (String) jobDocument.get(ElasticsearchConstants.FIELD_DESIGNATION_NAME),
+          (List<String>) jobDocument.get("skillNames"));
+      if (previousDocument != null) {
+        seoInterlinkGraphService.markDirty(
+            (String) previousDocument.get(ElasticsearchConstants.FIELD_DESIGNATION_NAME),
+            (List<String>) previousDocument.get("skillNames"));
       }
 
       // Update job count in companies index for this job's company
@@ -75,11 +96,32 @@ public class ElasticsearchJobIndexingService {
       } catch (Exception e) {
         log.warn("Failed to update company jobCount after syncing job {}: {}", job.getId(), e.getMessage());
       }
+      return true;
 
     } catch (Exception e) {
       log.error("Failed to sync job {} to Elasticsearch. Error: {}", job.getId(), e.getMessage(),
           e);
       // Don't throw exception - let main transaction continue
+      return false;
+    }
+  }
+
+  /**
+   * The designation and skill names the job is currently indexed with, or null when it is not
+   * indexed yet or the lookup fails (the next full graph rebuild corrects the counts then)
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> findIndexedInterlinkFields(Long jobId) {
+    try {
+      GetResponse<Map> response = elasticsearchClient.get(g -> g
+          .index(ElasticsearchConstants.JOBS_INDEX)
+          .id(jobId.toString())
+          .sourceIncludes(ElasticsearchConstants.FIELD_DESIGNATION_NAME, "skillNames"), Map.class);
+      return response.found() ? response.source() : null;
+    } catch (Exception e) {
+      log.warn("Could not read the indexed designation and skills of job {}: {}", jobId,
+          e.getMessage());
+      return null;
     }
   }
 
@@ -195,7 +237,7 @@ public class ElasticsearchJobIndexingService {
     String secondaryIndustries = null;
     if (job.getCompanyId() != null) {
       try {
-        Company company = companyRepository.findById(job.getCompanyId()).orElse(null);
+        CompanySummary company = companyRepository.findSummaryById(job.getCompanyId()).orElse(null);
         if (company != null) {
           if (company.getPrimaryIndustryId() != null) {
             primaryIndustryName = dropdownService.getIndustryNameById(
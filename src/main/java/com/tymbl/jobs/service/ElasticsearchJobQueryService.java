@@ -3,6 +3,10 @@ package com.tymbl.jobs.service;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.LongTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.RangeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.FunctionScoreQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
@@ -12,10 +16,17 @@ import co.elastic.clients.elasticsearch.core.search.Hit;
 import co.elastic.clients.json.JsonData;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tymbl.common.dto.IndustryWiseCompaniesDTO;
+import com.tymbl.common.entity.CacheChangeLog.EntityType;
 import com.tymbl.common.entity.Job.JobType;
 import com.tymbl.common.entity.JobApprovalStatus;
+import com.tymbl.common.entity.Skill;
+import com.tymbl.common.repository.SkillRepository;
+import com.tymbl.common.service.CacheInvalidationBus;
+import com.tymbl.common.service.DependencyGuard;
+import com.tymbl.common.service.DependencyGuard.Dependency;
 import com.tymbl.common.service.DropdownService;
-import com.tymbl.common.service.IndustryCacheService;
+import com.tymbl.common.service.IndustryStatsService;
+import com.tymbl.exception.DependencyUnavailableException;
 import com.tymbl.jobs.constants.ElasticsearchConstants;
 import com.tymbl.jobs.dto.CompanyResponse;
 import com.tymbl.jobs.dto.JobResponse;
@@ -25,13 +36,17 @@ import com.tymbl.jobs.repository.CompanyRepository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -75,14 +90,46 @@ public class ElasticsearchJobQueryService {
 
   private final ElasticsearchClient elasticsearchClient;
   private final DropdownService dropdownService;
-  private final IndustryCacheService industryCacheService;
+  private final IndustryStatsService industryStatsService;
   private final ObjectMapper objectMapper;
   private final CompanyRepository companyRepository;
+  private final SkillRepository skillRepository;
+  private final DependencyGuard dependencyGuard;
+  private final CacheInvalidationBus invalidationBus;
+
+  // Last successful result of recent searches, served while Elasticsearch is failing or shed
+  private static final int RECENT_SEARCHES = 1000;
+  private final Map<String, JobSearchResponse> recentSearches = Collections.synchronizedMap(
+      new LinkedHashMap<String, JobSearchResponse>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JobSearchResponse> eldest) {
+          return size() > RECENT_SEARCHES;
+        }
+      });
 
-  // Cache for industry-wise companies with 30-minute expiration
-  private final Map<String, CachedData<List<IndustryWiseCompaniesDTO>>> industryWiseCompaniesCache = new HashMap<>();
+  // Facet names, in response order
+  private static final String FACET_COMPANIES = "companies";
+  private static final String FACET_CITIES = "cities";
+  private static final String FACET_DESIGNATIONS = "designations";
+  private static final String FACET_SKILLS = "skills";
+  private static final String FACET_JOB_TYPES = "jobTypes";
+  private static final String FACET_EXPERIENCE = "experience";
+  private static final String FACET_SALARY = "salary";
+  private static final List<String> FACET_NAMES = Arrays.asList(FACET_COMPANIES,
+      FACET_CITIES, FACET_DESIGNATIONS, FACET_SKILLS, FACET_JOB_TYPES, FACET_EXPERIENCE,
+      FACET_SALARY);
+
+  // Cache for industry-wise companies with 30-minute expiration, dropped on industry and company
+  // changes from any instance
+  private final Map<String, CachedData<List<IndustryWiseCompaniesDTO>>> industryWiseCompaniesCache = new ConcurrentHashMap<>();
   private static final long CACHE_EXPIRATION_TIME = 30 * 60 * 1000; // 30 minutes in milliseconds
 
+  @PostConstruct
+  public void subscribeToChanges() {
+    invalidationBus.subscribe(EntityType.INDUSTRY, id -> industryWiseCompaniesCache.clear());
+    invalidationBus.subscribe(EntityType.COMPANY, id -> industryWiseCompaniesCache.clear());
+  }
+
   /**
    * Get cached data if not expired
    */
@@ -130,12 +177,7 @@ public class ElasticsearchJobQueryService {
   public JobSearchResponse searchJobs(JobSearchRequest request, Long userDesignationId) {
     try {
       // Extract all request fields to final variables for lambda usage
-      final Long cityId = request.getCityId();
       final Long countryId = request.getCountryId();
-      final Long companyId = request.getCompanyId();
-      final Long designationId = request.getDesignationId();
-      final Integer minExperience = request.getMinExperience();
-      final Integer maxExperience = request.getMaxExperience();
       final Integer page = request.getPage();
       final Integer size = request.getSize();
       final Long finalUserDesignationId = userDesignationId;
@@ -161,52 +203,24 @@ public class ElasticsearchJobQueryService {
         boolQueryBuilder.must(keywordQueryBuilder.build()._toQuery());
       }
 
-      // City filter
-      if (cityId != null && cityId != 0) {
-        boolQueryBuilder.filter(Query.of(
-            q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_CITY_ID).value(cityId))));
-      }
-
       // Country filter
       if (countryId != null && countryId != 0) {
         boolQueryBuilder.filter(Query.of(
             q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_COUNTRY_ID).value(countryId))));
       }
 
-      // Company filter
-      if (companyId != null && companyId != 0) {
-        boolQueryBuilder.filter(Query.of(
-            q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_COMPANY_ID).value(companyId))));
-      }
-
-      // Designation filter
-      if (designationId != null && designationId != 0) {
-        boolQueryBuilder.filter(
-            Query.of(q -> q.term(
-                t -> t.field(ElasticsearchConstants.FIELD_DESIGNATION_ID).value(designationId))));
-      }
-
-      // Experience range filter
-      if (minExperience != null || maxExperience != null) {
-        BoolQuery.Builder experienceQueryBuilder = new BoolQuery.Builder();
-
-        if (minExperience != null) {
-          experienceQueryBuilder.must(Query.of(
-              q -> q.range(r -> r.field("maxExperience").gte(JsonData.of(minExperience)))));
-        }
-
-        if (maxExperience != null) {
-          experienceQueryBuilder.must(Query.of(
-              q -> q.range(r -> r.field("minExperience").lte(JsonData.of(maxExperience)))));
-        }
-
-        boolQueryBuilder.filter(experienceQueryBuilder.build()._toQuery());
-      }
-
       // Only show active jobs
       boolQueryBuilder.filter(
           Query.of(q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_ACTIVE).value(true))));
 
+      // Filters that also have a facet. Without facets they join the main query; with facets
+      // they move to post_filter so each facet can be counted without its own selection
+      final Map<String, Query> facetFilters = buildFacetFilters(request);
+      final boolean includeFacets = Boolean.TRUE.equals(request.getIncludeFacets());
+      if (!includeFacets) {
+        facetFilters.values().forEach(boolQueryBuilder::filter);
+      }
+
       final Query baseQuery = boolQueryBuilder.build()._toQuery();
       // Apply boosting if user is logged in and has a designation
       final Query finalQuery = finalUserDesignationId != null ?
@@ -221,22 +235,49 @@ public class ElasticsearchJobQueryService {
           )._toQuery() : baseQuery;
 
       // Build search request
-      SearchRequest searchRequest = SearchRequest.of(s -> s
-          .index(ElasticsearchConstants.JOBS_INDEX)
-          .query(finalQuery)
-          .sort(sort -> sort.field(f -> f.field("_score").order(SortOrder.Desc)))
-          .sort(sort -> sort.field(
-              f -> f.field(ElasticsearchConstants.FIELD_CREATED_AT).order(SortOrder.Desc)))
-          .from(page * size)
-          .size(size)
-      );
+      SearchRequest searchRequest = SearchRequest.of(s -> {
+        s.index(ElasticsearchConstants.JOBS_INDEX)
+            .query(finalQuery)
+            .sort(sort -> sort.field(f -> f.field("_score").order(SortOrder.Desc)))
+            .sort(sort -> sort.field(
+                f -> f.field(ElasticsearchConstants.FIELD_CREATED_AT).order(SortOrder.Desc)))
+            .from(page * size)
+            .size(size);
+        if (includeFacets) {
+          int facetSize = Math.min(request.getFacetSize() != null ? request.getFacetSize()
+              : ElasticsearchConstants.DEFAULT_FACET_SIZE, ElasticsearchConstants.FACET_SIZE);
+          if (!facetFilters.isEmpty()) {
+            s.postFilter(allOf(facetFilters, null));
+          }
+          s.aggregations(buildFacetAggregations(facetFilters, facetSize))
+              // Popular filter combinations repeat verbatim; let ES reuse their shard results
+              .requestCache(true);
+        }
+        return s;
+      });
 
-      SearchResponse<Map> response = elasticsearchClient.search(searchRequest, Map.class);
+      SearchResponse<Map> response = dependencyGuard.call(Dependency.ELASTICSEARCH,
+          () -> elasticsearchClient.search(searchRequest, Map.class));
 
-      return parseSearchResponse(response);
+      JobSearchResponse searchResponse = parseSearchResponse(response);
+      if (includeFacets) {
+        searchResponse.setFacets(parseFacets(response));
+      }
+      recentSearches.put(searchKey(request, userDesignationId), searchResponse);
+      return searchResponse;
 
     } catch (Exception e) {
-      log.error("Failed to search jobs in Elasticsearch. Error: {}", e.getMessage(), e);
+      JobSearchResponse recent = recentSearches.get(searchKey(request, userDesignationId));
+      if (recent != null) {
+        log.warn("Job search failed ({}), serving the last result for this search",
+            e.getMessage());
+        return recent;
+      }
+      if (e instanceof DependencyUnavailableException) {
+        log.warn("Job search skipped: {}", e.getMessage());
+      } else {
+        log.error("Failed to search jobs in Elasticsearch. Error: {}", e.getMessage(), e);
+      }
       return JobSearchResponse.builder()
           .jobs(Collections.emptyList())
           .total(0L)
@@ -246,6 +287,210 @@ public class ElasticsearchJobQueryService {
     }
   }
 
+  private static String searchKey(JobSearchRequest request, Long userDesignationId) {
+    return request + "|" + userDesignationId;
+  }
+
+  /**
+   * Faceted filters of a search keyed by facet name, in facet order
+   */
+  private Map<String, Query> buildFacetFilters(JobSearchRequest request) {
+    Map<String, Query> filters = new LinkedHashMap<>();
+    final Long companyId = request.getCompanyId();
+    final Long cityId = request.getCityId();
+    final Long designationId = request.getDesignationId();
+    final Long skillId = request.getSkillId();
+    final Integer minExperience = request.getMinExperience();
+    final Integer maxExperience = request.getMaxExperience();
+
+    if (companyId != null && companyId != 0) {
+      filters.put(FACET_COMPANIES, Query.of(
+          q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_COMPANY_ID).value(companyId))));
+    }
+    if (cityId != null && cityId != 0) {
+      filters.put(FACET_CITIES, Query.of(
+          q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_CITY_ID).value(cityId))));
+    }
+    if (designationId != null && designationId != 0) {
+      filters.put(FACET_DESIGNATIONS, Query.of(q -> q.term(
+          t -> t.field(ElasticsearchConstants.FIELD_DESIGNATION_ID).value(designationId))));
+    }
+    if (skillId != null && skillId != 0) {
+      filters.put(FACET_SKILLS, Query.of(
+          q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_SKILL_IDS).value(skillId))));
+    }
+    if (request.getJobType() != null && !request.getJobType().trim().isEmpty()) {
+      final String jobType = request.getJobType().trim().toUpperCase();
+      filters.put(FACET_JOB_TYPES, Query.of(
+          q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_JOB_TYPE_KEYWORD).value(jobType))));
+    }
+
+    // Experience range filter
+    if (minExperience != null || maxExperience != null) {
+      BoolQuery.Builder experienceQueryBuilder = new BoolQuery.Builder();
+
+      if (minExperience != null) {
+        experienceQueryBuilder.must(Query.of(q -> q.range(r -> r
+            .field(ElasticsearchConstants.FIELD_MAX_EXPERIENCE).gte(JsonData.of(minExperience)))));
+      }
+
+      if (maxExperience != null) {
+        experienceQueryBuilder.must(Query.of(q -> q.range(r -> r
+            .field(ElasticsearchConstants.FIELD_MIN_EXPERIENCE).lte(JsonData.of(maxExperience)))));
+      }
+
+      filters.put(FACET_EXPERIENCE, experienceQueryBuilder.build()._toQuery());
+    }
+    return filters;
+  }
+
+  /**
+   * One filter aggregation per facet, each narrowed by every facet filter except its own
+   */
+  private Map<String, Aggregation> buildFacetAggregations(Map<String, Query> facetFilters,
+      int facetSize) {
+    Map<String, Aggregation> aggregations = new HashMap<>();
+    aggregations.put(FACET_COMPANIES, facet(facetFilters, FACET_COMPANIES, Aggregation.of(
+        a -> a.terms(t -> t.field(ElasticsearchConstants.FIELD_COMPANY_ID).size(facetSize)))));
+    aggregations.put(FACET_CITIES, facet(facetFilters, FACET_CITIES, Aggregation.of(
+        a -> a.terms(t -> t.field(ElasticsearchConstants.FIELD_CITY_ID).size(facetSize)))));
+    aggregations.put(FACET_DESIGNATIONS, facet(facetFilters, FACET_DESIGNATIONS, Aggregation.of(
+        a -> a.terms(t -> t.field(ElasticsearchConstants.FIELD_DESIGNATION_ID).size(facetSize)))));
+    aggregations.put(FACET_SKILLS, facet(facetFilters, FACET_SKILLS, Aggregation.of(
+        a -> a.terms(t -> t.field(ElasticsearchConstants.FIELD_SKILL_IDS).size(facetSize)))));
+    aggregations.put(FACET_JOB_TYPES, facet(facetFilters, FACET_JOB_TYPES, Aggregation.of(
+        a -> a.terms(t -> t.field(ElasticsearchConstants.FIELD_JOB_TYPE_KEYWORD)
+            .size(facetSize)))));
+    aggregations.put(FACET_EXPERIENCE, facet(facetFilters, FACET_EXPERIENCE, Aggregation.of(
+        a -> a.range(r -> r.field(ElasticsearchConstants.FIELD_MIN_EXPERIENCE)
+            .ranges(b -> b.key("0-2").to("2"))
+            .ranges(b -> b.key("2-5").from("2").to("5"))
+            .ranges(b -> b.key("5-10").from("5").to("10"))
+            .ranges(b -> b.key("10+").from("10"))))));
+    aggregations.put(FACET_SALARY, facet(facetFilters, FACET_SALARY, Aggregation.of(
+        a -> a.range(r -> r.field(ElasticsearchConstants.FIELD_MIN_SALARY)
+            .ranges(b -> b.key("0-300000").to("300000"))
+            .ranges(b -> b.key("300000-600000").from("300000").to("600000"))
+            .ranges(b -> b.key("600000-1000000").from("600000").to("1000000"))
+            .ranges(b -> b.key("1000000-2000000").from("1000000").to("2000000"))
+            .ranges(b -> b.key("2000000+").from("2000000"))))));
+    return aggregations;
+  }
+
+  private Aggregation facet(Map<String, Query> facetFilters, String facetName,
+      Aggregation values) {
+    return Aggregation.of(a -> a
+        .filter(allOf(facetFilters, facetName))
+        .aggregations(ElasticsearchConstants.AGG_FACET_VALUES, values));
+  }
+
+  /**
+   * All facet filters but {@code excluded} combined, match_all when none are left
+   */
+  private Query allOf(Map<String, Query> facetFilters, String excluded) {
+    BoolQuery.Builder builder = new BoolQuery.Builder();
+    boolean any = false;
+    for (Map.Entry<String, Query> filter : facetFilters.entrySet()) {
+      if (!filter.getKey().equals(excluded)) {
+        builder.filter(filter.getValue());
+        any = true;
+      }
+    }
+    return any ? builder.build()._toQuery() : Query.of(q -> q.matchAll(m -> m));
+  }
+
+  /**
+   * Reads facet buckets and resolves id facets to names with one bulk lookup per facet
+   */
+  private Map<String, List<JobSearchResponse.FacetBucket>> parseFacets(
+      SearchResponse<Map> response) {
+    Map<String, List<JobSearchResponse.FacetBucket>> facets = new LinkedHashMap<>();
+    if (response.aggregations() == null) {
+      return facets;
+    }
+    for (String facetName : FACET_NAMES) {
+      Aggregate facet = response.aggregations().get(facetName);
+      Aggregate values = facet != null && facet.isFilter()
+          ? facet.filter().aggregations().get(ElasticsearchConstants.AGG_FACET_VALUES) : null;
+      Map<String, Long> counts = new LinkedHashMap<>();
+      if (values != null && values.isLterms()) {
+        for (LongTermsBucket bucket : values.lterms().buckets().array()) {
+          counts.put(String.valueOf(bucket.key()), bucket.docCount());
+        }
+      } else if (values != null && values.isSterms()) {
+        for (StringTermsBucket bucket : values.sterms().buckets().array()) {
+          counts.put(bucket.key().stringValue(), bucket.docCount());
+        }
+      } else if (values != null && values.isRange()) {
+        for (RangeBucket bucket : values.range().buckets().array()) {
+          counts.put(bucket.key(), bucket.docCount());
+        }
+      }
+
+      Map<String, String> labels = facetLabels(facetName, counts.keySet());
+      List<JobSearchResponse.FacetBucket> buckets = new ArrayList<>();
+      counts.forEach((key, count) -> buckets.add(JobSearchResponse.FacetBucket.builder()
+          .key(key)
+          .label(labels.getOrDefault(key, key))
+          .count(count)
+          .build()));
+      facets.put(facetName, buckets);
+    }
+    return facets;
+  }
+
+  private Map<String, String> facetLabels(String facetName, Set<String> keys) {
+    Map<String, String> labels = new HashMap<>();
+    if (keys.isEmpty()) {
+      return labels;
+    }
+    if (FACET_JOB_TYPES.equals(facetName)) {
+      for (String key : keys) {
+        try {
+          labels.put(key, JobType.valueOf(key).getDisplayName());
+        } catch (IllegalArgumentException e) {
+          // Unknown job type in the index, keep the raw key
+        }
+      }
+      return labels;
+    }
+
+    Set<Long> ids = new HashSet<>();
+    for (String key : keys) {
+      try {
+        ids.add(Long.valueOf(key));
+      } catch (NumberFormatException e) {
+        // Range keys and other non-id buckets are their own label
+      }
+    }
+    if (ids.isEmpty()) {
+      return labels;
+    }
+
+    Map<Long, String> names;
+    switch (facetName) {
+      case FACET_COMPANIES:
+        names = dropdownService.getCompanyNamesByIds(ids);
+        break;
+      case FACET_CITIES:
+        names = dropdownService.getCityNamesByIds(ids);
+        break;
+      case FACET_DESIGNATIONS:
+        names = dropdownService.getDesignationNamesByIds(ids);
+        break;
+      case FACET_SKILLS:
+        names = new HashMap<>();
+        for (Skill skill : skillRepository.findAllById(ids)) {
+          names.put(skill.getId(), skill.getName());
+        }
+        break;
+      default:
+        names = Collections.emptyMap();
+    }
+    names.forEach((id, name) -> labels.put(String.valueOf(id), name));
+    return labels;
+  }
+
   /**
    * Parse Elasticsearch search response
    */
@@ -269,7 +514,7 @@ public class ElasticsearchJobQueryService {
   /**
    * Convert Map from Elasticsearch to JobResponse
    */
-  private JobResponse convertMapToJobResponse(Map<String, Object> jobData) {
+  JobResponse convertMapToJobResponse(Map<String, Object> jobData) {
     JobResponse response = new JobResponse();
 
     // Basic fields
@@ -447,6 +692,12 @@ public class ElasticsearchJobQueryService {
       // Clear expired cache entries
       clearExpiredCache();
 
+      // Pre-ranked snapshot from the materialized industry_company_stats table
+      List<IndustryWiseCompaniesDTO> materialized = industryStatsService.getIndustryWiseCompanies();
+      if (materialized != null) {
+        return materialized;
+      }
+
       // Check cache first
       List<IndustryWiseCompaniesDTO> cachedResult = getCachedIndustryWiseCompanies();
       if (cachedResult != null) {
@@ -4,8 +4,12 @@ import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
 import co.elastic.clients.elasticsearch.core.search.Hit;
 import com.tymbl.jobs.constants.ElasticsearchConstants;
 import com.tymbl.common.service.DropdownService;
@@ -28,6 +32,7 @@ public class ElasticsearchSEOService {
 
   private final ElasticsearchClient elasticsearchClient;
   private final DropdownService dropdownService;
+  private final SEOInterlinkGraphService seoInterlinkGraphService;
 
   /**
    * Get job location combinations for designation or skill
@@ -36,28 +41,38 @@ public class ElasticsearchSEOService {
     try {
       log.info("Getting job location combinations for: {} (type param ignored)", query);
 
-      // Build search query based on type
-      BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
-
-      // Auto-detect whether the query matches a known designation or skill using dropdown caches
-      String lowered = query == null ? "" : query.trim().toLowerCase();
-      boolean isDesignation = false;
-      boolean isSkill = false;
-      try {
-        // Check designation cache via DropdownService
-        java.util.List<com.tymbl.common.entity.Designation> allDesignations = dropdownService.getAllDesignations();
-        isDesignation = allDesignations.stream()
-            .anyMatch(d -> d.getName() != null && d.getName().trim().equalsIgnoreCase(lowered));
-
-        // Heuristic for skills: search jobs index via title/description/tags match when not designation
-        if (!isDesignation) {
-          isSkill = true; // default to skill if not designation; reduces client responsibility
+      // Auto-detect whether the query matches a known designation or skill
+      boolean isDesignation = isKnownDesignation(query);
+      boolean isSkill = !isDesignation;
+
+      // Serve from the precomputed interlink graph when available (no ES round-trip)
+      if (seoInterlinkGraphService.isReady()) {
+        Map<String, Long> cityCounts = isDesignation
+            ? seoInterlinkGraphService.getDesignationCityCounts(query)
+            : seoInterlinkGraphService.getSkillCityCounts(query);
+
+        long totalJobs = 0;
+        List<Map<String, Object>> locationCombinations = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : cityCounts.entrySet()) {
+          Map<String, Object> combination = new HashMap<>();
+          combination.put("location", entry.getKey());
+          combination.put("jobCount", entry.getValue());
+          combination.put("seoText", query + " jobs in " + entry.getKey());
+          locationCombinations.add(combination);
+          totalJobs += entry.getValue();
         }
-      } catch (Exception ignore) {
-        // Fallback: default to designation
-        isDesignation = true;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("query", query);
+        result.put("type", isDesignation ? "designation" : "skill");
+        result.put("totalJobs", totalJobs);
+        result.put("locationCombinations", locationCombinations);
+        return result;
       }
 
+      // Build search query based on type
+      BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
+
       if (isDesignation) {
         boolQueryBuilder.must(Query.of(q -> q.match(
             m -> m.field(ElasticsearchConstants.FIELD_DESIGNATION_NAME).query(query))));
@@ -143,6 +158,10 @@ public class ElasticsearchSEOService {
     try {
       log.info("Getting similar designations and skills with job counts for: {}", designation);
 
+      if (seoInterlinkGraphService.isReady() && seoInterlinkGraphService.isDesignation(designation)) {
+        return getSimilarDesignationsWithJobCountsFromGraph(designation);
+      }
+
       // First, get the designation details from designations index
       BoolQuery.Builder designationQueryBuilder = new BoolQuery.Builder();
       designationQueryBuilder.must(Query.of(q -> q.match(m -> m.field("name").query(designation))));
@@ -250,30 +269,22 @@ public class ElasticsearchSEOService {
     try {
       log.info("Getting designation/skill + location combinations for: {} in {}", query, location);
 
-      // Auto-detect whether the query matches a known designation or skill using dropdown caches
-      String lowered = query == null ? "" : query.trim().toLowerCase();
-      boolean isDesignation = false;
-      boolean isSkill = false;
-      try {
-        // Check designation cache via DropdownService
-        java.util.List<com.tymbl.common.entity.Designation> allDesignations = dropdownService.getAllDesignations();
-        isDesignation = allDesignations.stream()
-            .anyMatch(d -> d.getName() != null && d.getName().trim().equalsIgnoreCase(lowered));
-
-        // Heuristic for skills: default to skill if not designation; reduces client responsibility
-        if (!isDesignation) {
-          isSkill = true;
-        }
-      } catch (Exception ignore) {
-        // Fallback: default to designation
-        isDesignation = true;
-      }
+      // Auto-detect whether the query matches a known designation or skill
+      boolean isDesignation = isKnownDesignation(query);
+      boolean isSkill = !isDesignation;
 
       String detectedType = isDesignation ? "designation" : "skill";
       log.info("Auto-detected type for query '{}': {}", query, detectedType);
 
       // First, get the job count for the specific query + location combination
-      long mainJobCount = getJobCountForQueryLocationCombination(query, location, detectedType);
+      long mainJobCount;
+      if (seoInterlinkGraphService.isReady()) {
+        mainJobCount = isDesignation
+            ? seoInterlinkGraphService.getDesignationCityJobCount(query, location)
+            : seoInterlinkGraphService.getSkillCityJobCount(query, location);
+      } else {
+        mainJobCount = getJobCountForQueryLocationCombination(query, location, detectedType);
+      }
 
       // Get similar combinations based on the detected type
       List<Map<String, Object>> similarCombinations = new ArrayList<>();
@@ -309,31 +320,31 @@ public class ElasticsearchSEOService {
     }
   }
 
+  /**
+   * Whether the query names a known designation; anything else is treated as a skill
+   */
+  private boolean isKnownDesignation(String query) {
+    if (seoInterlinkGraphService.isReady()) {
+      return seoInterlinkGraphService.isDesignation(query);
+    }
+    String lowered = query == null ? "" : query.trim().toLowerCase();
+    try {
+      return dropdownService.getAllDesignations().stream()
+          .anyMatch(d -> d.getName() != null && d.getName().trim().equalsIgnoreCase(lowered));
+    } catch (Exception ignore) {
+      // Fallback: default to designation
+      return true;
+    }
+  }
+
   /**
    * Get job count for a specific query + location combination
    */
   private long getJobCountForQueryLocationCombination(String query, String location, String type) {
     try {
-      BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
-      boolQueryBuilder.must(
-          Query.of(q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_ACTIVE).value(true))));
-      boolQueryBuilder.must(Query.of(q -> q.match(m -> m.field("cityName").query(location))));
-
-      if ("designation".equals(type)) {
-        boolQueryBuilder.must(Query.of(q -> q.term(
-            t -> t.field(ElasticsearchConstants.FIELD_DESIGNATION_NAME + ".keyword").value(query))));
-      } else if ("skill".equals(type)) {
-        // For skills, search in job title, description, and skillNames fields
-        BoolQuery.Builder skillQueryBuilder = new BoolQuery.Builder();
-        skillQueryBuilder.should(Query.of(q -> q.match(m -> m.field("title").query(query))));
-        skillQueryBuilder.should(Query.of(q -> q.match(m -> m.field("description").query(query))));
-        skillQueryBuilder.should(Query.of(q -> q.match(m -> m.field("skillNames").query(query))));
-        boolQueryBuilder.must(skillQueryBuilder.build()._toQuery());
-      }
-
       SearchRequest searchRequest = SearchRequest.of(s -> s
           .index(ElasticsearchConstants.JOBS_INDEX)
-          .query(boolQueryBuilder.build()._toQuery())
+          .query(buildQueryLocationCombinationQuery(query, location, type))
           .size(0) // We don't need the actual documents, just the count
       );
 
@@ -347,6 +358,64 @@ public class ElasticsearchSEOService {
     }
   }
 
+  /**
+   * Get job counts for several queries in the same location with a single _msearch round-trip
+   */
+  private Map<String, Long> getJobCountsForQueryLocationCombinations(List<String> queries,
+      String location, String type) {
+    Map<String, Long> jobCounts = new HashMap<>();
+    if (queries == null || queries.isEmpty()) {
+      return jobCounts;
+    }
+
+    try {
+      List<RequestItem> searches = new ArrayList<>();
+      for (String query : queries) {
+        Query combinationQuery = buildQueryLocationCombinationQuery(query, location, type);
+        searches.add(RequestItem.of(r -> r
+            .header(h -> h.index(ElasticsearchConstants.JOBS_INDEX))
+            .body(b -> b.query(combinationQuery).size(0))));
+      }
+
+      MsearchResponse<Map> response = elasticsearchClient.msearch(
+          MsearchRequest.of(m -> m.searches(searches)), Map.class);
+
+      List<MultiSearchResponseItem<Map>> items = response.responses();
+      for (int i = 0; i < items.size() && i < queries.size(); i++) {
+        MultiSearchResponseItem<Map> item = items.get(i);
+        if (item.isResult() && item.result().hits().total() != null) {
+          jobCounts.put(queries.get(i), item.result().hits().total().value());
+        }
+      }
+      return jobCounts;
+
+    } catch (Exception e) {
+      log.error("Error getting job counts for {} query + location combinations in {}", queries.size(),
+          location, e);
+      return jobCounts;
+    }
+  }
+
+  private Query buildQueryLocationCombinationQuery(String query, String location, String type) {
+    BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
+    boolQueryBuilder.must(
+        Query.of(q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_ACTIVE).value(true))));
+    boolQueryBuilder.must(Query.of(q -> q.match(m -> m.field("cityName").query(location))));
+
+    if ("designation".equals(type)) {
+      boolQueryBuilder.must(Query.of(q -> q.term(
+          t -> t.field(ElasticsearchConstants.FIELD_DESIGNATION_NAME + ".keyword").value(query))));
+    } else if ("skill".equals(type)) {
+      // For skills, search in job title, description, and skillNames fields
+      BoolQuery.Builder skillQueryBuilder = new BoolQuery.Builder();
+      skillQueryBuilder.should(Query.of(q -> q.match(m -> m.field("title").query(query))));
+      skillQueryBuilder.should(Query.of(q -> q.match(m -> m.field("description").query(query))));
+      skillQueryBuilder.should(Query.of(q -> q.match(m -> m.field("skillNames").query(query))));
+      boolQueryBuilder.must(skillQueryBuilder.build()._toQuery());
+    }
+    return boolQueryBuilder.build()._toQuery();
+  }
+
   /**
    * Get top designations by job count
    */
@@ -354,6 +423,21 @@ public class ElasticsearchSEOService {
     try {
       log.info("Getting top {} designations by job count", limit);
 
+      if (seoInterlinkGraphService.isReady()) {
+        long totalJobs = 0;
+        List<Map<String, Object>> topDesignations = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : seoInterlinkGraphService.getTopDesignations(limit)) {
+          topDesignations.add(createDesignationWithJobCount(entry.getKey(), entry.getValue()));
+          totalJobs += entry.getValue();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("topDesignations", topDesignations);
+        result.put("totalDesignations", topDesignations.size());
+        result.put("totalJobs", totalJobs);
+        return result;
+      }
+
       // Build search request with aggregation
       BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
       boolQueryBuilder.must(
@@ -437,6 +521,24 @@ public class ElasticsearchSEOService {
     try {
       log.info("Getting top {} skills by job count", limit);
 
+      if (seoInterlinkGraphService.isReady()) {
+        long totalJobs = 0;
+        List<Map<String, Object>> topSkills = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : seoInterlinkGraphService.getTopSkills(limit)) {
+          Map<String, Object> skill = new HashMap<>();
+          skill.put("skillName", entry.getKey());
+          skill.put("jobCount", entry.getValue());
+          topSkills.add(skill);
+          totalJobs += entry.getValue();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("topSkills", topSkills);
+        result.put("totalSkills", topSkills.size());
+        result.put("totalJobs", totalJobs);
+        return result;
+      }
+
       // Build search request with aggregation on tags (skills)
       BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
       boolQueryBuilder.must(
@@ -563,7 +665,9 @@ public class ElasticsearchSEOService {
       // Get job counts for all similar skills in a single optimized query
       java.util.List<java.util.Map<String, Object>> similarSkillsWithCounts = new java.util.ArrayList<>();
       if (!similarSkills.isEmpty()) {
-        Map<String, Long> skillJobCounts = getJobCountsForMultipleSkills(similarSkills);
+        Map<String, Long> skillJobCounts = seoInterlinkGraphService.isReady()
+            ? seoInterlinkGraphService.getSkillJobCounts(similarSkills)
+            : getJobCountsForMultipleSkills(similarSkills);
         
         for (String similarSkill : similarSkills) {
           Long jobCount = skillJobCounts.get(similarSkill);
@@ -597,6 +701,48 @@ public class ElasticsearchSEOService {
 
   // Helper methods
 
+  /**
+   * Similar designations with job counts served entirely from the interlink graph
+   */
+  private Map<String, Object> getSimilarDesignationsWithJobCountsFromGraph(String designation) {
+    String departmentName = seoInterlinkGraphService.getDepartmentOfDesignation(designation);
+
+    List<String> similarDesignations = seoInterlinkGraphService.getSimilarDesignations(designation);
+    if (similarDesignations.isEmpty() && departmentName != null) {
+      similarDesignations = seoInterlinkGraphService.getDesignationsByDepartment(departmentName);
+    }
+
+    List<Map<String, Object>> similarDesignationsWithCounts = toSimilarContent(
+        similarDesignations, seoInterlinkGraphService.getDesignationJobCounts(similarDesignations));
+
+    // If no jobs found for similar designations, fallback to the department's designations
+    if (similarDesignationsWithCounts.isEmpty() && departmentName != null) {
+      List<String> departmentDesignations = seoInterlinkGraphService.getDesignationsByDepartment(departmentName);
+      similarDesignationsWithCounts = toSimilarContent(
+          departmentDesignations, seoInterlinkGraphService.getDesignationJobCounts(departmentDesignations));
+    }
+
+    similarDesignationsWithCounts.sort((a, b) ->
+        Long.compare((Long) b.get("jobCount"), (Long) a.get("jobCount")));
+
+    Map<String, Object> result = new HashMap<>();
+    result.put("keywordType", "designation");
+    result.put("similarContent", similarDesignationsWithCounts);
+    result.put("count", similarDesignationsWithCounts.size());
+    return result;
+  }
+
+  private List<Map<String, Object>> toSimilarContent(List<String> keywords, Map<String, Long> jobCounts) {
+    List<Map<String, Object>> items = new ArrayList<>();
+    for (String keyword : keywords) {
+      Long jobCount = jobCounts.get(keyword);
+      if (jobCount != null && jobCount > 0) {
+        items.add(createCommonResponseItem(keyword, jobCount, "designation"));
+      }
+    }
+    return items;
+  }
+
   private List<String> getDesignationsByDepartmentFromElasticsearch(String departmentName) {
     try {
       log.info("Getting designations by department from Elasticsearch: {}", departmentName);
@@ -902,21 +1048,32 @@ public class ElasticsearchSEOService {
       List<Map<String, Object>> combinations = new ArrayList<>();
 
       // Get similar designations first
-      List<String> similarDesignations = getSimilarDesignationsForLocationSearch(designation);
+      List<String> similarDesignations = seoInterlinkGraphService.isReady()
+          ? seoInterlinkGraphService.getSimilarDesignations(designation)
+          : getSimilarDesignationsForLocationSearch(designation);
+      similarDesignations.removeIf(similar -> similar.equalsIgnoreCase(designation));
+
+      // Job counts in the same location: from the graph, or one _msearch for all of them
+      Map<String, Long> jobCounts = new HashMap<>();
+      if (seoInterlinkGraphService.isReady()) {
+        for (String similarDesignation : similarDesignations) {
+          jobCounts.put(similarDesignation,
+              seoInterlinkGraphService.getDesignationCityJobCount(similarDesignation, location));
+        }
+      } else {
+        jobCounts = getJobCountsForQueryLocationCombinations(similarDesignations, location, "designation");
+      }
 
-      // For each similar designation, get job count in the same location
       for (String similarDesignation : similarDesignations) {
-        if (!similarDesignation.equalsIgnoreCase(designation)) {
-          long jobCount = getJobCountForQueryLocationCombination(similarDesignation, location, "designation");
-
-          if (jobCount > 0) {
-            Map<String, Object> combination = new HashMap<>();
-            combination.put("designationName", similarDesignation);
-            combination.put("location", location);
-            combination.put("jobCount", jobCount);
-            combination.put("seoText", similarDesignation + " jobs in " + location);
-            combinations.add(combination);
-          }
+        long jobCount = jobCounts.getOrDefault(similarDesignation, 0L);
+
+        if (jobCount > 0) {
+          Map<String, Object> combination = new HashMap<>();
+          combination.put("designationName", similarDesignation);
+          combination.put("location", location);
+          combination.put("jobCount", jobCount);
+          combination.put("seoText", similarDesignation + " jobs in " + location);
+          combinations.add(combination);
         }
       }
 
@@ -934,22 +1091,30 @@ public class ElasticsearchSEOService {
     try {
       List<Map<String, Object>> combinations = new ArrayList<>();
 
-      // Get similar skills first
+      // Get similar skills first (the only live lookup left on this path)
       List<String> similarSkills = getSimilarSkillsForLocationSearch(skill);
+      similarSkills.removeIf(similar -> similar.equalsIgnoreCase(skill));
+
+      // Job counts in the same location: from the graph, or one _msearch for all of them
+      Map<String, Long> jobCounts = new HashMap<>();
+      if (seoInterlinkGraphService.isReady()) {
+        for (String similarSkill : similarSkills) {
+          jobCounts.put(similarSkill, seoInterlinkGraphService.getSkillCityJobCount(similarSkill, location));
+        }
+      } else {
+        jobCounts = getJobCountsForQueryLocationCombinations(similarSkills, location, "skill");
+      }
 
-      // For each similar skill, get job count in the same location
       for (String similarSkill : similarSkills) {
-        if (!similarSkill.equalsIgnoreCase(skill)) {
-          long jobCount = getJobCountForQueryLocationCombination(similarSkill, location, "skill");
-
-          if (jobCount > 0) {
-            Map<String, Object> combination = new HashMap<>();
-            combination.put("skillName", similarSkill);
-            combination.put("location", location);
-            combination.put("jobCount", jobCount);
-            combination.put("seoText", similarSkill + " jobs in " + location);
-            combinations.add(combination);
-          }
+        long jobCount = jobCounts.getOrDefault(similarSkill, 0L);
+
+        if (jobCount > 0) {
+          Map<String, Object> combination = new HashMap<>();
+          combination.put("skillName", similarSkill);
+          combination.put("location", location);
+          combination.put("jobCount", jobCount);
+          combination.put("seoText", similarSkill + " jobs in " + location);
+          combinations.add(combination);
         }
       }
 
@@ -7,12 +7,14 @@ import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.elasticsearch.core.IndexResponse;
 import com.tymbl.common.entity.Skill;
 import com.tymbl.common.repository.SkillRepository;
+import com.tymbl.config.ElasticsearchConfig;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ElasticsearchSkillIndexingService {
 
+  @Qualifier(ElasticsearchConfig.BULK_CLIENT)
   private final ElasticsearchClient elasticsearchClient;
   private final SkillRepository skillRepository;
 
@@ -1,5 +1,6 @@
 package com.tymbl.jobs.service;
 
+import com.tymbl.common.util.KeysetIterator;
 import com.tymbl.jobs.entity.ExternalJobDetail;
 import com.tymbl.jobs.repository.ExternalJobDetailRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ExternalJobSyncService {
 
+  private static final int SYNC_BATCH_SIZE = 200;
+
   private final ExternalJobDetailRepository externalJobDetailRepository;
   private final IndividualJobSyncService individualJobSyncService;
 
@@ -28,73 +31,77 @@ public class ExternalJobSyncService {
     SyncResult result = new SyncResult();
 
     try {
-      // Get all external job details that haven't been synced yet
+      // Count up front and stream the rows in id order instead of loading the whole backlog
               log.info("📊 Querying database for refined but unsynced external jobs...");
-      List<ExternalJobDetail> unsyncedJobs = externalJobDetailRepository.findByIsRefinedTrueAndIsSyncedToJobTableFalse();
-              log.info("📋 Found {} refined but unsynced external jobs in database", unsyncedJobs.size());
+      long unsyncedCount = externalJobDetailRepository.countByIsRefinedTrueAndIsSyncedToJobTableFalse();
+              log.info("📋 Found {} refined but unsynced external jobs in database", unsyncedCount);
 
-      if (unsyncedJobs.isEmpty()) {
+      if (unsyncedCount == 0) {
         log.info("✅ No unsynced external jobs found - sync process completed immediately");
         result.setMessage("No unsynced external jobs found");
         result.setSuccess(true);
         return result;
       }
 
-      log.info("🔄 Starting sync of {} external jobs to Job table", unsyncedJobs.size());
+      log.info("🔄 Starting sync of {} external jobs to Job table", unsyncedCount);
 
       int successCount = 0;
       int errorCount = 0;
       int currentJobIndex = 0;
 
-      for (ExternalJobDetail externalJob : unsyncedJobs) {
-        currentJobIndex++;
-        long jobStartTime = System.currentTimeMillis();
-        
-        log.info("⏳ Processing job {}/{}: ID={}, Title='{}', Portal='{}'", 
-            currentJobIndex, unsyncedJobs.size(), externalJob.getId(), 
-            externalJob.getJobTitle(), externalJob.getPortalName());
-
-        try {
-          // Use the individual job sync service (which handles its own transaction)
-          log.info("🔄 Calling individual job sync service for job ID: {}", externalJob.getId());
-          IndividualJobSyncService.SyncResult individualResult = individualJobSyncService.syncIndividualJob(
-              externalJob);
-
-          long jobProcessingTime = System.currentTimeMillis() - jobStartTime;
-
-          if (individualResult.isSuccess()) {
-            successCount++;
-            log.info("✅ Successfully synced external job {}/{}: ID={}, Title='{}', ProcessingTime={}ms, Message='{}'", 
-                currentJobIndex, unsyncedJobs.size(), externalJob.getId(), 
-                externalJob.getJobTitle(), jobProcessingTime, individualResult.getMessage());
-          } else {
+      for (List<ExternalJobDetail> batch : KeysetIterator.batches(
+          externalJobDetailRepository::findByIsRefinedTrueAndIsSyncedToJobTableFalseAndIdGreaterThan,
+          ExternalJobDetail::getId, SYNC_BATCH_SIZE)) {
+        for (ExternalJobDetail externalJob : batch) {
+          currentJobIndex++;
+          long jobStartTime = System.currentTimeMillis();
+
+          log.info("⏳ Processing job {}/{}: ID={}, Title='{}', Portal='{}'", 
+              currentJobIndex, unsyncedCount, externalJob.getId(), 
+              externalJob.getJobTitle(), externalJob.getPortalName());
+
+          try {
+            // Use the individual job sync service (which handles its own transaction)
+            log.info("🔄 Calling individual job sync service for job ID: {}", externalJob.getId());
+            IndividualJobSyncService.SyncResult individualResult = individualJobSyncService.syncIndividualJob(
+                externalJob);
+
+            long jobProcessingTime = System.currentTimeMillis() - jobStartTime;
+
+            if (individualResult.isSuccess()) {
+              successCount++;
+              log.info("✅ Successfully synced external job {}/{}: ID={}, Title='{}', ProcessingTime={}ms, Message='{}'", 
+                  currentJobIndex, unsyncedCount, externalJob.getId(), 
+                  externalJob.getJobTitle(), jobProcessingTime, individualResult.getMessage());
+            } else {
+              errorCount++;
+              log.warn("❌ Failed to sync external job {}/{}: ID={}, Title='{}', ProcessingTime={}ms, Message='{}'", 
+                  currentJobIndex, unsyncedCount, externalJob.getId(), 
+                  externalJob.getJobTitle(), jobProcessingTime, individualResult.getMessage());
+            }
+
+          } catch (Exception e) {
+            long jobProcessingTime = System.currentTimeMillis() - jobStartTime;
+            log.error("💥 Exception syncing external job {}/{}: ID={}, Title='{}', ProcessingTime={}ms, Error='{}'", 
+                currentJobIndex, unsyncedCount, externalJob.getId(), 
+                externalJob.getJobTitle(), jobProcessingTime, e.getMessage(), e);
             errorCount++;
-            log.warn("❌ Failed to sync external job {}/{}: ID={}, Title='{}', ProcessingTime={}ms, Message='{}'", 
-                currentJobIndex, unsyncedJobs.size(), externalJob.getId(), 
-                externalJob.getJobTitle(), jobProcessingTime, individualResult.getMessage());
           }
-
-        } catch (Exception e) {
-          long jobProcessingTime = System.currentTimeMillis() - jobStartTime;
-          log.error("💥 Exception syncing external job {}/{}: ID={}, Title='{}', ProcessingTime={}ms, Error='{}'", 
-              currentJobIndex, unsyncedJobs.size(), externalJob.getId(), 
-              externalJob.getJobTitle(), jobProcessingTime, e.getMessage(), e);
-          errorCount++;
         }
       }
 
       long totalProcessingTime = System.currentTimeMillis() - startTime;
       
       result.setSuccess(true);
-      result.setTotalJobs(unsyncedJobs.size());
+      result.setTotalJobs(currentJobIndex);
       result.setSuccessCount(successCount);
       result.setErrorCount(errorCount);
       result.setMessage(
           String.format("Sync completed. Success: %d, Errors: %d", successCount, errorCount));
 
       log.info("🎉 External job sync completed successfully! 📊 Summary: Total={}, Success={}, Errors={}, TotalTime={}ms, AvgTimePerJob={}ms", 
-          unsyncedJobs.size(), successCount, errorCount, totalProcessingTime, 
-          unsyncedJobs.size() > 0 ? totalProcessingTime / unsyncedJobs.size() : 0);
+          currentJobIndex, successCount, errorCount, totalProcessingTime, 
+          currentJobIndex > 0 ? totalProcessingTime / currentJobIndex : 0);
 
     } catch (Exception e) {
       long totalProcessingTime = System.currentTimeMillis() - startTime;
@@ -28,6 +28,7 @@ public class IndividualJobSyncService {
     private final JobRepository jobRepository;
     private final ExternalJobDetailRepository externalJobDetailRepository;
     private final ExternalJobTagger externalJobTagger;
+    private final JobDetailCache jobDetailCache;
 
     /**
      * Sync a single external job to the main Job table This method is transactional to ensure data
@@ -102,6 +103,7 @@ public class IndividualJobSyncService {
                 
                 // Save the updated job
                 Job updatedJob = jobRepository.save(duplicateJob);
+                jobDetailCache.evict(updatedJob.getId());
 
                 // Mark external job as synced
                 managedExternalJob.setIsSyncedToJobTable(true);
@@ -0,0 +1,505 @@
+package com.tymbl.jobs.service;
+
+import com.tymbl.common.entity.Job;
+import com.tymbl.common.service.DependencyGuard;
+import com.tymbl.common.service.DependencyGuard.Dependency;
+import com.tymbl.common.service.ExecutorRegistry;
+import com.tymbl.common.service.ExecutorRegistry.Workload;
+import com.tymbl.common.util.RateLimiter;
+import com.tymbl.jobs.dto.JobCrawlRequest;
+import com.tymbl.jobs.dto.JobCrawlResponse;
+import com.tymbl.jobs.entity.ExternalJobCrawlKeyword;
+import com.tymbl.jobs.entity.ExternalJobDetail;
+import com.tymbl.jobs.entity.ExternalJobRawResponse;
+import com.tymbl.jobs.entity.ExternalJobRawResponse.ProcessingStatus;
+import com.tymbl.jobs.entity.IngestionCheckpoint;
+import com.tymbl.jobs.repository.ExternalJobCrawlKeywordRepository;
+import com.tymbl.jobs.repository.ExternalJobDetailRepository;
+import com.tymbl.jobs.repository.ExternalJobRawResponseRepository;
+import com.tymbl.jobs.repository.IngestionCheckpointRepository;
+import com.tymbl.jobs.repository.JobRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Continuous crawl → parse → refine → sync → index pipeline for external jobs.
+ *
+ * <p>Stages hand work to each other through the tables they already share: a raw response waits
+ * as PENDING, an external job as unrefined and then as refined-but-unsynced, and a job is waiting
+ * for the search index while its {@code updated_at} is past the INDEX watermark in
+ * {@code ingestion_checkpoints}. Each poll hands every idle stage to its executor pool. A stage
+ * walks its backlog in id order from where its previous drain stopped, so it only reads rows that
+ * arrived since, and works on up to {@code <stage>.concurrency} of them at once. A stage pauses
+ * while the stage after it has more than {@code max-backlog} rows waiting, or while the circuit of
+ * the dependency it calls (Gemini for refine and sync, Elasticsearch for index) is open. Rows
+ * that failed are tried again once a stage has caught up and {@code retry-minutes} have passed;
+ * the INDEX watermark instead stops at the first job that failed to index.
+ */
+@Slf4j
+@Service
+public class IngestionPipelineService {
+
+  public enum Stage {
+    CRAWL(Workload.CRAWLING, 1, null),
+    PARSE(Workload.CRAWLING, 2, null),
+    REFINE(Workload.AI_FANOUT, 2, Dependency.GEMINI),
+    SYNC(Workload.AI_FANOUT, 2, Dependency.GEMINI),
+    INDEX(Workload.INDEXING, 4, Dependency.ELASTICSEARCH);
+
+    private final Workload workload;
+    private final int defaultConcurrency;
+    // Outbound dependency whose open circuit pauses the stage instead of failing every row
+    private final Dependency dependency;
+
+    Stage(Workload workload, int defaultConcurrency, Dependency dependency) {
+      this.workload = workload;
+      this.defaultConcurrency = defaultConcurrency;
+      this.dependency = dependency;
+    }
+
+    /**
+     * Stage whose backlog this one feeds; a crawl parses its response inline, so it feeds REFINE
+     */
+    Stage downstream() {
+      switch (this) {
+        case CRAWL:
+        case PARSE:
+          return REFINE;
+        case REFINE:
+          return SYNC;
+        case SYNC:
+          return INDEX;
+        default:
+          return null;
+      }
+    }
+
+    String propertyName() {
+      return name().toLowerCase();
+    }
+  }
+
+  private static final String INDEX_CHECKPOINT = Stage.INDEX.name();
+
+  private final JobCrawlingService jobCrawlingService;
+  private final SingleJobContentRefinementService singleJobContentRefinementService;
+  private final IndividualJobSyncService individualJobSyncService;
+  private final ElasticsearchJobIndexingService elasticsearchJobIndexingService;
+  private final ExternalJobCrawlKeywordRepository keywordRepository;
+  private final ExternalJobRawResponseRepository rawResponseRepository;
+  private final ExternalJobDetailRepository externalJobDetailRepository;
+  private final JobRepository jobRepository;
+  private final IngestionCheckpointRepository checkpointRepository;
+  private final ExecutorRegistry executorRegistry;
+  private final DependencyGuard dependencyGuard;
+
+  private final boolean enabled;
+  private final int batchSize;
+  private final long maxBacklog;
+  private final long retryMillis;
+  private final long crawlIntervalHours;
+  private final long indexSettleSeconds;
+  private final RateLimiter crawlRateLimiter;
+  private final Map<Stage, StageState> states = new EnumMap<>(Stage.class);
+
+  // Keywords whose last crawl failed, by id, with the time of the failure
+  private final Map<Long, Long> crawlFailures = new ConcurrentHashMap<>();
+  // Jobs holding the INDEX watermark back, by id, with the time they first failed to index
+  private final Map<Long, Long> indexFailures = new ConcurrentHashMap<>();
+
+  public IngestionPipelineService(JobCrawlingService jobCrawlingService,
+      SingleJobContentRefinementService singleJobContentRefinementService,
+      IndividualJobSyncService individualJobSyncService,
+      ElasticsearchJobIndexingService elasticsearchJobIndexingService,
+      ExternalJobCrawlKeywordRepository keywordRepository,
+      ExternalJobRawResponseRepository rawResponseRepository,
+      ExternalJobDetailRepository externalJobDetailRepository, JobRepository jobRepository,
+      IngestionCheckpointRepository checkpointRepository, ExecutorRegistry executorRegistry,
+      DependencyGuard dependencyGuard, Environment environment,
+      @Value("${ingestion.pipeline.enabled:false}") boolean enabled,
+      @Value("${ingestion.pipeline.batch-size:50}") int batchSize,
+      @Value("${ingestion.pipeline.max-backlog:2000}") long maxBacklog,
+      @Value("${ingestion.pipeline.retry-minutes:60}") long retryMinutes,
+      @Value("${ingestion.pipeline.crawl-interval-hours:24}") long crawlIntervalHours,
+      @Value("${ingestion.pipeline.crawls-per-second:0.5}") double crawlsPerSecond,
+      @Value("${ingestion.pipeline.index-settle-seconds:5}") long indexSettleSeconds) {
+    this.jobCrawlingService = jobCrawlingService;
+    this.singleJobContentRefinementService = singleJobContentRefinementService;
+    this.individualJobSyncService = individualJobSyncService;
+    this.elasticsearchJobIndexingService = elasticsearchJobIndexingService;
+    this.keywordRepository = keywordRepository;
+    this.rawResponseRepository = rawResponseRepository;
+    this.externalJobDetailRepository = externalJobDetailRepository;
+    this.jobRepository = jobRepository;
+    this.checkpointRepository = checkpointRepository;
+    this.executorRegistry = executorRegistry;
+    this.dependencyGuard = dependencyGuard;
+    this.enabled = enabled;
+    this.batchSize = Math.max(1, batchSize);
+    this.maxBacklog = Math.max(1, maxBacklog);
+    this.retryMillis = TimeUnit.MINUTES.toMillis(Math.max(1, retryMinutes));
+    this.crawlIntervalHours = Math.max(1, crawlIntervalHours);
+    this.indexSettleSeconds = Math.max(0, indexSettleSeconds);
+    this.crawlRateLimiter = new RateLimiter(crawlsPerSecond);
+    for (Stage stage : Stage.values()) {
+      int concurrency = environment.getProperty(
+          "ingestion.pipeline." + stage.propertyName() + ".concurrency", Integer.class,
+          stage.defaultConcurrency);
+      states.put(stage, new StageState(Math.max(1, concurrency)));
+    }
+  }
+
+  /**
+   * Measures every stage's backlog and hands each idle stage to its pool; returns immediately
+   */
+  @Scheduled(initialDelay = 60000, fixedDelayString = "${ingestion.pipeline.poll-ms:30000}")
+  public void poll() {
+    if (!enabled) {
+      return;
+    }
+    for (Stage stage : Stage.values()) {
+      refreshLag(stage);
+    }
+    submit(Stage.CRAWL, this::drainCrawl);
+    submit(Stage.PARSE, () -> drainById(Stage.PARSE,
+        (afterId, page) -> rawResponseRepository.findByProcessingStatusAndIdGreaterThan(
+            ProcessingStatus.PENDING, afterId, page),
+        ExternalJobRawResponse::getId, jobCrawlingService::processRawResponse));
+    submit(Stage.REFINE, () -> drainById(Stage.REFINE,
+        externalJobDetailRepository::findByIsRefinedFalseAndIdGreaterThan,
+        ExternalJobDetail::getId, this::refine));
+    submit(Stage.SYNC, () -> drainById(Stage.SYNC,
+        externalJobDetailRepository::findByIsRefinedTrueAndIsSyncedToJobTableFalseAndIdGreaterThan,
+        ExternalJobDetail::getId,
+        externalJob -> individualJobSyncService.syncIndividualJob(externalJob).isSuccess()));
+    submit(Stage.INDEX, this::drainIndex);
+  }
+
+  /**
+   * Per-stage backlog ({@code pending}, {@code oldestPendingSeconds}) and throughput
+   */
+  public Map<String, Object> getStatus() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("enabled", enabled);
+    Map<String, Object> stages = new LinkedHashMap<>();
+    states.forEach((stage, state) -> stages.put(stage.name(), state.stats(throttled(stage))));
+    status.put("stages", stages);
+    checkpointRepository.findById(INDEX_CHECKPOINT)
+        .ifPresent(checkpoint -> status.put("indexWatermark", checkpoint.getWatermarkAt()));
+    return status;
+  }
+
+  private void submit(Stage stage, Runnable drain) {
+    StageState state = states.get(stage);
+    if (throttled(stage) || !state.running.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executorRegistry.get(stage.workload).execute(() -> {
+        try {
+          drain.run();
+        } catch (Exception e) {
+          log.error("Ingestion stage {} failed: {}", stage, e.getMessage(), e);
+        } finally {
+          state.running.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      state.running.set(false);
+      log.warn("{} pool saturated, ingestion stage {} deferred", stage.workload, stage);
+    }
+  }
+
+  private boolean throttled(Stage stage) {
+    if (stage.dependency != null && !dependencyGuard.isAvailable(stage.dependency)) {
+      return true;
+    }
+    Stage downstream = stage.downstream();
+    return downstream != null && states.get(downstream).pending > maxBacklog;
+  }
+
+  /**
+   * Works through one stage's backlog in id order, stopping once it is empty or the next stage is
+   * full. When caught up, the cursor goes back to the start every {@code retry-minutes} so rows
+   * that failed (and are therefore still in the backlog) are picked up again.
+   */
+  private <T> void drainById(Stage stage, BiFunction<Long, Pageable, List<T>> fetcher,
+      Function<T, Long> idOf, Predicate<T> processor) {
+    StageState state = states.get(stage);
+    Executor executor = executorRegistry.limited(stage.workload, state.concurrency);
+    Pageable page = PageRequest.of(0, batchSize, Sort.by("id"));
+    while (!throttled(stage)) {
+      List<T> batch = fetcher.apply(state.cursor, page);
+      if (batch.isEmpty()) {
+        long now = System.currentTimeMillis();
+        if (state.cursor > 0 && now - state.rewoundAt >= retryMillis) {
+          state.cursor = 0;
+          state.rewoundAt = now;
+        }
+        return;
+      }
+      runBatch(stage, batch, processor, executor);
+      state.cursor = idOf.apply(batch.get(batch.size() - 1));
+      refreshLag(stage.downstream());
+    }
+  }
+
+  private void drainCrawl() {
+    long now = System.currentTimeMillis();
+    crawlFailures.values().removeIf(failedAt -> now - failedAt >= retryMillis);
+    List<ExternalJobCrawlKeyword> due = keywordRepository.findKeywordsReadyForCrawling(
+            LocalDateTime.now().minusHours(crawlIntervalHours)).stream()
+        .filter(keyword -> !crawlFailures.containsKey(keyword.getId()))
+        .collect(Collectors.toList());
+
+    Executor executor = executorRegistry.limited(Stage.CRAWL.workload,
+        states.get(Stage.CRAWL).concurrency);
+    for (int from = 0; from < due.size() && !throttled(Stage.CRAWL); from += batchSize) {
+      runBatch(Stage.CRAWL, due.subList(from, Math.min(from + batchSize, due.size())),
+          this::crawl, executor);
+      refreshLag(Stage.REFINE);
+    }
+  }
+
+  private boolean crawl(ExternalJobCrawlKeyword keyword) {
+    try {
+      crawlRateLimiter.acquire(1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    JobCrawlRequest request = new JobCrawlRequest();
+    request.setKeyword(keyword.getKeyword());
+    request.setPortalName(keyword.getPortalName());
+    JobCrawlResponse response = jobCrawlingService.crawlJobs(request);
+    if ("SUCCESS".equals(response.getStatus())) {
+      return true;
+    }
+    // A failed crawl leaves the keyword due; hold it back so it is not retried on every poll
+    crawlFailures.put(keyword.getId(), System.currentTimeMillis());
+    log.warn("Crawl of '{}' on {} failed: {}", keyword.getKeyword(), keyword.getPortalName(),
+        response.getMessage());
+    return false;
+  }
+
+  private boolean refine(ExternalJobDetail externalJob) {
+    // No designation is known before the job is tagged during sync
+    singleJobContentRefinementService.refineJobContent(externalJob, null);
+    return true;
+  }
+
+  /**
+   * Indexes jobs changed since the watermark, oldest change first, moving the watermark after
+   * every batch. Changes younger than {@code index-settle-seconds} are left for the next drain so
+   * a transaction that commits slightly out of order is not skipped. The watermark stops just
+   * before the first job that failed to index, so the next drain starts with it; a job still
+   * failing after {@code retry-minutes} is stepped over and left to the next full reindex.
+   */
+  private void drainIndex() {
+    IngestionCheckpoint checkpoint = indexCheckpoint();
+    Executor executor = executorRegistry.limited(Stage.INDEX.workload,
+        states.get(Stage.INDEX).concurrency);
+    Pageable page = PageRequest.of(0, batchSize);
+    while (true) {
+      List<Object[]> changed = jobRepository.findChangedSince(checkpoint.getWatermarkAt(),
+          checkpoint.getLastId(), LocalDateTime.now().minusSeconds(indexSettleSeconds), page);
+      if (changed.isEmpty()) {
+        return;
+      }
+      List<Long> ids = changed.stream().map(row -> (Long) row[0]).collect(Collectors.toList());
+      Set<Long> failed = ConcurrentHashMap.newKeySet();
+      runBatch(Stage.INDEX, jobRepository.findAllWithCollectionsByIdIn(ids), job -> {
+        if (elasticsearchJobIndexingService.indexJob(job)) {
+          indexFailures.remove(job.getId());
+          return true;
+        }
+        failed.add(job.getId());
+        return false;
+      }, executor);
+
+      Object[] reached = null;
+      boolean blocked = false;
+      for (Object[] row : changed) {
+        if (failed.contains((Long) row[0]) && !givenUp((Long) row[0])) {
+          blocked = true;
+          break;
+        }
+        reached = row;
+      }
+      if (reached != null) {
+        checkpoint.setLastId((Long) reached[0]);
+        checkpoint.setWatermarkAt((LocalDateTime) reached[1]);
+        checkpoint = checkpointRepository.save(checkpoint);
+      }
+      if (blocked) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Whether a job that failed to index has been retried for long enough to step over it
+   */
+  private boolean givenUp(Long jobId) {
+    long now = System.currentTimeMillis();
+    long firstFailedAt = indexFailures.computeIfAbsent(jobId, id -> now);
+    if (now - firstFailedAt < retryMillis) {
+      return false;
+    }
+    indexFailures.remove(jobId);
+    log.error("Job {} has failed to index for {} minutes; moving the index watermark past it, "
+        + "a full reindex will pick it up", jobId, TimeUnit.MILLISECONDS.toMinutes(retryMillis));
+    return true;
+  }
+
+  private IngestionCheckpoint indexCheckpoint() {
+    return checkpointRepository.findById(INDEX_CHECKPOINT).orElseGet(() -> {
+      // Jobs changed before the pipeline was first enabled are covered by a full reindex
+      log.info("Starting the ingestion index watermark now; reindex to pick up earlier changes");
+      return checkpointRepository.save(
+          new IngestionCheckpoint(INDEX_CHECKPOINT, LocalDateTime.now(), 0L, null));
+    });
+  }
+
+  private <T> void runBatch(Stage stage, List<T> batch, Predicate<T> processor,
+      Executor executor) {
+    StageState state = states.get(stage);
+    long start = System.nanoTime();
+    List<CompletableFuture<Void>> items = new ArrayList<>(batch.size());
+    for (T item : batch) {
+      items.add(CompletableFuture.runAsync(() -> {
+        boolean processed;
+        try {
+          processed = processor.test(item);
+        } catch (Exception e) {
+          log.warn("Ingestion stage {} failed on an item: {}", stage, e.getMessage());
+          processed = false;
+        }
+        (processed ? state.processed : state.failed).incrementAndGet();
+      }, executor));
+    }
+    CompletableFuture.allOf(items.toArray(new CompletableFuture[0])).join();
+    state.recordBatch(batch.size(), System.nanoTime() - start);
+  }
+
+  private void refreshLag(Stage stage) {
+    if (stage == null) {
+      return;
+    }
+    StageState state = states.get(stage);
+    try {
+      LocalDateTime oldest = null;
+      long pending;
+      switch (stage) {
+        case CRAWL: {
+          LocalDateTime threshold = LocalDateTime.now().minusHours(crawlIntervalHours);
+          List<ExternalJobCrawlKeyword> due = keywordRepository.findKeywordsReadyForCrawling(
+              threshold);
+          pending = due.size();
+          // A keyword is late from the moment its interval ran out
+          oldest = due.stream().map(ExternalJobCrawlKeyword::getLastCrawledDate)
+              .filter(lastCrawled -> lastCrawled != null).min(LocalDateTime::compareTo)
+              .map(lastCrawled -> lastCrawled.plusHours(crawlIntervalHours)).orElse(null);
+          break;
+        }
+        case PARSE:
+          pending = rawResponseRepository.countByProcessingStatus(ProcessingStatus.PENDING);
+          oldest = rawResponseRepository.findFirstByProcessingStatusOrderByIdAsc(
+              ProcessingStatus.PENDING).map(ExternalJobRawResponse::getCreatedAt).orElse(null);
+          break;
+        case REFINE:
+          pending = externalJobDetailRepository.countByIsRefinedFalse();
+          oldest = createdAt(externalJobDetailRepository.findFirstByIsRefinedFalseOrderByIdAsc());
+          break;
+        case SYNC:
+          pending = externalJobDetailRepository.countByIsRefinedTrueAndIsSyncedToJobTableFalse();
+          oldest = createdAt(externalJobDetailRepository
+              .findFirstByIsRefinedTrueAndIsSyncedToJobTableFalseOrderByIdAsc());
+          break;
+        default: {
+          LocalDateTime watermark = indexCheckpoint().getWatermarkAt();
+          pending = jobRepository.countByUpdatedAtAfter(watermark);
+          oldest = pending > 0 ? watermark : null;
+        }
+      }
+      state.pending = pending;
+      state.oldestPendingSeconds = oldest == null ? 0
+          : Math.max(0, Duration.between(oldest, LocalDateTime.now()).getSeconds());
+    } catch (Exception e) {
+      log.warn("Could not measure the backlog of ingestion stage {}: {}", stage, e.getMessage());
+    }
+  }
+
+  private static LocalDateTime createdAt(Optional<ExternalJobDetail> externalJob) {
+    return externalJob.map(ExternalJobDetail::getCreatedAt).orElse(null);
+  }
+
+  private static final class StageState {
+
+    private final int concurrency;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    // Only touched by the single drain of the stage
+    private long cursor;
+    private long rewoundAt;
+
+    private volatile long pending;
+    private volatile long oldestPendingSeconds;
+    private volatile double perMinute;
+    private volatile LocalDateTime lastBatchAt;
+
+    StageState(int concurrency) {
+      this.concurrency = concurrency;
+    }
+
+    void recordBatch(int size, long elapsedNanos) {
+      double batchPerMinute = size * (double) TimeUnit.MINUTES.toNanos(1) / Math.max(1,
+          elapsedNanos);
+      // Smoothed over the last few batches
+      perMinute = perMinute == 0 ? batchPerMinute : 0.7 * perMinute + 0.3 * batchPerMinute;
+      lastBatchAt = LocalDateTime.now();
+    }
+
+    Map<String, Object> stats(boolean throttled) {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("running", running.get());
+      stats.put("throttled", throttled);
+      stats.put("concurrency", concurrency);
+      stats.put("pending", pending);
+      stats.put("oldestPendingSeconds", oldestPendingSeconds);
+      stats.put("processed", processed.get());
+      stats.put("failed", failed.get());
+      stats.put("perMinute", Math.round(perMinute));
+      stats.put("lastBatchAt", lastBatchAt);
+      return stats;
+    }
+  }
+}
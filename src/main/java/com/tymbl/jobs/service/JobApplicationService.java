@@ -16,7 +16,13 @@ import com.tymbl.jobs.entity.JobApplication;
 import com.tymbl.jobs.repository.JobApplicationRepository;
 import com.tymbl.jobs.repository.JobRepository;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -39,12 +45,20 @@ public class JobApplicationService {
   private final NotificationService notificationService;
   private final DropdownService dropdownService;
 
+  private Map<Long, Job> loadJobs(List<JobApplication> applications) {
+    Set<Long> jobIds = applications.stream().map(JobApplication::getJobId)
+        .collect(Collectors.toSet());
+    return jobRepository.findAllById(jobIds).stream()
+        .collect(Collectors.toMap(Job::getId, Function.identity()));
+  }
+
   /**
-   * Helper method to enrich user data with all names (company, designation, department, country,
-   * city)
+   * Users by id, enriched with all names (company, designation, department, country, city)
    */
-  private User enrichUserWithAllNames(User user) {
-    return userEnrichmentUtil.enrichUserWithAllNames(user);
+  private Map<Long, User> loadEnrichedUsers(Set<Long> userIds) {
+    List<User> users = userEnrichmentUtil.enrichUsersWithAllNames(
+        userRepository.findAllById(userIds));
+    return users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
   }
 
   @Transactional
@@ -106,26 +120,19 @@ public class JobApplicationService {
   }
 
   public List<JobApplicationResponse> getApplicationsByJob(Long jobId) {
-    return jobApplicationRepository.findByJobId(jobId).stream()
-        .map(this::mapToBasicResponse)
-        .collect(Collectors.toList());
+    return mapToBasicResponses(jobApplicationRepository.findByJobId(jobId));
   }
 
   @Transactional(readOnly = true)
   public List<JobApplicationResponse> getApplicationsByApplicant(User applicant) {
-    return jobApplicationRepository.findByApplicantId(applicant.getId()).stream()
-        .map(this::mapToBasicResponse)
-        .collect(Collectors.toList());
+    return mapToBasicResponses(jobApplicationRepository.findByApplicantId(applicant.getId()));
   }
 
   @Transactional(readOnly = true)
   public List<JobApplicationResponseExtendedDetails> getApplicationsForJobsPostedByUser(User user) {
-    List<Job> userJobs = jobRepository.findByPostedById(user.getId());
-    List<Long> jobIds = userJobs.stream().map(Job::getId).collect(Collectors.toList());
+    List<Long> jobIds = jobRepository.findIdsByPostedById(user.getId());
 
-    return jobApplicationRepository.findByJobIdIn(jobIds).stream()
-        .map(this::mapToExtendedDetails)
-        .collect(Collectors.toList());
+    return mapToExtendedDetailsList(jobApplicationRepository.findByJobIdIn(jobIds));
   }
 
   @Transactional(readOnly = true)
@@ -138,9 +145,7 @@ public class JobApplicationService {
       throw new RuntimeException("You are not authorized to view applications for this job");
     }
 
-    return jobApplicationRepository.findByJobId(jobId).stream()
-        .map(this::mapToExtendedDetails)
-        .collect(Collectors.toList());
+    return mapToExtendedDetailsList(jobApplicationRepository.findByJobId(jobId));
   }
 
   @Transactional(readOnly = true)
@@ -161,14 +166,35 @@ public class JobApplicationService {
   }
 
   private JobApplicationResponse mapToBasicResponse(JobApplication application) {
-    Job job = jobRepository.findById(application.getJobId())
+    return mapToBasicResponses(Collections.singletonList(application)).get(0);
+  }
+
+  /**
+   * Maps applications with their jobs, applicants and referrers loaded and enriched in bulk, so
+   * the number of queries does not grow with the number of applications
+   */
+  private List<JobApplicationResponse> mapToBasicResponses(List<JobApplication> applications) {
+    Map<Long, Job> jobs = loadJobs(applications);
+    Set<Long> userIds = new HashSet<>();
+    for (JobApplication application : applications) {
+      userIds.add(application.getApplicantId());
+      if (application.getJobReferrerId() != null) {
+        userIds.add(application.getJobReferrerId());
+      }
+    }
+    Map<Long, User> users = loadEnrichedUsers(userIds);
+    return applications.stream()
+        .map(application -> mapToBasicResponse(application, jobs, users))
+        .collect(Collectors.toList());
+  }
+
+  private JobApplicationResponse mapToBasicResponse(JobApplication application,
+      Map<Long, Job> jobs, Map<Long, User> users) {
+    Job job = Optional.ofNullable(jobs.get(application.getJobId()))
         .orElseThrow(() -> new RuntimeException("Job not found"));
-    User applicant = userRepository.findById(application.getApplicantId())
+    User applicant = Optional.ofNullable(users.get(application.getApplicantId()))
         .orElseThrow(() -> new RuntimeException("Applicant not found"));
 
-    // Enrich applicant data with all names (company, designation, department, country, city)
-    applicant = enrichUserWithAllNames(applicant);
-
     JobApplicationResponse response = new JobApplicationResponse();
     response.setId(application.getId());
     response.setJobId(job.getId());
@@ -181,10 +207,7 @@ public class JobApplicationService {
 
     // Populate referrer sudo identity
     if (application.getJobReferrerId() != null) {
-      userRepository.findById(application.getJobReferrerId()).ifPresent(refUser -> {
-        // Enrich referrer data with all names (company, designation, department, country, city)
-        refUser = enrichUserWithAllNames(refUser);
-
+      Optional.ofNullable(users.get(application.getJobReferrerId())).ifPresent(refUser -> {
         com.tymbl.jobs.dto.SudoIdentityDTO sudo = new com.tymbl.jobs.dto.SudoIdentityDTO();
         sudo.setDesignation(refUser.getDesignation());
         sudo.setCompany(refUser.getCompany());
@@ -195,14 +218,26 @@ public class JobApplicationService {
   }
 
   private JobApplicationResponseExtendedDetails mapToExtendedDetails(JobApplication application) {
-    Job job = jobRepository.findById(application.getJobId())
+    return mapToExtendedDetailsList(Collections.singletonList(application)).get(0);
+  }
+
+  private List<JobApplicationResponseExtendedDetails> mapToExtendedDetailsList(
+      List<JobApplication> applications) {
+    Map<Long, Job> jobs = loadJobs(applications);
+    Map<Long, User> applicants = loadEnrichedUsers(applications.stream()
+        .map(JobApplication::getApplicantId).collect(Collectors.toSet()));
+    return applications.stream()
+        .map(application -> mapToExtendedDetails(application, jobs, applicants))
+        .collect(Collectors.toList());
+  }
+
+  private JobApplicationResponseExtendedDetails mapToExtendedDetails(JobApplication application,
+      Map<Long, Job> jobs, Map<Long, User> applicants) {
+    Job job = Optional.ofNullable(jobs.get(application.getJobId()))
         .orElseThrow(() -> new RuntimeException("Job not found"));
-    User applicant = userRepository.findById(application.getApplicantId())
+    User applicant = Optional.ofNullable(applicants.get(application.getApplicantId()))
         .orElseThrow(() -> new RuntimeException("Applicant not found"));
 
-    // Enrich applicant data with all names (company, designation, department, country, city)
-    applicant = enrichUserWithAllNames(applicant);
-
     JobApplicationResponseExtendedDetails details = new JobApplicationResponseExtendedDetails();
     details.setId(application.getId());
     details.setJobId(job.getId());
@@ -300,16 +335,12 @@ public class JobApplicationService {
 
   @Transactional(readOnly = true)
   public List<JobApplicationResponseExtendedDetails> getJobApplicationsByUser(User user) {
-    return jobApplicationRepository.findByApplicantId(user.getId()).stream()
-        .map(this::mapToExtendedDetails)
-        .collect(Collectors.toList());
+    return mapToExtendedDetailsList(jobApplicationRepository.findByApplicantId(user.getId()));
   }
 
   @Transactional(readOnly = true)
   public List<JobApplicationResponseExtendedDetails> getJobApplicationsByJob(Long jobId) {
-    return jobApplicationRepository.findByJobId(jobId).stream()
-        .map(this::mapToExtendedDetails)
-        .collect(Collectors.toList());
+    return mapToExtendedDetailsList(jobApplicationRepository.findByJobId(jobId));
   }
 
   @Transactional(readOnly = true)
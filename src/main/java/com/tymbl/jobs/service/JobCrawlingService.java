@@ -1,12 +1,28 @@
 package com.tymbl.jobs.service;
 
+import com.tymbl.jobs.dto.JobCrawlRequest;
+import com.tymbl.jobs.dto.JobCrawlResponse;
+import com.tymbl.jobs.entity.ExternalJobRawResponse;
+
 public interface JobCrawlingService {
 
+  /**
+   * Crawl one keyword on one portal, storing the raw response and the parsed job details
+   */
+  JobCrawlResponse crawlJobs(JobCrawlRequest request);
+
   /**
    * Process pending raw responses and extract job details
    */
   void processPendingRawResponses();
 
+  /**
+   * Parse one raw response into job details, marking it COMPLETED or FAILED
+   *
+   * @return whether the response was parsed
+   */
+  boolean processRawResponse(ExternalJobRawResponse rawResponse);
+
   /**
    * Crawl all active keywords for all portals
    */
@@ -0,0 +1,165 @@
+package com.tymbl.jobs.service;
+
+import com.tymbl.jobs.dto.JobResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache of assembled job detail responses, keyed by job id. Concurrent misses for
+ * the same job share one load, so a crawler burst on a cold page costs a single query. Entries
+ * expire after {@code ttl-seconds} and are evicted after commit by every path that writes a job
+ * (see {@link JobService} and {@link IndividualJobSyncService}). Cached responses are shared
+ * between requests and must not be modified by callers.
+ */
+@Slf4j
+@Service
+public class JobDetailCache {
+
+  private final long ttlMillis;
+  private final int maxEntries;
+
+  private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, CompletableFuture<JobResponse>> loading =
+      new ConcurrentHashMap<>();
+
+  // Bumped by every eviction; a load that overlapped one is returned but not cached
+  private final AtomicLong evictions = new AtomicLong();
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public JobDetailCache(@Value("${jobs.detail-cache.ttl-seconds:600}") long ttlSeconds,
+      @Value("${jobs.detail-cache.max-entries:20000}") int maxEntries) {
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(1, ttlSeconds));
+    this.maxEntries = Math.max(1, maxEntries);
+  }
+
+  /**
+   * Returns the cached response for a job, loading it with {@code loader} on a miss. Exceptions
+   * from the loader (e.g. job not found) reach every caller waiting on that load.
+   */
+  public JobResponse get(Long jobId, Function<Long, JobResponse> loader) {
+    Entry entry = entries.get(jobId);
+    if (entry != null && !entry.isExpired(ttlMillis)) {
+      hits.incrementAndGet();
+      return entry.response;
+    }
+
+    CompletableFuture<JobResponse> ours = new CompletableFuture<>();
+    CompletableFuture<JobResponse> inFlight = loading.putIfAbsent(jobId, ours);
+    if (inFlight != null) {
+      hits.incrementAndGet();
+      return join(inFlight);
+    }
+
+    misses.incrementAndGet();
+    long evictionsBefore = evictions.get();
+    try {
+      JobResponse response = loader.apply(jobId);
+      if (evictions.get() == evictionsBefore) {
+        put(jobId, response);
+      }
+      ours.complete(response);
+      return response;
+    } catch (RuntimeException e) {
+      ours.completeExceptionally(e);
+      throw e;
+    } finally {
+      loading.remove(jobId, ours);
+    }
+  }
+
+  /**
+   * Drops a job once the surrounding transaction commits (immediately outside one)
+   */
+  public void evict(Long jobId) {
+    if (jobId == null) {
+      return;
+    }
+    afterCommit(() -> {
+      evictions.incrementAndGet();
+      entries.remove(jobId);
+    });
+  }
+
+  public void evictAll() {
+    afterCommit(() -> {
+      evictions.incrementAndGet();
+      entries.clear();
+    });
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("size", entries.size());
+    stats.put("hits", hits.get());
+    stats.put("misses", misses.get());
+    return stats;
+  }
+
+  private void put(Long jobId, JobResponse response) {
+    if (entries.size() >= maxEntries) {
+      long now = System.currentTimeMillis();
+      entries.values().removeIf(entry -> now - entry.loadedAt > ttlMillis);
+      if (entries.size() >= maxEntries) {
+        log.info("Job detail cache reached {} entries, resetting", maxEntries);
+        entries.clear();
+      }
+    }
+    entries.put(jobId, new Entry(response));
+  }
+
+  private static JobResponse join(CompletableFuture<JobResponse> load) {
+    try {
+      return load.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Defers evictions until the surrounding transaction commits, so a concurrent reader cannot
+   * re-cache the old row between the eviction and the commit
+   */
+  private void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  private static final class Entry {
+
+    private final JobResponse response;
+    private final long loadedAt = System.currentTimeMillis();
+
+    Entry(JobResponse response) {
+      this.response = response;
+    }
+
+    boolean isExpired(long ttlMillis) {
+      return System.currentTimeMillis() - loadedAt > ttlMillis;
+    }
+  }
+}
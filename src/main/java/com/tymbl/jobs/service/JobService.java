@@ -10,6 +10,7 @@ import com.tymbl.common.repository.ReferrerFeedbackRepository;
 import com.tymbl.common.repository.SkillRepository;
 import com.tymbl.common.repository.UserRepository;
 import com.tymbl.common.service.DropdownService;
+import com.tymbl.common.service.IndustryStatsService;
 import com.tymbl.common.util.UserEnrichmentUtil;
 import com.tymbl.exception.BadRequestException;
 import com.tymbl.exception.ConflictException;
@@ -29,6 +30,9 @@ import com.tymbl.jobs.repository.CompanyRepository;
 import com.tymbl.jobs.repository.JobApplicationRepository;
 import com.tymbl.jobs.repository.JobRepository;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -64,6 +68,8 @@ public class JobService {
   private final ElasticsearchIndexingService elasticsearchIndexingService;
   private final ElasticsearchCompanyIndexingService elasticsearchCompanyIndexingService;
   private final DropdownService dropdownService;
+  private final IndustryStatsService industryStatsService;
+  private final JobDetailCache jobDetailCache;
 
   @Value("${referrer.sort.weight.designation:0.3}")
   private double designationWeight;
@@ -72,14 +78,6 @@ public class JobService {
   @Value("${referrer.sort.weight.feedback:0.4}")
   private double feedbackWeight;
 
-  /**
-   * Helper method to enrich user data with all names (company, designation, department, country,
-   * city)
-   */
-  private User enrichUserWithAllNames(User user) {
-    return userEnrichmentUtil.enrichUserWithAllNames(user);
-  }
-
   @Transactional
   public JobResponse createJob(JobRequest request, User postedBy) {
     if (postedBy == null) {
@@ -252,11 +250,12 @@ public class JobService {
         .map(this::mapToResponse);
   }
 
-  @Transactional(readOnly = true)
+  /**
+   * Job detail page; served from {@link JobDetailCache}, so no transaction is opened on a hit
+   */
   public JobResponse getJobById(Long jobId) {
-    Job job = jobRepository.findById(jobId)
-        .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
-    return mapToResponse(job);
+    return jobDetailCache.get(jobId, id -> mapToResponse(jobRepository.findByIdWithCollections(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Job not found"))));
   }
 
   @Transactional
@@ -274,6 +273,8 @@ public class JobService {
     // Set job as inactive
     job.setActive(false);
     jobRepository.save(job);
+    jobDetailCache.evict(jobId);
+    industryStatsService.onJobChanged(job.getCompanyId());
 
     // Update company job count in Elasticsearch (non-blocking)
     try {
@@ -580,6 +581,7 @@ public class JobService {
     }
 
     job = jobRepository.save(job);
+    jobDetailCache.evict(jobId);
 
     // Sync to Elasticsearch (non-blocking)
     try {
@@ -652,6 +654,8 @@ public class JobService {
 
   public List<JobReferrerResponse> getReferrersForJob(Long jobId) {
     List<JobReferrer> referrers = jobReferrerRepository.findByJobId(jobId);
+    Map<Long, Integer> acceptedByReferrer = countShortlistedByReferrer(jobId);
+    Map<Long, Double> feedbackByReferrer = averageFeedbackByReferrer(referrers);
     List<JobReferrerResponse> responses = new java.util.ArrayList<>();
     for (JobReferrer ref : referrers) {
       User user = ref.getUser();
@@ -661,17 +665,10 @@ public class JobService {
           user.getFirstName() + (user.getLastName() != null ? (" " + user.getLastName()) : ""));
       dto.setDesignation(user.getDesignation());
       // Applications accepted: count of job applications for this job where referrer is this user
-      int numApplicationsAccepted = (int) jobApplicationRepository.findByJobId(jobId).stream()
-          .filter(app -> app.getJobId().equals(jobId) && app.getJobReferrerId() != null
-              && app.getJobReferrerId().equals(ref.getId())
-              && app.getStatus() == JobApplication.ApplicationStatus.SHORTLISTED)
-          .count();
+      int numApplicationsAccepted = acceptedByReferrer.getOrDefault(ref.getId(), 0);
       dto.setNumApplicationsAccepted(numApplicationsAccepted);
       // Feedback score: average score from feedbacks for this referrer
-      double feedbackScore = referrerFeedbackRepository.findByJobReferrerId(ref.getId()).stream()
-          .filter(fb -> fb.getScore() != null)
-          .mapToInt(ReferrerFeedback::getScore)
-          .average().orElse(0.0);
+      double feedbackScore = feedbackByReferrer.getOrDefault(ref.getId(), 0.0);
       dto.setFeedbackScore(feedbackScore);
       // Designation score: simple mapping (e.g., higher for 'Manager', 'Lead', etc.)
       double designationScore = getDesignationScore(user.getDesignation());
@@ -687,6 +684,34 @@ public class JobService {
     return responses;
   }
 
+  /**
+   * Shortlisted applications of a job per job referrer id, from one query
+   */
+  private Map<Long, Integer> countShortlistedByReferrer(Long jobId) {
+    Map<Long, Integer> counts = new HashMap<>();
+    for (JobApplication app : jobApplicationRepository.findByJobId(jobId)) {
+      if (app.getJobReferrerId() != null
+          && app.getStatus() == JobApplication.ApplicationStatus.SHORTLISTED) {
+        counts.merge(app.getJobReferrerId(), 1, Integer::sum);
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Average feedback score per job referrer id, from one query
+   */
+  private Map<Long, Double> averageFeedbackByReferrer(List<JobReferrer> referrers) {
+    if (referrers.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    return referrerFeedbackRepository.findByJobReferrerIdIn(
+            referrers.stream().map(JobReferrer::getId).collect(Collectors.toList())).stream()
+        .filter(fb -> fb.getScore() != null)
+        .collect(Collectors.groupingBy(fb -> fb.getJobReferrer().getId(),
+            Collectors.averagingInt(ReferrerFeedback::getScore)));
+  }
+
   private double getDesignationScore(String designation) {
     if (designation == null) {
       return 0.0;
@@ -783,6 +808,7 @@ public class JobService {
 
     job.setApprovalStatus(status);
     jobRepository.save(job);
+    jobDetailCache.evict(jobId);
 
     return mapToResponse(job);
   }
@@ -925,7 +951,8 @@ public class JobService {
 
     // Map tags to response
     if (job.getTags() != null) {
-      response.setTags(job.getTags());
+      // Copied: the response may be cached beyond the session that loaded the job
+      response.setTags(new HashSet<>(job.getTags()));
     }
 
     // Map openingCount to response
@@ -1102,10 +1129,14 @@ public class JobService {
     List<JobReferrer> referrers = jobReferrerRepository.findByJobId(jobId);
     List<JobDetailsWithReferrersResponse.JobReferrerWithProfileResponse> referrerResponses = new java.util.ArrayList<>();
 
+    // Enrich all referrers at once (company, designation, department, country, city, collections)
+    userEnrichmentUtil.enrichUsersWithAllNames(
+        referrers.stream().map(JobReferrer::getUser).collect(Collectors.toList()));
+    Map<Long, Integer> acceptedByReferrer = countShortlistedByReferrer(jobId);
+    Map<Long, Double> feedbackByReferrer = averageFeedbackByReferrer(referrers);
+
     for (JobReferrer ref : referrers) {
       User user = ref.getUser();
-      // Enrich user data with all names (company, designation, department, country, city)
-      user = enrichUserWithAllNames(user);
 
       JobDetailsWithReferrersResponse.JobReferrerWithProfileResponse referrerResponse = new JobDetailsWithReferrersResponse.JobReferrerWithProfileResponse();
 
@@ -1142,17 +1173,10 @@ public class JobService {
       referrerResponse.setGithubProfile(user.getGithubProfile());
 
       // Referrer metrics
-      int numApplicationsAccepted = (int) jobApplicationRepository.findByJobId(jobId).stream()
-          .filter(app -> app.getJobId().equals(jobId) && app.getJobReferrerId() != null
-              && app.getJobReferrerId().equals(ref.getId())
-              && app.getStatus() == JobApplication.ApplicationStatus.SHORTLISTED)
-          .count();
+      int numApplicationsAccepted = acceptedByReferrer.getOrDefault(ref.getId(), 0);
       referrerResponse.setNumApplicationsAccepted(numApplicationsAccepted);
 
-      double feedbackScore = referrerFeedbackRepository.findByJobReferrerId(ref.getId()).stream()
-          .filter(fb -> fb.getScore() != null)
-          .mapToInt(ReferrerFeedback::getScore)
-          .average().orElse(0.0);
+      double feedbackScore = feedbackByReferrer.getOrDefault(ref.getId(), 0.0);
       referrerResponse.setFeedbackScore(feedbackScore);
 
       double designationScore = getDesignationScore(user.getDesignation());
@@ -0,0 +1,550 @@
+package com.tymbl.jobs.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.tymbl.common.entity.Department;
+import com.tymbl.common.entity.Designation;
+import com.tymbl.common.service.DropdownService;
+import com.tymbl.jobs.constants.ElasticsearchConstants;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Precomputed SEO interlinking graph: designation/skill x city active job counts.
+ *
+ * The graph is built from one composite aggregation sweep over the jobs index and refreshed
+ * incrementally for the designations and skills touched by job syncs, so SEO pages can be served
+ * from memory instead of issuing one count query per related item.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SEOInterlinkGraphService {
+
+  private final ElasticsearchClient elasticsearchClient;
+  private final DropdownService dropdownService;
+
+  private static final String PAIRS_AGG = "keyword_city_pairs";
+  private static final String KEYWORD_SOURCE = "keyword";
+  private static final String CITY_SOURCE = "city";
+  private static final String DESIGNATION_KEYWORD_FIELD = ElasticsearchConstants.FIELD_DESIGNATION_NAME + ".keyword";
+  private static final String SKILL_KEYWORD_FIELD = "skillNames.keyword";
+  private static final String CITY_KEYWORD_FIELD = "cityName.keyword";
+
+  private static final int COMPOSITE_PAGE_SIZE = 1000;
+  // Keeps the terms filter of an incremental refresh well below the ES terms limit
+  private static final int DIRTY_REFRESH_CHUNK_SIZE = 500;
+
+  private volatile InterlinkGraph graph;
+
+  private final Set<String> dirtyDesignations = ConcurrentHashMap.newKeySet();
+  private final Set<String> dirtySkills = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Full rebuild of the graph, every 6 hours (first run shortly after startup so dropdown caches
+   * are warm)
+   */
+  @Scheduled(initialDelay = 2 * 60 * 1000, fixedDelay = 6 * 60 * 60 * 1000)
+  public void rebuild() {
+    long startTime = System.currentTimeMillis();
+    try {
+      // Anything marked dirty before the sweep starts is covered by it
+      dirtyDesignations.clear();
+      dirtySkills.clear();
+
+      Map<String, KeywordNode> designations = sweepKeywordCityCounts(DESIGNATION_KEYWORD_FIELD, null);
+      Map<String, KeywordNode> skills = sweepKeywordCityCounts(SKILL_KEYWORD_FIELD, null);
+
+      graph = new InterlinkGraph(designations, skills, buildDesignationReferenceData());
+      log.info("SEO interlink graph rebuilt: {} designations, {} skills in {}ms",
+          designations.size(), skills.size(), System.currentTimeMillis() - startTime);
+    } catch (Exception e) {
+      log.error("Failed to rebuild SEO interlink graph: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Recompute counts only for designations and skills touched by job syncs since the last pass
+   */
+  @Scheduled(initialDelay = 3 * 60 * 1000, fixedDelay = 60 * 1000)
+  public void refreshDirtyKeywords() {
+    InterlinkGraph current = graph;
+    if (current == null || (dirtyDesignations.isEmpty() && dirtySkills.isEmpty())) {
+      return;
+    }
+
+    List<String> designations = drain(dirtyDesignations);
+    List<String> skills = drain(dirtySkills);
+    try {
+      Map<String, KeywordNode> designationUpdates = sweepInChunks(DESIGNATION_KEYWORD_FIELD, designations);
+      Map<String, KeywordNode> skillUpdates = sweepInChunks(SKILL_KEYWORD_FIELD, skills);
+
+      graph = current.withUpdates(designations, designationUpdates, skills, skillUpdates);
+      log.debug("SEO interlink graph refreshed for {} designations and {} skills",
+          designations.size(), skills.size());
+    } catch (Exception e) {
+      // Retried on the next pass
+      dirtyDesignations.addAll(designations);
+      dirtySkills.addAll(skills);
+      log.warn("Failed to refresh dirty SEO interlink keywords: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Record that a job with this designation and skills was (re)indexed, or that a job stopped
+   * having them
+   */
+  public void markDirty(String designationName, Collection<String> skillNames) {
+    if (designationName != null && !designationName.trim().isEmpty()) {
+      dirtyDesignations.add(designationName);
+    }
+    if (skillNames != null) {
+      for (String skillName : skillNames) {
+        if (skillName != null && !skillName.trim().isEmpty()) {
+          dirtySkills.add(skillName);
+        }
+      }
+    }
+  }
+
+  public boolean isReady() {
+    return graph != null;
+  }
+
+  public boolean isDesignation(String name) {
+    InterlinkGraph current = graph;
+    return current != null && current.knownDesignations.contains(normalize(name));
+  }
+
+  public long getDesignationJobCount(String designation) {
+    return jobCount(graph == null ? null : graph.designations, designation);
+  }
+
+  public long getSkillJobCount(String skill) {
+    return jobCount(graph == null ? null : graph.skills, skill);
+  }
+
+  public long getDesignationCityJobCount(String designation, String city) {
+    return cityJobCount(graph == null ? null : graph.designations, designation, city);
+  }
+
+  public long getSkillCityJobCount(String skill, String city) {
+    return cityJobCount(graph == null ? null : graph.skills, skill, city);
+  }
+
+  /**
+   * City -> job count for a designation, ordered by job count descending
+   */
+  public Map<String, Long> getDesignationCityCounts(String designation) {
+    return cityCounts(graph == null ? null : graph.designations, designation);
+  }
+
+  /**
+   * City -> job count for a skill, ordered by job count descending
+   */
+  public Map<String, Long> getSkillCityCounts(String skill) {
+    return cityCounts(graph == null ? null : graph.skills, skill);
+  }
+
+  /**
+   * Designation -> job count for a set of designation names (missing names are omitted)
+   */
+  public Map<String, Long> getDesignationJobCounts(Collection<String> designations) {
+    return jobCounts(graph == null ? null : graph.designations, designations);
+  }
+
+  /**
+   * Skill -> job count for a set of skill names (missing names are omitted)
+   */
+  public Map<String, Long> getSkillJobCounts(Collection<String> skills) {
+    return jobCounts(graph == null ? null : graph.skills, skills);
+  }
+
+  public List<String> getSimilarDesignations(String designation) {
+    InterlinkGraph current = graph;
+    if (current == null) {
+      return new ArrayList<>();
+    }
+    List<String> similar = current.similarDesignations.get(normalize(designation));
+    return similar != null ? new ArrayList<>(similar) : new ArrayList<>();
+  }
+
+  public List<String> getDesignationsByDepartment(String departmentName) {
+    InterlinkGraph current = graph;
+    if (current == null) {
+      return new ArrayList<>();
+    }
+    List<String> designations = current.designationsByDepartment.get(normalize(departmentName));
+    return designations != null ? new ArrayList<>(designations) : new ArrayList<>();
+  }
+
+  public String getDepartmentOfDesignation(String designation) {
+    InterlinkGraph current = graph;
+    return current == null ? null : current.departmentByDesignation.get(normalize(designation));
+  }
+
+  /**
+   * Top designations by active job count as (name, jobCount) pairs
+   */
+  public List<Map.Entry<String, Long>> getTopDesignations(int limit) {
+    return top(graph == null ? null : graph.designationsByJobCount, limit);
+  }
+
+  /**
+   * Top skills by active job count as (name, jobCount) pairs
+   */
+  public List<Map.Entry<String, Long>> getTopSkills(int limit) {
+    return top(graph == null ? null : graph.skillsByJobCount, limit);
+  }
+
+  // Helper methods
+
+  private static long jobCount(Map<String, KeywordNode> nodes, String keyword) {
+    if (nodes == null) {
+      return 0;
+    }
+    KeywordNode node = nodes.get(normalize(keyword));
+    return node != null ? node.jobCount : 0;
+  }
+
+  private static long cityJobCount(Map<String, KeywordNode> nodes, String keyword, String city) {
+    if (nodes == null) {
+      return 0;
+    }
+    KeywordNode node = nodes.get(normalize(keyword));
+    if (node == null) {
+      return 0;
+    }
+    Long count = node.jobCountByNormalizedCity.get(normalize(city));
+    return count != null ? count : 0;
+  }
+
+  private static Map<String, Long> cityCounts(Map<String, KeywordNode> nodes, String keyword) {
+    if (nodes == null) {
+      return Collections.emptyMap();
+    }
+    KeywordNode node = nodes.get(normalize(keyword));
+    return node != null ? node.jobCountByCity : Collections.<String, Long>emptyMap();
+  }
+
+  private static Map<String, Long> jobCounts(Map<String, KeywordNode> nodes, Collection<String> keywords) {
+    Map<String, Long> counts = new HashMap<>();
+    if (nodes == null || keywords == null) {
+      return counts;
+    }
+    for (String keyword : keywords) {
+      KeywordNode node = nodes.get(normalize(keyword));
+      if (node != null) {
+        counts.put(keyword, node.jobCount);
+      }
+    }
+    return counts;
+  }
+
+  private static List<Map.Entry<String, Long>> top(List<KeywordNode> ranked, int limit) {
+    List<Map.Entry<String, Long>> result = new ArrayList<>();
+    if (ranked == null) {
+      return result;
+    }
+    for (KeywordNode node : ranked) {
+      if (result.size() >= limit) {
+        break;
+      }
+      result.add(new java.util.AbstractMap.SimpleImmutableEntry<>(node.name, node.jobCount));
+    }
+    return result;
+  }
+
+  private static String normalize(String value) {
+    return value == null ? "" : value.trim().toLowerCase();
+  }
+
+  private static List<String> drain(Set<String> dirty) {
+    List<String> drained = new ArrayList<>(dirty);
+    dirty.removeAll(drained);
+    return drained;
+  }
+
+  /**
+   * Recounts only the given keywords. A job matching the terms filter contributes buckets for all
+   * of its skills, and those are counts over a subset of jobs, so anything not asked for is
+   * dropped rather than merged over its correct node.
+   */
+  private Map<String, KeywordNode> sweepInChunks(String keywordField, List<String> keywords)
+      throws IOException {
+    Map<String, KeywordNode> nodes = new HashMap<>();
+    for (int i = 0; i < keywords.size(); i += DIRTY_REFRESH_CHUNK_SIZE) {
+      List<String> chunk = keywords.subList(i, Math.min(i + DIRTY_REFRESH_CHUNK_SIZE, keywords.size()));
+      Set<String> requested = chunk.stream().map(SEOInterlinkGraphService::normalize)
+          .collect(Collectors.toSet());
+      sweepKeywordCityCounts(keywordField, chunk).forEach((key, node) -> {
+        if (requested.contains(key)) {
+          nodes.put(key, node);
+        }
+      });
+    }
+    return nodes;
+  }
+
+  /**
+   * Page through a composite aggregation of (keyword, city) over active jobs. When
+   * {@code onlyKeywords} is given, the sweep is restricted to those keyword values.
+   */
+  private Map<String, KeywordNode> sweepKeywordCityCounts(String keywordField,
+      Collection<String> onlyKeywords) throws IOException {
+    BoolQuery.Builder boolQueryBuilder = new BoolQuery.Builder();
+    boolQueryBuilder.filter(
+        Query.of(q -> q.term(t -> t.field(ElasticsearchConstants.FIELD_ACTIVE).value(true))));
+    if (onlyKeywords != null) {
+      List<FieldValue> values = onlyKeywords.stream().map(FieldValue::of).collect(Collectors.toList());
+      boolQueryBuilder.filter(Query.of(q -> q.terms(t -> t
+          .field(keywordField)
+          .terms(tv -> tv.value(values)))));
+    }
+    Query query = boolQueryBuilder.build()._toQuery();
+
+    List<Map<String, CompositeAggregationSource>> sources = new ArrayList<>();
+    sources.add(Collections.singletonMap(KEYWORD_SOURCE,
+        CompositeAggregationSource.of(src -> src.terms(t -> t.field(keywordField)))));
+    sources.add(Collections.singletonMap(CITY_SOURCE,
+        CompositeAggregationSource.of(src -> src.terms(t -> t.field(CITY_KEYWORD_FIELD).missingBucket(true)))));
+
+    Map<String, KeywordNodeBuilder> builders = new HashMap<>();
+    Map<String, FieldValue> afterKey = null;
+    do {
+      final Map<String, FieldValue> currentAfterKey = afterKey;
+      SearchRequest searchRequest = SearchRequest.of(s -> s
+          .index(ElasticsearchConstants.JOBS_INDEX)
+          .query(query)
+          .size(0)
+          .aggregations(PAIRS_AGG, a -> a
+              .composite(c -> {
+                c.size(COMPOSITE_PAGE_SIZE).sources(sources);
+                if (currentAfterKey != null) {
+                  c.after(currentAfterKey);
+                }
+                return c;
+              })
+          )
+      );
+
+      SearchResponse<Map> response = elasticsearchClient.search(searchRequest, Map.class);
+      Aggregate pairsAgg = response.aggregations() != null ? response.aggregations().get(PAIRS_AGG) : null;
+      if (pairsAgg == null || !pairsAgg.isComposite()) {
+        break;
+      }
+
+      CompositeAggregate composite = pairsAgg.composite();
+      List<CompositeBucket> buckets = composite.buckets().array();
+      for (CompositeBucket bucket : buckets) {
+        String keyword = stringValue(bucket.key().get(KEYWORD_SOURCE));
+        if (keyword == null || keyword.trim().isEmpty()) {
+          continue;
+        }
+        String city = stringValue(bucket.key().get(CITY_SOURCE));
+        builders.computeIfAbsent(normalize(keyword), k -> new KeywordNodeBuilder(keyword))
+            .add(city, bucket.docCount());
+      }
+
+      afterKey = buckets.isEmpty() ? null : composite.afterKey();
+    } while (afterKey != null && !afterKey.isEmpty());
+
+    Map<String, KeywordNode> nodes = new HashMap<>();
+    builders.forEach((key, builder) -> nodes.put(key, builder.build()));
+    return nodes;
+  }
+
+  private static String stringValue(FieldValue value) {
+    if (value == null || value.isNull()) {
+      return null;
+    }
+    return value.isString() ? value.stringValue() : value._get().toString();
+  }
+
+  /**
+   * Similar-designation and department relationships come from the designation catalogue already
+   * held by DropdownService, so they need no Elasticsearch lookups at request time
+   */
+  private DesignationReferenceData buildDesignationReferenceData() {
+    DesignationReferenceData data = new DesignationReferenceData();
+
+    Map<Long, String> departmentNames = new HashMap<>();
+    for (Department department : dropdownService.getAllDepartments()) {
+      if (department.getId() != null && department.getName() != null) {
+        departmentNames.put(department.getId(), department.getName());
+      }
+    }
+
+    for (Designation designation : dropdownService.getAllDesignations()) {
+      if (designation.getName() == null || designation.getName().trim().isEmpty()) {
+        continue;
+      }
+      String key = normalize(designation.getName());
+      data.knownDesignations.add(key);
+
+      List<String> similar = parseNameList(designation.getSimilarDesignationsByName());
+      if (!similar.isEmpty()) {
+        data.similarDesignations.put(key, similar);
+      }
+
+      String departmentName = designation.getDepartmentId() != null
+          ? departmentNames.get(designation.getDepartmentId()) : designation.getDepartment();
+      if (departmentName != null && !departmentName.trim().isEmpty()) {
+        data.departmentByDesignation.put(key, departmentName);
+        data.designationsByDepartment.computeIfAbsent(normalize(departmentName), k -> new ArrayList<>())
+            .add(designation.getName());
+      }
+    }
+    return data;
+  }
+
+  private static List<String> parseNameList(String raw) {
+    List<String> names = new ArrayList<>();
+    if (raw == null) {
+      return names;
+    }
+    String s = raw.trim();
+    if (s.startsWith("[") && s.endsWith("]")) {
+      s = s.substring(1, s.length() - 1);
+    }
+    for (String part : s.split(",")) {
+      String trimmed = part.trim().replaceAll("^\"|\"$", "");
+      if (!trimmed.isEmpty()) {
+        names.add(trimmed);
+      }
+    }
+    return names;
+  }
+
+  private static final class KeywordNodeBuilder {
+
+    private final String name;
+    private final Map<String, Long> jobCountByCity = new HashMap<>();
+    private long jobCount;
+
+    KeywordNodeBuilder(String name) {
+      this.name = name;
+    }
+
+    void add(String city, long count) {
+      jobCount += count;
+      if (city != null && !city.trim().isEmpty()) {
+        jobCountByCity.merge(city, count, Long::sum);
+      }
+    }
+
+    KeywordNode build() {
+      Map<String, Long> ordered = new LinkedHashMap<>();
+      jobCountByCity.entrySet().stream()
+          .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+          .forEach(e -> ordered.put(e.getKey(), e.getValue()));
+      Map<String, Long> byNormalizedCity = new HashMap<>();
+      ordered.forEach((city, count) -> byNormalizedCity.merge(normalize(city), count, Long::sum));
+      return new KeywordNode(name, jobCount, Collections.unmodifiableMap(ordered), byNormalizedCity);
+    }
+  }
+
+  private static final class KeywordNode {
+
+    private final String name;
+    private final long jobCount;
+    private final Map<String, Long> jobCountByCity;
+    private final Map<String, Long> jobCountByNormalizedCity;
+
+    KeywordNode(String name, long jobCount, Map<String, Long> jobCountByCity,
+        Map<String, Long> jobCountByNormalizedCity) {
+      this.name = name;
+      this.jobCount = jobCount;
+      this.jobCountByCity = jobCountByCity;
+      this.jobCountByNormalizedCity = jobCountByNormalizedCity;
+    }
+  }
+
+  private static final class DesignationReferenceData {
+
+    private final Set<String> knownDesignations = new HashSet<>();
+    private final Map<String, List<String>> similarDesignations = new HashMap<>();
+    private final Map<String, List<String>> designationsByDepartment = new HashMap<>();
+    private final Map<String, String> departmentByDesignation = new HashMap<>();
+  }
+
+  /**
+   * Immutable snapshot; incremental refreshes build a new snapshot and swap it in
+   */
+  private static final class InterlinkGraph {
+
+    private final Map<String, KeywordNode> designations;
+    private final Map<String, KeywordNode> skills;
+    private final List<KeywordNode> designationsByJobCount;
+    private final List<KeywordNode> skillsByJobCount;
+    private final DesignationReferenceData referenceData;
+    private final Set<String> knownDesignations;
+    private final Map<String, List<String>> similarDesignations;
+    private final Map<String, List<String>> designationsByDepartment;
+    private final Map<String, String> departmentByDesignation;
+
+    InterlinkGraph(Map<String, KeywordNode> designations, Map<String, KeywordNode> skills,
+        DesignationReferenceData referenceData) {
+      this.designations = designations;
+      this.skills = skills;
+      this.designationsByJobCount = rank(designations);
+      this.skillsByJobCount = rank(skills);
+      this.referenceData = referenceData;
+      this.knownDesignations = referenceData.knownDesignations;
+      this.similarDesignations = referenceData.similarDesignations;
+      this.designationsByDepartment = referenceData.designationsByDepartment;
+      this.departmentByDesignation = referenceData.departmentByDesignation;
+    }
+
+    InterlinkGraph withUpdates(List<String> refreshedDesignations, Map<String, KeywordNode> designationUpdates,
+        List<String> refreshedSkills, Map<String, KeywordNode> skillUpdates) {
+      return new InterlinkGraph(
+          merge(designations, refreshedDesignations, designationUpdates),
+          merge(skills, refreshedSkills, skillUpdates),
+          referenceData);
+    }
+
+    private static Map<String, KeywordNode> merge(Map<String, KeywordNode> base, List<String> refreshed,
+        Map<String, KeywordNode> updates) {
+      Map<String, KeywordNode> merged = new HashMap<>(base);
+      Set<String> refreshedKeys = refreshed.stream().map(SEOInterlinkGraphService::normalize)
+          .collect(Collectors.toSet());
+      // Refreshed keywords with no active jobs left drop out of the graph
+      merged.keySet().removeAll(refreshedKeys);
+      updates.forEach((key, node) -> {
+        if (refreshedKeys.contains(key)) {
+          merged.put(key, node);
+        }
+      });
+      return merged;
+    }
+
+    private static List<KeywordNode> rank(Map<String, KeywordNode> nodes) {
+      return nodes.values().stream()
+          .sorted((a, b) -> Long.compare(b.jobCount, a.jobCount))
+          .collect(Collectors.toList());
+    }
+  }
+}
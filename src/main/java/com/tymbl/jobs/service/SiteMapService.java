@@ -11,7 +11,7 @@ import com.tymbl.common.entity.SiteMapCache;
 import com.tymbl.common.repository.SiteMapCacheRepository;
 import com.tymbl.common.service.DropdownService;
 import com.tymbl.jobs.constants.ElasticsearchConstants;
-import com.tymbl.jobs.entity.Company;
+import com.tymbl.jobs.dto.CompanySummary;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -245,9 +245,9 @@ public class SiteMapService {
         List<Map<String, Object>> companies = new ArrayList<>();
         
         try {
-            List<Company> companyEntities = dropdownService.getAllCompanies();
+            List<CompanySummary> companyEntities = dropdownService.getAllCompanies();
             
-            for (Company company : companyEntities) {
+            for (CompanySummary company : companyEntities) {
                 Map<String, Object> companyMap = new HashMap<>();
                 companyMap.put("id", company.getId());
                 companyMap.put("name", company.getName());
@@ -486,7 +486,7 @@ public class SiteMapService {
     /**
      * Generate company sitemap XML
      */
-    private String generateCompanySitemapXml(List<Map<String, Object>> companies) {
+    String generateCompanySitemapXml(List<Map<String, Object>> companies) {
         StringBuilder xml = new StringBuilder();
         xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
         xml.append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
@@ -571,7 +571,7 @@ public class SiteMapService {
     /**
      * Generate job description sitemap XML
      */
-    private String generateJobDescriptionSitemapXml(List<Map<String, Object>> jobs) {
+    String generateJobDescriptionSitemapXml(List<Map<String, Object>> jobs) {
         StringBuilder xml = new StringBuilder();
         xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
         xml.append("<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
@@ -2,6 +2,7 @@ package com.tymbl.jobs.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tymbl.common.entity.CacheChangeLog.EntityType;
 import com.tymbl.common.entity.PendingContent;
 import com.tymbl.common.entity.SimilarContent;
 import com.tymbl.common.entity.SimilarContent.ContentType;
@@ -10,6 +11,7 @@ import com.tymbl.common.repository.PendingContentRepository;
 import com.tymbl.common.repository.SimilarContentRepository;
 import com.tymbl.common.repository.SkillRepository;
 import com.tymbl.common.service.AIRestService;
+import com.tymbl.common.service.CacheInvalidationBus;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +33,7 @@ public class SkillTaggerService {
   private final PendingContentRepository pendingContentRepository;
   private final AIRestService aiRestService;
   private final ObjectMapper objectMapper;
+  private final CacheInvalidationBus invalidationBus;
 
   /**
    * Tag skills from JSON data using exact match, like operator, and similar content
@@ -363,6 +366,7 @@ public class SkillTaggerService {
 
       Skill savedSkill = skillRepository.save(newSkill);
       log.info("Created new skill: {} with ID: {}", skillName, savedSkill.getId());
+      invalidationBus.publish(EntityType.SKILL, savedSkill.getId());
       return savedSkill;
 
     } catch (Exception e) {
@@ -1,5 +1,8 @@
 package com.tymbl.jobs.service;
 
+import com.tymbl.common.service.DependencyGuard;
+import com.tymbl.common.service.DependencyGuard.Dependency;
+import com.tymbl.exception.DependencyUnavailableException;
 import com.tymbl.jobs.entity.ExternalJobDetailsFromCompanyPortal;
 import com.tymbl.jobs.repository.ExternalJobDetailsFromCompanyPortalRepository;
 import java.time.Duration;
@@ -30,6 +33,9 @@ public class WebCrawlerService {
   @Autowired(required = false)
   private WebDriver webDriver;
 
+  @Autowired
+  private DependencyGuard dependencyGuard;
+
   @Value("${webcrawler.fallback.enabled:true}")
   private boolean fallbackEnabled;
 
@@ -71,17 +77,21 @@ public class WebCrawlerService {
     try {
       // Use the injected WebDriver or create a new one
       driver = webDriver;
-      
-      // Navigate to the URL
-      log.info("🌐 Navigating to URL: {}", redirectUrl);
-      driver.get(redirectUrl);
-      
-      // Wait for page to load
-      WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS));
-      wait.until(webDriver -> webDriver.getPageSource() != null && !webDriver.getPageSource().isEmpty());
-      
-      // Get raw HTML content
-      String rawHtmlContent = driver.getPageSource();
+      final WebDriver browser = driver;
+
+      // The browser session is shared: one page at a time, and a hung browser trips the breaker
+      String rawHtmlContent = dependencyGuard.call(Dependency.WEB_DRIVER, () -> {
+        // Navigate to the URL
+        log.info("🌐 Navigating to URL: {}", redirectUrl);
+        browser.get(redirectUrl);
+
+        // Wait for page to load
+        WebDriverWait wait = new WebDriverWait(browser, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS));
+        wait.until(webDriver -> webDriver.getPageSource() != null && !webDriver.getPageSource().isEmpty());
+
+        // Get raw HTML content
+        return browser.getPageSource();
+      });
       log.info("📄 Retrieved HTML content, size: {} characters", rawHtmlContent.length());
       
       // Parse HTML and extract text content
@@ -104,6 +114,11 @@ public class WebCrawlerService {
       
       return savedRecord;
       
+    } catch (DependencyUnavailableException e) {
+      log.warn("⚠️ WebDriver busy or unhealthy ({}). Attempting fallback crawling for external job ID: {}",
+          e.getMessage(), externalJobDetailId);
+      return handleWebDriverUnavailable(externalJobDetailId, redirectUrl, crawlRecord, startTime);
+
     } catch (Exception e) {
       long crawlDuration = System.currentTimeMillis() - startTime;
       log.error("❌ Failed to crawl URL for external job ID {}: {}", externalJobDetailId, e.getMessage(), e);
@@ -39,6 +39,7 @@ public class JobCrawlingServiceImpl implements JobCrawlingService {
   /**
    * Crawl jobs for a specific keyword and portal
    */
+  @Override
   public JobCrawlResponse crawlJobs(JobCrawlRequest request) {
     long startTime = System.currentTimeMillis();
     JobCrawlResponse response = new JobCrawlResponse();
@@ -121,50 +122,14 @@ public class JobCrawlingServiceImpl implements JobCrawlingService {
 
     for (ExternalJobRawResponse rawResponse : pendingResponses) {
       currentResponseIndex++;
-      long responseStartTime = System.currentTimeMillis();
-      
       logger.info("⏳ Processing raw response {}/{}: ID={}, Keyword='{}', Portal='{}', Status='{}'", 
           currentResponseIndex, pendingResponses.size(), rawResponse.getId(), 
           rawResponse.getKeyword(), rawResponse.getPortalName(), rawResponse.getProcessingStatus());
 
-      try {
-        logger.debug("🔄 Setting processing status to PROCESSING for response ID: {}", rawResponse.getId());
-        rawResponse.setProcessingStatus(ExternalJobRawResponse.ProcessingStatus.PROCESSING);
-        rawResponseRepository.save(rawResponse);
-
-        // Parse and save job details using portal service
-        JobCrawlRequest request = new JobCrawlRequest();
-        request.setKeyword(rawResponse.getKeyword());
-        request.setPortalName(rawResponse.getPortalName());
-
-        logger.debug("🔧 Creating portal service for: '{}'", rawResponse.getPortalName());
-        PortalCrawlingService portalService = portalFactory.getPortalService(
-            rawResponse.getPortalName());
-        
-        logger.debug("🔄 Parsing and saving job details for response ID: {}", rawResponse.getId());
-        portalService.parseAndSaveJobDetails(rawResponse, rawResponse.getRawResponse(), request);
-
-        logger.debug("✅ Setting processing status to COMPLETED for response ID: {}", rawResponse.getId());
-        rawResponse.setProcessingStatus(ExternalJobRawResponse.ProcessingStatus.COMPLETED);
-        rawResponseRepository.save(rawResponse);
-
-        long responseProcessingTime = System.currentTimeMillis() - responseStartTime;
+      if (processRawResponse(rawResponse)) {
         successCount++;
-        logger.info("✅ Successfully processed raw response {}/{}: ID={}, Keyword='{}', Portal='{}' in {}ms", 
-            currentResponseIndex, pendingResponses.size(), rawResponse.getId(), 
-            rawResponse.getKeyword(), rawResponse.getPortalName(), responseProcessingTime);
-
-      } catch (Exception e) {
-        long responseProcessingTime = System.currentTimeMillis() - responseStartTime;
+      } else {
         errorCount++;
-        logger.error("💥 Error processing raw response {}/{}: ID={}, Keyword='{}', Portal='{}' after {}ms: {}", 
-            currentResponseIndex, pendingResponses.size(), rawResponse.getId(), 
-            rawResponse.getKeyword(), rawResponse.getPortalName(), responseProcessingTime, e.getMessage(), e);
-        
-        logger.debug("❌ Setting processing status to FAILED for response ID: {}", rawResponse.getId());
-        rawResponse.setProcessingStatus(ExternalJobRawResponse.ProcessingStatus.FAILED);
-        rawResponse.setErrorMessage(e.getMessage());
-        rawResponseRepository.save(rawResponse);
       }
     }
 
@@ -174,6 +139,48 @@ public class JobCrawlingServiceImpl implements JobCrawlingService {
         pendingResponses.size() > 0 ? totalProcessingTime / pendingResponses.size() : 0);
   }
 
+  @Override
+  public boolean processRawResponse(ExternalJobRawResponse rawResponse) {
+    long responseStartTime = System.currentTimeMillis();
+    try {
+      logger.debug("🔄 Setting processing status to PROCESSING for response ID: {}", rawResponse.getId());
+      rawResponse.setProcessingStatus(ExternalJobRawResponse.ProcessingStatus.PROCESSING);
+      rawResponseRepository.save(rawResponse);
+
+      // Parse and save job details using portal service
+      JobCrawlRequest request = new JobCrawlRequest();
+      request.setKeyword(rawResponse.getKeyword());
+      request.setPortalName(rawResponse.getPortalName());
+
+      logger.debug("🔧 Creating portal service for: '{}'", rawResponse.getPortalName());
+      PortalCrawlingService portalService = portalFactory.getPortalService(
+          rawResponse.getPortalName());
+
+      logger.debug("🔄 Parsing and saving job details for response ID: {}", rawResponse.getId());
+      portalService.parseAndSaveJobDetails(rawResponse, rawResponse.getRawResponse(), request);
+
+      logger.debug("✅ Setting processing status to COMPLETED for response ID: {}", rawResponse.getId());
+      rawResponse.setProcessingStatus(ExternalJobRawResponse.ProcessingStatus.COMPLETED);
+      rawResponseRepository.save(rawResponse);
+
+      logger.info("✅ Successfully processed raw response ID={}, Keyword='{}', Portal='{}' in {}ms", 
+          rawResponse.getId(), rawResponse.getKeyword(), rawResponse.getPortalName(),
+          System.currentTimeMillis() - responseStartTime);
+      return true;
+
+    } catch (Exception e) {
+      logger.error("💥 Error processing raw response ID={}, Keyword='{}', Portal='{}' after {}ms: {}", 
+          rawResponse.getId(), rawResponse.getKeyword(), rawResponse.getPortalName(),
+          System.currentTimeMillis() - responseStartTime, e.getMessage(), e);
+
+      logger.debug("❌ Setting processing status to FAILED for response ID: {}", rawResponse.getId());
+      rawResponse.setProcessingStatus(ExternalJobRawResponse.ProcessingStatus.FAILED);
+      rawResponse.setErrorMessage(e.getMessage());
+      rawResponseRepository.save(rawResponse);
+      return false;
+    }
+  }
+
   @Override
   public void crawlAllActiveKeywords() {
     long startTime = System.currentTimeMillis();
@@ -21,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +35,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/resumes")
@@ -77,12 +79,14 @@ public class UserResumeController {
   public ResponseEntity<?> uploadResume(
       @Parameter(description = "Resume file to upload", required = true)
       @RequestParam("file") MultipartFile file,
+      @Parameter(description = "Optional SHA-256 of the file, verified against the stored content")
+      @RequestParam(value = "checksum", required = false) String checksum,
       @RequestHeader("Authorization") String token) {
     try {
       String email = jwtService.extractUsername(token.substring(7));
       User user = registrationService.getUserByEmail(email);
       logger.info("Uploading resume for user: {}", user.getEmail());
-      UserResume resume = userResumeService.uploadResume(user.getId(), file);
+      UserResume resume = userResumeService.uploadResume(user.getId(), file, checksum);
       Map<String, Object> response = new HashMap<>();
       response.put("message", "Resume uploaded successfully");
       response.put("resumeId", resume.getId());
@@ -213,18 +217,13 @@ public class UserResumeController {
       ),
       @ApiResponse(responseCode = "404", description = "Resume not found")
   })
-  public ResponseEntity<byte[]> downloadResumeByUuid(
+  public ResponseEntity<StreamingResponseBody> downloadResumeByUuid(
       @Parameter(description = "Resume UUID", required = true)
-      @PathVariable String uuid) {
+      @PathVariable String uuid,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     return userResumeService.getResumeByUuid(uuid)
-        .map(resume -> {
-          HttpHeaders headers = new HttpHeaders();
-          headers.setContentType(MediaType.parseMediaType(resume.getFileType()));
-          headers.setContentDispositionFormData("attachment", resume.getFileName());
-          return ResponseEntity.ok()
-              .headers(headers)
-              .body(resume.getResumeData());
-        })
+        .map(resume -> streamResume(resume, range, ifNoneMatch))
         .orElse(ResponseEntity.notFound().build());
   }
 
@@ -243,22 +242,75 @@ public class UserResumeController {
       ),
       @ApiResponse(responseCode = "404", description = "Resume not found")
   })
-  public ResponseEntity<byte[]> downloadResume(
+  public ResponseEntity<StreamingResponseBody> downloadResume(
       @Parameter(description = "Resume ID", required = true)
-      @PathVariable Long resumeId) {
+      @PathVariable Long resumeId,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     try {
       UserResume resume = userResumeService.getResumeById(resumeId);
-      HttpHeaders headers = new HttpHeaders();
-      headers.setContentType(MediaType.parseMediaType(resume.getFileType()));
-      headers.setContentDispositionFormData("attachment", resume.getFileName());
-      return ResponseEntity.ok()
-          .headers(headers)
-          .body(resume.getResumeData());
+      return streamResume(resume, range, ifNoneMatch);
     } catch (IllegalArgumentException e) {
       return ResponseEntity.notFound().build();
     }
   }
 
+  /**
+   * Streams resume content from the content store. The SHA-256 doubles as a strong ETag, and a
+   * single byte range is honoured so interrupted downloads can resume.
+   */
+  private ResponseEntity<StreamingResponseBody> streamResume(UserResume resume, String range,
+      String ifNoneMatch) {
+    String checksum = userResumeService.ensureContentStored(resume);
+    if (checksum == null) {
+      return ResponseEntity.notFound().build();
+    }
+
+    String etag = "\"" + checksum + "\"";
+    if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    long size;
+    try {
+      size = userResumeService.getContentSize(checksum);
+    } catch (IOException e) {
+      logger.error("Failed to read resume content {}. Error: {}", checksum, e.getMessage());
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.parseMediaType(resume.getFileType()));
+    headers.setContentDispositionFormData("attachment", resume.getFileName());
+    headers.setETag(etag);
+    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    HttpStatus status = HttpStatus.OK;
+    long start = 0;
+    long end = size - 1;
+    if (range != null) {
+      try {
+        List<HttpRange> ranges = HttpRange.parseRanges(range);
+        if (ranges.size() == 1) {
+          start = ranges.get(0).getRangeStart(size);
+          end = ranges.get(0).getRangeEnd(size);
+          status = HttpStatus.PARTIAL_CONTENT;
+          headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+      } catch (IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+            .build();
+      }
+    }
+
+    long offset = start;
+    long length = Math.max(0, end - start + 1);
+    headers.setContentLength(length);
+    StreamingResponseBody body = out -> userResumeService.writeContent(checksum, offset, length, out);
+    return ResponseEntity.status(status).headers(headers).body(body);
+  }
+
   @PutMapping("/{resumeId}")
   @Operation(
       summary = "Update resume file",
@@ -0,0 +1,12 @@
+-- Normalized company name key (CompanyNameCleaner.normalizedKey), used by the catalogue import
+-- and the duplicate merge in CompanyDeduplicationService. Existing rows are backfilled by the
+-- first merge run. Not unique until duplicates have been merged.
+ALTER TABLE companies ADD COLUMN normalized_name VARCHAR(255) NULL;
+CREATE INDEX idx_companies_normalized_name ON companies (normalized_name);
+
+-- Working set of a duplicate merge: each duplicate (loser) and the company it merges into
+CREATE TABLE IF NOT EXISTS company_merge_map (
+    loser_id BIGINT NOT NULL PRIMARY KEY,
+    winner_id BIGINT NOT NULL,
+    KEY idx_company_merge_map_winner (winner_id)
+);
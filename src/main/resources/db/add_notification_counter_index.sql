@@ -0,0 +1,4 @@
+-- Covering index for the grouped notification counter query
+-- (SELECT type, seen, clicked, COUNT(*) ... WHERE user_id = ? AND created_at >= ? GROUP BY type, seen, clicked)
+-- lets MySQL answer badge counts from the index alone without touching message/metadata rows
+CREATE INDEX idx_notifications_user_created_counts ON notifications(user_id, created_at, type, seen, clicked);
@@ -0,0 +1,11 @@
+-- Lease/retry columns for the question generation worker pool
+ALTER TABLE question_generation_queue
+    ADD COLUMN dedupe_key VARCHAR(512) NULL,
+    ADD COLUMN attempts INT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at DATETIME NULL,
+    ADD COLUMN lease_owner VARCHAR(64) NULL,
+    ADD COLUMN lease_expires_at DATETIME NULL;
+
+-- Claim scan (status + due time) and duplicate lookup
+CREATE INDEX idx_qgq_status_next_attempt ON question_generation_queue(status, next_attempt_at);
+CREATE INDEX idx_qgq_dedupe_key ON question_generation_queue(dedupe_key);
@@ -0,0 +1,16 @@
+-- Change timestamps for the reference-data snapshots (DropdownService): a restored snapshot is
+-- reconciled by reading rows with updated_at at or after its high-water mark. Maintained by
+-- MySQL so that bulk UPDATE statements move it as well. Existing rows get the migration time.
+ALTER TABLE designations
+    ADD COLUMN updated_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_designations_updated_at ON designations (updated_at);
+
+ALTER TABLE cities
+    ADD COLUMN updated_at DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_cities_updated_at ON cities (updated_at);
+
+-- Companies already carry updated_at (set by JPA); let MySQL also move it on bulk updates
+ALTER TABLE companies
+    MODIFY COLUMN updated_at DATETIME(6) NULL DEFAULT CURRENT_TIMESTAMP(6)
+        ON UPDATE CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_companies_updated_at ON companies (updated_at);
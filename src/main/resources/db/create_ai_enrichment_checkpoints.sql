@@ -0,0 +1,12 @@
+-- Progress of batched AI enrichment runs, one row per task (see AiBatchEnrichmentService)
+CREATE TABLE IF NOT EXISTS ai_enrichment_checkpoints (
+    task_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    last_id BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(16) NOT NULL,
+    enriched BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    ai_calls BIGINT NOT NULL DEFAULT 0,
+    tokens_used BIGINT NOT NULL DEFAULT 0,
+    started_at DATETIME NULL,
+    updated_at DATETIME NULL
+);
@@ -0,0 +1,13 @@
+-- Change log tailed by every instance to invalidate its in-memory caches (see
+-- CacheInvalidationBus). Writers append a row in the transaction of the change; rows are purged
+-- after app.cache-bus.retention-hours.
+CREATE TABLE IF NOT EXISTS cache_change_log (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT NULL,
+    version BIGINT NOT NULL,
+    origin VARCHAR(64) NOT NULL,
+    created_at DATETIME NOT NULL
+);
+
+CREATE INDEX idx_cache_change_log_created_at ON cache_change_log (created_at);
@@ -0,0 +1,23 @@
+-- Materialized read model for industry statistics (see IndustryStatsService)
+CREATE TABLE IF NOT EXISTS industry_company_stats (
+    company_id BIGINT NOT NULL PRIMARY KEY,
+    industry_id BIGINT NULL,
+    active_job_count INT NOT NULL DEFAULT 0,
+    updated_at DATETIME NULL
+);
+
+-- Top-N companies per industry is an index range scan
+CREATE INDEX idx_ics_industry_jobs ON industry_company_stats(industry_id, active_job_count);
+
+-- Per-company active job recount on job events
+CREATE INDEX idx_jobs_company_active ON jobs(company_id, active);
+
+-- Initial population; the reconciliation pass keeps it in sync afterwards
+INSERT INTO industry_company_stats (company_id, industry_id, active_job_count, updated_at)
+SELECT c.id, c.primary_industry_id, COUNT(j.id), NOW()
+FROM companies c
+LEFT JOIN jobs j ON j.company_id = c.id AND j.active = true
+GROUP BY c.id, c.primary_industry_id
+ON DUPLICATE KEY UPDATE industry_id = VALUES(industry_id),
+                        active_job_count = VALUES(active_job_count),
+                        updated_at = VALUES(updated_at);
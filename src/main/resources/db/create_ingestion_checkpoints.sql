@@ -0,0 +1,10 @@
+-- Watermarks of ingestion pipeline stages without a status flag (see IngestionPipelineService)
+CREATE TABLE IF NOT EXISTS ingestion_checkpoints (
+    stage VARCHAR(32) NOT NULL PRIMARY KEY,
+    watermark_at DATETIME(6) NOT NULL,
+    last_id BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME NULL
+);
+
+-- The index stage walks jobs by (updated_at, id)
+CREATE INDEX IF NOT EXISTS idx_jobs_updated_at_id ON jobs (updated_at, id);
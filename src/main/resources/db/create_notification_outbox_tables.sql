@@ -0,0 +1,40 @@
+-- Transactional outbox for push and email delivery (see NotificationDispatcher)
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    channel VARCHAR(16) NOT NULL,
+    user_id BIGINT NULL,
+    notification_id BIGINT NULL,
+    recipient VARCHAR(320) NULL,
+    subject VARCHAR(512) NULL,
+    body MEDIUMTEXT NOT NULL,
+    data TEXT NULL,
+    delivered_tokens TEXT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NULL DEFAULT 0,
+    next_attempt_at DATETIME NULL,
+    lease_owner VARCHAR(64) NULL,
+    lease_expires_at DATETIME NULL,
+    error_message TEXT NULL,
+    created_at DATETIME NOT NULL,
+    sent_at DATETIME NULL
+);
+
+-- Claim scan per channel (status + due time) and retention cleanup
+CREATE INDEX idx_outbox_claim ON notification_outbox(channel, status, next_attempt_at);
+CREATE INDEX idx_outbox_status_created ON notification_outbox(status, created_at);
+
+-- FCM registration tokens; dead tokens are deactivated, never retried
+CREATE TABLE IF NOT EXISTS device_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    token VARCHAR(512) NOT NULL,
+    platform VARCHAR(32) NULL,
+    active BIT(1) NOT NULL DEFAULT 1,
+    deactivated_reason VARCHAR(128) NULL,
+    deactivated_at DATETIME NULL,
+    created_at DATETIME NULL,
+    updated_at DATETIME NULL,
+    UNIQUE KEY uk_device_tokens_token (token)
+);
+
+CREATE INDEX idx_device_tokens_user_active ON device_tokens(user_id, active);
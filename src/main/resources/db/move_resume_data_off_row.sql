@@ -0,0 +1,12 @@
+-- Move resume file contents out of user_resumes into the resume content store
+-- Rows keep only metadata plus the SHA-256 that addresses the stored file
+
+ALTER TABLE user_resumes ADD COLUMN content_sha256 VARCHAR(64) NULL;
+
+-- Legacy blobs are moved out by ResumeBlobMigrationService, which nulls resume_data per row
+ALTER TABLE user_resumes MODIFY COLUMN resume_data LONGBLOB NULL;
+
+CREATE INDEX idx_user_resumes_content_sha256 ON user_resumes(content_sha256);
+
+-- Once every row has content_sha256 set (SELECT COUNT(*) FROM user_resumes WHERE content_sha256 IS NULL = 0):
+-- ALTER TABLE user_resumes DROP COLUMN resume_data;
@@ -0,0 +1,113 @@
+package com.tymbl.common.jdbc;
+
+import com.tymbl.common.filter.QueryBudgetFilter;
+import com.tymbl.config.QueryInstrumentationConfig;
+import com.tymbl.exception.QueryBudgetExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import javax.servlet.FilterChain;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs requests through the real query budget wiring under the test profile: the data source is
+ * wrapped by {@link QueryInstrumentationConfig}, {@link QueryBudgetFilter} opens the scope and
+ * the budgets come from application.properties with the FAIL mode of application-test.properties.
+ * Only the JDBC driver underneath is a mock, as no database is available to the unit tests.
+ */
+@SpringBootTest(classes = QueryBudgetProfileTest.TestConfig.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class QueryBudgetProfileTest {
+
+    private static final String COMPANY_NAME_SQL = "SELECT name FROM companies WHERE id = ?";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private QueryBudgetFilter queryBudgetFilter;
+
+    @Test
+    void testTestProfile_ShouldInstrumentTheDataSourceInFailMode() {
+        assertEquals(QueryBudget.Mode.FAIL, queryBudget.getStats().get("mode"));
+        assertTrue(dataSource instanceof InstrumentedDataSource);
+    }
+
+    @Test
+    void testRequest_WhenQueryingOncePerRow_ShouldFail() {
+        // One lookup per job, the N+1 pattern; the endpoint budget allows 10 repeats of a shape
+        FilterChain perRowLookups = (request, response) -> {
+            for (long companyId = 1; companyId <= 25; companyId++) {
+                jdbcTemplate.queryForList(COMPANY_NAME_SQL, String.class, companyId);
+            }
+        };
+
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class,
+                () -> queryBudgetFilter.doFilter(request(), new MockHttpServletResponse(),
+                        perRowLookups));
+
+        assertTrue(exception.getMessage().contains("select name from companies where id = ?"));
+    }
+
+    @Test
+    void testRequest_WhenQueryingInOneBatch_ShouldPass() {
+        List<Long> companyIds = LongStream.rangeClosed(1, 25).boxed().collect(Collectors.toList());
+        String inList = companyIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        FilterChain batchedLookup = (request, response) -> jdbcTemplate.queryForList(
+                "SELECT id, name FROM companies WHERE id IN (" + inList + ")", companyIds.toArray());
+
+        assertDoesNotThrow(() -> queryBudgetFilter.doFilter(request(),
+                new MockHttpServletResponse(), batchedLookup));
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/v1/jobs/search");
+    }
+
+    @Configuration
+    @Import({QueryBudget.class, QueryInstrumentationConfig.class, QueryBudgetFilter.class})
+    static class TestConfig {
+
+        @Bean
+        DataSource dataSource() throws Exception {
+            ResultSet resultSet = mock(ResultSet.class);
+            PreparedStatement statement = mock(PreparedStatement.class);
+            when(statement.executeQuery()).thenReturn(resultSet);
+            Connection connection = mock(Connection.class);
+            when(connection.prepareStatement(anyString())).thenReturn(statement);
+            DataSource dataSource = mock(DataSource.class);
+            when(dataSource.getConnection()).thenReturn(connection);
+            return dataSource;
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+    }
+}
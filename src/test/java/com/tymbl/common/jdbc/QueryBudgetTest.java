@@ -0,0 +1,176 @@
+package com.tymbl.common.jdbc;
+
+import com.tymbl.common.jdbc.QueryBudget.Kind;
+import com.tymbl.common.jdbc.QueryBudget.Scope;
+import com.tymbl.exception.QueryBudgetExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryBudgetTest {
+
+    private static final String SCOPE = "JobSearchController.searchJobs";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private QueryBudget queryBudget;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // FAIL mode comes from the test profile, the small budgets from here
+        MockEnvironment environment = new MockEnvironment();
+        environment.getPropertySources().addFirst(
+                new ResourcePropertySource("classpath:application-test.properties"));
+        environment.setProperty("app.query-budget.endpoints.max-statements", "4");
+        environment.setProperty("app.query-budget.endpoints.max-repeats", "2");
+        environment.setProperty("app.query-budget.endpoints.Relaxed.max-repeats", "10");
+        queryBudget = new QueryBudget(environment);
+    }
+
+    @Test
+    void testTestProfile_ShouldFailOnExceededBudgets() {
+        assertEquals(QueryBudget.Mode.FAIL, queryBudget.getStats().get("mode"));
+    }
+
+    @Test
+    void testBeforeStatement_WhenUnderBudget_ShouldNotThrow() {
+        // Given
+        Scope scope = queryBudget.open(Kind.ENDPOINT, SCOPE);
+
+        // When / Then
+        assertDoesNotThrow(() -> {
+            queryBudget.beforeStatement("select * from jobs where id = 1");
+            queryBudget.beforeStatement("select * from jobs where id = 2");
+            queryBudget.beforeStatement("select * from companies where id = 1");
+            queryBudget.beforeStatement("select * from designations where id = 1");
+        });
+        queryBudget.close(scope, SCOPE);
+
+        Map<?, ?> scopeStats = (Map<?, ?>) ((Map<?, ?>) queryBudget.getStats().get("scopes"))
+                .get(SCOPE);
+        assertEquals(0L, scopeStats.get("overBudget"));
+        assertEquals(4L, scopeStats.get("maxStatements"));
+    }
+
+    @Test
+    void testBeforeStatement_WhenStatementCountExceeded_ShouldThrow() {
+        // Given
+        Scope scope = queryBudget.open(Kind.ENDPOINT, SCOPE);
+        queryBudget.beforeStatement("select * from jobs");
+        queryBudget.beforeStatement("select * from companies");
+        queryBudget.beforeStatement("select * from designations");
+        queryBudget.beforeStatement("select * from skills");
+
+        // When
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class,
+                () -> queryBudget.beforeStatement("select * from cities"));
+
+        // Then
+        assertTrue(exception.getMessage().contains(SCOPE));
+        assertTrue(exception.getMessage().contains("statement 5 of 4 allowed"));
+        queryBudget.close(scope, SCOPE);
+    }
+
+    @Test
+    void testBeforeStatement_WhenSameShapeRepeated_ShouldThrowNamingTheShape() {
+        // Given
+        Scope scope = queryBudget.open(Kind.ENDPOINT, SCOPE);
+        queryBudget.beforeStatement("select name from companies where id = 11");
+        queryBudget.beforeStatement("select name from companies where id = 12");
+
+        // When
+        QueryBudgetExceededException exception = assertThrows(QueryBudgetExceededException.class,
+                () -> queryBudget.beforeStatement("select name from companies where id = 13"));
+
+        // Then
+        assertTrue(exception.getMessage().contains("[select name from companies where id = ?]"));
+        queryBudget.close(scope, SCOPE);
+    }
+
+    @Test
+    void testBeforeStatement_WhenScopeHasOwnBudget_ShouldUseIt() {
+        Scope scope = queryBudget.open(Kind.ENDPOINT, "Relaxed");
+
+        assertDoesNotThrow(() -> {
+            for (int id = 0; id < 4; id++) {
+                queryBudget.beforeStatement("select name from companies where id = " + id);
+            }
+        });
+        queryBudget.close(scope, "Relaxed");
+    }
+
+    @Test
+    void testBeforeStatement_WhenNoScopeOpen_ShouldNeverThrow() {
+        assertDoesNotThrow(() -> {
+            for (int id = 0; id < 10; id++) {
+                queryBudget.beforeStatement("select name from companies where id = " + id);
+            }
+        });
+        assertEquals(10L, queryBudget.getStats().get("unscopedStatements"));
+    }
+
+    @Test
+    void testInstrumentedDataSource_WhenOverBudget_ShouldNotRunTheStatement() throws Exception {
+        // Given
+        String sql = "select name from companies where id = ?";
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(sql)).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        Connection instrumented = new InstrumentedDataSource(dataSource, queryBudget)
+                .getConnection();
+        Scope scope = queryBudget.open(Kind.ENDPOINT, SCOPE);
+
+        // When
+        for (long id = 1; id <= 2; id++) {
+            PreparedStatement statement = instrumented.prepareStatement(sql);
+            statement.setLong(1, id);
+            assertSame(resultSet, statement.executeQuery());
+        }
+        PreparedStatement third = instrumented.prepareStatement(sql);
+
+        // Then
+        assertThrows(QueryBudgetExceededException.class, third::executeQuery);
+        verify(preparedStatement, times(2)).executeQuery();
+        verify(preparedStatement, times(2)).setLong(eq(1), anyLong());
+        queryBudget.close(scope, SCOPE);
+    }
+
+    @Test
+    void testNormalize_ShouldCollapseLiteralsAndInLists() {
+        String expected = "select * from jobs where company_id in (?) and title = ? and min_salary > ?";
+
+        assertEquals(expected, QueryBudget.normalize(
+                "SELECT *  FROM jobs\n WHERE company_id IN (1, 2, 3) AND title = 'O''Reilly'"
+                        + " AND min_salary > 1500.50"));
+        assertEquals(expected, QueryBudget.normalize(
+                "select * from jobs where company_id in (?, ?, ?, ?) and title = ? and min_salary > ?"));
+        assertEquals(expected, QueryBudget.normalize(
+                "select * from jobs where company_id in (42) and title = 'x' and min_salary > 0"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.tymbl.common.service;
+
+import com.tymbl.jobs.service.ElasticsearchCompanyIndexingService;
+import com.tymbl.jobs.service.JobDetailCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompanyDeduplicationServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ElasticsearchCompanyIndexingService elasticsearchCompanyIndexingService;
+
+    @Mock
+    private IndustryStatsService industryStatsService;
+
+    @Mock
+    private DropdownService dropdownService;
+
+    @Mock
+    private JobDetailCache jobDetailCache;
+
+    private CompanyDeduplicationService companyDeduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        companyDeduplicationService = new CompanyDeduplicationService(jdbcTemplate,
+                transactionManager, elasticsearchCompanyIndexingService, industryStatsService,
+                dropdownService, jobDetailCache);
+    }
+
+    @Test
+    void testMergeDuplicates_ShouldRepointEveryCompanyReferenceToTheWinner() {
+        // Given: companies 5 and 7 are duplicates of company 1
+        when(jdbcTemplate.query(startsWith("SELECT id, name FROM companies"), any(RowMapper.class),
+                any(), any())).thenReturn(Collections.emptyList());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[0]);
+        // Other statements of the same overloads fall through to the default of 0 rows
+        lenient().when(jdbcTemplate.update(startsWith("INSERT INTO company_merge_map")))
+                .thenReturn(2);
+        when(jdbcTemplate.queryForList(startsWith("SELECT loser_id"), eq(Long.class), any(), any()))
+                .thenReturn(Arrays.asList(5L, 7L));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT m.winner_id"), eq(Long.class),
+                any(), any())).thenReturn(Collections.singletonList(1L));
+        lenient().when(jdbcTemplate.update(startsWith("DELETE c FROM companies c"), eq(0L),
+                eq(7L)))
+                .thenReturn(2);
+
+        // When
+        List<String> results = companyDeduplicationService.mergeDuplicates();
+
+        // Then
+        assertTrue(results.contains("Duplicate companies removed: 2"));
+        for (String table : Arrays.asList("jobs", "users", "notifications",
+                "external_job_details")) {
+            verify(jdbcTemplate).update(startsWith("UPDATE " + table + " t JOIN company_merge_map m"),
+                    eq(0L), eq(7L));
+        }
+        verify(elasticsearchCompanyIndexingService).deleteCompaniesFromElasticsearch(
+                Arrays.asList(5L, 7L));
+        verify(elasticsearchCompanyIndexingService).updateCompanyJobCount(1L);
+        verify(dropdownService).refreshCompanyList();
+        verify(jobDetailCache).evictAll();
+    }
+
+    @Test
+    void testMergeDuplicates_WhenNoDuplicates_ShouldNotTouchReferences() {
+        // Given
+        when(jdbcTemplate.query(startsWith("SELECT id, name FROM companies"), any(RowMapper.class),
+                any(), any())).thenReturn(Collections.emptyList());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[0]);
+
+        // When
+        List<String> results = companyDeduplicationService.mergeDuplicates();
+
+        // Then
+        assertEquals(Collections.singletonList("No duplicate companies found"), results);
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE external_job_details"), anyLong(),
+                anyLong());
+        verifyNoInteractions(elasticsearchCompanyIndexingService, dropdownService);
+    }
+}
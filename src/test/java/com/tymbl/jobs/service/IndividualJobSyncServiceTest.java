@@ -33,6 +33,9 @@ class IndividualJobSyncServiceTest {
     @Mock
     private ExternalJobTagger externalJobTagger;
 
+    @Mock
+    private JobDetailCache jobDetailCache;
+
     @InjectMocks
     private IndividualJobSyncService individualJobSyncService;
 
@@ -68,6 +71,7 @@ class IndividualJobSyncServiceTest {
         // Verify opening count was incremented
         verify(jobRepository).save(argThat(job -> job.getOpeningCount() == 3));
         verify(externalJobDetailRepository).save(argThat(job -> job.getIsSyncedToJobTable()));
+        verify(jobDetailCache).evict(existingJob.getId());
     }
 
     @Test